@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Fuseable;
+
+/**
+ * A synchronous benchmark {@link Subscriber} that requests unbounded and hands
+ * every signal to a JMH {@link Blackhole}. When a fusion mode other than
+ * {@link Fuseable#NONE} is given, it negotiates queue-fusion with its
+ * {@link reactor.core.Fuseable.QueueSubscription} upstream and drains it via
+ * {@code poll()} like a fused operator would.
+ *
+ * @param <T> the value type
+ */
+final class BlackholeSubscriber<T> implements Subscriber<T> {
+
+	final Blackhole bh;
+
+	final int requestedFusionMode;
+
+	Fuseable.QueueSubscription<T> qs;
+
+	int sourceMode;
+
+	BlackholeSubscriber(Blackhole bh, int requestedFusionMode) {
+		this.bh = bh;
+		this.requestedFusionMode = requestedFusionMode;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onSubscribe(Subscription s) {
+		if (requestedFusionMode != Fuseable.NONE && s instanceof Fuseable.QueueSubscription) {
+			Fuseable.QueueSubscription<T> f = (Fuseable.QueueSubscription<T>) s;
+			int m = f.requestFusion(requestedFusionMode);
+			if (m == Fuseable.SYNC) {
+				sourceMode = m;
+				qs = f;
+				drain();
+				return;
+			}
+			if (m == Fuseable.ASYNC) {
+				sourceMode = m;
+				qs = f;
+			}
+		}
+		s.request(Long.MAX_VALUE);
+	}
+
+	@Override
+	public void onNext(T t) {
+		if (sourceMode == Fuseable.ASYNC) {
+			drain();
+			return;
+		}
+		bh.consume(t);
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		bh.consume(t);
+	}
+
+	@Override
+	public void onComplete() {
+		bh.consume(true);
+	}
+
+	void drain() {
+		Fuseable.QueueSubscription<T> q = qs;
+		T v;
+		while ((v = q.poll()) != null) {
+			bh.consume(v);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import reactor.core.Fuseable;
+
+/**
+ * Measures {@link FluxConcatMap} over a range of values mapped to inner publishers of
+ * different shapes:
+ * <ul>
+ *     <li>JUST: scalar inner, taking the {@link Fuseable.ScalarCallable} shortcut</li>
+ *     <li>RANGE: a small sync-fuseable inner, drained via {@code poll()}</li>
+ *     <li>HIDDEN: the same inner without fusion, going through a prefetch queue</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class FluxConcatMapBenchmark {
+
+	@Param({"1", "1000", "100000"})
+	public int count;
+
+	@Param({"JUST", "RANGE", "HIDDEN"})
+	public String inner;
+
+	Flux<Integer> flux;
+
+	@Setup
+	public void setup() {
+		Function<Integer, Publisher<Integer>> mapper;
+		switch (inner) {
+			case "JUST":
+				mapper = Flux::just;
+				break;
+			case "RANGE":
+				mapper = v -> Flux.range(v, 2);
+				break;
+			case "HIDDEN":
+				mapper = v -> Flux.range(v, 2).hide();
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown inner: " + inner);
+		}
+		flux = Flux.range(0, count).concatMap(mapper);
+	}
+
+	@Benchmark
+	public void concatMap(Blackhole bh) {
+		flux.subscribe(new BlackholeSubscriber<>(bh, Fuseable.NONE));
+	}
+}
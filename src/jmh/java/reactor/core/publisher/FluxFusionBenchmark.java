@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.Fuseable;
+
+/**
+ * Measures {@link FluxRange}, {@link FluxArray} and {@link FluxIterable} sources
+ * followed by a {@code map} and a {@code filter} stage, in each fusion mode:
+ * <ul>
+ *     <li>SYNC: {@link FluxMapFuseable} and {@link FluxFilterFuseable} polled
+ *     synchronously from the source</li>
+ *     <li>ASYNC: the same chain behind {@link FluxOnBackpressureBuffer}, the
+ *     consumer being signalled and draining through {@code poll()}</li>
+ *     <li>NONE: the source is hidden so {@link FluxMap} and {@link FluxFilter} are
+ *     used with regular request/onNext</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class FluxFusionBenchmark {
+
+	@Param({"1", "1000", "1000000"})
+	public int count;
+
+	@Param({"RANGE", "ARRAY", "ITERABLE"})
+	public String source;
+
+	@Param({"SYNC", "ASYNC", "NONE"})
+	public String fusion;
+
+	Flux<Integer> flux;
+
+	int fusionMode;
+
+	@Setup
+	public void setup() {
+		Integer[] array = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			array[i] = i;
+		}
+
+		Flux<Integer> f;
+		switch (source) {
+			case "RANGE":
+				f = Flux.range(0, count);
+				break;
+			case "ARRAY":
+				f = Flux.fromArray(array);
+				break;
+			case "ITERABLE":
+				f = Flux.fromIterable(Arrays.asList(array));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown source: " + source);
+		}
+
+		switch (fusion) {
+			case "SYNC":
+				fusionMode = Fuseable.SYNC;
+				break;
+			case "ASYNC":
+				f = f.onBackpressureBuffer();
+				fusionMode = Fuseable.ASYNC;
+				break;
+			case "NONE":
+				f = f.hide();
+				fusionMode = Fuseable.NONE;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown fusion mode: " + fusion);
+		}
+
+		flux = f.map(v -> v + 1)
+		        .filter(v -> (v & 1) == 0);
+	}
+
+	@Benchmark
+	public void mapFilter(Blackhole bh) {
+		flux.subscribe(new BlackholeSubscriber<>(bh, fusionMode));
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.Queue;
+
+/**
+ * Sizes the request batches of a prefetching operator between a minimum and a maximum
+ * prefetch, from the occupancy of its queue at each replenishment:
+ * <ul>
+ *     <li>an empty queue means the consumer drains values as fast as they arrive and
+ *     waits on the request round-trip: the prefetch doubles to keep more values in
+ *     flight and amortize {@link org.reactivestreams.Subscription#request(long)} over
+ *     larger batches,</li>
+ *     <li>a queue already holding every requested value means the producer is ahead
+ *     and the consumer is the bottleneck: the prefetch halves, so does the memory
+ *     retained by the queue.</li>
+ * </ul>
+ * The prefetch starts at the minimum, and the number of values requested but not yet
+ * consumed never exceeds the current prefetch, so a queue sized for the maximum
+ * prefetch never overflows. Instances are not thread-safe and must only be used from
+ * the serialized drain loop of their operator.
+ */
+final class AdaptivePrefetch {
+
+	final int minPrefetch;
+
+	final int maxPrefetch;
+
+	int prefetch;
+
+	int limit;
+
+	long outstanding;
+
+	AdaptivePrefetch(int minPrefetch, int maxPrefetch) {
+		checkBounds(minPrefetch, maxPrefetch);
+		this.minPrefetch = minPrefetch;
+		this.maxPrefetch = maxPrefetch;
+		this.prefetch = minPrefetch;
+		this.limit = limit(minPrefetch);
+	}
+
+	/**
+	 * Validate a minimum and maximum prefetch pair.
+	 *
+	 * @param minPrefetch the minimum prefetch
+	 * @param maxPrefetch the maximum prefetch
+	 *
+	 * @throws IllegalArgumentException if the bounds are not positive or inverted
+	 */
+	static void checkBounds(int minPrefetch, int maxPrefetch) {
+		if (minPrefetch <= 0) {
+			throw new IllegalArgumentException("minPrefetch > 0 required but it was " + minPrefetch);
+		}
+		if (maxPrefetch < minPrefetch) {
+			throw new IllegalArgumentException("maxPrefetch >= minPrefetch required but it was " + maxPrefetch + " < " + minPrefetch);
+		}
+	}
+
+	static int limit(int prefetch) {
+		return prefetch == Integer.MAX_VALUE ? Integer.MAX_VALUE : prefetch - (prefetch >> 2);
+	}
+
+	/**
+	 * Return the amount to request upfront.
+	 *
+	 * @return the amount to request upfront
+	 */
+	long initialRequest() {
+		outstanding = prefetch;
+		return prefetch;
+	}
+
+	/**
+	 * Record that {@code consumed} values have been consumed, resize the prefetch given
+	 * the occupancy of the queue and return the amount to request, possibly 0 when the
+	 * prefetch shrinks. The replenish threshold is updated in {@link #limit}.
+	 *
+	 * @param consumed the number of values consumed since the last replenishment
+	 * @param queue the queue values are consumed from, null if none was needed
+	 *
+	 * @return the amount to request
+	 */
+	long replenish(long consumed, Queue<?> queue) {
+		long o = outstanding - consumed;
+		int p = prefetch;
+
+		if (queue == null || queue.isEmpty()) {
+			if (p < maxPrefetch) {
+				p = p > (maxPrefetch >> 1) ? maxPrefetch : p << 1;
+			}
+		}
+		else if (p > minPrefetch && queue.size() >= o) {
+			p = Math.max(minPrefetch, p >> 1);
+		}
+
+		prefetch = p;
+		limit = limit(p);
+
+		long n = p - o;
+		if (n <= 0L) {
+			outstanding = o;
+			return 0L;
+		}
+		outstanding = p;
+		return n;
+	}
+}
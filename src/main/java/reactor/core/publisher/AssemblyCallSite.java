@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * A lightweight assembly snapshot only retaining the operator and user code frames of
+ * an assembly call site, used in place of a full stacktrace by {@link
+ * Hooks.OperatorHook#operatorCallSite()}.
+ * <p>
+ * The call site is located with a {@code java.lang.StackWalker} that stops at the first
+ * frame declared outside of the {@code reactor.core.publisher} package. User
+ * {@link Publisher} implementations are user code: an operator assembled from the
+ * method of a custom {@link Flux} reports that method as its call site. The operator
+ * frame is the outermost {@code reactor.core.publisher} {@link Publisher} frame.
+ * <p>
+ * Snapshots are interned by the class, method and bytecode index of both frames so
+ * that a steady state assembly neither formats frames nor retains new snapshots. At
+ * most {@link #MAX_CALL_SITES} snapshots are interned, further call sites get a fresh
+ * snapshot. The stacktrace of the snapshot itself is never filled. When the runtime
+ * doesn't provide a {@code StackWalker} (Java 8), a full stacktrace is captured
+ * instead.
+ */
+final class AssemblyCallSite extends Exception {
+
+	/** */
+	private static final long serialVersionUID = -6412263208446327826L;
+
+	/**
+	 * The maximum number of interned call sites
+	 */
+	static final int MAX_CALL_SITES = 4096;
+
+	static final ConcurrentMap<Key, AssemblyCallSite> CALL_SITES =
+			new ConcurrentHashMap<>();
+
+	static final MethodHandle WALK;
+	static final MethodHandle GET_DECLARING_CLASS;
+	static final MethodHandle GET_METHOD_NAME;
+	static final MethodHandle GET_BYTE_CODE_INDEX;
+	static final MethodHandle TO_STACK_TRACE_ELEMENT;
+
+	static {
+		MethodHandle walk = null;
+		MethodHandle getDeclaringClass = null;
+		MethodHandle getMethodName = null;
+		MethodHandle getByteCodeIndex = null;
+		MethodHandle toStackTraceElement = null;
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+			Class<?> optionClass = Class.forName("java.lang.StackWalker$Option");
+			Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+			Object retainClassReference =
+					optionClass.getField("RETAIN_CLASS_REFERENCE").get(null);
+			Object walker = walkerClass.getMethod("getInstance", optionClass)
+			                           .invoke(null, retainClassReference);
+
+			walk = lookup.findVirtual(walkerClass, "walk",
+					MethodType.methodType(Object.class, Function.class))
+			             .bindTo(walker);
+			getDeclaringClass = lookup.findVirtual(frameClass, "getDeclaringClass",
+					MethodType.methodType(Class.class))
+			                          .asType(MethodType.methodType(Class.class, Object.class));
+			getMethodName = lookup.findVirtual(frameClass, "getMethodName",
+					MethodType.methodType(String.class))
+			                      .asType(MethodType.methodType(String.class, Object.class));
+			getByteCodeIndex = lookup.findVirtual(frameClass, "getByteCodeIndex",
+					MethodType.methodType(int.class))
+			                         .asType(MethodType.methodType(int.class, Object.class));
+			toStackTraceElement = lookup.findVirtual(frameClass, "toStackTraceElement",
+					MethodType.methodType(StackTraceElement.class))
+			                            .asType(MethodType.methodType(StackTraceElement.class, Object.class));
+		}
+		catch (Throwable e) {
+			walk = null;
+		}
+		WALK = walk;
+		GET_DECLARING_CLASS = getDeclaringClass;
+		GET_METHOD_NAME = getMethodName;
+		GET_BYTE_CODE_INDEX = getByteCodeIndex;
+		TO_STACK_TRACE_ELEMENT = toStackTraceElement;
+	}
+
+	static final Function<Stream<Object>, AssemblyCallSite> FIND_CALL_SITE = frames -> {
+		Iterator<Object> it = frames.iterator();
+		Object operator = null;
+		Class<?> operatorClass = null;
+		try {
+			while (it.hasNext()) {
+				Object frame = it.next();
+				Class<?> declaringClass = (Class<?>) GET_DECLARING_CLASS.invokeExact(frame);
+				if (isAssemblyClass(declaringClass)) {
+					if (Publisher.class.isAssignableFrom(declaringClass)) {
+						operator = frame;
+						operatorClass = declaringClass;
+					}
+					continue;
+				}
+				Key key;
+				if (operator != null) {
+					key = new Key(operatorClass,
+							(String) GET_METHOD_NAME.invokeExact(operator),
+							(int) GET_BYTE_CODE_INDEX.invokeExact(operator),
+							declaringClass,
+							(String) GET_METHOD_NAME.invokeExact(frame),
+							(int) GET_BYTE_CODE_INDEX.invokeExact(frame));
+				}
+				else {
+					key = new Key(null, null, -1,
+							declaringClass,
+							(String) GET_METHOD_NAME.invokeExact(frame),
+							(int) GET_BYTE_CODE_INDEX.invokeExact(frame));
+				}
+				AssemblyCallSite snapshot = CALL_SITES.get(key);
+				if (snapshot != null) {
+					return snapshot;
+				}
+				//only format the frames of a call site seen for the first time
+				String callSite = "\t" + (StackTraceElement) TO_STACK_TRACE_ELEMENT.invokeExact(frame) + "\n";
+				if (operator != null) {
+					callSite = "\t" + (StackTraceElement) TO_STACK_TRACE_ELEMENT.invokeExact(operator) + "\n" + callSite;
+				}
+				return intern(key, callSite);
+			}
+		}
+		catch (Throwable e) {
+			return null;
+		}
+		return null;
+	};
+
+	/**
+	 * Capture the current assembly call site.
+	 *
+	 * @return an interned {@link AssemblyCallSite} or a full stacktrace {@link
+	 * Exception} if no {@code StackWalker} is available
+	 */
+	static Exception capture() {
+		if (WALK == null) {
+			return new Exception();
+		}
+		AssemblyCallSite snapshot;
+		try {
+			Function<?, ?> findCallSite = FIND_CALL_SITE;
+			snapshot = (AssemblyCallSite) (Object) WALK.invokeExact(findCallSite);
+		}
+		catch (Throwable e) {
+			return new Exception();
+		}
+		if (snapshot == null) {
+			return new Exception();
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Return the snapshot interned for a call site, interning a new one while less
+	 * than {@link #MAX_CALL_SITES} are.
+	 *
+	 * @param key the call site frames
+	 * @param callSite the formatted call site
+	 *
+	 * @return the interned snapshot or a fresh one
+	 */
+	static AssemblyCallSite intern(Key key, String callSite) {
+		AssemblyCallSite snapshot = new AssemblyCallSite(callSite);
+		if (CALL_SITES.size() >= MAX_CALL_SITES) {
+			return snapshot;
+		}
+		AssemblyCallSite previous = CALL_SITES.putIfAbsent(key, snapshot);
+		return previous != null ? previous : snapshot;
+	}
+
+	static boolean isAssemblyClass(Class<?> c) {
+		String name = c.getName();
+		//reactor operators and hooks, and the reflective invocation of StackWalker#walk
+		return name.startsWith("reactor.core.publisher.") ||
+				name.startsWith("java.lang.invoke.") ||
+				name.startsWith("java.lang.reflect.") ||
+				name.startsWith("jdk.internal.reflect.") ||
+				name.startsWith("sun.reflect.");
+	}
+
+	final String callSite;
+
+	AssemblyCallSite(String callSite) {
+		super(callSite, null, false, false);
+		this.callSite = callSite;
+	}
+
+	/**
+	 * The identity of a call site: the operator frame, if any, and the user code frame
+	 */
+	static final class Key {
+
+		final Class<?> operatorClass;
+		final String   operatorMethod;
+		final int      operatorIndex;
+		final Class<?> callerClass;
+		final String   callerMethod;
+		final int      callerIndex;
+
+		Key(Class<?> operatorClass,
+				String operatorMethod,
+				int operatorIndex,
+				Class<?> callerClass,
+				String callerMethod,
+				int callerIndex) {
+			this.operatorClass = operatorClass;
+			this.operatorMethod = operatorMethod;
+			this.operatorIndex = operatorIndex;
+			this.callerClass = callerClass;
+			this.callerMethod = callerMethod;
+			this.callerIndex = callerIndex;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) o;
+			return operatorIndex == k.operatorIndex &&
+					callerIndex == k.callerIndex &&
+					operatorClass == k.operatorClass &&
+					callerClass == k.callerClass &&
+					callerMethod.equals(k.callerMethod) &&
+					(operatorMethod == null ? k.operatorMethod == null :
+							operatorMethod.equals(k.operatorMethod));
+		}
+
+		@Override
+		public int hashCode() {
+			int h = callerClass.hashCode();
+			h = 31 * h + callerMethod.hashCode();
+			h = 31 * h + callerIndex;
+			if (operatorClass != null) {
+				h = 31 * h + operatorClass.hashCode();
+				h = 31 * h + operatorMethod.hashCode();
+				h = 31 * h + operatorIndex;
+			}
+			return h;
+		}
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * A {@link Subscriber} notified at the end of each batch of values drained at once by
+ * an event loop, like the {@code endOfBatch} flag of a Disruptor event handler.
+ * <p>
+ * {@link TopicProcessor} and {@link WorkQueueProcessor} call {@link #onEndOfBatch()}
+ * after the last {@link #onNext(Object)} of every batch of values available in their
+ * ring buffer, on the same thread, before waiting for more values. It is typically used
+ * to flush buffered I/O once per batch rather than once per value.
+ *
+ * @param <T> the value type
+ */
+public interface BatchAwareSubscriber<T> extends Subscriber<T> {
+
+	/**
+	 * Signal that the values delivered so far have drained all the values that were
+	 * available, and that the next {@link #onNext(Object)} may come after a wait.
+	 */
+	void onEndOfBatch();
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Function;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Exceptions;
+
+/**
+ * A {@link Subscriber} that can receive a run of values in a single call, letting
+ * operators amortize their per-element bookkeeping (request accounting, queue
+ * signalling) over the whole run.
+ *
+ * @param <T> the value type
+ *
+ * @see Flux#batched(int)
+ */
+interface BatchSubscriber<T> extends Subscriber<T> {
+
+	/**
+	 * Receive a non-empty run of values, each of them counting as one against the
+	 * outstanding demand. The list is only valid for the duration of the call: it must
+	 * neither be modified nor retained.
+	 *
+	 * @param values the values in emission order
+	 */
+	void onNextBatch(List<? extends T> values);
+
+	/**
+	 * Deliver a run of values to the given {@link Subscriber}, in a single call if it
+	 * is a {@link BatchSubscriber} or one {@link Subscriber#onNext} at a time otherwise.
+	 *
+	 * @param s the target {@link Subscriber}
+	 * @param values the values to deliver
+	 * @param <T> the value type
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> void emit(Subscriber<? super T> s, List<? extends T> values) {
+		if (s instanceof BatchSubscriber) {
+			((BatchSubscriber<T>) s).onNextBatch(values);
+		}
+		else {
+			for (int i = 0, n = values.size(); i < n; i++) {
+				s.onNext(values.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Pass a run of values through an operator step and deliver the results to the
+	 * downstream with {@link #emit}. Values the step turns into null are dropped and
+	 * replenished with a single request once the run is delivered. A failing step stops
+	 * the run: the results before it are delivered, then the operator is signalled the
+	 * error.
+	 *
+	 * @param operator the operator subscriber receiving the run
+	 * @param s the operator upstream
+	 * @param actual the operator downstream
+	 * @param values the values to pass through
+	 * @param step the step returning the value to deliver, or null to drop it
+	 * @param batch the list collecting the results of a previous run, or null
+	 * @param <T> the received value type
+	 * @param <R> the delivered value type
+	 *
+	 * @return the list collecting the results, to reuse for the next run
+	 */
+	static <T, R> ArrayList<R> deliver(Subscriber<?> operator,
+			Subscription s,
+			Subscriber<? super R> actual,
+			List<? extends T> values,
+			Function<? super T, ? extends R> step,
+			ArrayList<R> batch) {
+		boolean batching = actual instanceof BatchSubscriber;
+		if (batching && batch == null) {
+			batch = new ArrayList<>(values.size());
+		}
+
+		Throwable error = null;
+		long dropped = 0L;
+		for (int i = 0, n = values.size(); i < n; i++) {
+			T t = values.get(i);
+			R v;
+			try {
+				v = step.apply(t);
+			}
+			catch (Throwable e) {
+				error = Operators.onOperatorError(s, e, t);
+				break;
+			}
+			if (v == null) {
+				dropped++;
+			}
+			else if (batching) {
+				batch.add(v);
+			}
+			else {
+				actual.onNext(v);
+			}
+		}
+
+		if (batching && !batch.isEmpty()) {
+			emit(actual, batch);
+			batch.clear();
+		}
+		if (error != null) {
+			operator.onError(error);
+		}
+		else if (dropped != 0L) {
+			s.request(dropped);
+		}
+		return batch;
+	}
+
+	/**
+	 * Offer a run of values to an operator queue, stopping at the first value the queue
+	 * rejects.
+	 *
+	 * @param q the operator queue
+	 * @param values the values to offer
+	 * @param s the operator upstream
+	 * @param <T> the value type
+	 *
+	 * @return the overflow error of the first rejected value, or null if all of them
+	 * have been queued
+	 */
+	static <T> Throwable offer(Queue<T> q, List<? extends T> values, Subscription s) {
+		for (int i = 0, n = values.size(); i < n; i++) {
+			T t = values.get(i);
+			if (!q.offer(t)) {
+				return Operators.onOperatorError(s,
+						Exceptions.failWithOverflow("Queue is full?!"),
+						t);
+			}
+		}
+		return null;
+	}
+}
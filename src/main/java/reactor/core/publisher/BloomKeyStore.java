@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+/**
+ * A Bloom filter {@link KeyStore} of values hashed to a primitive {@code long}, sized
+ * for an expected number of keys and false positive rate. {@link #add(Object)}
+ * returns false if the value hash has probably been added before, with the configured
+ * probability of wrongly doing so for a new one, and the memory used is fixed
+ * whatever the number of keys added.
+ *
+ * @param <T> the value type
+ */
+final class BloomKeyStore<T> implements KeyStore<T> {
+
+	final ToLongFunction<? super T> hasher;
+	final long[]                    bits;
+	final long                      bitCount;
+	final int                       hashCount;
+
+	int size;
+
+	BloomKeyStore(ToLongFunction<? super T> hasher, long expectedKeys, double falsePositiveRate) {
+		if (expectedKeys < 1L) {
+			throw new IllegalArgumentException("expectedKeys > 0 required but it was " + expectedKeys);
+		}
+		if (!(falsePositiveRate > 0d && falsePositiveRate < 1d)) {
+			throw new IllegalArgumentException("0 < falsePositiveRate < 1 required but it was " + falsePositiveRate);
+		}
+		double ln2 = Math.log(2d);
+		long m = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+		long words = (m + 63L) >>> 6;
+		if (words > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("A Bloom filter for " + expectedKeys +
+					" keys at a false positive rate of " + falsePositiveRate + " is too large");
+		}
+		this.hasher = hasher;
+		this.bits = new long[(int) Math.max(1L, words)];
+		this.bitCount = (long) bits.length << 6;
+		this.hashCount = (int) Math.max(1L, Math.round((double) bitCount / expectedKeys * ln2));
+	}
+
+	@Override
+	public boolean add(T t) {
+		return test(hasher.applyAsLong(t), true);
+	}
+
+	/**
+	 * @return true if the value hash has probably been added before
+	 */
+	boolean mightContain(T t) {
+		return !test(hasher.applyAsLong(t), false);
+	}
+
+	/**
+	 * Test the bits of a hash, setting them if {@code set} is true.
+	 *
+	 * @return true if at least one bit was not set
+	 */
+	boolean test(long hash, boolean set) {
+		long h1 = mix(hash);
+		long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+		long[] bits = this.bits;
+		boolean missing = false;
+		long h = h1;
+		for (int i = 0; i < hashCount; i++) {
+			long index = (h & Long.MAX_VALUE) % bitCount;
+			int word = (int) (index >>> 6);
+			long mask = 1L << index;
+			if ((bits[word] & mask) == 0L) {
+				if (!set) {
+					return true;
+				}
+				bits[word] |= mask;
+				missing = true;
+			}
+			h += h2;
+		}
+		if (missing) {
+			size++;
+		}
+		return missing;
+	}
+
+	/**
+	 * @return the number of values reported as new
+	 */
+	int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(bits, 0L);
+		size = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "BloomKeyStore{" +
+				"size=" + size +
+				", bitCount=" + bitCount +
+				", hashCount=" + hashCount +
+				'}';
+	}
+
+	/**
+	 * The murmur3 64-bit finalizer, spreading the input bits over the whole hash.
+	 */
+	static long mix(long h) {
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb93fe53a26ebL;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -17,7 +17,9 @@
 package reactor.core.publisher;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -168,6 +170,14 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T>
 			AtomicIntegerFieldUpdater.newUpdater(EmitterProcessor.class, "outstanding");
 	boolean firstDrain = true;
 
+	volatile ProcessorMetrics metrics;
+
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<EmitterProcessor, ProcessorMetrics> METRICS =
+			AtomicReferenceFieldUpdater.newUpdater(EmitterProcessor.class,
+					ProcessorMetrics.class,
+					"metrics");
+
 	EmitterProcessor(boolean autoCancel, int maxConcurrency, int bufferSize) {
 		if (bufferSize < 1){
 			throw new IllegalArgumentException("bufferSize must be strictly positive, " +
@@ -360,6 +370,42 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T>
 		return outstanding;
 	}
 
+	/**
+	 * Return the {@link ProcessorMetrics} of this processor, recording the time
+	 * {@link #onNext(Object)} waits for lagging subscribers when the buffer is full from
+	 * the first call on. Values are only buffered for subscribers without demand, the
+	 * lag of a subscriber is the number of buffered values it has not received yet.
+	 *
+	 * @return the {@link ProcessorMetrics} of this processor
+	 */
+	public ProcessorMetrics metrics() {
+		ProcessorMetrics m = metrics;
+		if (m == null) {
+			m = new ProcessorMetrics(EmitterProcessor.class.getSimpleName(),
+					this::getCapacity,
+					() -> {
+						RingBuffer<EventLoopProcessor.Slot<T>> q = emitBuffer;
+						return q == null ? 0L : q.getPending();
+					},
+					this::subscriberLags,
+					null);
+			if (!METRICS.compareAndSet(this, null, m)) {
+				m = metrics;
+			}
+		}
+		return m;
+	}
+
+	Map<Subscriber<?>, Long> subscriberLags() {
+		Map<Subscriber<?>, Long> lags = new HashMap<>();
+		for (EmitterSubscriber<?> inner : subscribers) {
+			//unbounded subscribers are always emitted to directly
+			lags.put(inner.actual,
+					inner.requested == Long.MAX_VALUE ? 0L : Math.max(0L, inner.getPending()));
+		}
+		return lags;
+	}
+
 	RingBuffer<EventLoopProcessor.Slot<T>> getMainQueue() {
 		RingBuffer<EventLoopProcessor.Slot<T>> q = emitBuffer;
 		if (q == null) {
@@ -372,7 +418,8 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T>
 	final long buffer(T value) {
 		RingBuffer<EventLoopProcessor.Slot<T>> q = getMainQueue();
 
-		long seq = q.next();
+		ProcessorMetrics m = metrics;
+		long seq = m != null ? m.claim(q, 1) : q.next();
 
 		q.get(seq).value = value;
 		q.publish(seq);
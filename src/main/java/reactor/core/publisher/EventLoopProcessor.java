@@ -17,7 +17,13 @@ package reactor.core.publisher;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -25,9 +31,12 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
+import java.util.function.ObjIntConsumer;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Subscriber;
@@ -36,6 +45,7 @@ import reactor.core.Exceptions;
 import reactor.core.MultiProducer;
 import reactor.core.Producer;
 import reactor.core.Receiver;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.concurrent.QueueSupplier;
 import reactor.util.concurrent.WaitStrategy;
 
@@ -252,12 +262,25 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		return new Wrapped<>(delegate, init);
 	}
 
+	/**
+	 * The executor running the subscriber loops, null when {@link #scheduler} is set
+	 */
 	final ExecutorService executor;
 	final ClassLoader     contextClassLoader;
 	final String          name;
 	final boolean         autoCancel;
+	/**
+	 * When not null, subscribers are drained by {@link ScheduledConsumer} tasks on
+	 * this {@link Scheduler} instead of occupying a thread of {@link #executor}.
+	 */
+	final Scheduler       scheduler;
 
 	final RingBuffer<Slot<IN>> ringBuffer;
+
+	/**
+	 * True if the ring slots hold user supplied events to mutate in place
+	 */
+	final boolean preallocated;
 	final WaitStrategy readWait = WaitStrategy.liteBlocking();
 
 	Subscription upstreamSubscription;
@@ -267,10 +290,39 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 
 	volatile       int                                                  subscriberCount;
 
+	volatile ScheduledConsumer[] consumers = EMPTY_CONSUMERS;
+
+	/**
+	 * The sequence of each subscriber, removed when its loop terminates and pruned of
+	 * the sequences no longer gating the ring buffer on each new subscriber and lag
+	 * report
+	 */
+	final Map<Subscriber<?>, RingBuffer.Sequence> subscriberSequences =
+			new ConcurrentHashMap<>();
+
+	volatile ProcessorMetrics metrics;
+
+	volatile long upstreamRequested;
+
+	volatile int replenishing;
+
+	EventLoopProcessor(
+			int bufferSize,
+			ThreadFactory threadFactory,
+			ExecutorService executor,
+			boolean autoCancel,
+			boolean multiproducers,
+			Supplier<Slot<IN>> factory,
+			WaitStrategy strategy) {
+		this(bufferSize, threadFactory, executor, null, autoCancel, multiproducers,
+				factory, strategy);
+	}
+
 	EventLoopProcessor(
 			int bufferSize,
 			ThreadFactory threadFactory,
 			ExecutorService executor,
+			Scheduler scheduler,
 			boolean autoCancel,
 			boolean multiproducers,
 			Supplier<Slot<IN>> factory,
@@ -286,6 +338,7 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		}
 
 		this.autoCancel = autoCancel;
+		this.scheduler = scheduler;
 
 		contextClassLoader = new EventLoopContext();
 
@@ -294,7 +347,7 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 				threadFactory).get().toString() : null;
 		this.name = null != name ? name : getClass().getSimpleName();
 
-		if (executor == null) {
+		if (executor == null && scheduler == null) {
 			this.executor = Executors.newCachedThreadPool(threadFactory);
 		}
 		else {
@@ -313,6 +366,8 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 					strategy,
 					this);
 		}
+		//slots are filled eagerly, a value is only present if the factory provides one
+		this.preallocated = ringBuffer.get(0).value != null;
 	}
 
 	/**
@@ -341,6 +396,9 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	public final boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
 		try {
 			shutdown();
+			if (scheduler != null) {
+				return awaitConsumers(timeUnit.toNanos(timeout));
+			}
 			return executor.awaitTermination(timeout, timeUnit);
 		} catch (InterruptedException ie) {
 			Thread.currentThread().interrupt();
@@ -366,7 +424,10 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	final public Flux<IN> forceShutdown() {
 		int t = terminated;
 		if (t != FORCED_SHUTDOWN && TERMINATED.compareAndSet(this, t, FORCED_SHUTDOWN)) {
-			executor.shutdownNow();
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+			signalConsumers();
 		}
 		return drain();
 	}
@@ -418,9 +479,10 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	final public void onComplete() {
 		if (TERMINATED.compareAndSet(this, 0, SHUTDOWN)) {
 			upstreamSubscription = null;
-			executor.shutdown();
+			shutdownExecutor();
 			readWait.signalAllWhenBlocking();
 			doComplete();
+			signalConsumers();
 		}
 	}
 
@@ -432,9 +494,10 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		if (TERMINATED.compareAndSet(this, 0, SHUTDOWN)) {
 			error = t;
 			upstreamSubscription = null;
-			executor.shutdown();
+			shutdownExecutor();
 			readWait.signalAllWhenBlocking();
 			doError(t);
+			signalConsumers();
 		}
 	}
 
@@ -443,10 +506,265 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		if (o == null) {
 			throw Exceptions.argumentIsNullException();
 		}
-		final long seqId = ringBuffer.next();
+		final long seqId = claim(1);
 		final Slot<IN> signal = ringBuffer.get(seqId);
 		signal.value = o;
 		ringBuffer.publish(seqId);
+		if (scheduler != null) {
+			signalConsumers();
+		}
+	}
+
+	/**
+	 * Publish all the given values, claiming ring buffer slots in batches of up to
+	 * the buffer size with a single cursor update per batch, and publishing each
+	 * batch as a range.
+	 *
+	 * @param values the values to publish, none of them may be null
+	 */
+	@SuppressWarnings("unchecked")
+	public final void onNextAll(Collection<? extends IN> values) {
+		Objects.requireNonNull(values, "values");
+		onNextAll((IN[]) values.toArray());
+	}
+
+	/**
+	 * Publish all the given values, claiming ring buffer slots in batches of up to
+	 * the buffer size with a single cursor update per batch, and publishing each
+	 * batch as a range.
+	 *
+	 * @param values the values to publish, none of them may be null
+	 */
+	public final void onNextAll(IN[] values) {
+		Objects.requireNonNull(values, "values");
+		//validate first, claimed slots must always be published
+		for (Object v : values) {
+			if (v == null) {
+				throw Exceptions.argumentIsNullException();
+			}
+		}
+		final int bufferSize = ringBuffer.bufferSize();
+		int i = 0;
+		while (i < values.length) {
+			int n = Math.min(values.length - i, bufferSize);
+			long hi = claim(n);
+			long lo = hi - n + 1L;
+			for (long seqId = lo; seqId <= hi; seqId++) {
+				ringBuffer.get(seqId).value = values[i++];
+			}
+			ringBuffer.publish(lo, hi);
+		}
+		if (scheduler != null && values.length != 0) {
+			signalConsumers();
+		}
+	}
+
+	/**
+	 * Claim the next slot, let the translator copy the event data into the instance
+	 * pre-allocated in that slot and publish it, without allocating per event. The
+	 * processor must have been created with a signal supplier and subscribers must
+	 * not retain the received event past {@code onNext} as the instance is reused.
+	 * <p>
+	 * The slot is published even if the translator fails, so that consumers do not
+	 * stall on an unpublished sequence.
+	 *
+	 * @param translator the callback filling the pre-allocated event
+	 *
+	 * @throws IllegalStateException if the slots are not pre-allocated
+	 */
+	public final void publishEvent(Consumer<? super IN> translator) {
+		Objects.requireNonNull(translator, "translator");
+		checkPreallocated();
+		final long seqId = claim(1);
+		try {
+			translator.accept(ringBuffer.get(seqId).value);
+		}
+		finally {
+			ringBuffer.publish(seqId);
+			if (scheduler != null) {
+				signalConsumers();
+			}
+		}
+	}
+
+	/**
+	 * Claim the next slot, let the translator copy the argument into the instance
+	 * pre-allocated in that slot and publish it, without allocating per event. A
+	 * non-capturing translator with an explicit argument avoids even the lambda
+	 * allocation. The processor must have been created with a signal supplier and
+	 * subscribers must not retain the received event past {@code onNext} as the
+	 * instance is reused.
+	 * <p>
+	 * The slot is published even if the translator fails, so that consumers do not
+	 * stall on an unpublished sequence.
+	 *
+	 * @param translator the callback filling the pre-allocated event from the argument
+	 * @param arg the argument passed to the translator
+	 * @param <A> the argument type
+	 *
+	 * @throws IllegalStateException if the slots are not pre-allocated
+	 */
+	public final <A> void publishEvent(BiConsumer<? super IN, ? super A> translator, A arg) {
+		Objects.requireNonNull(translator, "translator");
+		checkPreallocated();
+		final long seqId = claim(1);
+		try {
+			translator.accept(ringBuffer.get(seqId).value, arg);
+		}
+		finally {
+			ringBuffer.publish(seqId);
+			if (scheduler != null) {
+				signalConsumers();
+			}
+		}
+	}
+
+	/**
+	 * Claim {@code count} slots in batches of up to the buffer size, let the
+	 * translator fill the instance pre-allocated in each slot along with its index in
+	 * [0, count) and publish each batch as a range. The processor must have been
+	 * created with a signal supplier and subscribers must not retain the received
+	 * events past {@code onNext} as the instances are reused.
+	 * <p>
+	 * Claimed slots are published even if the translator fails.
+	 *
+	 * @param count the number of events to publish
+	 * @param translator the callback filling each pre-allocated event
+	 *
+	 * @throws IllegalStateException if the slots are not pre-allocated
+	 */
+	public final void publishEvents(int count, ObjIntConsumer<? super IN> translator) {
+		Objects.requireNonNull(translator, "translator");
+		if (count < 0) {
+			throw new IllegalArgumentException("count >= 0 required but it was " + count);
+		}
+		checkPreallocated();
+		final int bufferSize = ringBuffer.bufferSize();
+		int i = 0;
+		try {
+			while (i < count) {
+				int n = Math.min(count - i, bufferSize);
+				long hi = claim(n);
+				long lo = hi - n + 1L;
+				try {
+					for (long seqId = lo; seqId <= hi; seqId++) {
+						translator.accept(ringBuffer.get(seqId).value, i++);
+					}
+				}
+				finally {
+					ringBuffer.publish(lo, hi);
+				}
+			}
+		}
+		finally {
+			if (scheduler != null && count != 0) {
+				signalConsumers();
+			}
+		}
+	}
+
+	/**
+	 * Return the {@link ProcessorMetrics} of this processor, recording producer claims
+	 * and subscriber waits from the first call on.
+	 *
+	 * @return the {@link ProcessorMetrics} of this processor
+	 */
+	public final ProcessorMetrics metrics() {
+		ProcessorMetrics m = metrics;
+		if (m == null) {
+			m = new ProcessorMetrics(name,
+					ringBuffer::bufferSize,
+					ringBuffer::getPending,
+					this::subscriberLags,
+					ringBuffer.getSequencer().waitStrategy);
+			if (!METRICS.compareAndSet(this, null, m)) {
+				m = metrics;
+			}
+		}
+		return m;
+	}
+
+	/**
+	 * Claim the next {@code n} slots of the ring buffer, through the metrics if
+	 * enabled.
+	 *
+	 * @param n the number of slots to claim
+	 *
+	 * @return the highest claimed sequence
+	 */
+	final long claim(int n) {
+		ProcessorMetrics m = metrics;
+		if (m != null) {
+			return m.claim(ringBuffer, n);
+		}
+		return n == 1 ? ringBuffer.next() : ringBuffer.next(n);
+	}
+
+	/**
+	 * Wait for the given sequence to be published, recording the wait in the metrics
+	 * if enabled and the sequence wasn't already claimed by a producer.
+	 *
+	 * @param barrier the subscriber {@link RingBuffer.Reader}
+	 * @param sequence the awaited sequence
+	 * @param waiter the callback run while waiting
+	 *
+	 * @return the highest available sequence
+	 *
+	 * @throws InterruptedException if the waiting thread is interrupted
+	 */
+	final long waitFor(RingBuffer.Reader barrier, long sequence, Runnable waiter)
+			throws InterruptedException {
+		ProcessorMetrics m = metrics;
+		if (m == null || barrier.getCursor() >= sequence) {
+			return barrier.waitFor(sequence, waiter);
+		}
+		long start = System.nanoTime();
+		try {
+			return barrier.waitFor(sequence, waiter);
+		}
+		finally {
+			m.recordWait(start);
+		}
+	}
+
+	/**
+	 * Register the sequence of a new subscriber for lag reporting.
+	 *
+	 * @param subscriber the subscriber
+	 * @param sequence its sequence, added to the ring buffer gating sequences
+	 */
+	final void trackSubscriber(Subscriber<?> subscriber, RingBuffer.Sequence sequence) {
+		List<RingBuffer.Sequence> gating = Arrays.asList(ringBuffer.getSequenceReceivers());
+		subscriberSequences.values().removeIf(seq -> !gating.contains(seq));
+		subscriberSequences.put(subscriber, sequence);
+	}
+
+	/**
+	 * Stop reporting the lag of the subscriber owning the given sequence, called when
+	 * its loop terminates so that the subscriber isn't retained.
+	 *
+	 * @param sequence the sequence of a terminated subscriber
+	 */
+	final void untrackSubscriber(RingBuffer.Sequence sequence) {
+		subscriberSequences.values().remove(sequence);
+	}
+
+	Map<Subscriber<?>, Long> subscriberLags() {
+		List<RingBuffer.Sequence> gating = Arrays.asList(ringBuffer.getSequenceReceivers());
+		subscriberSequences.values().removeIf(seq -> !gating.contains(seq));
+		long cursor = ringBuffer.getCursor();
+		Map<Subscriber<?>, Long> lags = new HashMap<>();
+		for (Map.Entry<Subscriber<?>, RingBuffer.Sequence> e : subscriberSequences.entrySet()) {
+			lags.put(e.getKey(), Math.max(0L, cursor - e.getValue().getAsLong()));
+		}
+		return lags;
+	}
+
+	final void checkPreallocated() {
+		if (!preallocated) {
+			throw new IllegalStateException(name + " has no pre-allocated events, " +
+					"it must be created with a signal supplier");
+		}
 	}
 
 	@Override
@@ -471,7 +789,7 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	public final void shutdown() {
 		try {
 			onComplete();
-			executor.shutdown();
+			shutdownExecutor();
 		}
 		catch (Throwable t) {
 			onError(Operators.onOperatorError(t));
@@ -491,15 +809,22 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	final void cancel() {
 		cancelled = true;
 		if (TERMINATED.compareAndSet(this, 0, SHUTDOWN)) {
-			executor.shutdown();
+			shutdownExecutor();
 		}
 		readWait.signalAllWhenBlocking();
+		signalConsumers();
 	}
 
 	protected void doComplete() {
 
 	}
 
+	final void shutdownExecutor() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
 
 	/**
 	 * An async request client for ring buffer impls
@@ -588,10 +913,175 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 			if (subscription != null && autoCancel) {
 				upstreamSubscription = null;
 				cancel();
+				if (scheduler != null) {
+					//there is no request task to observe the cancellation
+					subscription.cancel();
+				}
 			}
 		}
 	}
 
+	/**
+	 * Register a {@link ScheduledConsumer} so it gets scheduled on every publication
+	 * and terminal signal.
+	 *
+	 * @param consumer the consumer to register
+	 */
+	final void addConsumer(ScheduledConsumer consumer) {
+		for (; ; ) {
+			ScheduledConsumer[] a = consumers;
+			int n = a.length;
+			ScheduledConsumer[] b = new ScheduledConsumer[n + 1];
+			System.arraycopy(a, 0, b, 0, n);
+			b[n] = consumer;
+			if (CONSUMERS.compareAndSet(this, a, b)) {
+				return;
+			}
+		}
+	}
+
+	final void removeConsumer(ScheduledConsumer consumer) {
+		for (; ; ) {
+			ScheduledConsumer[] a = consumers;
+			int n = a.length;
+			int j = -1;
+			for (int i = 0; i < n; i++) {
+				if (a[i] == consumer) {
+					j = i;
+					break;
+				}
+			}
+			if (j < 0) {
+				return;
+			}
+			ScheduledConsumer[] b;
+			if (n == 1) {
+				b = EMPTY_CONSUMERS;
+			}
+			else {
+				b = new ScheduledConsumer[n - 1];
+				System.arraycopy(a, 0, b, 0, j);
+				System.arraycopy(a, j + 1, b, j, n - j - 1);
+			}
+			if (CONSUMERS.compareAndSet(this, a, b)) {
+				return;
+			}
+		}
+	}
+
+	final void signalConsumers() {
+		for (ScheduledConsumer c : consumers) {
+			c.schedule();
+		}
+	}
+
+	final boolean awaitConsumers(long timeoutNanos) {
+		long deadline = System.nanoTime() + timeoutNanos;
+		while (consumers.length != 0) {
+			if (deadline - System.nanoTime() <= 0L) {
+				return false;
+			}
+			LockSupport.parkNanos(1_000_000L);
+		}
+		return true;
+	}
+
+	/**
+	 * Non-blocking replacement for the request task used when consumers run on a
+	 * {@link Scheduler}: request from upstream so that at most a full ring buffer is
+	 * outstanding past the {@link #consumedSequence() consumed sequence}. Upstream
+	 * requests are serialized and only issued once a quarter of the buffer is free.
+	 */
+	final void replenish() {
+		if (REPLENISHING.getAndIncrement(this) != 0) {
+			return;
+		}
+		int missed = 1;
+		final int bufferSize = ringBuffer.bufferSize();
+		final long threshold = Math.max(bufferSize >> 2, 1);
+		for (; ; ) {
+			Subscription s = upstreamSubscription;
+			if (s != null && alive()) {
+				long target = consumedSequence() + bufferSize;
+				long r = upstreamRequested;
+				if (target - r >= threshold) {
+					upstreamRequested = target;
+					s.request(target - r);
+				}
+			}
+
+			missed = REPLENISHING.addAndGet(this, -missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Start requesting from upstream when consumers run on a {@link Scheduler}.
+	 */
+	final void scheduledRequestTask() {
+		upstreamRequested = ringBuffer.getCursor();
+		replenish();
+	}
+
+	/**
+	 * @return the highest sequence all subscribers have consumed, used to replenish
+	 * upstream demand when consumers run on a {@link Scheduler}
+	 */
+	long consumedSequence() {
+		return ringBuffer.getMinimumGatingSequence();
+	}
+
+	/**
+	 * A ring buffer consumer driven as a non-blocking drain task on a {@link
+	 * Scheduler.Worker}. It is rescheduled on publication, request and termination,
+	 * and never parks the worker thread while waiting for data or demand.
+	 */
+	static abstract class ScheduledConsumer implements Runnable {
+
+		final Scheduler.Worker worker;
+
+		volatile int wip;
+		static final AtomicIntegerFieldUpdater<ScheduledConsumer> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(ScheduledConsumer.class, "wip");
+
+		ScheduledConsumer(Scheduler scheduler) {
+			this.worker = scheduler.createWorker();
+		}
+
+		final void schedule() {
+			if (WIP.getAndIncrement(this) == 0) {
+				if (worker.schedule(this) == Scheduler.REJECTED) {
+					rejected();
+				}
+			}
+		}
+
+		@Override
+		public final void run() {
+			int missed = 1;
+			for (; ; ) {
+				drain();
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Deliver as many available signals as possible without blocking.
+		 */
+		abstract void drain();
+
+		/**
+		 * Invoked when the {@link Scheduler.Worker} rejected the drain task.
+		 */
+		abstract void rejected();
+	}
+
 	@Override
 	public long downstreamCount() {
 		return subscriberCount;
@@ -619,6 +1109,21 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 	@SuppressWarnings("rawtypes")
 	final static AtomicIntegerFieldUpdater<EventLoopProcessor> TERMINATED =
 			AtomicIntegerFieldUpdater.newUpdater(EventLoopProcessor.class, "terminated");
+	@SuppressWarnings("rawtypes")
+	final static AtomicIntegerFieldUpdater<EventLoopProcessor> REPLENISHING =
+			AtomicIntegerFieldUpdater.newUpdater(EventLoopProcessor.class, "replenishing");
+	@SuppressWarnings("rawtypes")
+	final static AtomicReferenceFieldUpdater<EventLoopProcessor, ProcessorMetrics>
+			METRICS = AtomicReferenceFieldUpdater.newUpdater(EventLoopProcessor.class,
+			ProcessorMetrics.class,
+			"metrics");
+	@SuppressWarnings("rawtypes")
+	final static AtomicReferenceFieldUpdater<EventLoopProcessor, ScheduledConsumer[]>
+			CONSUMERS = AtomicReferenceFieldUpdater.newUpdater(EventLoopProcessor.class,
+			ScheduledConsumer[].class,
+			"consumers");
+
+	static final ScheduledConsumer[] EMPTY_CONSUMERS = new ScheduledConsumer[0];
 
 	/**
 	 * A simple reusable data container.
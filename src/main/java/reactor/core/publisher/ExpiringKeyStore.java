@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.scheduler.TimedScheduler;
+
+/**
+ * A {@link KeyStore} retaining keys for a given time after they were
+ * added, read from a {@link TimedScheduler} clock. {@link #add(Object)} returns false
+ * for a retained key without extending its retention. Expired keys are evicted on
+ * each {@link #add(Object)}, oldest first.
+ *
+ * @param <K> the key type
+ */
+final class ExpiringKeyStore<K> implements KeyStore<K> {
+
+	final LinkedHashMap<K, Long> keys = new LinkedHashMap<>();
+	final long                   ttlNanos;
+	final TimedScheduler         timer;
+
+	ExpiringKeyStore(long ttlNanos, TimedScheduler timer) {
+		if (ttlNanos <= 0L) {
+			throw new IllegalArgumentException("ttl > 0 required but it was " + ttlNanos + "ns");
+		}
+		this.ttlNanos = ttlNanos;
+		this.timer = timer;
+	}
+
+	@Override
+	public boolean add(K k) {
+		long now = timer.now(TimeUnit.NANOSECONDS);
+		Iterator<Map.Entry<K, Long>> it = keys.entrySet().iterator();
+		while (it.hasNext()) {
+			if (now - it.next().getValue() < ttlNanos) {
+				break;
+			}
+			it.remove();
+		}
+		if (keys.containsKey(k)) {
+			return false;
+		}
+		keys.put(k, now);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		keys.clear();
+	}
+}
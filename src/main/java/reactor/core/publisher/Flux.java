@@ -40,6 +40,7 @@ import java.util.function.Function;
 import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
@@ -973,9 +974,9 @@ public abstract class Flux<T> implements Publisher<T> {
 				identityFunction(),
 				false,
 				concurrency,
-				QueueSupplier.get(concurrency),
+				FluxFlatMap.mainQueueSupplierFor(concurrency),
 				prefetch,
-				QueueSupplier.get(prefetch)));
+				FluxFlatMap.innerQueueSupplierFor(concurrency, prefetch)));
 	}
 
 	/**
@@ -1695,6 +1696,26 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxAwaitOnSubscribe<>(this));
 	}
 
+	/**
+	 * Deliver the values of this {@link Flux} downstream in runs of up to {@code
+	 * batchSize} values rather than one at a time, when possible.
+	 * <p>
+	 * Runs are drained from a fuseable source (e.g. {@link #range}, {@link #fromIterable},
+	 * a {@link UnicastProcessor} or {@link #onBackpressureBuffer()}) within the current
+	 * demand, and the downstream {@link #map}, {@link #filter} and {@link #publishOn}
+	 * operators handle each run as a whole: a run crosses a {@link #publishOn} thread
+	 * boundary with a single drain signal, and values dropped by a {@link #filter} are
+	 * replenished with a single request. Other operators receive the values one by one.
+	 * Non-fuseable sources are relayed as is.
+	 *
+	 * @param batchSize the maximum number of values delivered in a single run
+	 *
+	 * @return a {@link Flux} delivering runs of values downstream
+	 */
+	public final Flux<T> batched(int batchSize) {
+		return onAssembly(new FluxBatched<>(this, batchSize));
+	}
+
 	/**
 	 * Blocks until the upstream signals its first value or completes.
 	 *
@@ -2771,6 +2792,33 @@ public abstract class Flux<T> implements Publisher<T> {
 				FluxConcatMap.ErrorMode.IMMEDIATE));
 	}
 
+	/**
+	 * Bind dynamic sequences given this input sequence like {@link #flatMap(Function)}, but preserve
+	 * ordering and concatenate emissions instead of merging (no interleave).
+	 * Errors will immediately short circuit current concat backlog.
+	 * <p>
+	 * The demand to this {@link Flux} adapts between {@code minPrefetch} and {@code maxPrefetch}:
+	 * it grows while the pending values are mapped as fast as they arrive and shrinks while
+	 * they pile up behind a slow inner sequence, and the pending values are held in a queue
+	 * growing with the demand.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/concatmap.png" alt="">
+	 *
+	 * @param mapper the function to transform this sequence of T into concatenated sequences of V
+	 * @param minPrefetch the initial and minimum demand to this {@link Flux}
+	 * @param maxPrefetch the maximum demand to this {@link Flux}
+	 * @param <V> the produced concatenated type
+	 *
+	 * @return a concatenated {@link Flux}
+	 */
+	public final <V> Flux<V> concatMap(Function<? super T, ? extends Publisher<? extends V>>
+			mapper, int minPrefetch, int maxPrefetch) {
+		return onAssembly(new FluxConcatMap<>(this, mapper,
+				QueueSupplier.unbounded(minPrefetch), minPrefetch, maxPrefetch,
+				FluxConcatMap.ErrorMode.IMMEDIATE));
+	}
+
 	/**
 	 * Bind dynamic sequences given this input sequence like {@link #flatMap(Function)}, but preserve
 	 * ordering and concatenate emissions instead of merging (no interleave).
@@ -3137,9 +3185,143 @@ public abstract class Flux<T> implements Publisher<T> {
 	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector) {
 		if (this instanceof Fuseable) {
 			return onAssembly(new FluxDistinctFuseable<>(this, keySelector,
-					hashSetSupplier()));
+					hashSetSupplier(), Set::add, Set::clear));
+		}
+		return onAssembly(new FluxDistinct<>(this, keySelector, hashSetSupplier(),
+				Set::add, Set::clear));
+	}
+
+	/**
+	 * For each {@link Subscriber}, tracks the keys of the last {@code maxKeys} distinct
+	 * values seen and filters out duplicates given the extracted key. When more keys
+	 * are seen, the least recently seen one is forgotten and a later value with that
+	 * key will be emitted again.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param maxKeys the maximum number of keys retained per {@link Subscriber}
+	 *
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} with values having distinct keys among the
+	 * {@code maxKeys} most recently seen
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector,
+			int maxKeys) {
+		if (maxKeys < 1) {
+			throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
 		}
-		return onAssembly(new FluxDistinct<>(this, keySelector, hashSetSupplier()));
+		return distinct(keySelector, () -> new LruKeyStore<V>(maxKeys));
+	}
+
+	/**
+	 * For each {@link Subscriber}, tracks the keys seen during the last {@code ttl} and
+	 * filters out duplicates given the extracted key: a value is dropped if a value with
+	 * the same key has been emitted less than {@code ttl} before. Time is read from
+	 * {@link Schedulers#timer()}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param ttl how long an emitted key is retained
+	 *
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} with values having distinct keys within {@code ttl}
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector,
+			Duration ttl) {
+		return distinct(keySelector, ttl, Schedulers.timer());
+	}
+
+	/**
+	 * For each {@link Subscriber}, tracks the keys seen during the last {@code ttl} and
+	 * filters out duplicates given the extracted key: a value is dropped if a value with
+	 * the same key has been emitted less than {@code ttl} before. Time is read from the
+	 * given {@link TimedScheduler}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param ttl how long an emitted key is retained
+	 * @param timer the {@link TimedScheduler} providing the current time
+	 *
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} with values having distinct keys within {@code ttl}
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector,
+			Duration ttl, TimedScheduler timer) {
+		Objects.requireNonNull(timer, "timer");
+		long ttlNanos = ttl.toNanos();
+		if (ttlNanos <= 0L) {
+			throw new IllegalArgumentException("ttl > 0 required but it was " + ttl);
+		}
+		return distinct(keySelector, () -> new ExpiringKeyStore<V>(ttlNanos, timer));
+	}
+
+	/**
+	 * For each {@link Subscriber}, tracks this {@link Flux} values keys in a
+	 * {@link KeyStore} and filters out the values whose key is not
+	 * {@link KeyStore#add(Object) added} as new, allowing a bounded or approximate store
+	 * of the seen keys. The store is cleared when the sequence terminates.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/distinctk.png" alt="">
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param keyStoreSupplier supplier of the {@link KeyStore} of each
+	 * {@link Subscriber}
+	 *
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 * @param <S> the type of the {@link KeyStore}
+	 *
+	 * @return a filtering {@link Flux} with values having distinct keys
+	 */
+	public final <V, S extends KeyStore<? super V>> Flux<T> distinct(Function<? super T, ? extends V> keySelector,
+			Supplier<S> keyStoreSupplier) {
+		if (this instanceof Fuseable) {
+			return onAssembly(new FluxDistinctFuseable<T, V, S>(this, keySelector,
+					keyStoreSupplier, KeyStore::add, KeyStore::clear));
+		}
+		return onAssembly(new FluxDistinct<T, V, S>(this, keySelector, keyStoreSupplier,
+				KeyStore::add, KeyStore::clear));
+	}
+
+	/**
+	 * For each {@link Subscriber}, tracks a primitive hash of this {@link Flux} values in
+	 * a Bloom filter and filters out the values whose hash has probably been seen
+	 * before. The memory used per {@link Subscriber} is fixed by the expected number of
+	 * keys and false positive rate (about 1.2 bytes per key at 1%) whatever the number
+	 * of keys actually seen. A false positive drops a value seen for the first time.
+	 * Above {@code expectedKeys} the false positive rate degrades.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/distinctk.png" alt="">
+	 *
+	 * @param keyHasher function computing a 64-bit hash of the key of each element,
+	 * e.g. a {@code long} identifier
+	 * @param expectedKeys the number of distinct keys the filter is sized for
+	 * @param falsePositiveRate the probability to drop a value with an unseen key, in
+	 * (0, 1)
+	 *
+	 * @return a filtering {@link Flux} with values having probably distinct keys
+	 */
+	public final Flux<T> distinctApproximate(ToLongFunction<? super T> keyHasher,
+			long expectedKeys, double falsePositiveRate) {
+		Objects.requireNonNull(keyHasher, "keyHasher");
+		if (expectedKeys < 1L) {
+			throw new IllegalArgumentException("expectedKeys > 0 required but it was " + expectedKeys);
+		}
+		if (!(falsePositiveRate > 0d && falsePositiveRate < 1d)) {
+			throw new IllegalArgumentException("0 < falsePositiveRate < 1 required but it was " + falsePositiveRate);
+		}
+		return distinct(Function.identity(),
+				() -> new BloomKeyStore<T>(keyHasher, expectedKeys, falsePositiveRate));
 	}
 
 	/**
@@ -3560,9 +3742,43 @@ public abstract class Flux<T> implements Publisher<T> {
 				mapper,
 				delayError,
 				concurrency,
-				QueueSupplier.get(concurrency),
+				FluxFlatMap.mainQueueSupplierFor(concurrency),
 				prefetch,
-				QueueSupplier.get(prefetch)
+				FluxFlatMap.innerQueueSupplierFor(concurrency, prefetch)
+		));
+	}
+
+	/**
+	 * Transform the items emitted by this {@link Flux} into Publishers, then flatten the emissions from those by
+	 * merging them into a single {@link Flux}, so that they may interleave. The concurrency argument allows to
+	 * control how many merged {@link Publisher} can happen in parallel.
+	 * <p>
+	 * The demand to each merged {@link Publisher} adapts between {@code minPrefetch} and {@code maxPrefetch}:
+	 * it grows while its values are drained as fast as they arrive and shrinks while they pile up behind a
+	 * slow {@link Subscriber}, and its values are held in a queue growing with the demand.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/flatmapc.png" alt="">
+	 *
+	 * @param mapper the {@link Function} to transform input sequence into N sequences {@link Publisher}
+	 * @param concurrency the maximum in-flight elements from this {@link Flux} sequence
+	 * @param minPrefetch the initial and minimum in-flight elements from each inner {@link Publisher} sequence
+	 * @param maxPrefetch the maximum in-flight elements from each inner {@link Publisher} sequence
+	 * @param <V> the merged output sequence type
+	 *
+	 * @return a merged {@link Flux}
+	 */
+	public final <V> Flux<V> flatMap(Function<? super T, ? extends Publisher<? extends
+			V>> mapper, int concurrency, int minPrefetch, int maxPrefetch) {
+		return onAssembly(new FluxFlatMap<>(
+				this,
+				mapper,
+				false,
+				concurrency,
+				FluxFlatMap.mainQueueSupplierFor(concurrency),
+				minPrefetch,
+				maxPrefetch,
+				QueueSupplier.unbounded(minPrefetch)
 		));
 	}
 
@@ -3809,6 +4025,79 @@ public abstract class Flux<T> implements Publisher<T> {
 				QueueSupplier.unbounded(prefetch), prefetch));
 	}
 
+	/**
+	 * Re-route this sequence into dynamically created {@link Flux} for each unique key evaluated by the given
+	 * key mapper, keeping at most {@code maxGroups} groups open and completing the groups that have not
+	 * received a value for {@code maxIdle}. When a new key arrives while {@code maxGroups} groups are open,
+	 * the least recently used group is completed. A completed group is forgotten: a later value with the
+	 * same key opens a new group. Idle groups are looked up periodically on {@link Schedulers#timer()}.
+	 * <p>
+	 * Each group buffers its values in a queue growing by small chunks, so that short-lived groups
+	 * of high-cardinality keys don't each retain a prefetch-sized buffer.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/groupby.png" alt="">
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param valueMapper the value mapping function that evaluates which data to extract for re-routing.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 * @param maxIdle the time without values after which a group is completed, or {@code null} to
+	 * only bound the number of groups
+	 *
+	 * @param <K> the key type extracted from each value of this sequence
+	 * @param <V> the value type extracted from each value of this sequence
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final <K, V> Flux<GroupedFlux<K, V>> groupBy(Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper, int maxGroups, Duration maxIdle) {
+		return groupBy(keyMapper, valueMapper, maxGroups, maxIdle, Schedulers.timer());
+	}
+
+	/**
+	 * Re-route this sequence into dynamically created {@link Flux} for each unique key evaluated by the given
+	 * key mapper, keeping at most {@code maxGroups} groups open and completing the groups that have not
+	 * received a value for {@code maxIdle}. When a new key arrives while {@code maxGroups} groups are open,
+	 * the least recently used group is completed. A completed group is forgotten: a later value with the
+	 * same key opens a new group. Idle groups are looked up periodically on the given {@link TimedScheduler}.
+	 * <p>
+	 * Each group buffers its values in a queue growing by small chunks, so that short-lived groups
+	 * of high-cardinality keys don't each retain a prefetch-sized buffer.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/groupby.png" alt="">
+	 *
+	 * @param keyMapper the key mapping function that evaluates an incoming data and returns a key.
+	 * @param valueMapper the value mapping function that evaluates which data to extract for re-routing.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 * @param maxIdle the time without values after which a group is completed, or {@code null} to
+	 * only bound the number of groups
+	 * @param timer the {@link TimedScheduler} providing the current time and running the idle checks
+	 *
+	 * @param <K> the key type extracted from each value of this sequence
+	 * @param <V> the value type extracted from each value of this sequence
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final <K, V> Flux<GroupedFlux<K, V>> groupBy(Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper, int maxGroups, Duration maxIdle,
+			TimedScheduler timer) {
+		long maxIdleNanos = -1L;
+		if (maxIdle != null) {
+			maxIdleNanos = maxIdle.toNanos();
+			if (maxIdleNanos <= 0L) {
+				throw new IllegalArgumentException("maxIdle > 0 required but it was " + maxIdle);
+			}
+		}
+		return onAssembly(new FluxGroupBy<>(this, keyMapper, valueMapper,
+				QueueSupplier.unbounded(QueueSupplier.SMALL_BUFFER_SIZE),
+				QueueSupplier.unbounded(QueueSupplier.XS_BUFFER_SIZE),
+				QueueSupplier.SMALL_BUFFER_SIZE,
+				maxGroups,
+				maxIdleNanos,
+				timer));
+	}
+
 	/**
 	 * Returns a {@link Flux} that correlates two Publishers when they overlap in time
 	 * and groups the results.
@@ -3959,6 +4248,72 @@ public abstract class Flux<T> implements Publisher<T> {
 				.unbounded(QueueSupplier.XS_BUFFER_SIZE)));
 	}
 
+	/**
+	 * Returns a {@link Flux} that combines the values of this {@link Flux} and of another
+	 * Publisher that have the same key and arrived less than {@code window} apart.
+	 * <p>
+	 * The values of both sides are indexed by key, so each arrival is only combined with
+	 * its matches of the window instead of every value of the window as with
+	 * {@link #join(Publisher, Function, Function, BiFunction)}. Values are retained for
+	 * {@code window} after their arrival, as read from {@link Schedulers#timer()}.
+	 * Matches of a single arrival are combined in arrival order.
+	 *
+	 * @param other the other Publisher to correlate items from the source Publisher with
+	 * @param leftKey a function extracting the join key of the values of this {@link Flux}
+	 * @param rightKey a function extracting the join key of the values of the
+	 * {@code other} Publisher
+	 * @param window how long each value is retained for matching
+	 * @param resultSelector a function that takes a pair of matching items and returns
+	 * the value to be emitted by the resulting Publisher
+	 * @param <TRight> the type of the right Publisher
+	 * @param <K> the join key type
+	 * @param <R> the combined result type
+	 *
+	 * @return a joining {@link Flux}
+	 */
+	public final <TRight, K, R> Flux<R> joinOnKey(Publisher<? extends TRight> other,
+			Function<? super T, ? extends K> leftKey,
+			Function<? super TRight, ? extends K> rightKey,
+			Duration window,
+			BiFunction<? super T, ? super TRight, ? extends R> resultSelector) {
+		return joinOnKey(other, leftKey, rightKey, window, Schedulers.timer(), resultSelector);
+	}
+
+	/**
+	 * Returns a {@link Flux} that combines the values of this {@link Flux} and of another
+	 * Publisher that have the same key and arrived less than {@code window} apart.
+	 * <p>
+	 * The values of both sides are indexed by key, so each arrival is only combined with
+	 * its matches of the window instead of every value of the window as with
+	 * {@link #join(Publisher, Function, Function, BiFunction)}. Values are retained for
+	 * {@code window} after their arrival, as read from the given {@link TimedScheduler}.
+	 * Matches of a single arrival are combined in arrival order.
+	 *
+	 * @param other the other Publisher to correlate items from the source Publisher with
+	 * @param leftKey a function extracting the join key of the values of this {@link Flux}
+	 * @param rightKey a function extracting the join key of the values of the
+	 * {@code other} Publisher
+	 * @param window how long each value is retained for matching
+	 * @param timer the {@link TimedScheduler} providing the current time
+	 * @param resultSelector a function that takes a pair of matching items and returns
+	 * the value to be emitted by the resulting Publisher
+	 * @param <TRight> the type of the right Publisher
+	 * @param <K> the join key type
+	 * @param <R> the combined result type
+	 *
+	 * @return a joining {@link Flux}
+	 */
+	public final <TRight, K, R> Flux<R> joinOnKey(Publisher<? extends TRight> other,
+			Function<? super T, ? extends K> leftKey,
+			Function<? super TRight, ? extends K> rightKey,
+			Duration window,
+			TimedScheduler timer,
+			BiFunction<? super T, ? super TRight, ? extends R> resultSelector) {
+		return onAssembly(new FluxJoinOnKey<T, TRight, K, R>(this, other, leftKey,
+				rightKey, window.toNanos(), timer, resultSelector,
+				QueueSupplier.unbounded(QueueSupplier.XS_BUFFER_SIZE)));
+	}
+
 	/**
 	 * Signal the last element observed before complete signal or emit
 	 * {@link NoSuchElementException} error if the source was empty.
@@ -4192,6 +4547,18 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onErrorResumeWith(predicate, e -> Mono.error(mapper.apply(e)));
 	}
 
+	/**
+	 * Transform the items emitted by this {@link Flux} into primitive longs, continuing
+	 * with a {@link LongFlux} whose operators don't box the values.
+	 *
+	 * @param mapper the {@link ToLongFunction} producing a primitive from each item
+	 *
+	 * @return a new {@link LongFlux}
+	 */
+	public final LongFlux mapToLong(ToLongFunction<? super T> mapper) {
+		return LongFlux.from(this, mapper);
+	}
+
 	/**
 	 * Transform the incoming onNext, onError and onComplete signals into {@link Signal}.
 	 * Since the error is materialized as a {@code Signal}, the propagation will be stopped and onComplete will be
@@ -4223,6 +4590,27 @@ public abstract class Flux<T> implements Publisher<T> {
 		return merge(this, other);
 	}
 
+	/**
+	 * Record the signals of this {@link Flux} into the {@link SequenceMetrics} shared
+	 * by all the sequences with the given name: subscriptions, onNext count, requested
+	 * volume, upstream queue fill, subscription latency and termination time.
+	 * <p>
+	 * Metrics are only recorded when a {@link MetricsRegistry} has been installed with
+	 * {@link Hooks#onMetrics(MetricsRegistry)} at assembly time, otherwise this
+	 * {@link Flux} is returned as is.
+	 *
+	 * @param name the name grouping the metrics of similar sequences
+	 *
+	 * @return an instrumented {@link Flux}
+	 */
+	public final Flux<T> metrics(String name) {
+		SequenceMetrics metrics = Hooks.sequenceMetrics(Objects.requireNonNull(name, "name"));
+		if (metrics == null) {
+			return this;
+		}
+		return onAssembly(new FluxMetrics<>(this, metrics));
+	}
+
 	/**
 	 * Emit only the first item emitted by this {@link Flux}.
 	 * <p>
@@ -4731,6 +5119,35 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxPublishOn<>(this, scheduler, delayError, prefetch, QueueSupplier.get(prefetch)));
 	}
 
+	/**
+	 * Run onNext, onComplete and onError on a supplied {@link Scheduler}
+	 * {@link reactor.core.scheduler.Scheduler.Worker}.
+	 * <p>
+	 * The demand to this {@link Flux} adapts between {@code minPrefetch} and {@code maxPrefetch}:
+	 * it grows while the {@link Subscriber} drains the values as fast as they arrive, amortizing
+	 * the requests across threads, and shrinks while the values pile up behind a slow
+	 * {@link Subscriber}. The values are held in a queue growing with the demand.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/publishon.png" alt="">
+	 * <p>
+	 * {@code flux.publishOn(Schedulers.single(), 32, 1024).subscribe() }
+	 *
+	 * @param scheduler a checked {@link reactor.core.scheduler.Scheduler.Worker} factory
+	 * @param minPrefetch the initial and minimum asynchronous boundary capacity
+	 * @param maxPrefetch the maximum asynchronous boundary capacity
+	 *
+	 * @return a {@link Flux} producing asynchronously
+	 */
+	public final Flux<T> publishOn(Scheduler scheduler, int minPrefetch, int maxPrefetch) {
+		if (this instanceof Callable) {
+			return publishOn(scheduler, true, minPrefetch);
+		}
+
+		return onAssembly(new FluxPublishOn<>(this, scheduler, true, minPrefetch,
+				maxPrefetch, QueueSupplier.unbounded(minPrefetch)));
+	}
+
 	/**
 	 * Aggregate the values from this {@link Flux} sequence into an object of the same type than the
 	 * emitted items. The left/right {@link BiFunction} arguments are the N-1 and N item, ignoring sequence
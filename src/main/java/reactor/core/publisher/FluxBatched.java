@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Exceptions;
+import reactor.core.Fuseable;
+import reactor.core.Producer;
+import reactor.core.Receiver;
+import reactor.core.Trackable;
+
+/**
+ * Drains a fuseable source in runs of up to {@code batchSize} values and delivers each
+ * run in a single {@link BatchSubscriber#onNextBatch} call when the downstream
+ * supports it. Non-fuseable sources are relayed as is.
+ *
+ * @param <T> the value type
+ */
+final class FluxBatched<T> extends FluxSource<T, T> {
+
+	final int batchSize;
+
+	FluxBatched(Publisher<? extends T> source, int batchSize) {
+		super(source);
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize > 0 required but it was " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> s) {
+		source.subscribe(new BatchedSubscriber<>(s, batchSize));
+	}
+
+	static final class BatchedSubscriber<T>
+			implements Subscriber<T>, Subscription, Receiver, Producer, Trackable {
+
+		final Subscriber<? super T> actual;
+
+		final int batchSize;
+
+		final ArrayList<T> buffer;
+
+		Subscription s;
+
+		Queue<T> queue;
+
+		int sourceMode;
+
+		long produced;
+
+		volatile boolean done;
+
+		Throwable error;
+
+		volatile boolean cancelled;
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<BatchedSubscriber> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(BatchedSubscriber.class, "wip");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<BatchedSubscriber> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(BatchedSubscriber.class, "requested");
+
+		BatchedSubscriber(Subscriber<? super T> actual, int batchSize) {
+			this.actual = actual;
+			this.batchSize = batchSize;
+			this.buffer = new ArrayList<>(Math.min(batchSize, 256));
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+
+				if (s instanceof Fuseable.QueueSubscription) {
+					@SuppressWarnings("unchecked") Fuseable.QueueSubscription<T> f =
+							(Fuseable.QueueSubscription<T>) s;
+
+					int m = f.requestFusion(Fuseable.ANY);
+
+					if (m == Fuseable.SYNC) {
+						sourceMode = Fuseable.SYNC;
+						queue = f;
+						done = true;
+					}
+					else if (m == Fuseable.ASYNC) {
+						sourceMode = Fuseable.ASYNC;
+						queue = f;
+					}
+				}
+
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (sourceMode == Fuseable.ASYNC) {
+				drain();
+				return;
+			}
+			if (done) {
+				Operators.onNextDropped(t);
+				return;
+			}
+			actual.onNext(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t);
+				return;
+			}
+			if (sourceMode == Fuseable.ASYNC) {
+				error = t;
+				done = true;
+				drain();
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			if (sourceMode == Fuseable.ASYNC) {
+				drain();
+				return;
+			}
+			actual.onComplete();
+		}
+
+		@Override
+		public void request(long n) {
+			if (sourceMode == Fuseable.NONE) {
+				s.request(n);
+				return;
+			}
+			if (Operators.validate(n)) {
+				Operators.getAndAddCap(REQUESTED, this, n);
+				if (sourceMode == Fuseable.ASYNC) {
+					s.request(n);
+				}
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			s.cancel();
+
+			if (sourceMode != Fuseable.NONE && WIP.getAndIncrement(this) == 0) {
+				queue.clear();
+				buffer.clear();
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			final Subscriber<? super T> a = actual;
+			final Queue<T> q = queue;
+			final ArrayList<T> b = buffer;
+
+			long e = produced;
+
+			for (; ; ) {
+
+				long r = requested;
+
+				while (e != r) {
+					boolean d = done;
+					long limit = Math.min(r - e, batchSize);
+
+					try {
+						T v;
+						while (b.size() != limit && (v = q.poll()) != null) {
+							b.add(v);
+						}
+					}
+					catch (Throwable ex) {
+						Exceptions.throwIfFatal(ex);
+						s.cancel();
+						q.clear();
+						b.clear();
+						a.onError(Operators.onOperatorError(ex));
+						return;
+					}
+
+					if (cancelled) {
+						q.clear();
+						b.clear();
+						return;
+					}
+
+					int n = b.size();
+					if (n != 0) {
+						BatchSubscriber.emit(a, b);
+						b.clear();
+						e += n;
+					}
+
+					if (n != limit) {
+						if (d && checkTerminated(a, q)) {
+							return;
+						}
+						break;
+					}
+				}
+
+				if (cancelled) {
+					q.clear();
+					return;
+				}
+
+				if (e == r && done && q.isEmpty() && checkTerminated(a, q)) {
+					return;
+				}
+
+				produced = e;
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		boolean checkTerminated(Subscriber<? super T> a, Queue<T> q) {
+			if (!q.isEmpty()) {
+				return false;
+			}
+			Throwable ex = error;
+			if (ex != null) {
+				a.onError(ex);
+			}
+			else {
+				a.onComplete();
+			}
+			return true;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public boolean isStarted() {
+			return s != null && !cancelled;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done && (queue == null || queue.isEmpty());
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public long getPending() {
+			return queue != null ? queue.size() : -1L;
+		}
+
+		@Override
+		public long getCapacity() {
+			return batchSize;
+		}
+	}
+}
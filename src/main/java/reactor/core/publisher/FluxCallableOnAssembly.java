@@ -41,8 +41,12 @@ final class FluxCallableOnAssembly<T> extends FluxSource<T, T>
 	final Exception stacktrace;
 
 	FluxCallableOnAssembly(Publisher<? extends T> source) {
+		this(source, new Exception());
+	}
+
+	FluxCallableOnAssembly(Publisher<? extends T> source, Exception stacktrace) {
 		super(source);
-		this.stacktrace = new Exception();
+		this.stacktrace = stacktrace;
 	}
 
 	@Override
@@ -46,6 +46,8 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 
 	final int prefetch;
 
+	final int maxPrefetch;
+
 	final ErrorMode errorMode;
 
 	/**
@@ -72,14 +74,16 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 		Subscriber<T> parent;
 		switch (errorMode) {
 			case BOUNDARY:
-				parent =
-						new ConcatMapDelayed<>(s, mapper, queueSupplier, prefetch, false);
+				parent = new ConcatMapDelayed<>(s, mapper, queueSupplier, prefetch,
+						prefetch, false);
 				break;
 			case END:
-				parent = new ConcatMapDelayed<>(s, mapper, queueSupplier, prefetch, true);
+				parent = new ConcatMapDelayed<>(s, mapper, queueSupplier, prefetch,
+						prefetch, true);
 				break;
 			default:
-				parent = new ConcatMapImmediate<>(s, mapper, queueSupplier, prefetch);
+				parent = new ConcatMapImmediate<>(s, mapper, queueSupplier, prefetch,
+						prefetch);
 		}
 		return parent;
 	}
@@ -89,19 +93,35 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 			Supplier<? extends Queue<T>> queueSupplier,
 			int prefetch,
 			ErrorMode errorMode) {
+		this(source, mapper, queueSupplier, prefetch, prefetch, errorMode);
+	}
+
+	/**
+	 * Build a concatMap which source request batches adapt between {@code prefetch}
+	 * and {@code maxPrefetch}, see {@link AdaptivePrefetch}. The queue must be able to
+	 * hold {@code maxPrefetch} values.
+	 */
+	FluxConcatMap(Publisher<? extends T> source,
+			Function<? super T, ? extends Publisher<? extends R>> mapper,
+			Supplier<? extends Queue<T>> queueSupplier,
+			int prefetch,
+			int maxPrefetch,
+			ErrorMode errorMode) {
 		super(source);
 		if (prefetch <= 0) {
 			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
 		}
+		AdaptivePrefetch.checkBounds(prefetch, maxPrefetch);
 		this.mapper = Objects.requireNonNull(mapper, "mapper");
 		this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
 		this.prefetch = prefetch;
+		this.maxPrefetch = maxPrefetch;
 		this.errorMode = Objects.requireNonNull(errorMode, "errorMode");
 	}
 
 	@Override
 	public long getPrefetch() {
-		return prefetch;
+		return maxPrefetch;
 	}
 
 	@Override
@@ -114,14 +134,16 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 		Subscriber<T> parent;
 		switch (errorMode) {
 			case BOUNDARY:
-				parent =
-						new ConcatMapDelayed<>(s, mapper, queueSupplier, prefetch, false);
+				parent = new ConcatMapDelayed<>(s, mapper, queueSupplier, prefetch,
+						maxPrefetch, false);
 				break;
 			case END:
-				parent = new ConcatMapDelayed<>(s, mapper, queueSupplier, prefetch, true);
+				parent = new ConcatMapDelayed<>(s, mapper, queueSupplier, prefetch,
+						maxPrefetch, true);
 				break;
 			default:
-				parent = new ConcatMapImmediate<>(s, mapper, queueSupplier, prefetch);
+				parent = new ConcatMapImmediate<>(s, mapper, queueSupplier, prefetch,
+						maxPrefetch);
 		}
 		source.subscribe(parent);
 	}
@@ -139,7 +161,9 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 
 		final int prefetch;
 
-		final int limit;
+		final AdaptivePrefetch adaptive;
+
+		int limit;
 
 		Subscription s;
 
@@ -175,12 +199,20 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 		ConcatMapImmediate(Subscriber<? super R> actual,
 				Function<? super T, ? extends Publisher<? extends R>> mapper,
 				Supplier<? extends Queue<T>> queueSupplier,
-				int prefetch) {
+				int prefetch,
+				int maxPrefetch) {
 			this.actual = actual;
 			this.mapper = mapper;
 			this.queueSupplier = queueSupplier;
 			this.prefetch = prefetch;
-			this.limit = prefetch - (prefetch >> 2);
+			if (maxPrefetch != prefetch) {
+				this.adaptive = new AdaptivePrefetch(prefetch, maxPrefetch);
+				this.limit = adaptive.limit;
+			}
+			else {
+				this.adaptive = null;
+				this.limit = prefetch - (prefetch >> 2);
+			}
 			this.inner = new ConcatMapInner<>(this);
 		}
 
@@ -217,7 +249,21 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 
 				actual.onSubscribe(this);
 
-				s.request(prefetch);
+				s.request(adaptive != null ? adaptive.initialRequest() : prefetch);
+			}
+		}
+
+		void replenish(int n) {
+			AdaptivePrefetch a = adaptive;
+			if (a == null) {
+				s.request(n);
+			}
+			else {
+				long r = a.replenish(n, queue);
+				limit = a.limit;
+				if (r != 0L) {
+					s.request(r);
+				}
 			}
 		}
 
@@ -352,7 +398,7 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 								int c = consumed + 1;
 								if (c == limit) {
 									consumed = 0;
-									s.request(c);
+									replenish(c);
 								}
 								else {
 									consumed = c;
@@ -451,7 +497,9 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 
 		final int prefetch;
 
-		final int limit;
+		final AdaptivePrefetch adaptive;
+
+		int limit;
 
 		final boolean veryEnd;
 
@@ -485,12 +533,20 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 				Function<? super T, ? extends Publisher<? extends R>> mapper,
 				Supplier<? extends Queue<T>> queueSupplier,
 				int prefetch,
+				int maxPrefetch,
 				boolean veryEnd) {
 			this.actual = actual;
 			this.mapper = mapper;
 			this.queueSupplier = queueSupplier;
 			this.prefetch = prefetch;
-			this.limit = prefetch - (prefetch >> 2);
+			if (maxPrefetch != prefetch) {
+				this.adaptive = new AdaptivePrefetch(prefetch, maxPrefetch);
+				this.limit = adaptive.limit;
+			}
+			else {
+				this.adaptive = null;
+				this.limit = prefetch - (prefetch >> 2);
+			}
 			this.veryEnd = veryEnd;
 			this.inner = new ConcatMapInner<>(this);
 		}
@@ -530,7 +586,21 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 
 				actual.onSubscribe(this);
 
-				s.request(prefetch);
+				s.request(adaptive != null ? adaptive.initialRequest() : prefetch);
+			}
+		}
+
+		void replenish(int n) {
+			AdaptivePrefetch a = adaptive;
+			if (a == null) {
+				s.request(n);
+			}
+			else {
+				long r = a.replenish(n, queue);
+				limit = a.limit;
+				if (r != 0L) {
+					s.request(r);
+				}
 			}
 		}
 
@@ -667,7 +737,7 @@ final class FluxConcatMap<T, R> extends FluxSource<T, R> {
 								int c = consumed + 1;
 								if (c == limit) {
 									consumed = 0;
-									s.request(c);
+									replenish(c);
 								}
 								else {
 									consumed = c;
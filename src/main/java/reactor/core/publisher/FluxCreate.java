@@ -16,6 +16,7 @@
 
 package reactor.core.publisher;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -115,7 +116,7 @@ final class FluxCreate<T> extends Flux<T> {
 
 		public SerializedSink(BaseSink<T> sink) {
 			this.sink = sink;
-			this.queue = QueueSupplier.<T>unbounded(QueueSupplier.XS_BUFFER_SIZE).get();
+			this.queue = QueueSupplier.<T>mpscUnbounded(QueueSupplier.XS_BUFFER_SIZE).get();
 		}
 
 		@Override
@@ -133,9 +134,33 @@ final class FluxCreate<T> extends Flux<T> {
 				}
 			}
 			else {
-				Queue<T> q = queue;
-				synchronized (this) {
-					q.offer(t);
+				queue.offer(t);
+				if (WIP.getAndIncrement(this) != 0) {
+					return;
+				}
+			}
+			drainLoop();
+		}
+
+		@Override
+		public void nextAll(Collection<? extends T> values) {
+			if (sink.isCancelled() || done) {
+				return;
+			}
+			for (T t : values) {
+				if (t == null) {
+					throw new NullPointerException("t is null in sink.nextAll(values)");
+				}
+			}
+			if (WIP.get(this) == 0 && WIP.compareAndSet(this, 0, 1)) {
+				sink.nextAll(values);
+				if (WIP.decrementAndGet(this) == 0) {
+					return;
+				}
+			}
+			else {
+				for (T t : values) {
+					queue.offer(t);
 				}
 				if (WIP.getAndIncrement(this) != 0) {
 					return;
@@ -358,7 +383,7 @@ final class FluxCreate<T> extends Flux<T> {
 		}
 
 		@Override
-		public final FluxSink<T> serialize() {
+		public FluxSink<T> serialize() {
 			return new SerializedSink<>(this);
 		}
 	}
@@ -385,6 +410,31 @@ final class FluxCreate<T> extends Flux<T> {
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public void nextAll(Collection<? extends T> values) {
+			if (isCancelled()) {
+				return;
+			}
+
+			if (actual instanceof EventLoopProcessor) {
+				((EventLoopProcessor<T>) actual).onNextAll(values);
+			}
+			else {
+				for (T t : values) {
+					actual.onNext(t);
+				}
+			}
+
+			long n = values.size();
+			for (; ; ) {
+				long r = requested;
+				if (r == 0L || REQUESTED.compareAndSet(this, r, Operators.subOrZero(r, n))) {
+					return;
+				}
+			}
+		}
+
 	}
 
 	static abstract class NoOverflowBaseAsyncSink<T> extends BaseSink<T> {
@@ -437,11 +487,21 @@ final class FluxCreate<T> extends Flux<T> {
 
 	}
 
+	/**
+	 * Buffers into a multi-producer queue so that {@link #next(Object)} can be called
+	 * from several threads without an additional serialization step.
+	 *
+	 * @param <T> the value type
+	 */
 	static final class BufferAsyncSink<T> extends BaseSink<T> {
 
 		final Queue<T> queue;
 
-		Throwable error;
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<BufferAsyncSink, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(BufferAsyncSink.class, Throwable.class, "error");
+
 		volatile boolean done;
 
 		volatile int wip;
@@ -451,26 +511,67 @@ final class FluxCreate<T> extends Flux<T> {
 
 		 BufferAsyncSink(Subscriber<? super T> actual, int capacityHint) {
 			super(actual);
-			this.queue = QueueSupplier.<T>unbounded(capacityHint).get();
+			this.queue = QueueSupplier.<T>mpscUnbounded(capacityHint).get();
 		}
 
 		@Override
 		public void next(T t) {
+			if (done || isCancelled()) {
+				return;
+			}
+			if (t == null) {
+				throw new NullPointerException("t is null in sink.next(t)");
+			}
 			queue.offer(t);
 			drain();
 		}
 
 		@Override
-		public void error(Throwable e) {
-			error = e;
-			done = true;
+		public void nextAll(Collection<? extends T> values) {
+			if (done || isCancelled()) {
+				return;
+			}
+			for (T t : values) {
+				if (t == null) {
+					throw new NullPointerException("t is null in sink.nextAll(values)");
+				}
+			}
+			for (T t : values) {
+				queue.offer(t);
+			}
 			drain();
 		}
 
+		@Override
+		public void error(Throwable e) {
+			if (isCancelled() || done) {
+				Operators.onErrorDropped(e);
+				return;
+			}
+			if (ERROR.compareAndSet(this, null, e)) {
+				done = true;
+				drain();
+			}
+			else {
+				Operators.onErrorDropped(e);
+			}
+		}
+
 		@Override
 		public void complete() {
-			done = true;
-			drain();
+			if (isCancelled() || done) {
+				return;
+			}
+			// the terminal signal racing with error(e) is decided by a single CAS
+			if (ERROR.compareAndSet(this, null, Exceptions.TERMINATED)) {
+				done = true;
+				drain();
+			}
+		}
+
+		@Override
+		public FluxSink<T> serialize() {
+			return this;
 		}
 
 		@Override
@@ -512,7 +613,7 @@ final class FluxCreate<T> extends Flux<T> {
 
 					if (d && empty) {
 						Throwable ex = error;
-						if (ex != null) {
+						if (ex != Exceptions.TERMINATED) {
 							super.error(ex);
 						}
 						else {
@@ -542,7 +643,7 @@ final class FluxCreate<T> extends Flux<T> {
 
 					if (d && empty) {
 						Throwable ex = error;
-						if (ex != null) {
+						if (ex != Exceptions.TERMINATED) {
 							super.error(ex);
 						}
 						else {
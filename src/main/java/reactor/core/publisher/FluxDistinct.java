@@ -16,8 +16,9 @@
 
 package reactor.core.publisher;
 
-import java.util.Collection;
 import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -38,23 +39,33 @@ import reactor.core.Trackable;
  *
  * @param <T> the source value type
  * @param <K> the key extracted from the source value to be used for duplicate testing
- * @param <C> the collection type whose add() method is used for testing for duplicates
+ * @param <C> the type of the per-subscriber store of the keys seen
  *
  * @see <a href="https://github.com/reactor/reactive-streams-commons">Reactive-Streams-Commons</a>
  */
-final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSource<T, T> {
+final class FluxDistinct<T, K, C> extends FluxSource<T, T> {
 
 	final Function<? super T, ? extends K> keyExtractor;
 
 	final Supplier<C> collectionSupplier;
 
+	final BiPredicate<C, K> distinctPredicate;
+
+	final Consumer<C> cleanupCallback;
+
 	FluxDistinct(Publisher<? extends T> source,
 			Function<? super T, ? extends K> keyExtractor,
-			Supplier<C> collectionSupplier) {
+			Supplier<C> collectionSupplier,
+			BiPredicate<C, K> distinctPredicate,
+			Consumer<C> cleanupCallback) {
 		super(source);
 		this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
 		this.collectionSupplier =
 				Objects.requireNonNull(collectionSupplier, "collectionSupplier");
+		this.distinctPredicate =
+				Objects.requireNonNull(distinctPredicate, "distinctPredicate");
+		this.cleanupCallback =
+				Objects.requireNonNull(cleanupCallback, "cleanupCallback");
 	}
 
 	@Override
@@ -74,14 +85,17 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 		if (s instanceof ConditionalSubscriber) {
 			source.subscribe(new DistinctConditionalSubscriber<>((ConditionalSubscriber<? super T>) s,
 					collection,
-					keyExtractor));
+					keyExtractor,
+					distinctPredicate,
+					cleanupCallback));
 		}
 		else {
-			source.subscribe(new DistinctSubscriber<>(s, collection, keyExtractor));
+			source.subscribe(new DistinctSubscriber<>(s, collection, keyExtractor,
+					distinctPredicate, cleanupCallback));
 		}
 	}
 
-	static final class DistinctSubscriber<T, K, C extends Collection<? super K>>
+	static final class DistinctSubscriber<T, K, C>
 			implements ConditionalSubscriber<T>, Receiver, Producer, Loopback,
 			           Subscription, Trackable {
 
@@ -91,16 +105,24 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 
 		final Function<? super T, ? extends K> keyExtractor;
 
+		final BiPredicate<C, K> distinctPredicate;
+
+		final Consumer<C> cleanupCallback;
+
 		Subscription s;
 
 		boolean done;
 
 		DistinctSubscriber(Subscriber<? super T> actual,
 				C collection,
-				Function<? super T, ? extends K> keyExtractor) {
+				Function<? super T, ? extends K> keyExtractor,
+				BiPredicate<C, K> distinctPredicate,
+				Consumer<C> cleanupCallback) {
 			this.actual = actual;
 			this.collection = collection;
 			this.keyExtractor = keyExtractor;
+			this.distinctPredicate = distinctPredicate;
+			this.cleanupCallback = cleanupCallback;
 		}
 
 		@Override
@@ -140,7 +162,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 			boolean b;
 
 			try {
-				b = collection.add(k);
+				b = distinctPredicate.test(collection, k);
 			}
 			catch (Throwable e) {
 				onError(Operators.onOperatorError(s, e, t));
@@ -161,7 +183,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 				return;
 			}
 			done = true;
-			collection.clear();
+			cleanupCallback.accept(collection);
 
 			actual.onError(t);
 		}
@@ -172,7 +194,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 				return;
 			}
 			done = true;
-			collection.clear();
+			cleanupCallback.accept(collection);
 
 			actual.onComplete();
 		}
@@ -213,7 +235,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 		}
 	}
 
-	static final class DistinctConditionalSubscriber<T, K, C extends Collection<? super K>>
+	static final class DistinctConditionalSubscriber<T, K, C>
 			implements ConditionalSubscriber<T>, Receiver, Producer, Loopback,
 			           Subscription, Trackable {
 
@@ -223,16 +245,24 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 
 		final Function<? super T, ? extends K> keyExtractor;
 
+		final BiPredicate<C, K> distinctPredicate;
+
+		final Consumer<C> cleanupCallback;
+
 		Subscription s;
 
 		boolean done;
 
 		DistinctConditionalSubscriber(ConditionalSubscriber<? super T> actual,
 				C collection,
-				Function<? super T, ? extends K> keyExtractor) {
+				Function<? super T, ? extends K> keyExtractor,
+				BiPredicate<C, K> distinctPredicate,
+				Consumer<C> cleanupCallback) {
 			this.actual = actual;
 			this.collection = collection;
 			this.keyExtractor = keyExtractor;
+			this.distinctPredicate = distinctPredicate;
+			this.cleanupCallback = cleanupCallback;
 		}
 
 		@Override
@@ -265,7 +295,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 			boolean b;
 
 			try {
-				b = collection.add(k);
+				b = distinctPredicate.test(collection, k);
 			}
 			catch (Throwable e) {
 				onError(Operators.onOperatorError(s, e, t));
@@ -301,7 +331,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 			boolean b;
 
 			try {
-				b = collection.add(k);
+				b = distinctPredicate.test(collection, k);
 			}
 			catch (Throwable e) {
 				onError(Operators.onOperatorError(s, e, t));
@@ -318,7 +348,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 				return;
 			}
 			done = true;
-			collection.clear();
+			cleanupCallback.accept(collection);
 
 			actual.onError(t);
 		}
@@ -329,7 +359,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 				return;
 			}
 			done = true;
-			collection.clear();
+			cleanupCallback.accept(collection);
 
 			actual.onComplete();
 		}
@@ -370,7 +400,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 		}
 	}
 
-	static final class DistinctFuseableSubscriber<T, K, C extends Collection<? super K>>
+	static final class DistinctFuseableSubscriber<T, K, C>
 			implements ConditionalSubscriber<T>, Receiver, Producer, Loopback,
 			           QueueSubscription<T>, Trackable {
 
@@ -380,6 +410,10 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 
 		final Function<? super T, ? extends K> keyExtractor;
 
+		final BiPredicate<C, K> distinctPredicate;
+
+		final Consumer<C> cleanupCallback;
+
 		QueueSubscription<T> qs;
 
 		boolean done;
@@ -388,10 +422,14 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 
 		DistinctFuseableSubscriber(Subscriber<? super T> actual,
 				C collection,
-				Function<? super T, ? extends K> keyExtractor) {
+				Function<? super T, ? extends K> keyExtractor,
+				BiPredicate<C, K> distinctPredicate,
+				Consumer<C> cleanupCallback) {
 			this.actual = actual;
 			this.collection = collection;
 			this.keyExtractor = keyExtractor;
+			this.distinctPredicate = distinctPredicate;
+			this.cleanupCallback = cleanupCallback;
 		}
 
 		@SuppressWarnings("unchecked")
@@ -437,7 +475,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 			boolean b;
 
 			try {
-				b = collection.add(k);
+				b = distinctPredicate.test(collection, k);
 			}
 			catch (Throwable e) {
 				onError(Operators.onOperatorError(qs, e, t));
@@ -458,7 +496,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 				return;
 			}
 			done = true;
-			collection.clear();
+			cleanupCallback.accept(collection);
 
 			actual.onError(t);
 		}
@@ -469,7 +507,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 				return;
 			}
 			done = true;
-			collection.clear();
+			cleanupCallback.accept(collection);
 
 			actual.onComplete();
 		}
@@ -528,7 +566,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 					K r = Objects.requireNonNull(keyExtractor.apply(v),
 							"The keyExtractor returned a null collection");
 
-					if (collection.add(r)) {
+					if (distinctPredicate.test(collection, r)) {
 						if (dropped != 0) {
 							request(dropped);
 						}
@@ -546,7 +584,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 					K r = Objects.requireNonNull(keyExtractor.apply(v),
 							"The keyExtractor returned a null collection");
 
-					if (collection.add(r)) {
+					if (distinctPredicate.test(collection, r)) {
 						return v;
 					}
 				}
@@ -561,7 +599,7 @@ final class FluxDistinct<T, K, C extends Collection<? super K>> extends FluxSour
 		@Override
 		public void clear() {
 			qs.clear();
-			collection.clear();
+			cleanupCallback.accept(collection);
 		}
 
 		@Override
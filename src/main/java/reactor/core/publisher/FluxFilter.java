@@ -16,6 +16,8 @@
 
 package reactor.core.publisher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -58,7 +60,7 @@ final class FluxFilter<T> extends FluxSource<T, T> {
 
 	static final class FilterSubscriber<T>
 			implements Receiver, Producer, Loopback, Subscription,
-			           Fuseable.ConditionalSubscriber<T>, Trackable {
+			           Fuseable.ConditionalSubscriber<T>, BatchSubscriber<T>, Trackable {
 
 		final Subscriber<? super T> actual;
 
@@ -68,6 +70,9 @@ final class FluxFilter<T> extends FluxSource<T, T> {
 
 		boolean done;
 
+		/** Reused to deliver filtered runs to a {@link BatchSubscriber}. */
+		ArrayList<T> batch;
+
 		FilterSubscriber(Subscriber<? super T> actual, Predicate<? super T> predicate) {
 			this.actual = actual;
 			this.predicate = predicate;
@@ -105,6 +110,17 @@ final class FluxFilter<T> extends FluxSource<T, T> {
 			}
 		}
 
+		@Override
+		public void onNextBatch(List<? extends T> values) {
+			if (done) {
+				Operators.onNextDropped(values.get(0));
+				return;
+			}
+			batch = BatchSubscriber.deliver(this, s, actual, values,
+					t -> predicate.test(t) ? t : null,
+					batch);
+		}
+
 		@Override
 		public boolean tryOnNext(T t) {
 			if (done) {
@@ -184,7 +200,7 @@ final class FluxFilter<T> extends FluxSource<T, T> {
 
 	static final class FilterConditionalSubscriber<T>
 			implements Receiver, Producer, Loopback, Subscription,
-			           Fuseable.ConditionalSubscriber<T>, Trackable {
+			           Fuseable.ConditionalSubscriber<T>, BatchSubscriber<T>, Trackable {
 
 		final Fuseable.ConditionalSubscriber<? super T> actual;
 
@@ -194,6 +210,9 @@ final class FluxFilter<T> extends FluxSource<T, T> {
 
 		boolean done;
 
+		/** Reused to deliver filtered runs to a {@link BatchSubscriber}. */
+		ArrayList<T> batch;
+
 		FilterConditionalSubscriber(Fuseable.ConditionalSubscriber<? super T> actual,
 				Predicate<? super T> predicate) {
 			this.actual = actual;
@@ -232,6 +251,17 @@ final class FluxFilter<T> extends FluxSource<T, T> {
 			}
 		}
 
+		@Override
+		public void onNextBatch(List<? extends T> values) {
+			if (done) {
+				Operators.onNextDropped(values.get(0));
+				return;
+			}
+			batch = BatchSubscriber.deliver(this, s, actual, values,
+					t -> predicate.test(t) ? t : null,
+					batch);
+		}
+
 		@Override
 		public boolean tryOnNext(T t) {
 			if (done) {
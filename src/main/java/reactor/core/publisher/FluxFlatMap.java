@@ -36,6 +36,7 @@ import reactor.core.MultiReceiver;
 import reactor.core.Producer;
 import reactor.core.Receiver;
 import reactor.core.Trackable;
+import reactor.util.concurrent.QueueSupplier;
 
 /**
  * Maps a sequence of values each into a Publisher and flattens them
@@ -57,6 +58,8 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 
 	final int prefetch;
 
+	final int maxPrefetch;
+
 	final Supplier<? extends Queue<R>> innerQueueSupplier;
 
 	public FluxFlatMap(Publisher<? extends T> source,
@@ -66,6 +69,23 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 			Supplier<? extends Queue<R>> mainQueueSupplier,
 			int prefetch,
 			Supplier<? extends Queue<R>> innerQueueSupplier) {
+		this(source, mapper, delayError, maxConcurrency, mainQueueSupplier, prefetch,
+				prefetch, innerQueueSupplier);
+	}
+
+	/**
+	 * Build a flatMap which inner request batches adapt between {@code prefetch} and
+	 * {@code maxPrefetch}, see {@link AdaptivePrefetch}. The inner queues must be able
+	 * to hold {@code maxPrefetch} values.
+	 */
+	FluxFlatMap(Publisher<? extends T> source,
+			Function<? super T, ? extends Publisher<? extends R>> mapper,
+			boolean delayError,
+			int maxConcurrency,
+			Supplier<? extends Queue<R>> mainQueueSupplier,
+			int prefetch,
+			int maxPrefetch,
+			Supplier<? extends Queue<R>> innerQueueSupplier) {
 		super(source);
 		if (prefetch <= 0) {
 			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
@@ -73,9 +93,11 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 		if (maxConcurrency <= 0) {
 			throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
 		}
+		AdaptivePrefetch.checkBounds(prefetch, maxPrefetch);
 		this.mapper = Objects.requireNonNull(mapper, "mapper");
 		this.delayError = delayError;
 		this.prefetch = prefetch;
+		this.maxPrefetch = maxPrefetch;
 		this.maxConcurrency = maxConcurrency;
 		this.mainQueueSupplier =
 				Objects.requireNonNull(mainQueueSupplier, "mainQueueSupplier");
@@ -85,7 +107,7 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 
 	@Override
 	public long getPrefetch() {
-		return prefetch;
+		return maxPrefetch;
 	}
 
 	@Override
@@ -101,9 +123,51 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 				maxConcurrency,
 				mainQueueSupplier,
 				prefetch,
+				maxPrefetch,
 				innerQueueSupplier));
 	}
 
+	/**
+	 * Above this many concurrent inners, queues are not sized upfront for the worst
+	 * case but start tiny and grow as linked arrays when values actually pile up.
+	 */
+	static final int LAZY_QUEUES_CONCURRENCY = QueueSupplier.SMALL_BUFFER_SIZE;
+
+	/**
+	 * Return the scalar queue {@link Supplier} for the given concurrency: a bounded
+	 * queue of {@code maxConcurrency} slots or, for high concurrency, a growing queue.
+	 *
+	 * @param maxConcurrency the maximum number of concurrent inners
+	 * @param <R> the queued value type
+	 *
+	 * @return a scalar queue {@link Supplier}
+	 */
+	static <R> Supplier<Queue<R>> mainQueueSupplierFor(int maxConcurrency) {
+		if (maxConcurrency > LAZY_QUEUES_CONCURRENCY && maxConcurrency != Integer.MAX_VALUE) {
+			return QueueSupplier.unbounded(QueueSupplier.XS_BUFFER_SIZE);
+		}
+		return QueueSupplier.get(maxConcurrency);
+	}
+
+	/**
+	 * Return the inner queue {@link Supplier} for the given concurrency: a bounded
+	 * queue of {@code prefetch} slots or, for high concurrency, a queue growing from a
+	 * few slots, the prefetch still bounding what an inner can queue.
+	 *
+	 * @param maxConcurrency the maximum number of concurrent inners
+	 * @param prefetch the inner request size
+	 * @param <R> the queued value type
+	 *
+	 * @return an inner queue {@link Supplier}
+	 */
+	static <R> Supplier<Queue<R>> innerQueueSupplierFor(int maxConcurrency, int prefetch) {
+		if (maxConcurrency > LAZY_QUEUES_CONCURRENCY
+				&& prefetch > QueueSupplier.XS_BUFFER_SIZE) {
+			return QueueSupplier.unbounded(QueueSupplier.XS_BUFFER_SIZE);
+		}
+		return QueueSupplier.get(prefetch);
+	}
+
 	/**
 	 * Checks if the source is a Supplier and if the mapper's publisher output is also
 	 * a supplier, thus avoiding subscribing to any of them.
@@ -197,6 +261,8 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 
 		final int prefetch;
 
+		final int maxPrefetch;
+
 		final Supplier<? extends Queue<R>> innerQueueSupplier;
 
 		final int limit;
@@ -214,6 +280,12 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 
 		volatile boolean cancelled;
 
+		/**
+		 * The inner being subscribed by {@link #onNext(Object)}, whose synchronous
+		 * completion is handled once its subscription returns.
+		 */
+		volatile FlatMapInner<R> subscribing;
+
 		Subscription s;
 
 		volatile long requested;
@@ -243,12 +315,25 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 				Supplier<? extends Queue<R>> mainQueueSupplier,
 				int prefetch,
 				Supplier<? extends Queue<R>> innerQueueSupplier) {
+			this(actual, mapper, delayError, maxConcurrency, mainQueueSupplier, prefetch,
+					prefetch, innerQueueSupplier);
+		}
+
+		FlatMapMain(Subscriber<? super R> actual,
+				Function<? super T, ? extends Publisher<? extends R>> mapper,
+				boolean delayError,
+				int maxConcurrency,
+				Supplier<? extends Queue<R>> mainQueueSupplier,
+				int prefetch,
+				int maxPrefetch,
+				Supplier<? extends Queue<R>> innerQueueSupplier) {
 			this.actual = actual;
 			this.mapper = mapper;
 			this.delayError = delayError;
 			this.maxConcurrency = maxConcurrency;
 			this.mainQueueSupplier = mainQueueSupplier;
 			this.prefetch = prefetch;
+			this.maxPrefetch = maxPrefetch;
 			this.innerQueueSupplier = innerQueueSupplier;
 			this.limit = maxConcurrency - (maxConcurrency >> 2);
 		}
@@ -349,27 +434,60 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 				emitScalar(v);
 			}
 			else {
-				FlatMapInner<R> inner = new FlatMapInner<>(this, prefetch);
+				FlatMapInner<R> inner = new FlatMapInner<>(this, prefetch, maxPrefetch);
 				if (add(inner)) {
+					subscribing = inner;
 
 					p.subscribe(inner);
+
+					subscribing = null;
+					if (inner.done) {
+						innerTerminatedWhileSubscribing(inner);
+					}
+				}
+			}
+
+		}
+
+		/**
+		 * Release an inner that terminated before its subscription returned. If it left
+		 * nothing behind it only frees its concurrency slot, like a scalar, otherwise
+		 * the drain loop takes over.
+		 *
+		 * @param inner the inner that just terminated
+		 */
+		void innerTerminatedWhileSubscribing(FlatMapInner<R> inner) {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+			FlatMapInner<R>[] as = get();
+			int index = inner.index;
+			if (inner.isTerminated() && index < as.length && as[index] == inner) {
+				remove(index);
+				replenishMain();
+				if (WIP.decrementAndGet(this) == 0) {
+					return;
 				}
 			}
+			drainLoop();
+		}
 
+		void replenishMain() {
+			if (maxConcurrency != Integer.MAX_VALUE) {
+				int p = produced + 1;
+				if (p == limit) {
+					produced = 0;
+					s.request(p);
+				}
+				else {
+					produced = p;
+				}
+			}
 		}
 
 		void emitScalar(R v) {
 			if (v == null) {
-				if (maxConcurrency != Integer.MAX_VALUE) {
-					int p = produced + 1;
-					if (p == limit) {
-						produced = 0;
-						s.request(p);
-					}
-					else {
-						produced = p;
-					}
-				}
+				replenishMain();
 				return;
 			}
 
@@ -383,16 +501,7 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 						REQUESTED.decrementAndGet(this);
 					}
 
-					if (maxConcurrency != Integer.MAX_VALUE) {
-						int p = produced + 1;
-						if (p == limit) {
-							produced = 0;
-							s.request(p);
-						}
-						else {
-							produced = p;
-						}
-					}
+					replenishMain();
 				}
 				else {
 					Queue<R> q = getOrCreateScalarQueue();
@@ -780,6 +889,10 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 		}
 
 		void innerComplete(FlatMapInner<R> inner) {
+			if (inner == subscribing) {
+				// onNext releases it once its subscription returns
+				return;
+			}
 			//FIXME temp. reduce the case to empty regular inners
 //			if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
 //				Queue<R> queue = inner.queue;
@@ -884,7 +997,9 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 
 		final int prefetch;
 
-		final int limit;
+		final AdaptivePrefetch adaptive;
+
+		int limit;
 
 		volatile Subscription s;
 		@SuppressWarnings("rawtypes")
@@ -906,10 +1021,17 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 
 		int index;
 
-		public FlatMapInner(FlatMapMain<?, R> parent, int prefetch) {
+		public FlatMapInner(FlatMapMain<?, R> parent, int prefetch, int maxPrefetch) {
 			this.parent = parent;
-			this.prefetch = prefetch;
-			this.limit = prefetch - (prefetch >> 2);
+			this.prefetch = maxPrefetch;
+			if (maxPrefetch != prefetch) {
+				this.adaptive = new AdaptivePrefetch(prefetch, maxPrefetch);
+				this.limit = adaptive.limit;
+			}
+			else {
+				this.adaptive = null;
+				this.limit = prefetch - (prefetch >> 2);
+			}
 		}
 
 		@Override
@@ -932,7 +1054,7 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 					}
 					// NONE is just fall-through as the queue will be created on demand
 				}
-				s.request(prefetch);
+				s.request(adaptive != null ? adaptive.initialRequest() : prefetch);
 			}
 		}
 
@@ -964,7 +1086,17 @@ final class FluxFlatMap<T, R> extends FluxSource<T, R> {
 			long p = produced + n;
 			if (p >= limit) {
 				produced = 0L;
-				s.request(p);
+				AdaptivePrefetch a = adaptive;
+				if (a == null) {
+					s.request(p);
+				}
+				else {
+					p = a.replenish(p, queue);
+					limit = a.limit;
+					if (p != 0L) {
+						s.request(p);
+					}
+				}
 			}
 			else {
 				produced = p;
@@ -16,11 +16,15 @@
 
 package reactor.core.publisher;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -30,15 +34,23 @@ import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactor.core.Cancellation;
 import reactor.core.Exceptions;
 import reactor.core.Fuseable;
 import reactor.core.MultiProducer;
 import reactor.core.Producer;
 import reactor.core.Receiver;
 import reactor.core.Trackable;
+import reactor.core.scheduler.TimedScheduler;
 
 /**
  * Groups upstream items into their own Publisher sequence based on a key selector.
+ * <p>
+ * The number of live groups can be bounded, in which case the least recently used
+ * group is completed to make room for a new key, and groups that did not receive any
+ * value for a given idle time can be completed by a periodic check on a
+ * {@link TimedScheduler}. A completed group is removed from the key mapping: a later
+ * value with the same key opens a new group.
  *
  * @param <T> the source value type
  * @param <K> the key value type
@@ -59,16 +71,46 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 
 	final int prefetch;
 
+	final int maxGroups;
+
+	final long maxIdleNanos;
+
+	final TimedScheduler timer;
+
 	FluxGroupBy(Publisher<? extends T> source,
 			Function<? super T, ? extends K> keySelector,
 			Function<? super T, ? extends V> valueSelector,
 			Supplier<? extends Queue<GroupedFlux<K, V>>> mainQueueSupplier,
 			Supplier<? extends Queue<V>> groupQueueSupplier,
 			int prefetch) {
+		this(source, keySelector, valueSelector, mainQueueSupplier, groupQueueSupplier,
+				prefetch, Integer.MAX_VALUE, -1L, null);
+	}
+
+	FluxGroupBy(Publisher<? extends T> source,
+			Function<? super T, ? extends K> keySelector,
+			Function<? super T, ? extends V> valueSelector,
+			Supplier<? extends Queue<GroupedFlux<K, V>>> mainQueueSupplier,
+			Supplier<? extends Queue<V>> groupQueueSupplier,
+			int prefetch,
+			int maxGroups,
+			long maxIdleNanos,
+			TimedScheduler timer) {
 		super(source);
 		if (prefetch <= 0) {
 			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
 		}
+		if (maxGroups <= 0) {
+			throw new IllegalArgumentException("maxGroups > 0 required but it was " + maxGroups);
+		}
+		if (maxIdleNanos > 0L) {
+			this.timer = Objects.requireNonNull(timer, "timer");
+		}
+		else {
+			this.timer = null;
+		}
+		this.maxGroups = maxGroups;
+		this.maxIdleNanos = maxIdleNanos;
 		this.keySelector = Objects.requireNonNull(keySelector, "keySelector");
 		this.valueSelector = Objects.requireNonNull(valueSelector, "valueSelector");
 		this.mainQueueSupplier =
@@ -85,7 +127,10 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 				groupQueueSupplier,
 				prefetch,
 				keySelector,
-				valueSelector));
+				valueSelector,
+				maxGroups,
+				maxIdleNanos,
+				timer));
 	}
 
 	@Override
@@ -111,6 +156,26 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 
 		final ConcurrentMap<K, UnicastGroupedFlux<K, V>> groupMap;
 
+		final int maxGroups;
+
+		final long maxIdleNanos;
+
+		final TimedScheduler timer;
+
+		/**
+		 * The live groups in least-recently-used first order, only maintained (and used
+		 * as the lock serializing group creation, routing and eviction) when the groups
+		 * are bounded in number or idle time, null otherwise.
+		 */
+		final LinkedHashMap<K, UnicastGroupedFlux<K, V>> recentGroups;
+
+		volatile Cancellation idleCheck;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<GroupByMain, Cancellation> IDLE_CHECK =
+				AtomicReferenceFieldUpdater.newUpdater(GroupByMain.class,
+						Cancellation.class,
+						"idleCheck");
+
 		volatile int wip;
 		@SuppressWarnings("rawtypes")
 		static final AtomicIntegerFieldUpdater<GroupByMain> WIP =
@@ -148,7 +213,10 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 				Supplier<? extends Queue<V>> groupQueueSupplier,
 				int prefetch,
 				Function<? super T, ? extends K> keySelector,
-				Function<? super T, ? extends V> valueSelector) {
+				Function<? super T, ? extends V> valueSelector,
+				int maxGroups,
+				long maxIdleNanos,
+				TimedScheduler timer) {
 			this.actual = actual;
 			this.queue = queue;
 			this.groupQueueSupplier = groupQueueSupplier;
@@ -156,6 +224,15 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 			this.groupMap = new ConcurrentHashMap<>();
 			this.keySelector = keySelector;
 			this.valueSelector = valueSelector;
+			this.maxGroups = maxGroups;
+			this.maxIdleNanos = maxIdleNanos;
+			this.timer = timer;
+			if (maxGroups != Integer.MAX_VALUE || maxIdleNanos > 0L) {
+				this.recentGroups = new LinkedHashMap<>(16, 0.75f, true);
+			}
+			else {
+				this.recentGroups = null;
+			}
 			GROUP_COUNT.lazySet(this, 1);
 		}
 
@@ -164,6 +241,9 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 			if (Operators.validate(this.s, s)) {
 				this.s = s;
 				actual.onSubscribe(this);
+				if (maxIdleNanos > 0L) {
+					scheduleIdleCheck();
+				}
 				if (prefetch == Integer.MAX_VALUE) {
 					s.request(Long.MAX_VALUE);
 				}
@@ -192,6 +272,11 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 				return;
 			}
 
+			if (recentGroups != null) {
+				onNextBounded(key, value);
+				return;
+			}
+
 			UnicastGroupedFlux<K, V> g = groupMap.get(key);
 
 			if (g == null) {
@@ -213,6 +298,126 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 			}
 		}
 
+		void onNextBounded(K key, V value) {
+			List<UnicastGroupedFlux<K, V>> evicted = null;
+			UnicastGroupedFlux<K, V> g;
+			boolean created = false;
+
+			// only the routing state is touched under the lock: emitting can drain
+			// into downstream code that must not block evictIdleGroups/groupTerminated
+			synchronized (recentGroups) {
+				g = recentGroups.get(key);
+
+				if (g == null) {
+					// if the main is cancelled, don't create new groups
+					if (cancelled != 0) {
+						return;
+					}
+					while (recentGroups.size() >= maxGroups) {
+						Iterator<UnicastGroupedFlux<K, V>> it =
+								recentGroups.values().iterator();
+						UnicastGroupedFlux<K, V> lru = it.next();
+						it.remove();
+						groupMap.remove(lru.key, lru);
+						if (evicted == null) {
+							evicted = new ArrayList<>();
+						}
+						evicted.add(lru);
+					}
+
+					GROUP_COUNT.getAndIncrement(this);
+					g = new UnicastGroupedFlux<>(key, groupQueueSupplier.get(), this, prefetch);
+					recentGroups.put(key, g);
+					groupMap.put(key, g);
+					created = true;
+				}
+
+				if (maxIdleNanos > 0L) {
+					g.lastSeen = timer.now(TimeUnit.NANOSECONDS);
+				}
+				g.emitting = true;
+			}
+
+			g.onNext(value);
+
+			if (created) {
+				queue.offer(g);
+			}
+
+			boolean evictedWhileEmitting;
+			synchronized (recentGroups) {
+				g.emitting = false;
+				evictedWhileEmitting = g.evictedWhileEmitting;
+			}
+			if (evictedWhileEmitting) {
+				g.onComplete();
+			}
+
+			// evicted groups are no longer routed to and can be completed out of the lock
+			if (evicted != null) {
+				for (UnicastGroupedFlux<K, V> e : evicted) {
+					e.onComplete();
+				}
+			}
+			if (created) {
+				drain();
+			}
+		}
+
+		void scheduleIdleCheck() {
+			long period = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(maxIdleNanos));
+			Cancellation c = timer.schedulePeriodically(this::evictIdleGroups,
+					period,
+					period,
+					TimeUnit.MILLISECONDS);
+			if (!IDLE_CHECK.compareAndSet(this, null, c)) {
+				c.dispose();
+			}
+		}
+
+		void cancelIdleCheck() {
+			Cancellation c = idleCheck;
+			if (c != Flux.CANCELLED) {
+				c = IDLE_CHECK.getAndSet(this, Flux.CANCELLED);
+				if (c != null && c != Flux.CANCELLED) {
+					c.dispose();
+				}
+			}
+		}
+
+		void evictIdleGroups() {
+			List<UnicastGroupedFlux<K, V>> evicted = null;
+			long now = timer.now(TimeUnit.NANOSECONDS);
+
+			synchronized (recentGroups) {
+				Iterator<UnicastGroupedFlux<K, V>> it = recentGroups.values().iterator();
+				while (it.hasNext()) {
+					UnicastGroupedFlux<K, V> g = it.next();
+					// access order: all the following groups have been seen more recently
+					if (now - g.lastSeen < maxIdleNanos) {
+						break;
+					}
+					it.remove();
+					groupMap.remove(g.key, g);
+					if (g.emitting) {
+						// the routing thread completes it once its value is emitted
+						g.evictedWhileEmitting = true;
+						continue;
+					}
+					if (evicted == null) {
+						evicted = new ArrayList<>();
+					}
+					evicted.add(g);
+				}
+			}
+
+			if (evicted != null) {
+				for (UnicastGroupedFlux<K, V> g : evicted) {
+					g.onComplete();
+				}
+			}
+		}
+
 		@Override
 		public void onError(Throwable t) {
 			if (Exceptions.addThrowable(ERROR, this, t)) {
@@ -229,6 +434,9 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 			if(done){
 				return;
 			}
+			if (recentGroups != null) {
+				cancelIdleCheck();
+			}
 			for (UnicastGroupedFlux<K, V> g : groupMap.values()) {
 				g.onComplete();
 			}
@@ -297,6 +505,9 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 		void signalAsyncError() {
 			Throwable e = Exceptions.terminate(ERROR, this);
 			groupCount = 0;
+			if (recentGroups != null) {
+				cancelIdleCheck();
+			}
 			for (UnicastGroupedFlux<K, V> g : groupMap.values()) {
 				g.onError(e);
 			}
@@ -316,7 +527,7 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 		public void cancel() {
 			if (CANCELLED.compareAndSet(this, 0, 1)) {
 				if (GROUP_COUNT.decrementAndGet(this) == 0) {
-					s.cancel();
+					cancelUpstream();
 				}
 				else if (!enableAsyncFusion) {
 						if (WIP.getAndIncrement(this) == 0) {
@@ -336,16 +547,31 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 			}
 		}
 
-		void groupTerminated(K key) {
+		void groupTerminated(K key, UnicastGroupedFlux<K, V> group) {
 			if (groupCount == 0) {
 				return;
 			}
-			groupMap.remove(key);
+			if (recentGroups != null) {
+				synchronized (recentGroups) {
+					recentGroups.remove(key, group);
+					groupMap.remove(key, group);
+				}
+			}
+			else {
+				groupMap.remove(key);
+			}
 			if (GROUP_COUNT.decrementAndGet(this) == 0) {
-				s.cancel();
+				cancelUpstream();
 			}
 		}
 
+		void cancelUpstream() {
+			if (recentGroups != null) {
+				cancelIdleCheck();
+			}
+			s.cancel();
+		}
+
 		void drain() {
 			if (WIP.getAndIncrement(this) != 0) {
 				return;
@@ -548,6 +774,25 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 
 		int produced;
 
+		/**
+		 * Time of the last value routed to this group, maintained under the
+		 * parent lock when idle groups are evicted.
+		 */
+		long lastSeen;
+
+		/**
+		 * Set under the parent lock while a value is being routed to this group
+		 * outside of the lock, so that an idle eviction defers the completion to
+		 * the routing thread instead of racing the pending onNext.
+		 */
+		boolean emitting;
+
+		/**
+		 * Set under the parent lock when this group was evicted while
+		 * {@link #emitting}.
+		 */
+		boolean evictedWhileEmitting;
+
 		UnicastGroupedFlux(K key,
 				Queue<V> queue,
 				GroupByMain<?, K, V> parent,
@@ -561,7 +806,7 @@ final class FluxGroupBy<T, K, V> extends FluxSource<T, GroupedFlux<K, V>>
 		void doTerminate() {
 			GroupByMain<?, K, V> r = parent;
 			if (r != null && PARENT.compareAndSet(this, r, null)) {
-				r.groupTerminated(key);
+				r.groupTerminated(key, this);
 			}
 		}
 
@@ -68,6 +68,9 @@ final class FluxInterval extends Flux<Long> {
 
 	static final class IntervalRunnable implements Runnable, Subscription {
 		final Subscriber<? super Long> s;
+
+		/** Non-null if the subscriber accepts primitive values. */
+		final LongSubscriber ls;
 		
 		final TimedWorker worker;
 		
@@ -81,6 +84,7 @@ final class FluxInterval extends Flux<Long> {
 
 		public IntervalRunnable(Subscriber<? super Long> s, TimedWorker worker) {
 			this.s = s;
+			this.ls = s instanceof LongSubscriber ? (LongSubscriber) s : null;
 			this.worker = worker;
 		}
 		
@@ -88,7 +92,12 @@ final class FluxInterval extends Flux<Long> {
 		public void run() {
 			if (!cancelled) {
 				if (requested != 0L) {
-					s.onNext(count++);
+					if (ls != null) {
+						ls.onNextLong(count++);
+					}
+					else {
+						s.onNext(count++);
+					}
 					if (requested != Long.MAX_VALUE) {
 						REQUESTED.decrementAndGet(this);
 					}
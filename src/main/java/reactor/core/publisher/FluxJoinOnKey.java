@@ -0,0 +1,565 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.MultiReceiver;
+import reactor.core.Producer;
+import reactor.core.Trackable;
+import reactor.core.publisher.FluxGroupJoin.JoinSupport;
+import reactor.core.publisher.FluxGroupJoin.LeftRightEndSubscriber;
+import reactor.core.publisher.FluxGroupJoin.LeftRightSubscriber;
+import reactor.core.scheduler.TimedScheduler;
+import reactor.util.concurrent.OpenHashSet;
+
+/**
+ * An equi-join of two Publishers: each value is combined with the values of the other
+ * side that have the same key and arrived less than a window earlier.
+ * <p>
+ * Unlike {@link FluxJoin} which pairs every left with every right of the window, the
+ * values of each side are indexed by key in a hash table, so each arrival only visits
+ * its matches. Values expire in arrival order once older than the window, as read from
+ * a {@link TimedScheduler} clock.
+ *
+ * @param <TLeft> the left Publisher value type
+ * @param <TRight> the right Publisher value type
+ * @param <K> the join key type
+ * @param <R> the combined result type
+ */
+final class FluxJoinOnKey<TLeft, TRight, K, R> extends FluxSource<TLeft, R> {
+
+	final Publisher<? extends TRight> other;
+
+	final Function<? super TLeft, ? extends K> leftKey;
+
+	final Function<? super TRight, ? extends K> rightKey;
+
+	final long windowNanos;
+
+	final TimedScheduler timer;
+
+	final BiFunction<? super TLeft, ? super TRight, ? extends R> resultSelector;
+
+	final Supplier<? extends Queue<Object>> queueSupplier;
+
+	FluxJoinOnKey(Publisher<TLeft> source,
+			Publisher<? extends TRight> other,
+			Function<? super TLeft, ? extends K> leftKey,
+			Function<? super TRight, ? extends K> rightKey,
+			long windowNanos,
+			TimedScheduler timer,
+			BiFunction<? super TLeft, ? super TRight, ? extends R> resultSelector,
+			Supplier<? extends Queue<Object>> queueSupplier) {
+		super(source);
+		if (windowNanos <= 0L) {
+			throw new IllegalArgumentException("window > 0 required but it was " + windowNanos + "ns");
+		}
+		this.other = Objects.requireNonNull(other, "other");
+		this.leftKey = Objects.requireNonNull(leftKey, "leftKey");
+		this.rightKey = Objects.requireNonNull(rightKey, "rightKey");
+		this.windowNanos = windowNanos;
+		this.timer = Objects.requireNonNull(timer, "timer");
+		this.resultSelector = Objects.requireNonNull(resultSelector, "resultSelector");
+		this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super R> s) {
+
+		JoinOnKeySubscription<TLeft, TRight, K, R> parent =
+				new JoinOnKeySubscription<>(s,
+						leftKey,
+						rightKey,
+						windowNanos,
+						timer,
+						resultSelector,
+						queueSupplier.get());
+
+		s.onSubscribe(parent);
+
+		LeftRightSubscriber left = new LeftRightSubscriber(parent, true);
+		parent.cancellations.add(left);
+		LeftRightSubscriber right = new LeftRightSubscriber(parent, false);
+		parent.cancellations.add(right);
+
+		source.subscribe(left);
+		other.subscribe(right);
+	}
+
+	static final class JoinOnKeySubscription<TLeft, TRight, K, R>
+			implements Subscription, JoinSupport, Trackable, MultiReceiver, Producer {
+
+		final Subscriber<? super R> actual;
+
+		final Queue<Object>               queue;
+		final BiPredicate<Object, Object> queueBiOffer;
+
+		final OpenHashSet<Disposable> cancellations;
+
+		final KeyIndex<K, TLeft> lefts;
+
+		final KeyIndex<K, TRight> rights;
+
+		final Function<? super TLeft, ? extends K> leftKey;
+
+		final Function<? super TRight, ? extends K> rightKey;
+
+		final long windowNanos;
+
+		final TimedScheduler timer;
+
+		final BiFunction<? super TLeft, ? super TRight, ? extends R> resultSelector;
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<JoinOnKeySubscription> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(JoinOnKeySubscription.class, "wip");
+
+		volatile int active;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<JoinOnKeySubscription> ACTIVE =
+				AtomicIntegerFieldUpdater.newUpdater(JoinOnKeySubscription.class,
+						"active");
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<JoinOnKeySubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(JoinOnKeySubscription.class,
+						"requested");
+
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<JoinOnKeySubscription, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(JoinOnKeySubscription.class,
+						Throwable.class,
+						"error");
+
+		volatile boolean cancelled;
+
+		static final Integer LEFT_VALUE = 1;
+
+		static final Integer RIGHT_VALUE = 2;
+
+		@SuppressWarnings("unchecked")
+		JoinOnKeySubscription(Subscriber<? super R> actual,
+				Function<? super TLeft, ? extends K> leftKey,
+				Function<? super TRight, ? extends K> rightKey,
+				long windowNanos,
+				TimedScheduler timer,
+				BiFunction<? super TLeft, ? super TRight, ? extends R> resultSelector,
+				Queue<Object> queue) {
+			this.actual = actual;
+			this.cancellations = new OpenHashSet<>();
+			this.queue = queue;
+			if (!(queue instanceof BiPredicate)) {
+				throw new IllegalArgumentException("The provided queue must implement " + "BiPredicate to expose atomic dual insert");
+			}
+			this.queueBiOffer = (BiPredicate) queue;
+			this.lefts = new KeyIndex<>();
+			this.rights = new KeyIndex<>();
+			this.leftKey = leftKey;
+			this.rightKey = rightKey;
+			this.windowNanos = windowNanos;
+			this.timer = timer;
+			this.resultSelector = resultSelector;
+			ACTIVE.lazySet(this, 2);
+		}
+
+		@Override
+		public Iterator<?> upstreams() {
+			return Arrays.asList(cancellations.keys()).iterator();
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public long upstreamCount() {
+			return cancellations.keys().length;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public long getPending() {
+			return lefts.size() + rights.size();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.getAndAddCap(REQUESTED, this, n);
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			cancelAll();
+			if (WIP.getAndIncrement(this) == 0) {
+				queue.clear();
+			}
+		}
+
+		void cancelAll() {
+			Object[] a = cancellations.keys();
+			for (Object o : a) {
+				if (o != null) {
+					((Disposable) o).dispose();
+				}
+			}
+		}
+
+		void errorAll(Subscriber<?> a) {
+			Throwable ex = Exceptions.terminate(ERROR, this);
+
+			lefts.clear();
+			rights.clear();
+
+			a.onError(ex);
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			int missed = 1;
+			Queue<Object> q = queue;
+			Subscriber<? super R> a = actual;
+
+			for (; ; ) {
+				for (; ; ) {
+					if (cancelled) {
+						q.clear();
+						return;
+					}
+
+					Throwable ex = error;
+					if (ex != null) {
+						q.clear();
+						cancelAll();
+						errorAll(a);
+						return;
+					}
+
+					boolean d = active == 0;
+
+					Integer mode = (Integer) q.poll();
+
+					boolean empty = mode == null;
+
+					if (d && empty) {
+						lefts.clear();
+						rights.clear();
+						cancelAll();
+
+						a.onComplete();
+						return;
+					}
+
+					if (empty) {
+						break;
+					}
+
+					Object val = q.poll();
+
+					long now = timer.now(TimeUnit.NANOSECONDS);
+					lefts.expire(now - windowNanos);
+					rights.expire(now - windowNanos);
+
+					boolean emitted;
+					if (mode == LEFT_VALUE) {
+						@SuppressWarnings("unchecked") TLeft left = (TLeft) val;
+						emitted = joinLeft(a, left, now);
+					}
+					else {
+						@SuppressWarnings("unchecked") TRight right = (TRight) val;
+						emitted = joinRight(a, right, now);
+					}
+					if (!emitted) {
+						q.clear();
+						cancelAll();
+						errorAll(a);
+						return;
+					}
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		boolean joinLeft(Subscriber<? super R> a, TLeft left, long now) {
+			K key;
+			try {
+				key = Objects.requireNonNull(leftKey.apply(left),
+						"The leftKey returned a null value");
+			}
+			catch (Throwable exc) {
+				Exceptions.addThrowable(ERROR,
+						this,
+						Operators.onOperatorError(this, exc, left));
+				return false;
+			}
+
+			lefts.add(key, left, now);
+
+			ArrayDeque<Entry<K, TRight>> matches = rights.get(key);
+			if (matches == null) {
+				return true;
+			}
+
+			long r = requested;
+			long e = 0L;
+
+			for (Entry<K, TRight> right : matches) {
+				R w;
+				try {
+					w = Objects.requireNonNull(resultSelector.apply(left, right.value),
+							"The resultSelector returned a null value");
+				}
+				catch (Throwable exc) {
+					Exceptions.addThrowable(ERROR,
+							this,
+							Operators.onOperatorError(this, exc, right.value));
+					return false;
+				}
+
+				if (e == r) {
+					Exceptions.addThrowable(ERROR,
+							this,
+							Exceptions.failWithOverflow("Could not emit value due to lack of requests"));
+					return false;
+				}
+				a.onNext(w);
+				e++;
+			}
+
+			return produced(r, e);
+		}
+
+		boolean joinRight(Subscriber<? super R> a, TRight right, long now) {
+			K key;
+			try {
+				key = Objects.requireNonNull(rightKey.apply(right),
+						"The rightKey returned a null value");
+			}
+			catch (Throwable exc) {
+				Exceptions.addThrowable(ERROR,
+						this,
+						Operators.onOperatorError(this, exc, right));
+				return false;
+			}
+
+			rights.add(key, right, now);
+
+			ArrayDeque<Entry<K, TLeft>> matches = lefts.get(key);
+			if (matches == null) {
+				return true;
+			}
+
+			long r = requested;
+			long e = 0L;
+
+			for (Entry<K, TLeft> left : matches) {
+				R w;
+				try {
+					w = Objects.requireNonNull(resultSelector.apply(left.value, right),
+							"The resultSelector returned a null value");
+				}
+				catch (Throwable exc) {
+					Exceptions.addThrowable(ERROR,
+							this,
+							Operators.onOperatorError(this, exc, left.value));
+					return false;
+				}
+
+				if (e == r) {
+					Exceptions.addThrowable(ERROR,
+							this,
+							Exceptions.failWithOverflow("Could not emit value due to lack of requests"));
+					return false;
+				}
+				a.onNext(w);
+				e++;
+			}
+
+			return produced(r, e);
+		}
+
+		boolean produced(long r, long e) {
+			if (e == 0L) {
+				return true;
+			}
+			for (; ; ) {
+				if (r == Long.MAX_VALUE) {
+					return true;
+				}
+				long upd = r - e;
+				if (upd < 0L) {
+					Exceptions.addThrowable(ERROR,
+							this,
+							Operators.onOperatorError(this, Exceptions.failWithOverflow()));
+					return false;
+				}
+				if (REQUESTED.compareAndSet(this, r, upd)) {
+					return true;
+				}
+				r = requested;
+			}
+		}
+
+		@Override
+		public void innerError(Throwable ex) {
+			if (Exceptions.addThrowable(ERROR, this, ex)) {
+				ACTIVE.decrementAndGet(this);
+				drain();
+			}
+			else {
+				Operators.onErrorDropped(ex);
+			}
+		}
+
+		@Override
+		public void innerComplete(LeftRightSubscriber sender) {
+			cancellations.remove(sender);
+			ACTIVE.decrementAndGet(this);
+			drain();
+		}
+
+		@Override
+		public void innerValue(boolean isLeft, Object o) {
+			synchronized (this) {
+				queueBiOffer.test(isLeft ? LEFT_VALUE : RIGHT_VALUE, o);
+			}
+			drain();
+		}
+
+		@Override
+		public void innerClose(boolean isLeft, LeftRightEndSubscriber index) {
+			// values expire by time, there is no end Publisher to close them
+		}
+
+		@Override
+		public void innerCloseError(Throwable ex) {
+			innerError(ex);
+		}
+	}
+
+	/**
+	 * The values of one side of the join, indexed by key and also linked in arrival
+	 * order so the oldest values can be expired without scanning the table.
+	 *
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 */
+	static final class KeyIndex<K, V> {
+
+		final Map<K, ArrayDeque<Entry<K, V>>> buckets = new HashMap<>();
+
+		final ArrayDeque<Entry<K, V>> arrivals = new ArrayDeque<>();
+
+		void add(K key, V value, long time) {
+			Entry<K, V> entry = new Entry<>(key, value, time);
+			buckets.computeIfAbsent(key, k -> new ArrayDeque<>(4))
+			       .offer(entry);
+			arrivals.offer(entry);
+		}
+
+		ArrayDeque<Entry<K, V>> get(K key) {
+			return buckets.get(key);
+		}
+
+		/**
+		 * Remove the values that arrived at or before the given deadline.
+		 *
+		 * @param deadline the latest expired arrival time
+		 */
+		void expire(long deadline) {
+			Entry<K, V> entry;
+			while ((entry = arrivals.peek()) != null && entry.time - deadline <= 0L) {
+				arrivals.poll();
+				ArrayDeque<Entry<K, V>> bucket = buckets.get(entry.key);
+				// a bucket is in arrival order too: its oldest entry is the expired one
+				bucket.poll();
+				if (bucket.isEmpty()) {
+					buckets.remove(entry.key);
+				}
+			}
+		}
+
+		int size() {
+			return arrivals.size();
+		}
+
+		void clear() {
+			buckets.clear();
+			arrivals.clear();
+		}
+	}
+
+	static final class Entry<K, V> {
+
+		final K key;
+
+		final V value;
+
+		final long time;
+
+		Entry(K key, V value, long time) {
+			this.key = key;
+			this.value = value;
+			this.time = time;
+		}
+	}
+}
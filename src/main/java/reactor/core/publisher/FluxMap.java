@@ -16,6 +16,8 @@
 
 package reactor.core.publisher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -68,7 +70,7 @@ final class FluxMap<T, R> extends FluxSource<T, R> {
 	}
 
 	static final class MapSubscriber<T, R>
-			implements Subscriber<T>, Receiver, Producer, Loopback, Subscription,
+			implements BatchSubscriber<T>, Receiver, Producer, Loopback, Subscription,
 			           Trackable {
 
 		final Subscriber<? super R>            actual;
@@ -78,6 +80,9 @@ final class FluxMap<T, R> extends FluxSource<T, R> {
 
 		Subscription s;
 
+		/** Reused to deliver mapped runs to a {@link BatchSubscriber}. */
+		ArrayList<R> batch;
+
 		public MapSubscriber(Subscriber<? super R> actual,
 				Function<? super T, ? extends R> mapper) {
 			this.actual = actual;
@@ -114,6 +119,18 @@ final class FluxMap<T, R> extends FluxSource<T, R> {
 			actual.onNext(v);
 		}
 
+		@Override
+		public void onNextBatch(List<? extends T> values) {
+			if (done) {
+				Operators.onNextDropped(values.get(0));
+				return;
+			}
+			batch = BatchSubscriber.deliver(this, s, actual, values,
+					t -> Objects.requireNonNull(mapper.apply(t),
+							"The mapper returned a null value."),
+					batch);
+		}
+
 		@Override
 		public void onError(Throwable t) {
 			if (done) {
@@ -173,8 +190,8 @@ final class FluxMap<T, R> extends FluxSource<T, R> {
 	}
 
 	static final class MapConditionalSubscriber<T, R>
-			implements Fuseable.ConditionalSubscriber<T>, Receiver, Producer, Loopback,
-			           Subscription, Trackable {
+			implements Fuseable.ConditionalSubscriber<T>, BatchSubscriber<T>, Receiver,
+			           Producer, Loopback, Subscription, Trackable {
 
 		final Fuseable.ConditionalSubscriber<? super R> actual;
 		final Function<? super T, ? extends R>          mapper;
@@ -183,6 +200,9 @@ final class FluxMap<T, R> extends FluxSource<T, R> {
 
 		Subscription s;
 
+		/** Reused to deliver mapped runs to a {@link BatchSubscriber}. */
+		ArrayList<R> batch;
+
 		public MapConditionalSubscriber(Fuseable.ConditionalSubscriber<? super R> actual,
 				Function<? super T, ? extends R> mapper) {
 			this.actual = actual;
@@ -241,6 +261,18 @@ final class FluxMap<T, R> extends FluxSource<T, R> {
 			return actual.tryOnNext(v);
 		}
 
+		@Override
+		public void onNextBatch(List<? extends T> values) {
+			if (done) {
+				Operators.onNextDropped(values.get(0));
+				return;
+			}
+			batch = BatchSubscriber.deliver(this, s, actual, values,
+					t -> Objects.requireNonNull(mapper.apply(t),
+							"The mapper returned a null value."),
+					batch);
+		}
+
 		@Override
 		public void onError(Throwable t) {
 			if (done) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Producer;
+import reactor.core.Receiver;
+import reactor.core.Trackable;
+
+/**
+ * Records the signals going through this operator into a {@link SequenceMetrics}.
+ * <p>
+ * Fusion is not supported so that every value is accounted as an onNext signal.
+ *
+ * @param <T> the value type
+ */
+final class FluxMetrics<T> extends FluxSource<T, T> {
+
+	final SequenceMetrics metrics;
+
+	FluxMetrics(Publisher<? extends T> source, SequenceMetrics metrics) {
+		super(source);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> s) {
+		long start = System.nanoTime();
+		metrics.subscribed.increment();
+		source.subscribe(new MetricsSubscriber<>(s, metrics, start));
+	}
+
+	static final class MetricsSubscriber<T>
+			implements Subscriber<T>, Subscription, Receiver, Producer, Trackable {
+
+		final Subscriber<? super T> actual;
+		final SequenceMetrics       metrics;
+		final long                  start;
+
+		Subscription s;
+
+		boolean done;
+
+		MetricsSubscriber(Subscriber<? super T> actual,
+				SequenceMetrics metrics,
+				long start) {
+			this.actual = actual;
+			this.metrics = metrics;
+			this.start = start;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+				metrics.subscriptionLatency.add(System.nanoTime() - start);
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			metrics.onNext.increment();
+			actual.onNext(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			metrics.errored.increment();
+			metrics.terminationTime.add(System.nanoTime() - start);
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			metrics.completed.increment();
+			metrics.terminationTime.add(System.nanoTime() - start);
+			actual.onComplete();
+		}
+
+		@Override
+		public void request(long n) {
+			metrics.recordRequest(n);
+			Subscription a = s;
+			if (a instanceof Trackable) {
+				metrics.recordPending(((Trackable) a).getPending());
+			}
+			a.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			metrics.cancelled.increment();
+			s.cancel();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+	}
+}
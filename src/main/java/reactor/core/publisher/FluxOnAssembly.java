@@ -32,7 +32,8 @@ import reactor.util.function.Tuples;
  * makes it available/visible for debugging purposes from
  * the inner Subscriber.
  * <p>
- * Note that getting a stacktrace is a costly operation.
+ * Note that getting a stacktrace is a costly operation, an {@link AssemblyCallSite}
+ * can be passed instead to only retain the assembly call site.
  * <p>
  * The operator sanitizes the stacktrace and removes noisy entries such as:
  * <ul>
@@ -58,19 +59,28 @@ final class FluxOnAssembly<T> extends FluxSource<T, T> implements Fuseable, Asse
 			"false"));
 
 	FluxOnAssembly(Publisher<? extends T> source) {
+		this(source, new Exception());
+	}
+
+	FluxOnAssembly(Publisher<? extends T> source, Exception snapshotStack) {
 		super(source);
-		this.snapshotStack = new Exception();
+		this.snapshotStack = snapshotStack;
 	}
 
 	static String getStacktrace(Publisher<?> source, Exception snapshotStack) {
-		StackTraceElement[] stes = snapshotStack.getStackTrace();
-
 		StringBuilder sb =
 				new StringBuilder(null != source ? "\nAssembly trace from producer [" +
 						source.getClass()
 						      .getName() + "] " +
 						":\n" : "");
 
+		if (snapshotStack instanceof AssemblyCallSite) {
+			return sb.append(((AssemblyCallSite) snapshotStack).callSite)
+			         .toString();
+		}
+
+		StackTraceElement[] stes = snapshotStack.getStackTrace();
+
 		for (StackTraceElement e : stes) {
 			String row = e.toString();
 			if (!fullStackTrace) {
@@ -16,6 +16,7 @@
 
 package reactor.core.publisher;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -52,24 +53,42 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 
 	final int prefetch;
 
+	final int maxPrefetch;
+
 	FluxPublishOn(Publisher<? extends T> source,
 			Scheduler scheduler,
 			boolean delayError,
 			int prefetch,
 			Supplier<? extends Queue<T>> queueSupplier) {
+		this(source, scheduler, delayError, prefetch, prefetch, queueSupplier);
+	}
+
+	/**
+	 * Build a publishOn which request batches adapt between {@code prefetch} and
+	 * {@code maxPrefetch}, see {@link AdaptivePrefetch}. The queue must be able to hold
+	 * {@code maxPrefetch} values.
+	 */
+	FluxPublishOn(Publisher<? extends T> source,
+			Scheduler scheduler,
+			boolean delayError,
+			int prefetch,
+			int maxPrefetch,
+			Supplier<? extends Queue<T>> queueSupplier) {
 		super(source);
 		if (prefetch <= 0) {
 			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
 		}
+		AdaptivePrefetch.checkBounds(prefetch, maxPrefetch);
 		this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
 		this.delayError = delayError;
 		this.prefetch = prefetch;
+		this.maxPrefetch = maxPrefetch;
 		this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
 	}
 
 	@Override
 	public long getPrefetch() {
-		return prefetch;
+		return maxPrefetch;
 	}
 
 	@Override
@@ -93,6 +112,7 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 					worker,
 					delayError,
 					prefetch,
+					maxPrefetch,
 					queueSupplier));
 			return;
 		}
@@ -101,6 +121,7 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 				worker,
 				delayError,
 				prefetch,
+				maxPrefetch,
 				queueSupplier));
 	}
 
@@ -110,8 +131,8 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 	}
 
 	static final class PublishOnSubscriber<T>
-			implements Subscriber<T>, QueueSubscription<T>, Runnable, Producer, Loopback,
-			           Receiver, Trackable {
+			implements BatchSubscriber<T>, QueueSubscription<T>, Runnable, Producer,
+			           Loopback, Receiver, Trackable {
 
 		final Subscriber<? super T> actual;
 
@@ -123,7 +144,9 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 
 		final int prefetch;
 
-		final int limit;
+		final AdaptivePrefetch adaptive;
+
+		int limit;
 
 		final Supplier<? extends Queue<T>> queueSupplier;
 
@@ -159,17 +182,29 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 				boolean delayError,
 				int prefetch,
 				Supplier<? extends Queue<T>> queueSupplier) {
+			this(actual, scheduler, worker, delayError, prefetch, prefetch, queueSupplier);
+		}
+
+		PublishOnSubscriber(Subscriber<? super T> actual,
+				Scheduler scheduler,
+				Worker worker,
+				boolean delayError,
+				int prefetch,
+				int maxPrefetch,
+				Supplier<? extends Queue<T>> queueSupplier) {
 			this.actual = actual;
 			this.worker = worker;
 			this.scheduler = scheduler;
 			this.delayError = delayError;
-			this.prefetch = prefetch;
+			this.prefetch = maxPrefetch;
 			this.queueSupplier = queueSupplier;
-			if (prefetch != Integer.MAX_VALUE) {
-				this.limit = prefetch - (prefetch >> 2);
+			if (maxPrefetch != prefetch) {
+				this.adaptive = new AdaptivePrefetch(prefetch, maxPrefetch);
+				this.limit = adaptive.limit;
 			}
 			else {
-				this.limit = Integer.MAX_VALUE;
+				this.adaptive = null;
+				this.limit = AdaptivePrefetch.limit(prefetch);
 			}
 		}
 
@@ -213,7 +248,10 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 		}
 
 		void initialRequest() {
-			if (prefetch == Integer.MAX_VALUE) {
+			if (adaptive != null) {
+				s.request(adaptive.initialRequest());
+			}
+			else if (prefetch == Integer.MAX_VALUE) {
 				s.request(Long.MAX_VALUE);
 			}
 			else {
@@ -221,6 +259,20 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 			}
 		}
 
+		void replenish(long n) {
+			AdaptivePrefetch a = adaptive;
+			if (a == null) {
+				s.request(n);
+			}
+			else {
+				n = a.replenish(n, queue);
+				limit = a.limit;
+				if (n != 0L) {
+					s.request(n);
+				}
+			}
+		}
+
 		@Override
 		public void onNext(T t) {
 			if (t == null) {//async fusion
@@ -244,6 +296,23 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 			}
 		}
 
+		@Override
+		public void onNextBatch(List<? extends T> values) {
+			if (done) {
+				Operators.onNextDropped(values.get(0));
+				return;
+			}
+			Throwable e = BatchSubscriber.offer(queue, values, s);
+			if (e != null) {
+				error = e;
+				done = true;
+			}
+			// a single drain signal for the whole run
+			if (trySchedule() == Scheduler.REJECTED) {
+				throw Operators.onRejectedExecution(this, null, null);
+			}
+		}
+
 		@Override
 		public void onError(Throwable t) {
 			if (done) {
@@ -405,7 +474,7 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 						if (r != Long.MAX_VALUE) {
 							r = REQUESTED.addAndGet(this, -e);
 						}
-						s.request(e);
+						replenish(e);
 						e = 0L;
 					}
 				}
@@ -607,7 +676,7 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 				long p = produced + 1;
 				if (p == limit) {
 					produced = 0;
-					s.request(p);
+					replenish(p);
 				}
 				else {
 					produced = p;
@@ -632,8 +701,8 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 	}
 
 	static final class PublishOnConditionalSubscriber<T>
-			implements Subscriber<T>, QueueSubscription<T>, Runnable, Producer, Loopback,
-			           Receiver, Trackable {
+			implements BatchSubscriber<T>, QueueSubscription<T>, Runnable, Producer,
+			           Loopback, Receiver, Trackable {
 
 		final ConditionalSubscriber<? super T> actual;
 
@@ -645,7 +714,9 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 
 		final int prefetch;
 
-		final int limit;
+		final AdaptivePrefetch adaptive;
+
+		int limit;
 
 		final Supplier<? extends Queue<T>> queueSupplier;
 
@@ -684,18 +755,21 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 				Worker worker,
 				boolean delayError,
 				int prefetch,
+				int maxPrefetch,
 				Supplier<? extends Queue<T>> queueSupplier) {
 			this.actual = actual;
 			this.worker = worker;
 			this.scheduler = scheduler;
 			this.delayError = delayError;
-			this.prefetch = prefetch;
+			this.prefetch = maxPrefetch;
 			this.queueSupplier = queueSupplier;
-			if (prefetch != Integer.MAX_VALUE) {
-				this.limit = prefetch - (prefetch >> 2);
+			if (maxPrefetch != prefetch) {
+				this.adaptive = new AdaptivePrefetch(prefetch, maxPrefetch);
+				this.limit = adaptive.limit;
 			}
 			else {
-				this.limit = Integer.MAX_VALUE;
+				this.adaptive = null;
+				this.limit = AdaptivePrefetch.limit(prefetch);
 			}
 		}
 
@@ -739,7 +813,10 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 		}
 
 		void initialRequest() {
-			if (prefetch == Integer.MAX_VALUE) {
+			if (adaptive != null) {
+				s.request(adaptive.initialRequest());
+			}
+			else if (prefetch == Integer.MAX_VALUE) {
 				s.request(Long.MAX_VALUE);
 			}
 			else {
@@ -747,6 +824,20 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 			}
 		}
 
+		void replenish(long n) {
+			AdaptivePrefetch a = adaptive;
+			if (a == null) {
+				s.request(n);
+			}
+			else {
+				n = a.replenish(n, queue);
+				limit = a.limit;
+				if (n != 0L) {
+					s.request(n);
+				}
+			}
+		}
+
 		@Override
 		public void onNext(T t) {
 			if (t == null) {//async fusion
@@ -768,6 +859,23 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 			}
 		}
 
+		@Override
+		public void onNextBatch(List<? extends T> values) {
+			if (done) {
+				Operators.onNextDropped(values.get(0));
+				return;
+			}
+			Throwable e = BatchSubscriber.offer(queue, values, s);
+			if (e != null) {
+				error = e;
+				done = true;
+			}
+			// a single drain signal for the whole run
+			if (trySchedule() == Scheduler.REJECTED) {
+				throw Operators.onRejectedExecution(this, null, null);
+			}
+		}
+
 		@Override
 		public void onError(Throwable t) {
 			if(done){
@@ -927,7 +1035,7 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 					polled++;
 
 					if (polled == limit) {
-						s.request(polled);
+						replenish(polled);
 						polled = 0L;
 					}
 				}
@@ -1131,7 +1239,7 @@ final class FluxPublishOn<T> extends FluxSource<T, T> implements Loopback, Fusea
 				long p = consumed + 1;
 				if (p == limit) {
 					consumed = 0;
-					s.request(p);
+					replenish(p);
 				}
 				else {
 					consumed = p;
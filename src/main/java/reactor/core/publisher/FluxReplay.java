@@ -84,13 +84,13 @@ final class FluxReplay<T> extends ConnectableFlux<T>
 
 	State<T> newState() {
 		if (scheduler != null) {
-			return new State<>(new ReplayProcessor.SizeAndTimeBoundReplayBuffer<>(history,
+			return new State<>(new ReplayProcessor.ChunkedReplayBuffer<>(history,
 					ttl,
 					scheduler),
 					this);
 		}
 		if (history != Integer.MAX_VALUE) {
-			return new State<>(new ReplayProcessor.SizeBoundReplayBuffer<>(history),
+			return new State<>(new ReplayProcessor.ChunkedReplayBuffer<>(history),
 					this);
 		}
 		return new State<>(new ReplayProcessor.UnboundedReplayBuffer<>(QueueSupplier.SMALL_BUFFER_SIZE),
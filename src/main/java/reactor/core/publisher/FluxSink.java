@@ -16,6 +16,8 @@
 
 package reactor.core.publisher;
 
+import java.util.Collection;
+
 import org.reactivestreams.Subscriber;
 import reactor.core.Cancellation;
 
@@ -45,6 +47,21 @@ public interface FluxSink<T> {
      */
     void next(T t);
 
+	/**
+	 * Try emitting all the given values in order, might throw an unchecked exception.
+	 * Only an {@link OverflowStrategy#IGNORE} sink feeding a {@link TopicProcessor} or a
+	 * {@link WorkQueueProcessor} publishes the values as a batch of ring buffer slots
+	 * instead of one slot per value. Other sinks, including the default {@link
+	 * OverflowStrategy#BUFFER} one, still queue and emit the values one by one.
+	 * @see Subscriber#onNext(Object)
+	 * @param values the values to emit, none of them may be null
+	 */
+	default void nextAll(Collection<? extends T> values) {
+		for (T t : values) {
+			next(t);
+		}
+	}
+
 	/**
 	 * The current outstanding request amount.
 	 * @return the current outstanding request amount
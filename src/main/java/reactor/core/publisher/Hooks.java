@@ -18,6 +18,8 @@ package reactor.core.publisher;
 
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -49,6 +51,23 @@ public abstract class Hooks {
 		onErrorDroppedHook = Objects.requireNonNull(c, "onErrorDroppedHook");
 	}
 
+	/**
+	 * Install a global {@link MetricsRegistry} receiving the {@link SequenceMetrics} of
+	 * the sequences instrumented with {@link Flux#metrics(String)} or {@link
+	 * Mono#metrics(String)}. Sequences assembled before this call are not instrumented.
+	 * <p>
+	 * Can be reset via {@link #resetOnMetrics()}
+	 *
+	 * @param registry the {@link MetricsRegistry} to notify of new sequence names
+	 */
+	public static void onMetrics(MetricsRegistry registry) {
+		if(log.isDebugEnabled()) {
+			log.debug("Hooking new default : onMetrics");
+		}
+		metricsRegistry = Objects.requireNonNull(registry, "metricsRegistry");
+		sequenceMetrics.clear();
+	}
+
 	/**
 	 * Override global data dropped strategy which by default throw {@link
 	 * reactor.core.Exceptions#failWithCancel()}
@@ -106,6 +125,18 @@ public abstract class Hooks {
 		onErrorDroppedHook = null;
 	}
 
+	/**
+	 * Remove the global {@link MetricsRegistry}, sequences assembled after this call
+	 * are not instrumented anymore.
+	 */
+	public static void resetOnMetrics() {
+		if(log.isDebugEnabled()) {
+			log.debug("Reset to factory defaults : onMetrics");
+		}
+		metricsRegistry = null;
+		sequenceMetrics.clear();
+	}
+
 	/**
 	 * Reset global data dropped strategy to throwing via {@link
 	 * reactor.core.Exceptions#failWithCancel()}
@@ -202,13 +233,13 @@ public abstract class Hooks {
 					return new OperatorHook<>(new MonoPeekFuseable<>(publisher,
 							onSubscribeCall, onNextCall, onErrorCall, onCompleteCall,
 							onAfterTerminateCall, onRequestCall, onCancelCall),
-							traced, tracedCategory, tracedLevel, tracedSignals);
+							traced, tracedCategory, tracedLevel, tracedSignals, tracedCallSite);
 				}
 				else {
 					return new OperatorHook<>(new MonoPeek<>(publisher,
 							onSubscribeCall, onNextCall, onErrorCall, onCompleteCall,
 							onAfterTerminateCall, onRequestCall, onCancelCall), traced
-							, tracedCategory, tracedLevel, tracedSignals);
+							, tracedCategory, tracedLevel, tracedSignals, tracedCallSite);
 				}
 			}
 			else if (publisher instanceof ParallelFlux){
@@ -218,19 +249,19 @@ public abstract class Hooks {
 						onCancelCall);
 
 				return new OperatorHook<>(_p, traced
-						, tracedCategory, tracedLevel, tracedSignals);
+						, tracedCategory, tracedLevel, tracedSignals, tracedCallSite);
 			}
 			else if (publisher instanceof Fuseable) {
 				return new OperatorHook<>(new FluxPeekFuseable<>(publisher,
 						onSubscribeCall, onNextCall, onErrorCall, onCompleteCall,
 						onAfterTerminateCall, onRequestCall, onCancelCall), traced
-						, tracedCategory, tracedLevel, tracedSignals);
+						, tracedCategory, tracedLevel, tracedSignals, tracedCallSite);
 			}
 			else {
 				return new OperatorHook<>(new FluxPeek<>(publisher,
 						onSubscribeCall, onNextCall, onErrorCall, onCompleteCall,
 						onAfterTerminateCall, onRequestCall, onCancelCall), traced
-						, tracedCategory, tracedLevel, tracedSignals);
+						, tracedCategory, tracedLevel, tracedSignals, tracedCallSite);
 			}
 		}
 
@@ -435,6 +466,25 @@ public abstract class Hooks {
 			return log(category, level, options);
 		}
 
+		/**
+		 * Enable a lightweight operator stack recorder only capturing the declaration
+		 * call site: the operator and the first frame outside of Reactor. Errors are
+		 * observed and enriched with a Suppressed Exception detailing the call site
+		 * like {@link #operatorStacktrace()}, but assembly doesn't fill a stacktrace and
+		 * call sites are interned, making it suitable for assembly-heavy code paths.
+		 * <p>
+		 * Requires a Java 9+ runtime ({@code StackWalker}), otherwise behaves like
+		 * {@link #operatorStacktrace()}.
+		 *
+		 * @return a call site capture {@link OperatorHook}
+		 */
+		public OperatorHook<T> operatorCallSite(){
+			if(this == IGNORE) return this;
+			traced = true;
+			tracedCallSite = true;
+			return this;
+		}
+
 		/**
 		 * Enable operator stack recorder and capture declaration stack. Errors are observed
 		 * and enriched with a Suppressed Exception detailing the original stack. Must be
@@ -467,14 +517,16 @@ public abstract class Hooks {
 		SignalType[] tracedSignals;
 
 		boolean traced;
+		boolean tracedCallSite;
 
 		OperatorHook(Publisher<T> p) {
-			this(p, false, null, null, null);
+			this(p, false, null, null, null, false);
 		}
 
 		OperatorHook(Publisher<T> p, boolean traced, String tracedCategory, Level
-				tracedLevel, SignalType[] tracedSignals) {
+				tracedLevel, SignalType[] tracedSignals, boolean tracedCallSite) {
 			this.traced = traced;
+			this.tracedCallSite = tracedCallSite;
 			this.publisher = p;
 			this.tracedSignals = tracedSignals;
 			this.tracedLevel = tracedLevel;
@@ -488,6 +540,35 @@ public abstract class Hooks {
 	static volatile BiFunction<? super Throwable, Object, ? extends Throwable>
 	                                            onOperatorErrorHook;
 
+	static volatile MetricsRegistry             metricsRegistry;
+
+	static final ConcurrentMap<String, SequenceMetrics> sequenceMetrics =
+			new ConcurrentHashMap<>();
+
+	/**
+	 * Return the {@link SequenceMetrics} shared by the sequences with the given name,
+	 * registering them on first use, or null if no {@link MetricsRegistry} is installed.
+	 *
+	 * @param name the sequence name
+	 * @return the {@link SequenceMetrics} or null
+	 */
+	static SequenceMetrics sequenceMetrics(String name) {
+		MetricsRegistry registry = metricsRegistry;
+		if (registry == null) {
+			return null;
+		}
+		SequenceMetrics metrics = sequenceMetrics.get(name);
+		if (metrics == null) {
+			metrics = new SequenceMetrics(name);
+			SequenceMetrics previous = sequenceMetrics.putIfAbsent(name, metrics);
+			if (previous != null) {
+				return previous;
+			}
+			registry.register(metrics);
+		}
+		return metrics;
+	}
+
 	static {
 		boolean globalTrace =
 				Boolean.parseBoolean(System.getProperty("reactor.trace" + ".operatorStacktrace",
@@ -496,6 +577,10 @@ public abstract class Hooks {
 		if (globalTrace) {
 			onOperatorCreate = new OnOperatorCreate<>(OperatorHook::operatorStacktrace);
 		}
+		else if (Boolean.parseBoolean(System.getProperty("reactor.trace.operatorCallSite",
+				"false"))) {
+			onOperatorCreate = new OnOperatorCreate<>(OperatorHook::operatorCallSite);
+		}
 	}
 
 	Hooks() {
@@ -536,19 +621,22 @@ public abstract class Hooks {
 					boolean trace = hooks.traced;
 
 					if (trace){
+						Exception stacktrace = hooks.tracedCallSite ?
+								AssemblyCallSite.capture() : new Exception();
 						if (publisher instanceof Callable) {
 							if (publisher instanceof Mono) {
-								return new MonoCallableOnAssembly<>(publisher);
+								return new MonoCallableOnAssembly<>(publisher, stacktrace);
 							}
-							return new FluxCallableOnAssembly<>(publisher);
+							return new FluxCallableOnAssembly<>(publisher, stacktrace);
 						}
 						if (publisher instanceof Mono) {
-							return new MonoOnAssembly<>(publisher);
+							return new MonoOnAssembly<>(publisher, stacktrace);
 						}
 						if (publisher instanceof ParallelFlux){
-							return new ParallelFluxOnAssembly<>((ParallelFlux<T>) publisher);
+							return new ParallelFluxOnAssembly<>((ParallelFlux<T>) publisher,
+									stacktrace);
 						}
-						return new FluxOnAssembly<>(publisher);
+						return new FluxOnAssembly<>(publisher, stacktrace);
 					}
 					return publisher;
 				}
@@ -0,0 +1,587 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Exceptions;
+import reactor.core.MultiProducer;
+import reactor.core.Producer;
+import reactor.core.Receiver;
+import reactor.core.Trackable;
+
+/**
+ * A durable pub-sub {@link FluxProcessor} journaling every received value off-heap in
+ * memory-mapped segment files, with a pluggable binary encoding.
+ * <p>
+ * The upstream is requested unbounded and never slowed down by subscribers: values
+ * accumulate in the journal, only bounded by the storage, and each subscriber reads
+ * them at its own pace. Plain {@link #subscribe(Subscriber) subscribers} receive the
+ * values journaled after they subscribed, {@link #replayFrom(long)} reads from a given
+ * sequence and {@link #consumer(String)} resumes from the position stored for a
+ * consumer name, which survives a restart of the processor on the same directory.
+ * <p>
+ * Values are delivered on the thread calling {@link #onNext(Object)} or {@link
+ * Subscription#request(long)}. Terminal signals are not journaled: a processor
+ * reopened on an existing directory is active and appends after the last journaled
+ * value. Segments are only deleted by {@link #compact()}.
+ * <p>
+ * <img width="640" src="https://raw.githubusercontent.com/reactor/projectreactor.io/master/src/main/static/assets/img/marble/emitterreplay.png"
+ * alt="">
+ *
+ * @param <T> the value type
+ */
+public final class JournalProcessor<T> extends FluxProcessor<T, T>
+		implements MultiProducer, Receiver {
+
+	/**
+	 * Default size of the memory-mapped segment files (64MB).
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * Open or create a {@link JournalProcessor} journaling in the given directory with
+	 * {@link #DEFAULT_SEGMENT_SIZE} segments.
+	 *
+	 * @param directory the journal directory, created if missing
+	 * @param encoder the value to bytes encoder
+	 * @param decoder the bytes to value decoder
+	 * @param <T> the value type
+	 *
+	 * @return a new {@link JournalProcessor}
+	 */
+	public static <T> JournalProcessor<T> create(Path directory,
+			Function<? super T, byte[]> encoder,
+			Function<byte[], ? extends T> decoder) {
+		return create(directory, DEFAULT_SEGMENT_SIZE, encoder, decoder);
+	}
+
+	/**
+	 * Open or create a {@link JournalProcessor} journaling in the given directory.
+	 *
+	 * @param directory the journal directory, created if missing
+	 * @param segmentSize the size in bytes of new segment files, larger than the
+	 * largest encoded value
+	 * @param encoder the value to bytes encoder
+	 * @param decoder the bytes to value decoder
+	 * @param <T> the value type
+	 *
+	 * @return a new {@link JournalProcessor}
+	 */
+	public static <T> JournalProcessor<T> create(Path directory,
+			int segmentSize,
+			Function<? super T, byte[]> encoder,
+			Function<byte[], ? extends T> decoder) {
+		Objects.requireNonNull(directory, "directory");
+		Objects.requireNonNull(encoder, "encoder");
+		Objects.requireNonNull(decoder, "decoder");
+		try {
+			return new JournalProcessor<>(new MappedJournal(directory, segmentSize),
+					encoder,
+					decoder);
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+
+	final MappedJournal                 journal;
+	final Function<? super T, byte[]>   encoder;
+	final Function<byte[], ? extends T> decoder;
+
+	final Map<String, MappedJournal.Offset> offsets = new ConcurrentHashMap<>();
+
+	Subscription subscription;
+
+	volatile boolean   done;
+	volatile Throwable error;
+
+	volatile boolean shutdown;
+
+	volatile int closed;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<JournalProcessor> CLOSED =
+			AtomicIntegerFieldUpdater.newUpdater(JournalProcessor.class, "closed");
+
+	volatile JournalSubscription<T>[] subscribers;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<JournalProcessor, JournalSubscription[]>
+			SUBSCRIBERS = AtomicReferenceFieldUpdater.newUpdater(JournalProcessor.class,
+			JournalSubscription[].class,
+			"subscribers");
+
+	@SuppressWarnings("rawtypes")
+	static final JournalSubscription[] EMPTY = new JournalSubscription[0];
+
+	@SuppressWarnings("unchecked")
+	JournalProcessor(MappedJournal journal,
+			Function<? super T, byte[]> encoder,
+			Function<byte[], ? extends T> decoder) {
+		this.journal = journal;
+		this.encoder = encoder;
+		this.decoder = decoder;
+		SUBSCRIBERS.lazySet(this, EMPTY);
+	}
+
+	/**
+	 * Resume reading from the position stored for the given consumer name, or from
+	 * the oldest journaled value the first time, storing the position after each
+	 * delivered value. A consumer name should only be subscribed once at a time.
+	 *
+	 * @param name the consumer name
+	 *
+	 * @return a {@link Flux} of the values not yet delivered to that consumer
+	 */
+	public Flux<T> consumer(String name) {
+		Objects.requireNonNull(name, "name");
+		return new JournalFlux<>(this, -1L, name);
+	}
+
+	/**
+	 * Read the journal from the given sequence, or from the oldest journaled value if
+	 * it has been compacted.
+	 *
+	 * @param fromSequence the sequence of the first value to read, 0 being the first
+	 * value ever journaled in the directory
+	 *
+	 * @return a {@link Flux} of the journaled values from that sequence
+	 */
+	public Flux<T> replayFrom(long fromSequence) {
+		if (fromSequence < 0L) {
+			throw new IllegalArgumentException("fromSequence >= 0 required but it was " +
+					fromSequence);
+		}
+		return new JournalFlux<>(this, fromSequence, null);
+	}
+
+	/**
+	 * @return the sequence the next journaled value will get, i.e. the number of values
+	 * journaled in the directory so far
+	 */
+	public long sequence() {
+		return journal.published;
+	}
+
+	/**
+	 * Delete the journal segments fully read by all the current subscribers and all the
+	 * consumers named so far with {@link #consumer(String)}.
+	 *
+	 * @return the number of deleted segments
+	 */
+	public int compact() {
+		long min = journal.published;
+		for (MappedJournal.Offset o : offsets.values()) {
+			min = Math.min(min, o.load());
+		}
+		for (JournalSubscription<T> s : subscribers) {
+			min = Math.min(min, s.position);
+		}
+		return journal.compact(min);
+	}
+
+	/**
+	 * Complete the subscribers once they have read the journal, then flush and release
+	 * the journal files when the last of them has terminated or cancelled, right away
+	 * if there is none. The processor can be re-created on the same directory once the
+	 * files are released, and doesn't accept new subscribers from then on.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		onComplete();
+		if (subscribers.length == 0) {
+			close();
+		}
+	}
+
+	void close() {
+		if (CLOSED.compareAndSet(this, 0, 1)) {
+			journal.close();
+			for (MappedJournal.Offset o : offsets.values()) {
+				o.close();
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> s) {
+		subscribe(s, journal.published, null);
+	}
+
+	void subscribe(Subscriber<? super T> s, long fromSequence, String name) {
+		if (closed != 0) {
+			Operators.error(s, new IllegalStateException("The journal has been released"));
+			return;
+		}
+		MappedJournal.Offset offset = null;
+		if (name != null) {
+			try {
+				offset = offsets.computeIfAbsent(name, n -> {
+					try {
+						return journal.offset(n);
+					}
+					catch (IOException e) {
+						throw Exceptions.propagate(e);
+					}
+				});
+			}
+			catch (RuntimeException e) {
+				Operators.error(s, Exceptions.unwrap(e));
+				return;
+			}
+			fromSequence = offset.load();
+		}
+
+		JournalSubscription<T> js =
+				new JournalSubscription<>(s, this, journal.cursor(fromSequence), offset);
+		add(js);
+		s.onSubscribe(js);
+		js.drain();
+	}
+
+	@Override
+	public Iterator<?> downstreams() {
+		return Arrays.asList(subscribers)
+		             .iterator();
+	}
+
+	@Override
+	public long downstreamCount() {
+		return subscribers.length;
+	}
+
+	@Override
+	public long getCapacity() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public Throwable getError() {
+		return error;
+	}
+
+	@Override
+	public boolean isStarted() {
+		return subscription != null;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return done;
+	}
+
+	@Override
+	public Object upstream() {
+		return subscription;
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		if (done) {
+			s.cancel();
+		}
+		else if (Operators.validate(subscription, s)) {
+			subscription = s;
+			s.request(Long.MAX_VALUE);
+		}
+	}
+
+	@Override
+	public void onNext(T t) {
+		if (done) {
+			Operators.onNextDropped(t);
+			return;
+		}
+		try {
+			journal.append(Objects.requireNonNull(encoder.apply(t),
+					"The encoder returned a null value"));
+		}
+		catch (Throwable e) {
+			onError(Operators.onOperatorError(subscription, e, t));
+			return;
+		}
+		for (JournalSubscription<T> js : subscribers) {
+			js.drain();
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		if (done) {
+			Operators.onErrorDropped(t);
+			return;
+		}
+		error = t;
+		done = true;
+		for (JournalSubscription<T> js : subscribers) {
+			js.drain();
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		if (done) {
+			return;
+		}
+		done = true;
+		for (JournalSubscription<T> js : subscribers) {
+			js.drain();
+		}
+	}
+
+	void add(JournalSubscription<T> js) {
+		for (; ; ) {
+			JournalSubscription<T>[] a = subscribers;
+			int n = a.length;
+
+			@SuppressWarnings("unchecked") JournalSubscription<T>[] b =
+					new JournalSubscription[n + 1];
+			System.arraycopy(a, 0, b, 0, n);
+			b[n] = js;
+			if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+				return;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	void remove(JournalSubscription<T> js) {
+		outer:
+		for (; ; ) {
+			JournalSubscription<T>[] a = subscribers;
+			int n = a.length;
+
+			for (int i = 0; i < n; i++) {
+				if (a[i] == js) {
+					JournalSubscription<T>[] b;
+
+					if (n == 1) {
+						b = EMPTY;
+					}
+					else {
+						b = new JournalSubscription[n - 1];
+						System.arraycopy(a, 0, b, 0, i);
+						System.arraycopy(a, i + 1, b, i, n - i - 1);
+					}
+
+					if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+						if (b == EMPTY && shutdown) {
+							close();
+						}
+						return;
+					}
+
+					continue outer;
+				}
+			}
+
+			break;
+		}
+	}
+
+	static final class JournalFlux<T> extends Flux<T> implements Receiver {
+
+		final JournalProcessor<T> parent;
+		final long                fromSequence;
+		final String              name;
+
+		JournalFlux(JournalProcessor<T> parent, long fromSequence, String name) {
+			this.parent = parent;
+			this.fromSequence = fromSequence;
+			this.name = name;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super T> s) {
+			parent.subscribe(s, fromSequence, name);
+		}
+
+		@Override
+		public Object upstream() {
+			return parent;
+		}
+	}
+
+	static final class JournalSubscription<T>
+			implements Subscription, Producer, Receiver, Trackable {
+
+		final Subscriber<? super T>  actual;
+		final JournalProcessor<T>    parent;
+		final MappedJournal.Cursor   cursor;
+		final MappedJournal.Offset   offset;
+
+		/**
+		 * The sequence of the next value to deliver, published for {@link
+		 * JournalProcessor#compact()}
+		 */
+		volatile long position;
+
+		volatile boolean cancelled;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<JournalSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(JournalSubscription.class, "requested");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<JournalSubscription> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(JournalSubscription.class, "wip");
+
+		JournalSubscription(Subscriber<? super T> actual,
+				JournalProcessor<T> parent,
+				MappedJournal.Cursor cursor,
+				MappedJournal.Offset offset) {
+			this.actual = actual;
+			this.parent = parent;
+			this.cursor = cursor;
+			this.offset = offset;
+			this.position = cursor.sequence;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.getAndAddCap(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+				parent.remove(this);
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			final Subscriber<? super T> a = actual;
+			final MappedJournal journal = parent.journal;
+			int missed = 1;
+
+			for (; ; ) {
+				long r = requested;
+				long e = 0L;
+
+				while (e != r) {
+					if (cancelled) {
+						return;
+					}
+					boolean d = parent.done;
+					byte[] payload = journal.read(cursor);
+
+					if (payload == null) {
+						if (d) {
+							terminate(a);
+							return;
+						}
+						break;
+					}
+
+					T v;
+					try {
+						v = Objects.requireNonNull(parent.decoder.apply(payload),
+								"The decoder returned a null value");
+					}
+					catch (Throwable ex) {
+						cancel();
+						a.onError(Operators.onOperatorError(ex));
+						return;
+					}
+
+					a.onNext(v);
+					position = cursor.sequence;
+					if (offset != null) {
+						offset.store(cursor.sequence);
+					}
+					e++;
+				}
+
+				if (e == r) {
+					if (cancelled) {
+						return;
+					}
+					if (parent.done && cursor.sequence >= journal.published) {
+						terminate(a);
+						return;
+					}
+				}
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		void terminate(Subscriber<? super T> a) {
+			cancelled = true;
+			parent.remove(this);
+			Throwable ex = parent.error;
+			if (ex != null) {
+				a.onError(ex);
+			}
+			else {
+				a.onComplete();
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public long getPending() {
+			return parent.journal.published - position;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public Object upstream() {
+			return parent;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+/**
+ * A store of the keys seen by a {@link Flux#distinct(java.util.function.Function,
+ * java.util.function.Supplier) distinct} operator for one
+ * {@link org.reactivestreams.Subscriber}. Unlike a {@link java.util.Collection}, a
+ * store only has to tell whether a key is new, so it can forget keys or only
+ * remember an approximation of them.
+ * <p>
+ * A store is only accessed from the serialized signals of its subscriber and doesn't
+ * need to be thread-safe.
+ *
+ * @param <K> the key type
+ */
+public interface KeyStore<K> {
+
+	/**
+	 * Record a key.
+	 *
+	 * @param key the key to record
+	 *
+	 * @return true if the key is considered new and its value should be emitted
+	 */
+	boolean add(K key);
+
+	/**
+	 * Forget all the recorded keys, called when the sequence terminates.
+	 */
+	void clear();
+}
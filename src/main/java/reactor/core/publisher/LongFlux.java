@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.TimedScheduler;
+
+/**
+ * A {@link Publisher} of primitive {@code long} values.
+ * <p>
+ * LongFlux operators pass values to each other as primitives, so that a numeric
+ * pipeline such as {@code LongFlux.range(0, n).map(...).filter(...).sum()} doesn't
+ * allocate per element: only the final result is boxed. Subscribing with a regular
+ * {@link Subscriber}, or going back to a {@link Flux} with {@link #boxed()}, boxes each
+ * value as it is delivered.
+ * <p>
+ * Use {@link Flux#mapToLong(ToLongFunction)} to convert an existing {@link Flux}.
+ */
+public abstract class LongFlux implements Publisher<Long> {
+
+	/**
+	 * Build a {@link LongFlux} that will only emit a sequence of incrementing primitive
+	 * longs from {@code start} to {@code start + count} then complete.
+	 *
+	 * @param start the first value to be emitted
+	 * @param count the number of times to emit an increment including the first value
+	 *
+	 * @return a ranged {@link LongFlux}
+	 */
+	public static LongFlux range(long start, long count) {
+		return new LongFluxRange(start, count);
+	}
+
+	/**
+	 * Create a new {@link LongFlux} that emits an ever incrementing primitive long
+	 * starting with 0 every period on the global timer. If demand is not produced in
+	 * time, an onError will be signalled. The {@link LongFlux} will never complete.
+	 *
+	 * @param period The duration to wait before the next increment
+	 *
+	 * @return a new timed {@link LongFlux}
+	 */
+	public static LongFlux interval(Duration period) {
+		return interval(period, period, Schedulers.timer());
+	}
+
+	/**
+	 * Create a new {@link LongFlux} that emits an ever incrementing primitive long
+	 * starting with 0 every period on the given timer, after an initial delay. If
+	 * demand is not produced in time, an onError will be signalled. The {@link
+	 * LongFlux} will never complete.
+	 *
+	 * @param delay the delay to wait before emitting 0
+	 * @param period the period before each following increment
+	 * @param timer the {@link TimedScheduler} to schedule on
+	 *
+	 * @return a new timed {@link LongFlux}
+	 */
+	public static LongFlux interval(Duration delay,
+			Duration period,
+			TimedScheduler timer) {
+		return new LongFluxInterval(delay.toMillis(),
+				period.toMillis(),
+				TimeUnit.MILLISECONDS,
+				timer);
+	}
+
+	/**
+	 * Convert the values of a {@link Publisher} into primitive longs.
+	 *
+	 * @param source the source {@link Publisher}
+	 * @param mapper the {@link ToLongFunction} producing a primitive from each value
+	 * @param <T> the source value type
+	 *
+	 * @return a new {@link LongFlux}
+	 */
+	public static <T> LongFlux from(Publisher<? extends T> source,
+			ToLongFunction<? super T> mapper) {
+		return new LongFluxFromFlux<>(source, mapper);
+	}
+
+	/**
+	 * Return a {@link Flux} view of this {@link LongFlux}, boxing each value.
+	 *
+	 * @return a {@link Flux} of the boxed values
+	 */
+	public final Flux<Long> boxed() {
+		return Flux.from(this);
+	}
+
+	/**
+	 * Count the number of values in this {@link LongFlux}.
+	 *
+	 * @return a new {@link Mono} of the value count
+	 */
+	public final Mono<Long> count() {
+		return reduce(0L, (c, v) -> c + 1L);
+	}
+
+	/**
+	 * Evaluate each value against the given {@link LongPredicate}, dropping the values
+	 * that don't match.
+	 *
+	 * @param predicate the {@link LongPredicate} to test values against
+	 *
+	 * @return a new filtered {@link LongFlux}
+	 */
+	public final LongFlux filter(LongPredicate predicate) {
+		return new LongFluxFilter(this, predicate);
+	}
+
+	/**
+	 * Transform the values of this {@link LongFlux} by applying an operator to each
+	 * value.
+	 *
+	 * @param mapper the transforming {@link LongUnaryOperator}
+	 *
+	 * @return a transformed {@link LongFlux}
+	 */
+	public final LongFlux map(LongUnaryOperator mapper) {
+		return new LongFluxMap(this, mapper);
+	}
+
+	/**
+	 * Emit the highest value of this {@link LongFlux}, or complete empty if there is
+	 * no value.
+	 *
+	 * @return a new {@link Mono} of the highest value
+	 */
+	public final Mono<Long> max() {
+		return reduce(Math::max);
+	}
+
+	/**
+	 * Emit the lowest value of this {@link LongFlux}, or complete empty if there is no
+	 * value.
+	 *
+	 * @return a new {@link Mono} of the lowest value
+	 */
+	public final Mono<Long> min() {
+		return reduce(Math::min);
+	}
+
+	/**
+	 * Aggregate the values of this {@link LongFlux} into a single value, starting from
+	 * the first value, or complete empty if there is no value.
+	 *
+	 * @param aggregator the reducing {@link LongBinaryOperator}
+	 *
+	 * @return a new {@link Mono} of the aggregated value
+	 */
+	public final Mono<Long> reduce(LongBinaryOperator aggregator) {
+		return Mono.onAssembly(new MonoLongReduce(this, false, 0L, aggregator));
+	}
+
+	/**
+	 * Aggregate the values of this {@link LongFlux} into a single value, starting from
+	 * the given initial value.
+	 *
+	 * @param initial the initial value of the aggregation
+	 * @param accumulator the reducing {@link LongBinaryOperator}
+	 *
+	 * @return a new {@link Mono} of the aggregated value
+	 */
+	public final Mono<Long> reduce(long initial, LongBinaryOperator accumulator) {
+		return Mono.onAssembly(new MonoLongReduce(this, true, initial, accumulator));
+	}
+
+	/**
+	 * Accumulate the values of this {@link LongFlux} with the given operator and emit
+	 * each intermediate result, the first one being the first value.
+	 *
+	 * @param accumulator the accumulating {@link LongBinaryOperator}
+	 *
+	 * @return an accumulating {@link LongFlux}
+	 */
+	public final LongFlux scan(LongBinaryOperator accumulator) {
+		return new LongFluxScan(this, accumulator);
+	}
+
+	/**
+	 * Sum the values of this {@link LongFlux}, emitting 0 if there is no value.
+	 *
+	 * @return a new {@link Mono} of the sum
+	 */
+	public final Mono<Long> sum() {
+		return reduce(0L, Long::sum);
+	}
+
+	@Override
+	public final void subscribe(Subscriber<? super Long> s) {
+		Objects.requireNonNull(s, "s");
+		if (s instanceof LongSubscriber) {
+			subscribeLong((LongSubscriber) s);
+		}
+		else {
+			subscribeLong(new BoxingSubscriber(s));
+		}
+	}
+
+	/**
+	 * Subscribe a {@link LongSubscriber} to this {@link LongFlux}.
+	 *
+	 * @param s the primitive {@link Subscriber}
+	 */
+	abstract void subscribeLong(LongSubscriber s);
+
+	/**
+	 * Boxes each primitive value for a regular {@link Subscriber}.
+	 */
+	static final class BoxingSubscriber implements LongSubscriber {
+
+		final Subscriber<? super Long> actual;
+
+		BoxingSubscriber(Subscriber<? super Long> actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		public void onNextLong(long t) {
+			actual.onNext(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			actual.onComplete();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.function.LongPredicate;
+
+import org.reactivestreams.Subscription;
+import reactor.core.Producer;
+import reactor.core.Receiver;
+
+/**
+ * Filters out the primitive values of the source that don't match a {@link
+ * LongPredicate}.
+ */
+final class LongFluxFilter extends LongFlux {
+
+	final LongFlux source;
+
+	final LongPredicate predicate;
+
+	LongFluxFilter(LongFlux source, LongPredicate predicate) {
+		this.source = Objects.requireNonNull(source, "source");
+		this.predicate = Objects.requireNonNull(predicate, "predicate");
+	}
+
+	@Override
+	void subscribeLong(LongSubscriber s) {
+		source.subscribeLong(new FilterSubscriber(s, predicate));
+	}
+
+	static final class FilterSubscriber
+			implements LongSubscriber, Receiver, Producer, Subscription {
+
+		final LongSubscriber actual;
+
+		final LongPredicate predicate;
+
+		boolean done;
+
+		Subscription s;
+
+		FilterSubscriber(LongSubscriber actual, LongPredicate predicate) {
+			this.actual = actual;
+			this.predicate = predicate;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public void onNextLong(long t) {
+			if (done) {
+				return;
+			}
+
+			boolean b;
+
+			try {
+				b = predicate.test(t);
+			}
+			catch (Throwable e) {
+				onError(Operators.onOperatorError(s, e, t));
+				return;
+			}
+			if (b) {
+				actual.onNextLong(t);
+			}
+			else {
+				s.request(1);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t);
+				return;
+			}
+
+			done = true;
+
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+
+			actual.onComplete();
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+	}
+}
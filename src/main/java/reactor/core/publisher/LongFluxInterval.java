@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.scheduler.TimedScheduler;
+
+/**
+ * Periodically emits an ever increasing primitive long value, see {@link
+ * FluxInterval}.
+ */
+final class LongFluxInterval extends LongFlux {
+
+	final FluxInterval source;
+
+	LongFluxInterval(long initialDelay,
+			long period,
+			TimeUnit unit,
+			TimedScheduler timedScheduler) {
+		this.source = new FluxInterval(initialDelay, period, unit, timedScheduler);
+	}
+
+	@Override
+	void subscribeLong(LongSubscriber s) {
+		source.subscribe(s);
+	}
+}
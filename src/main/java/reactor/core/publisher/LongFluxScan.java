@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.function.LongBinaryOperator;
+
+import org.reactivestreams.Subscription;
+import reactor.core.Producer;
+import reactor.core.Receiver;
+
+/**
+ * Accumulates the primitive values of the source with a {@link LongBinaryOperator} and
+ * emits each intermediate result, starting with the first source value.
+ */
+final class LongFluxScan extends LongFlux {
+
+	final LongFlux source;
+
+	final LongBinaryOperator accumulator;
+
+	LongFluxScan(LongFlux source, LongBinaryOperator accumulator) {
+		this.source = Objects.requireNonNull(source, "source");
+		this.accumulator = Objects.requireNonNull(accumulator, "accumulator");
+	}
+
+	@Override
+	void subscribeLong(LongSubscriber s) {
+		source.subscribeLong(new ScanSubscriber(s, accumulator));
+	}
+
+	static final class ScanSubscriber
+			implements LongSubscriber, Receiver, Producer, Subscription {
+
+		final LongSubscriber actual;
+
+		final LongBinaryOperator accumulator;
+
+		Subscription s;
+
+		boolean done;
+
+		boolean hasValue;
+
+		long value;
+
+		ScanSubscriber(LongSubscriber actual, LongBinaryOperator accumulator) {
+			this.actual = actual;
+			this.accumulator = accumulator;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public void onNextLong(long t) {
+			if (done) {
+				return;
+			}
+
+			if (hasValue) {
+				try {
+					t = accumulator.applyAsLong(value, t);
+				}
+				catch (Throwable e) {
+					onError(Operators.onOperatorError(s, e, t));
+					return;
+				}
+			}
+			else {
+				hasValue = true;
+			}
+
+			value = t;
+			actual.onNextLong(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			actual.onComplete();
+		}
+
+		@Override
+		public Object upstream() {
+			return s;
+		}
+
+		@Override
+		public Object downstream() {
+			return actual;
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * A {@link Subscriber} that can receive primitive {@code long} values. {@link LongFlux}
+ * operators detect it and call {@link #onNextLong(long)} instead of boxing each value.
+ */
+interface LongSubscriber extends Subscriber<Long> {
+
+	/**
+	 * Receive a primitive value.
+	 *
+	 * @param t the value
+	 */
+	void onNextLong(long t);
+
+	@Override
+	default void onNext(Long t) {
+		onNextLong(t);
+	}
+}
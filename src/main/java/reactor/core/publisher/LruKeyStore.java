@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link KeyStore} retaining at most a given number of keys, evicting
+ * the least recently seen key when full. {@link #add(Object)} returns false for a
+ * retained key and marks it as the most recently seen.
+ *
+ * @param <K> the key type
+ */
+final class LruKeyStore<K> implements KeyStore<K> {
+
+	final LinkedHashMap<K, Boolean> keys;
+
+	LruKeyStore(int maxKeys) {
+		if (maxKeys < 1) {
+			throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
+		}
+		this.keys = new LinkedHashMap<K, Boolean>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+				return size() > maxKeys;
+			}
+		};
+	}
+
+	@Override
+	public boolean add(K k) {
+		return keys.put(k, Boolean.TRUE) == null;
+	}
+
+	@Override
+	public void clear() {
+		keys.clear();
+	}
+}
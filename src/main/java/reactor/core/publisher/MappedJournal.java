@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An append-only journal of binary records stored in memory-mapped segment files,
+ * written by a single thread and read concurrently by any number of {@link Cursor}.
+ * <p>
+ * Each segment file is named after the sequence of its first record and holds records
+ * made of an int header (the payload length + 1, so that 0 marks the unwritten space)
+ * followed by the payload. The payload is written before its header so that a torn
+ * write is ignored when the journal is reopened. When a record doesn't fit in the
+ * remaining space of a segment, a {@link #ROLL} header is written and a new segment is
+ * started.
+ * <p>
+ * Consumer positions are stored in their own small memory-mapped {@link Offset} files.
+ */
+final class MappedJournal {
+
+	static final String SEGMENT_SUFFIX = ".journal";
+	static final String OFFSET_SUFFIX  = ".offset";
+
+	/**
+	 * Header marking the end of a segment, the next record is in the next segment.
+	 */
+	static final int ROLL = -1;
+
+	final Path directory;
+	final int  segmentSize;
+
+	final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The sequence of the next record to be written, records below it are readable.
+	 */
+	volatile long published;
+
+	Segment tail;
+	int     tailPosition;
+
+	MappedJournal(Path directory, int segmentSize) throws IOException {
+		if (segmentSize < 64) {
+			throw new IllegalArgumentException("segmentSize must be at least 64 bytes, " +
+					"was: " + segmentSize);
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		Files.createDirectories(directory);
+
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> ds = Files.newDirectoryStream(directory,
+				"*" + SEGMENT_SUFFIX)) {
+			for (Path p : ds) {
+				files.add(p);
+			}
+		}
+		Collections.sort(files, (a, b) -> Long.compare(firstSequence(a), firstSequence(b)));
+
+		if (files.isEmpty()) {
+			tail = newSegment(0L);
+			tailPosition = 0;
+			published = 0L;
+			return;
+		}
+
+		for (Path p : files) {
+			segments.add(new Segment(p, firstSequence(p), 0));
+		}
+		tail = segments.get(segments.size() - 1);
+
+		//recover the write position of the last segment
+		ByteBuffer b = tail.buffer;
+		int position = 0;
+		long count = 0L;
+		while (position + 4 <= b.capacity()) {
+			int header = b.getInt(position);
+			if (header <= 0 || position + 4 + header - 1 > b.capacity()) {
+				break;
+			}
+			position += 4 + header - 1;
+			count++;
+		}
+		tailPosition = position;
+		published = tail.firstSequence + count;
+	}
+
+	static long firstSequence(Path segment) {
+		String name = segment.getFileName()
+		                     .toString();
+		return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	Segment newSegment(long firstSequence) throws IOException {
+		Path p = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+		Segment s = new Segment(p, firstSequence, segmentSize);
+		segments.add(s);
+		return s;
+	}
+
+	/**
+	 * Append a record, must only be called by a single writer at a time.
+	 *
+	 * @param payload the record payload
+	 *
+	 * @throws IOException if a new segment file couldn't be created
+	 */
+	void append(byte[] payload) throws IOException {
+		int length = payload.length;
+		if (length > segmentSize - 8) {
+			throw new IllegalArgumentException("Record of " + length + " bytes doesn't " +
+					"fit in segments of " + segmentSize + " bytes");
+		}
+		//always leave room for a ROLL header
+		if (tailPosition + 4 + length > tail.buffer.capacity() - 4) {
+			Segment next = newSegment(published);
+			tail.buffer.putInt(tailPosition, ROLL);
+			tail = next;
+			tailPosition = 0;
+		}
+		ByteBuffer b = tail.writer;
+		b.position(tailPosition + 4);
+		b.put(payload);
+		b.putInt(tailPosition, length + 1);
+		tailPosition += 4 + length;
+		published = published + 1L;
+	}
+
+	/**
+	 * @return the sequence of the oldest record still available
+	 */
+	long firstSequence() {
+		return segments.get(0).firstSequence;
+	}
+
+	/**
+	 * Create a {@link Cursor} positioned on the given sequence, or the oldest available
+	 * record if it has been compacted.
+	 *
+	 * @param sequence the sequence of the first record to read
+	 *
+	 * @return a new {@link Cursor}
+	 */
+	Cursor cursor(long sequence) {
+		long end = published;
+		if (sequence > end) {
+			sequence = end;
+		}
+		Segment segment = segments.get(0);
+		for (Segment s : segments) {
+			if (s.firstSequence > sequence) {
+				break;
+			}
+			segment = s;
+		}
+		Cursor c = new Cursor(segment, Math.max(sequence, segment.firstSequence));
+		long toSkip = c.sequence - segment.firstSequence;
+		for (long i = 0; i < toSkip; i++) {
+			int header = c.buffer.getInt(c.position);
+			c.position += 4 + header - 1;
+		}
+		return c;
+	}
+
+	/**
+	 * Read the next record of a cursor, must only be called by one thread at a time
+	 * for a given cursor.
+	 *
+	 * @param c the {@link Cursor} to move
+	 *
+	 * @return the next payload or null if the cursor reached the last written record
+	 */
+	byte[] read(Cursor c) {
+		if (c.sequence >= published) {
+			return null;
+		}
+		int header = c.buffer.getInt(c.position);
+		//a missing ROLL header means the journal stopped right after a new segment
+		if (header == ROLL || header == 0) {
+			Segment next = segment(c.sequence);
+			c.segment = next;
+			c.buffer = next.buffer.duplicate();
+			c.position = 0;
+			header = c.buffer.getInt(0);
+		}
+		byte[] payload = new byte[header - 1];
+		c.buffer.position(c.position + 4);
+		c.buffer.get(payload);
+		c.position += 4 + payload.length;
+		c.sequence++;
+		return payload;
+	}
+
+	/**
+	 * Find the segment starting with the given sequence, looked up by sequence rather
+	 * than from the current segment since the latter may have been compacted already.
+	 *
+	 * @param sequence the sequence of the first record of the segment
+	 *
+	 * @return the matching {@link Segment}
+	 */
+	Segment segment(long sequence) {
+		for (Segment s : segments) {
+			if (s.firstSequence == sequence) {
+				return s;
+			}
+		}
+		throw new IllegalStateException("No segment starts with sequence " + sequence);
+	}
+
+	/**
+	 * Delete the oldest segments only holding records below the given sequence.
+	 *
+	 * @param sequence the first sequence that must remain readable
+	 *
+	 * @return the number of deleted segments
+	 */
+	int compact(long sequence) {
+		int deleted = 0;
+		while (segments.size() > 1) {
+			Segment first = segments.get(0);
+			if (segments.get(1).firstSequence > sequence) {
+				break;
+			}
+			segments.remove(0);
+			first.close();
+			try {
+				Files.deleteIfExists(first.path);
+			}
+			catch (IOException e) {
+				//the segment is not referenced anymore, retried on reopen
+			}
+			deleted++;
+		}
+		return deleted;
+	}
+
+	Offset offset(String name) throws IOException {
+		return new Offset(directory.resolve(name + OFFSET_SUFFIX));
+	}
+
+	/**
+	 * Flush the written records to the storage device and release the files.
+	 */
+	void close() {
+		for (Segment s : segments) {
+			s.buffer.force();
+			s.close();
+		}
+	}
+
+	static final class Segment {
+
+		final Path             path;
+		final long             firstSequence;
+		final FileChannel      channel;
+		final MappedByteBuffer buffer;
+		final ByteBuffer       writer;
+
+		Segment(Path path, long firstSequence, int size) throws IOException {
+			this.path = path;
+			this.firstSequence = firstSequence;
+			this.channel = FileChannel.open(path,
+					StandardOpenOption.CREATE,
+					StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			long length = size > 0 ? size : channel.size();
+			this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+			this.writer = buffer.duplicate();
+		}
+
+		void close() {
+			try {
+				channel.close();
+			}
+			catch (IOException e) {
+				//ignore, the mapping stays valid until collected
+			}
+		}
+	}
+
+	static final class Cursor {
+
+		Segment    segment;
+		ByteBuffer buffer;
+		int        position;
+		long       sequence;
+
+		Cursor(Segment segment, long sequence) {
+			this.segment = segment;
+			this.buffer = segment.buffer.duplicate();
+			this.sequence = sequence;
+		}
+	}
+
+	/**
+	 * The persisted position of a named consumer: the sequence of the next record it
+	 * will read.
+	 */
+	static final class Offset {
+
+		final FileChannel      channel;
+		final MappedByteBuffer buffer;
+
+		Offset(Path path) throws IOException {
+			this.channel = FileChannel.open(path,
+					StandardOpenOption.CREATE,
+					StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 8);
+		}
+
+		long load() {
+			return buffer.getLong(0);
+		}
+
+		void store(long sequence) {
+			buffer.putLong(0, sequence);
+		}
+
+		void close() {
+			buffer.force();
+			try {
+				channel.close();
+			}
+			catch (IOException e) {
+				//ignore, the mapping stays valid until collected
+			}
+		}
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+/**
+ * A registry receiving the {@link SequenceMetrics} of the sequences instrumented with
+ * {@link Flux#metrics(String)} or {@link Mono#metrics(String)}, installed with {@link
+ * Hooks#onMetrics(MetricsRegistry)}.
+ * <p>
+ * Sequences only record into their {@link SequenceMetrics}, an implementation is
+ * expected to sample them at its own pace (e.g. to compute rates or to export them to
+ * a monitoring system).
+ */
+@FunctionalInterface
+public interface MetricsRegistry {
+
+	/**
+	 * Called once per sequence name, the first time a sequence with that name is
+	 * assembled while this registry is installed.
+	 *
+	 * @param metrics the {@link SequenceMetrics} shared by all the sequences with that
+	 * name
+	 */
+	void register(SequenceMetrics metrics);
+}
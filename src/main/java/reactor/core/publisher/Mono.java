@@ -2075,6 +2075,27 @@ public abstract class Mono<T> implements Publisher<T> {
 		return Flux.merge(this, other);
 	}
 
+	/**
+	 * Record the signals of this {@link Mono} into the {@link SequenceMetrics} shared
+	 * by all the sequences with the given name: subscriptions, onNext count, requested
+	 * volume, subscription latency and termination time.
+	 * <p>
+	 * Metrics are only recorded when a {@link MetricsRegistry} has been installed with
+	 * {@link Hooks#onMetrics(MetricsRegistry)} at assembly time, otherwise this
+	 * {@link Mono} is returned as is.
+	 *
+	 * @param name the name grouping the metrics of similar sequences
+	 *
+	 * @return an instrumented {@link Mono}
+	 */
+	public final Mono<T> metrics(String name) {
+		SequenceMetrics metrics = Hooks.sequenceMetrics(Objects.requireNonNull(name, "name"));
+		if (metrics == null) {
+			return this;
+		}
+		return onAssembly(new MonoMetrics<>(this, metrics));
+	}
+
 	/**
 	 * Emit the any of the result from this mono or from the given mono
 	 *
@@ -43,8 +43,12 @@ final class MonoCallableOnAssembly<T> extends MonoSource<T, T>
 	final Exception stacktrace;
 
 	MonoCallableOnAssembly(Publisher<? extends T> source) {
+		this(source, new Exception());
+	}
+
+	MonoCallableOnAssembly(Publisher<? extends T> source, Exception stacktrace) {
 		super(source);
-		this.stacktrace = new Exception();
+		this.stacktrace = stacktrace;
 	}
 
 	@Override
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.function.LongBinaryOperator;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Fuseable;
+
+/**
+ * Aggregates the primitive values of a {@link LongFlux} and emits the result, boxed
+ * only once on completion.
+ */
+final class MonoLongReduce extends Mono<Long> implements Fuseable {
+
+	final LongFlux source;
+
+	final boolean hasSeed;
+
+	final long seed;
+
+	final LongBinaryOperator aggregator;
+
+	MonoLongReduce(LongFlux source,
+			boolean hasSeed,
+			long seed,
+			LongBinaryOperator aggregator) {
+		this.source = Objects.requireNonNull(source, "source");
+		this.hasSeed = hasSeed;
+		this.seed = seed;
+		this.aggregator = Objects.requireNonNull(aggregator, "aggregator");
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super Long> s) {
+		source.subscribeLong(new LongAggregateSubscriber(s, hasSeed, seed, aggregator));
+	}
+
+	static final class LongAggregateSubscriber
+			extends Operators.MonoSubscriber<Long, Long>
+			implements LongSubscriber {
+
+		final LongBinaryOperator aggregator;
+
+		Subscription s;
+
+		boolean hasValue;
+
+		long result;
+
+		boolean done;
+
+		LongAggregateSubscriber(Subscriber<? super Long> actual,
+				boolean hasSeed,
+				long seed,
+				LongBinaryOperator aggregator) {
+			super(actual);
+			this.aggregator = aggregator;
+			this.hasValue = hasSeed;
+			this.result = seed;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(Long t) {
+			onNextLong(t);
+		}
+
+		@Override
+		public void onNextLong(long t) {
+			if (done) {
+				return;
+			}
+			if (!hasValue) {
+				hasValue = true;
+				result = t;
+				return;
+			}
+			try {
+				result = aggregator.applyAsLong(result, t);
+			}
+			catch (Throwable ex) {
+				done = true;
+				actual.onError(Operators.onOperatorError(s, ex, t));
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t);
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			if (hasValue) {
+				complete(result);
+			}
+			else {
+				actual.onComplete();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			super.cancel();
+			s.cancel();
+		}
+	}
+}
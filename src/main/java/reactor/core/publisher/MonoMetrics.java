@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Records the signals going through this operator into a {@link SequenceMetrics}.
+ *
+ * @param <T> the value type
+ * @see FluxMetrics
+ */
+final class MonoMetrics<T> extends MonoSource<T, T> {
+
+	final SequenceMetrics metrics;
+
+	MonoMetrics(Publisher<? extends T> source, SequenceMetrics metrics) {
+		super(source);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> s) {
+		long start = System.nanoTime();
+		metrics.subscribed.increment();
+		source.subscribe(new FluxMetrics.MetricsSubscriber<>(s, metrics, start));
+	}
+}
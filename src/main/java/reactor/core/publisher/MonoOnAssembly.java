@@ -38,8 +38,12 @@ final class MonoOnAssembly<T> extends MonoSource<T, T> implements Fuseable, Asse
 	final Exception stacktrace;
 
 	MonoOnAssembly(Publisher<? extends T> source) {
+		this(source, new Exception());
+	}
+
+	MonoOnAssembly(Publisher<? extends T> source, Exception stacktrace) {
 		super(source);
-		this.stacktrace = new Exception();
+		this.stacktrace = stacktrace;
 	}
 
 	@Override
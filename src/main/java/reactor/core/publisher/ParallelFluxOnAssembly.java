@@ -41,8 +41,12 @@ final class ParallelFluxOnAssembly<T> extends ParallelFlux<T>
 	final Exception stacktrace;
 
 	ParallelFluxOnAssembly(ParallelFlux<T> source) {
+		this(source, new Exception());
+	}
+
+	ParallelFluxOnAssembly(ParallelFlux<T> source, Exception stacktrace) {
 		this.source = source;
-		this.stacktrace = new Exception();
+		this.stacktrace = stacktrace;
 	}
 
 	@Override
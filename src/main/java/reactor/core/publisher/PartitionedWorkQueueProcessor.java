@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Function;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.Exceptions;
+import reactor.core.MultiProducer;
+import reactor.core.Receiver;
+import reactor.util.concurrent.QueueSupplier;
+import reactor.util.concurrent.WaitStrategy;
+
+/**
+ * A work queue splitting the received values over a fixed number of partitions by
+ * hashing a key extracted from each value, each partition being a ring buffer drained
+ * by a dedicated consumer thread.
+ * <p>
+ * All the values sharing a key land in the same partition and are delivered in order
+ * by a single consumer, while distinct keys are processed in parallel. Unlike {@link
+ * Flux#groupBy(Function)}, no state is kept per key: the memory used is bounded by the
+ * number of partitions times the buffer size, whatever the key cardinality.
+ * <p>
+ * Each partition is exposed as a rail of this {@link ParallelFlux}, which can only be
+ * subscribed once. The upstream is requested unbounded and {@link #onNext(Object)}
+ * blocks while the target partition is full, like {@link TopicProcessor}. Values
+ * published before the rails are subscribed are retained, {@link #onNext(Object)}
+ * blocking once a partition buffer is full until its rail subscribes and consumes.
+ * {@link #onNext(Object)} calls must be serialized.
+ *
+ * @param <E> the value type
+ */
+public final class PartitionedWorkQueueProcessor<E> extends ParallelFlux<E>
+		implements Subscriber<E>, MultiProducer, Receiver {
+
+	/**
+	 * Create a new {@link PartitionedWorkQueueProcessor} with the given number of
+	 * partitions of {@link QueueSupplier#SMALL_BUFFER_SIZE} slots.
+	 *
+	 * @param keyExtractor the function computing the partitioning key of each value
+	 * @param partitions the number of partitions and rails
+	 * @param <E> the value type
+	 *
+	 * @return a new {@link PartitionedWorkQueueProcessor}
+	 */
+	public static <E> PartitionedWorkQueueProcessor<E> create(Function<? super E, ?> keyExtractor,
+			int partitions) {
+		return create(PartitionedWorkQueueProcessor.class.getSimpleName(),
+				keyExtractor,
+				partitions,
+				QueueSupplier.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new {@link PartitionedWorkQueueProcessor} with the given number of
+	 * partitions and partition buffer size.
+	 *
+	 * @param name the prefix of the consumer thread names
+	 * @param keyExtractor the function computing the partitioning key of each value
+	 * @param partitions the number of partitions and rails
+	 * @param bufferSize the size of each partition buffer, a power of 2
+	 * @param <E> the value type
+	 *
+	 * @return a new {@link PartitionedWorkQueueProcessor}
+	 */
+	public static <E> PartitionedWorkQueueProcessor<E> create(String name,
+			Function<? super E, ?> keyExtractor,
+			int partitions,
+			int bufferSize) {
+		return create(name, keyExtractor, partitions, bufferSize, WaitStrategy.liteBlocking());
+	}
+
+	/**
+	 * Create a new {@link PartitionedWorkQueueProcessor} with the given number of
+	 * partitions, partition buffer size and consumer {@link WaitStrategy}.
+	 *
+	 * @param name the prefix of the consumer thread names
+	 * @param keyExtractor the function computing the partitioning key of each value
+	 * @param partitions the number of partitions and rails
+	 * @param bufferSize the size of each partition buffer, a power of 2
+	 * @param strategy the {@link WaitStrategy} used by the partition consumers
+	 * @param <E> the value type
+	 *
+	 * @return a new {@link PartitionedWorkQueueProcessor}
+	 */
+	public static <E> PartitionedWorkQueueProcessor<E> create(String name,
+			Function<? super E, ?> keyExtractor,
+			int partitions,
+			int bufferSize,
+			WaitStrategy strategy) {
+		Objects.requireNonNull(keyExtractor, "keyExtractor");
+		Objects.requireNonNull(strategy, "strategy");
+		if (partitions < 1) {
+			throw new IllegalArgumentException("partitions > 0 required but it was " + partitions);
+		}
+		@SuppressWarnings("unchecked")
+		TopicProcessor<E>[] rails = new TopicProcessor[partitions];
+		for (int i = 0; i < partitions; i++) {
+			rails[i] = TopicProcessor.create(name + "-" + i, bufferSize, strategy, false);
+		}
+		return new PartitionedWorkQueueProcessor<>(keyExtractor, rails);
+	}
+
+	final Function<? super E, ?> keyExtractor;
+	final TopicProcessor<E>[]    partitions;
+
+	Subscription s;
+	boolean      done;
+
+	volatile int once;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<PartitionedWorkQueueProcessor> ONCE =
+			AtomicIntegerFieldUpdater.newUpdater(PartitionedWorkQueueProcessor.class, "once");
+
+	PartitionedWorkQueueProcessor(Function<? super E, ?> keyExtractor,
+			TopicProcessor<E>[] partitions) {
+		this.keyExtractor = keyExtractor;
+		this.partitions = partitions;
+		// gate every partition right away so values published before the rails
+		// subscribe are retained instead of being overwritten
+		PartitionSubscription subscription = new PartitionSubscription(this);
+		for (TopicProcessor<E> p : partitions) {
+			p.onSubscribe(subscription);
+		}
+	}
+
+	@Override
+	public int parallelism() {
+		return partitions.length;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super E>[] subscribers) {
+		if (!validate(subscribers)) {
+			return;
+		}
+		if (!ONCE.compareAndSet(this, 0, 1)) {
+			for (Subscriber<? super E> subscriber : subscribers) {
+				Operators.error(subscriber,
+						new IllegalStateException("PartitionedWorkQueueProcessor allows only a single set of subscribers"));
+			}
+			return;
+		}
+		for (int i = 0; i < subscribers.length; i++) {
+			partitions[i].subscribe(subscribers[i]);
+		}
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		if (Operators.validate(this.s, s)) {
+			this.s = s;
+			s.request(Long.MAX_VALUE);
+		}
+	}
+
+	@Override
+	public void onNext(E t) {
+		if (t == null) {
+			throw Exceptions.argumentIsNullException();
+		}
+		if (done) {
+			Operators.onNextDropped(t);
+			return;
+		}
+		Object key;
+		try {
+			key = Objects.requireNonNull(keyExtractor.apply(t),
+					"The keyExtractor returned a null key");
+		}
+		catch (Throwable e) {
+			onError(Operators.onOperatorError(s, e, t));
+			return;
+		}
+		partitions[partition(key, partitions.length)].onNext(t);
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		if (t == null) {
+			throw Exceptions.argumentIsNullException();
+		}
+		if (done) {
+			Operators.onErrorDropped(t);
+			return;
+		}
+		done = true;
+		for (TopicProcessor<E> p : partitions) {
+			p.onError(t);
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		if (done) {
+			return;
+		}
+		done = true;
+		for (TopicProcessor<E> p : partitions) {
+			p.onComplete();
+		}
+	}
+
+	/**
+	 * Shutdown the partitions, their consumers terminating once the values already
+	 * published are consumed.
+	 */
+	public void shutdown() {
+		for (TopicProcessor<E> p : partitions) {
+			p.shutdown();
+		}
+	}
+
+	/**
+	 * Block until every partition has been drained and its consumer terminated, or
+	 * the timeout elapses.
+	 *
+	 * @param timeout the maximum time to wait for all the partitions
+	 * @param timeUnit the unit of the timeout
+	 *
+	 * @return true if all the partitions have terminated in time
+	 */
+	public boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
+		long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+		for (TopicProcessor<E> p : partitions) {
+			long remaining = deadline - System.nanoTime();
+			if (!p.awaitAndShutdown(Math.max(0L, remaining), TimeUnit.NANOSECONDS)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public Iterator<?> downstreams() {
+		return Arrays.asList(partitions).iterator();
+	}
+
+	@Override
+	public long downstreamCount() {
+		return partitions.length;
+	}
+
+	@Override
+	public Object upstream() {
+		return s;
+	}
+
+	/**
+	 * Spread the key hash bits and map them to a partition index.
+	 *
+	 * @param key the partitioning key
+	 * @param n the number of partitions
+	 *
+	 * @return the partition index in [0, n)
+	 */
+	static int partition(Object key, int n) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		return (h & Integer.MAX_VALUE) % n;
+	}
+
+	/**
+	 * The {@link Subscription} given to each partition: the upstream is already
+	 * requested unbounded and backpressured by the blocking {@link #onNext(Object)},
+	 * so requests are ignored and only the cancellation is propagated.
+	 */
+	static final class PartitionSubscription implements Subscription {
+
+		final PartitionedWorkQueueProcessor<?> parent;
+
+		PartitionSubscription(PartitionedWorkQueueProcessor<?> parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public void request(long n) {
+			// ignored, see class javadoc
+		}
+
+		@Override
+		public void cancel() {
+			Subscription s = parent.s;
+			if (s != null) {
+				s.cancel();
+			}
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Subscriber;
+import reactor.util.concurrent.WaitStrategy;
+
+/**
+ * Ring buffer occupancy, subscriber lag and wait counters of a {@link TopicProcessor},
+ * {@link WorkQueueProcessor} or {@link EmitterProcessor}, obtained with their {@code
+ * metrics()} method. Counters are only recorded from the first call to {@code
+ * metrics()} on, a processor never asked for its metrics does not pay for them.
+ * <p>
+ * Counters are striped ({@link LongAdder}) so that producers and consumers don't
+ * contend when recording, each getter returns an instant snapshot.
+ */
+public final class ProcessorMetrics {
+
+	final String                              name;
+	final LongSupplier                        capacity;
+	final LongSupplier                        occupancy;
+	final Supplier<Map<Subscriber<?>, Long>> lags;
+	final WaitStrategy                        waitStrategy;
+
+	final LongAdder claims         = new LongAdder();
+	final LongAdder blockedClaims  = new LongAdder();
+	final LongAdder blockedTime    = new LongAdder();
+	final LongAdder consumerWaits  = new LongAdder();
+	final LongAdder consumerIdle   = new LongAdder();
+
+	ProcessorMetrics(String name,
+			LongSupplier capacity,
+			LongSupplier occupancy,
+			Supplier<Map<Subscriber<?>, Long>> lags,
+			WaitStrategy waitStrategy) {
+		this.name = name;
+		this.capacity = capacity;
+		this.occupancy = occupancy;
+		this.lags = lags;
+		this.waitStrategy = waitStrategy;
+	}
+
+	/**
+	 * @return the name of the instrumented processor
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * @return the number of slots of the ring buffer
+	 */
+	public long capacity() {
+		return capacity.getAsLong();
+	}
+
+	/**
+	 * @return the number of slots published but not yet consumed by the slowest
+	 * subscriber
+	 */
+	public long occupancy() {
+		return occupancy.getAsLong();
+	}
+
+	/**
+	 * Return, for each current subscriber, the number of published slots it has not
+	 * consumed yet. For a {@link WorkQueueProcessor} the lag of a subscriber is
+	 * relative to the slot it last claimed, an idle subscriber has no lag.
+	 *
+	 * @return a new map of lags keyed by subscriber
+	 */
+	public Map<Subscriber<?>, Long> subscriberLags() {
+		return lags.get();
+	}
+
+	/**
+	 * @return the number of ring buffer claims made by producers, a batch claim counting
+	 * once
+	 */
+	public long claimCount() {
+		return claims.sum();
+	}
+
+	/**
+	 * @return the number of claims that found the ring buffer full and had to wait for
+	 * the slowest subscriber
+	 */
+	public long blockedClaimCount() {
+		return blockedClaims.sum();
+	}
+
+	/**
+	 * @return the cumulated nanoseconds producers spent waiting for free slots
+	 */
+	public long producerBlockedNanos() {
+		return blockedTime.sum();
+	}
+
+	/**
+	 * @return the number of times a subscriber thread found its next slot not yet
+	 * claimed by a producer and had to wait for it, batches of already available slots
+	 * not being counted
+	 */
+	public long consumerWaitCount() {
+		return consumerWaits.sum();
+	}
+
+	/**
+	 * @return the cumulated nanoseconds subscriber threads spent waiting for slots to
+	 * be published
+	 */
+	public long consumerIdleNanos() {
+		return consumerIdle.sum();
+	}
+
+	/**
+	 * @return the cumulated nanoseconds spent spinning by the {@link
+	 * WaitStrategy.Adaptive} of the processor, 0 for other strategies
+	 */
+	public long consumerSpinNanos() {
+		WaitStrategy w = waitStrategy;
+		return w instanceof WaitStrategy.Adaptive ? ((WaitStrategy.Adaptive) w).spinNanos() : 0L;
+	}
+
+	/**
+	 * @return the cumulated nanoseconds spent yielding by the {@link
+	 * WaitStrategy.Adaptive} of the processor, 0 for other strategies
+	 */
+	public long consumerYieldNanos() {
+		WaitStrategy w = waitStrategy;
+		return w instanceof WaitStrategy.Adaptive ? ((WaitStrategy.Adaptive) w).yieldNanos() : 0L;
+	}
+
+	/**
+	 * @return the cumulated nanoseconds spent parked by the {@link
+	 * WaitStrategy.Adaptive} of the processor, 0 for other strategies
+	 */
+	public long consumerParkNanos() {
+		WaitStrategy w = waitStrategy;
+		return w instanceof WaitStrategy.Adaptive ? ((WaitStrategy.Adaptive) w).parkNanos() : 0L;
+	}
+
+	/**
+	 * Claim {@code n} slots, timing the claim if the ring buffer has less than {@code
+	 * n} free slots.
+	 */
+	long claim(RingBuffer<?> ringBuffer, int n) {
+		claims.increment();
+		if (ringBuffer.getPending() + n <= ringBuffer.bufferSize()) {
+			return n == 1 ? ringBuffer.next() : ringBuffer.next(n);
+		}
+		long start = System.nanoTime();
+		long seq = n == 1 ? ringBuffer.next() : ringBuffer.next(n);
+		blockedTime.add(System.nanoTime() - start);
+		blockedClaims.increment();
+		return seq;
+	}
+
+	void recordWait(long startNanos) {
+		consumerIdle.add(System.nanoTime() - startNanos);
+		consumerWaits.increment();
+	}
+
+	@Override
+	public String toString() {
+		return "ProcessorMetrics{" + "name='" + name + '\'' +
+				", occupancy=" + occupancy() + "/" + capacity() +
+				", claims=" + claimCount() +
+				", blockedClaims=" + blockedClaimCount() +
+				", producerBlockedNanos=" + producerBlockedNanos() +
+				", consumerWaits=" + consumerWaitCount() +
+				", consumerIdleNanos=" + consumerIdleNanos() + '}';
+	}
+}
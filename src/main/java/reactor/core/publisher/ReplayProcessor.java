@@ -23,7 +23,6 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.reactivestreams.Subscriber;
@@ -131,7 +130,7 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 			buffer = new UnboundedReplayBuffer<>(historySize);
 		}
 		else {
-			buffer = new SizeBoundReplayBuffer<>(historySize);
+			buffer = new ChunkedReplayBuffer<>(historySize);
 		}
 		return new ReplayProcessor<>(buffer);
 	}
@@ -284,7 +283,7 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 		if (size <= 0) {
 			throw new IllegalArgumentException("size > 0 required but it was " + size);
 		}
-		return new ReplayProcessor<>(new SizeAndTimeBoundReplayBuffer<>(size,
+		return new ReplayProcessor<>(new ChunkedReplayBuffer<>(size,
 				maxAge,
 				scheduler));
 	}
@@ -759,27 +758,64 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 
 	}
 
-	static final class SizeBoundReplayBuffer<T> implements ReplayBuffer<T> {
+	/**
+	 * A bounded {@link ReplayBuffer} storing values in fixed-size array chunks, with
+	 * an optional parallel {@code long[]} of timestamps when a max age is enforced.
+	 * <p>
+	 * Positions are tracked as absolute indexes: the single producer publishes
+	 * {@link #tailIndex} after writing a slot and moves {@link #headIndex} forward
+	 * when the size or age limit is exceeded. Chunks are only released once all of
+	 * their slots are behind the head, so memory is reclaimed a chunk at a time
+	 * while late subscribers still see exactly the retained window.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class ChunkedReplayBuffer<T> implements ReplayBuffer<T> {
+
+		static final class Chunk {
 
-		final int limit;
+			final long     base;
+			final Object[] values;
+			final long[]   times;
 
-		volatile Node<T> head;
+			Chunk next;
+
+			Chunk(long base, int size, boolean timed) {
+				this.base = base;
+				this.values = new Object[size];
+				this.times = timed ? new long[size] : null;
+			}
+		}
+
+		final int            limit;
+		final int            chunkSize;
+		final long           maxAge;
+		final TimedScheduler scheduler;
 
-		Node<T> tail;
+		volatile Chunk head;
+		volatile long  headIndex;
+		volatile long  tailIndex;
 
-		int size;
+		Chunk tail;
 
 		volatile boolean done;
 		Throwable error;
 
-		SizeBoundReplayBuffer(int limit) {
-			if(limit < 0){
+		ChunkedReplayBuffer(int limit) {
+			this(limit, Long.MAX_VALUE, null);
+		}
+
+		ChunkedReplayBuffer(int limit, long maxAge, TimedScheduler scheduler) {
+			if (limit < 0) {
 				throw new IllegalArgumentException("Limit cannot be negative");
 			}
 			this.limit = limit;
-			Node<T> n = new Node<>(null);
-			this.tail = n;
-			this.head = n;
+			this.chunkSize = Math.max(1, Math.min(limit, QueueSupplier.SMALL_BUFFER_SIZE));
+			this.maxAge = maxAge;
+			this.scheduler = scheduler;
+			Chunk c = new Chunk(0L, chunkSize, scheduler != null);
+			this.tail = c;
+			this.head = c;
 		}
 
 		@Override
@@ -789,16 +825,98 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 
 		@Override
 		public void add(T value) {
-			Node<T> n = new Node<>(value);
-			tail.set(n);
-			tail = n;
-			int s = size;
-			if (s == limit) {
-				head = head.get();
+			long t = tailIndex;
+			Chunk c = tail;
+			int offset = (int) (t - c.base);
+			if (offset == c.values.length) {
+				Chunk n = new Chunk(t, chunkSize, scheduler != null);
+				c.next = n;
+				tail = n;
+				c = n;
+				offset = 0;
+			}
+			c.values[offset] = value;
+
+			long now = 0L;
+			if (scheduler != null) {
+				now = scheduler.now(TimeUnit.MILLISECONDS);
+				c.times[offset] = now;
+			}
+
+			tailIndex = ++t;
+
+			long h = headIndex;
+			if (t - h > limit) {
+				h = t - limit;
+			}
+			if (scheduler != null) {
+				h = expire(h, t, now - maxAge);
+			}
+			if (h != headIndex) {
+				headIndex = h;
+				Chunk hc = head;
+				while (hc.base + hc.values.length <= h && hc.next != null) {
+					hc = hc.next;
+				}
+				head = hc;
+			}
+		}
+
+		long expire(long h, long t, long limit) {
+			Chunk c = head;
+			while (h < t) {
+				int offset = (int) (h - c.base);
+				if (offset >= c.values.length) {
+					c = c.next;
+					continue;
+				}
+				if (c.times[offset] > limit) {
+					break;
+				}
+				h++;
+			}
+			return h;
+		}
+
+		/**
+		 * Resolve the current chunk of the given subscription, positioning it on the
+		 * oldest retained value on first access and optionally skipping the values
+		 * that are older than the max age.
+		 */
+		Chunk latest(ReplaySubscription<T> rs, boolean skipExpired) {
+			Chunk c = (Chunk) rs.node();
+			int offset;
+			if (c == null) {
+				c = head;
+				long o = headIndex - c.base;
+				while (o >= c.values.length && c.next != null) {
+					o -= c.values.length;
+					c = c.next;
+				}
+				offset = (int) o;
 			}
 			else {
-				size = s + 1;
+				offset = rs.tailIndex();
 			}
+
+			if (skipExpired && scheduler != null) {
+				long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
+				long t = tailIndex;
+				while (c.base + offset < t) {
+					if (offset == c.values.length) {
+						c = c.next;
+						offset = 0;
+					}
+					if (c.times[offset] > limit) {
+						break;
+					}
+					offset++;
+				}
+			}
+
+			rs.node(c);
+			rs.tailIndex(offset);
+			return c;
 		}
 
 		@Override
@@ -822,10 +940,11 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 				long r = rs.requestedFromDownstream();
 				long e = 0L;
 
-				@SuppressWarnings("unchecked") Node<T> node = (Node<T>) rs.node();
+				Chunk node = (Chunk) rs.node();
 				if (node == null) {
-					node = head;
+					node = latest(rs, !done);
 				}
+				int offset = rs.tailIndex();
 
 				while (e != r) {
 					if (rs.isCancelled()) {
@@ -834,8 +953,7 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 					}
 
 					boolean d = done;
-					Node<T> next = node.get();
-					boolean empty = next == null;
+					boolean empty = node.base + offset >= tailIndex;
 
 					if (d && empty) {
 						rs.node(null);
@@ -853,10 +971,17 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 						break;
 					}
 
-					a.onNext(next.value);
+					if (offset == node.values.length) {
+						node = node.next;
+						offset = 0;
+					}
+
+					@SuppressWarnings("unchecked") T v = (T) node.values[offset];
+
+					a.onNext(v);
 
 					e++;
-					node = next;
+					offset++;
 				}
 
 				if (e == r) {
@@ -866,7 +991,7 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 					}
 
 					boolean d = done;
-					boolean empty = node.get() == null;
+					boolean empty = node.base + offset >= tailIndex;
 
 					if (d && empty) {
 						rs.node(null);
@@ -888,6 +1013,7 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 				}
 
 				rs.node(node);
+				rs.tailIndex(offset);
 
 				missed = rs.leave(missed);
 				if (missed == 0) {
@@ -954,306 +1080,21 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 			return done;
 		}
 
-		static final class Node<T> extends AtomicReference<Node<T>> {
-
-			/** */
-			private static final long serialVersionUID = 3713592843205853725L;
-
-			final T value;
-
-			Node(T value) {
-				this.value = value;
-			}
-		}
-
 		@Override
 		public T poll(ReplaySubscription<T> rs) {
-			@SuppressWarnings("unchecked") Node<T> node = (Node<T>) rs.node();
-			if (node == null) {
-				node = head;
-				rs.node(node);
-			}
-
-			Node<T> next = node.get();
-			if (next == null) {
+			Chunk node = latest(rs, true);
+			int offset = rs.tailIndex();
+			if (node.base + offset >= tailIndex) {
 				return null;
 			}
-			rs.node(next);
-
-			return next.value;
-		}
-
-		@Override
-		public void clear(ReplaySubscription<T> rs) {
-			rs.node(null);
-		}
-
-		@Override
-		public boolean isEmpty(ReplaySubscription<T> rs) {
-			@SuppressWarnings("unchecked") Node<T> node = (Node<T>) rs.node();
-			if (node == null) {
-				node = head;
-				rs.node(node);
+			if (offset == node.values.length) {
+				node = node.next;
+				offset = 0;
 			}
-			return node.get() == null;
-		}
-
-		@Override
-		public int size(ReplaySubscription<T> rs) {
-			@SuppressWarnings("unchecked") Node<T> node = (Node<T>) rs.node();
-			if (node == null) {
-				node = head;
-			}
-			int count = 0;
-
-			Node<T> next;
-			while ((next = node.get()) != null && count != Integer.MAX_VALUE) {
-				count++;
-				node = next;
-			}
-
-			return count;
-		}
-
-		@Override
-		public int size() {
-			Node<T> node = head;
-			int count = 0;
-
-			Node<T> next;
-			while ((next = node.get()) != null && count != Integer.MAX_VALUE) {
-				count++;
-				node = next;
-			}
-
-			return count;
-		}
-	}
-
-	static final class SizeAndTimeBoundReplayBuffer<T> implements ReplayBuffer<T> {
-
-		static final class TimedNode<T> extends AtomicReference<TimedNode<T>> {
-
-			final T    value;
-			final long time;
-
-			TimedNode(T value, long time) {
-				this.value = value;
-				this.time = time;
-			}
-		}
-
-		final int            limit;
-		final long           maxAge;
-		final TimedScheduler scheduler;
-		int size;
-
-		volatile TimedNode<T> head;
-
-		TimedNode<T> tail;
-
-		Throwable error;
-		volatile boolean done;
-
-		SizeAndTimeBoundReplayBuffer(int limit,
-				long maxAge,
-				TimedScheduler scheduler) {
-			this.limit = limit;
-			this.maxAge = maxAge;
-			this.scheduler = scheduler;
-			TimedNode<T> h = new TimedNode<>(null, 0L);
-			this.tail = h;
-			this.head = h;
-		}
-
-		@SuppressWarnings("unchecked")
-		void replayNormal(ReplaySubscription<T> rs) {
-			int missed = 1;
-			final Subscriber<? super T> a = rs.downstream();
-
-			for (; ; ) {
-				@SuppressWarnings("unchecked") TimedNode<T> node =
-						(TimedNode<T>) rs.node();
-				if (node == null) {
-					node = head;
-					if (!done) {
-						// skip old entries
-						long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
-						TimedNode<T> next = node;
-						while (next != null) {
-							long ts = next.time;
-							if (ts > limit) {
-								break;
-							}
-							node = next;
-							next = node.get();
-						}
-					}
-				}
-
-				long r = rs.requestedFromDownstream();
-				long e = 0L;
-
-				while (e != r) {
-					if (rs.isCancelled()) {
-						rs.node(null);
-						return;
-					}
-
-					boolean d = done;
-					TimedNode<T> next = node.get();
-					boolean empty = next == null;
-
-					if (d && empty) {
-						rs.node(null);
-						Throwable ex = error;
-						if (ex != null) {
-							a.onError(ex);
-						}
-						else {
-							a.onComplete();
-						}
-						return;
-					}
-
-					if (empty) {
-						break;
-					}
-
-					a.onNext(next.value);
-
-					e++;
-					node = next;
-				}
-
-				if (e == r) {
-					if (rs.isCancelled()) {
-						rs.node(null);
-						return;
-					}
-
-					boolean d = done;
-					boolean empty = node.get() == null;
-
-					if (d && empty) {
-						rs.node(null);
-						Throwable ex = error;
-						if (ex != null) {
-							a.onError(ex);
-						}
-						else {
-							a.onComplete();
-						}
-						return;
-					}
-				}
-
-				if (e != 0L) {
-					if (r != Long.MAX_VALUE) {
-						rs.produced(e);
-					}
-				}
-
-				rs.node(node);
-
-				missed = rs.leave(missed);
-				if (missed == 0) {
-					break;
-				}
-			}
-		}
-
-		void replayFused(ReplaySubscription<T> rs) {
-			int missed = 1;
-
-			final Subscriber<? super T> a = rs.downstream();
-
-			for (; ; ) {
-
-				if (rs.isCancelled()) {
-					rs.node(null);
-					return;
-				}
-
-				boolean d = done;
-
-				a.onNext(null);
-
-				if (d) {
-					Throwable ex = error;
-					if (ex != null) {
-						a.onError(ex);
-					}
-					else {
-						a.onComplete();
-					}
-					return;
-				}
-
-				missed = rs.leave(missed);
-				if (missed == 0) {
-					break;
-				}
-			}
-		}
-
-		@Override
-		public void onError(Throwable ex) {
-			done = true;
-			error = ex;
-		}
-
-		@Override
-		public Throwable getError() {
-			return error;
-		}
-
-		@Override
-		public void onComplete() {
-			done = true;
-		}
-
-		@Override
-		public boolean isDone() {
-			return done;
-		}
-
-		@SuppressWarnings("unchecked")
-		TimedNode<T> latestHead(ReplaySubscription<T> rs) {
-			long now = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
-
-			TimedNode<T> h = (TimedNode<T>) rs.node();
-			if (h == null) {
-				h = head;
-			}
-			TimedNode<T> n;
-			while ((n = h.get()) != null) {
-				if (n.time > now) {
-					break;
-				}
-				h = n;
-			}
-			return h;
-		}
-
-		@Override
-		public T poll(ReplaySubscription<T> rs) {
-			TimedNode<T> node = latestHead(rs);
-			TimedNode<T> next;
-			long now = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
-			while ((next = node.get()) != null) {
-				if (next.time > now) {
-					node = next;
-					break;
-				}
-				node = next;
-			}
-			if (next == null) {
-				return null;
-			}
-			rs.node(next);
-
-			return node.value;
+			@SuppressWarnings("unchecked") T v = (T) node.values[offset];
+			rs.node(node);
+			rs.tailIndex(offset + 1);
+			return v;
 		}
 
 		@Override
@@ -1262,94 +1103,23 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 		}
 
 		@Override
-		@SuppressWarnings("unchecked")
 		public boolean isEmpty(ReplaySubscription<T> rs) {
-			TimedNode<T> node = latestHead(rs);
-			return node.get() == null;
+			Chunk node = latest(rs, true);
+			return node.base + rs.tailIndex() >= tailIndex;
 		}
 
 		@Override
 		public int size(ReplaySubscription<T> rs) {
-			TimedNode<T> node = latestHead(rs);
-			int count = 0;
-
-			TimedNode<T> next;
-			while ((next = node.get()) != null && count != Integer.MAX_VALUE) {
-				count++;
-				node = next;
-			}
-
-			return count;
+			Chunk node = latest(rs, true);
+			long s = tailIndex - (node.base + rs.tailIndex());
+			return (int) Math.min(Integer.MAX_VALUE, s);
 		}
 
 		@Override
 		public int size() {
-			TimedNode<T> node = head;
-			int count = 0;
-
-			TimedNode<T> next;
-			while ((next = node.get()) != null && count != Integer.MAX_VALUE) {
-				count++;
-				node = next;
-			}
-
-			return count;
-		}
-
-		@Override
-		public int capacity() {
-			return limit;
-		}
-
-		@Override
-		public void add(T value) {
-			TimedNode<T> n = new TimedNode<>(value, scheduler.now(TimeUnit.MILLISECONDS));
-			tail.set(n);
-			tail = n;
-			int s = size;
-			if (s == limit) {
-				head = head.get();
-			}
-			else {
-				size = s + 1;
-			}
-			long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
-
-			TimedNode<T> h = head;
-			TimedNode<T> next;
-			int removed = 0;
-			for (; ; ) {
-				next = h.get();
-				if (next == null) {
-					break;
-				}
-
-				if (next.time > limit) {
-					if (removed != 0) {
-						size = size - removed;
-						head = h;
-					}
-					break;
-				}
-
-				h = next;
-				removed++;
-			}
-		}
-
-		@Override
-		@SuppressWarnings("unchecked")
-		public void replay(ReplaySubscription<T> rs) {
-			if (!rs.enter()) {
-				return;
-			}
-
-			if (rs.fusionMode() == NONE) {
-				replayNormal(rs);
-			}
-			else {
-				replayFused(rs);
-			}
+			long h = headIndex;
+			long s = tailIndex - h;
+			return (int) Math.min(Integer.MAX_VALUE, s);
 		}
 	}
 
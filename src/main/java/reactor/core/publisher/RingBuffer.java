@@ -359,6 +359,14 @@ abstract class RingBuffer<E> implements LongSupplier {
 	 * @param sequence the sequence to publish.
 	 */
 	abstract void publish(long sequence);
+
+	/**
+	 * Publish the specified range of sequences claimed with {@link #next(int)}, waking
+	 * the waiting consumers once.
+	 * @param lo the lowest sequence to publish
+	 * @param hi the highest sequence to publish
+	 */
+	abstract void publish(long lo, long hi);
 	/**
 	 * Remove the specified sequence from this ringBuffer.
 	 * @param sequence to be removed.
@@ -457,6 +465,14 @@ abstract class RingBuffer<E> implements LongSupplier {
 
 	        return sequenceProducer.getHighestPublishedSequence(sequence, availableSequence);
 	    }
+
+	    /**
+	     * @return the current cursor value of the gated ringbuffer
+	     */
+	    long getCursor() {
+	        return cursorSequence.getAsLong();
+	    }
+
 	    /**
 	         * The current alert status for the barrier.
 	         *
@@ -690,6 +706,14 @@ abstract class RingBufferProducer {
 	 */
 	abstract void publish(long sequence);
 
+	/**
+	 * Publishes a range of sequences claimed with {@link #next(int)}.
+	 *
+	 * @param lo the lowest sequence number to be published
+	 * @param hi the highest sequence number to be published
+	 */
+	abstract void publish(long lo, long hi);
+
 	/**
 	 *
 	 * @return the gating sequences array
@@ -801,6 +825,14 @@ final class SingleProducerSequencer extends SingleProducerSequencerFields {
 		waitStrategy.signalAllWhenBlocking();
 	}
 
+	/**
+	 * See {@code RingBufferProducer.publish(long, long)}.
+	 */
+	@Override
+	void publish(long lo, long hi) {
+		publish(hi);
+	}
+
 	@Override
 	long getHighestPublishedSequence(long lowerBound, long availableSequence) {
 		return availableSequence;
@@ -926,6 +958,12 @@ final class NotFunRingBuffer<E> extends NotFunRingBufferFields<E>
 		sequenceProducer.publish(sequence);
 	}
 
+	@Override
+	void publish(long lo, long hi)
+	{
+		sequenceProducer.publish(lo, hi);
+	}
+
 	@Override
 	int getPending() {
 		return (int)sequenceProducer.getPending();
@@ -1114,6 +1152,12 @@ final class UnsafeRingBuffer<E> extends RingBufferFields<E>
 		sequenceProducer.publish(sequence);
 	}
 
+	@Override
+	void publish(long lo, long hi)
+	{
+		sequenceProducer.publish(lo, hi);
+	}
+
 	@Override
 	int getPending() {
 		return (int)sequenceProducer.getPending();
@@ -1316,6 +1360,19 @@ final class MultiProducerRingBuffer extends RingBufferProducer
 		waitStrategy.signalAllWhenBlocking();
 	}
 
+	/**
+	 * See {@code RingBufferProducer.publish(long, long)}.
+	 */
+	@Override
+	void publish(final long lo, final long hi)
+	{
+		for (long sequence = lo; sequence <= hi; sequence++)
+		{
+			setAvailable(sequence);
+		}
+		waitStrategy.signalAllWhenBlocking();
+	}
+
 	/**
 	 * The below methods work on the availableBuffer flag.
 	 *
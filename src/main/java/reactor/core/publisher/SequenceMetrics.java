@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import reactor.core.Trackable;
+
+/**
+ * Counters recorded by all the sequences instrumented under a given name with {@link
+ * Flux#metrics(String)} or {@link Mono#metrics(String)}.
+ * <p>
+ * Counters are striped ({@link LongAdder}) so that concurrent subscriptions don't
+ * contend when recording, reading them is comparatively more expensive and is left to
+ * the {@link MetricsRegistry}.
+ */
+public final class SequenceMetrics {
+
+	final String name;
+
+	final LongAdder subscribed     = new LongAdder();
+	final LongAdder onNext         = new LongAdder();
+	final LongAdder requested      = new LongAdder();
+	final LongAdder unboundedRequests = new LongAdder();
+	final LongAdder completed      = new LongAdder();
+	final LongAdder errored        = new LongAdder();
+	final LongAdder cancelled      = new LongAdder();
+	final LongAdder subscriptionLatency = new LongAdder();
+	final LongAdder terminationTime = new LongAdder();
+	final LongAdder pendingSum     = new LongAdder();
+	final LongAdder pendingSamples = new LongAdder();
+
+	SequenceMetrics(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @return the name of the instrumented sequences
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * @return the number of subscriptions
+	 */
+	public long subscribed() {
+		return subscribed.sum();
+	}
+
+	/**
+	 * @return the number of values emitted by the sequences
+	 */
+	public long onNextCount() {
+		return onNext.sum();
+	}
+
+	/**
+	 * @return the total bounded demand requested by subscribers, see {@link
+	 * #unboundedRequestCount()} for unbounded requests
+	 */
+	public long requestedCount() {
+		return requested.sum();
+	}
+
+	/**
+	 * @return the number of unbounded ({@link Long#MAX_VALUE}) requests
+	 */
+	public long unboundedRequestCount() {
+		return unboundedRequests.sum();
+	}
+
+	/**
+	 * @return the number of sequences that completed
+	 */
+	public long completedCount() {
+		return completed.sum();
+	}
+
+	/**
+	 * @return the number of sequences that failed
+	 */
+	public long erroredCount() {
+		return errored.sum();
+	}
+
+	/**
+	 * @return the number of subscriptions that were cancelled
+	 */
+	public long cancelledCount() {
+		return cancelled.sum();
+	}
+
+	/**
+	 * @return the cumulated nanoseconds between a subscribe call and the matching
+	 * onSubscribe signal
+	 */
+	public long subscriptionLatencyNanos() {
+		return subscriptionLatency.sum();
+	}
+
+	/**
+	 * @return the cumulated nanoseconds between a subscribe call and the matching
+	 * terminal signal
+	 */
+	public long terminationTimeNanos() {
+		return terminationTime.sum();
+	}
+
+	/**
+	 * @return the average number of values pending in the upstream queues, as sampled
+	 * on each request from a {@link Trackable} upstream, or -1 if it was never sampled
+	 */
+	public double averagePending() {
+		long samples = pendingSamples.sum();
+		if (samples == 0L) {
+			return -1d;
+		}
+		return (double) pendingSum.sum() / samples;
+	}
+
+	void recordRequest(long n) {
+		if (n == Long.MAX_VALUE) {
+			unboundedRequests.increment();
+		}
+		else {
+			requested.add(n);
+		}
+	}
+
+	void recordPending(long pending) {
+		if (pending >= 0L) {
+			pendingSum.add(pending);
+			pendingSamples.increment();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SequenceMetrics{" + "name='" + name + '\'' +
+				", subscribed=" + subscribed() +
+				", onNext=" + onNextCount() +
+				", requested=" + requestedCount() +
+				", completed=" + completedCount() +
+				", errored=" + erroredCount() +
+				", cancelled=" + cancelledCount() + '}';
+	}
+}
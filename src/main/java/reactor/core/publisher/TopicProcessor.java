@@ -21,6 +21,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
@@ -30,6 +31,7 @@ import reactor.core.Exceptions;
 import reactor.core.Producer;
 import reactor.core.Receiver;
 import reactor.core.Trackable;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.concurrent.QueueSupplier;
 import reactor.util.concurrent.WaitStrategy;
 
@@ -219,9 +221,12 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 
 	/**
 	 * Create a new TopicProcessor using passed backlog size, wait strategy, signal
-	 * supplier. The created processor is not shared and will auto-cancel. <p> A new
-	 * Cached ThreadExecutorPool will be implicitly created and will use the passed name
-	 * to qualify the created threads.
+	 * supplier. The created processor is not shared and will auto-cancel. <p> The
+	 * pre-allocated signals can be mutated in place with {@link
+	 * #publishEvent(java.util.function.BiConsumer, Object)} for allocation-free
+	 * publishing, in which case subscribers must not retain them past {@code onNext}.
+	 * <p> A new Cached ThreadExecutorPool will be implicitly created and will use the
+	 * passed name to qualify the created threads.
 	 * @param name Use a new Cached ExecutorService and assign this name to the created
 	 * threads
 	 * @param bufferSize A Backlog Size to mitigate slow subscribers
@@ -572,6 +577,49 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 				autoCancel, null);
 	}
 
+	/**
+	 * Create a new TopicProcessor using the passed backlog size and auto-cancel. <p>
+	 * Rather than assigning a thread to each subscriber, subscribers are drained as
+	 * non-blocking tasks on a {@link Scheduler.Worker} of the passed {@link Scheduler}
+	 * and woken up on publication, so that many processors can share a fixed pool.
+	 * @param scheduler the {@link Scheduler} draining the subscribers
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> TopicProcessor<E> create(Scheduler scheduler, int bufferSize) {
+		return new TopicProcessor<>(new EventLoopFactory(TopicProcessor.class.getSimpleName(), true),
+				null,
+				scheduler,
+				bufferSize,
+				WaitStrategy.liteBlocking(),
+				false,
+				true,
+				null);
+	}
+
+	/**
+	 * Create a new TopicProcessor using the passed backlog size and auto-cancel. <p> A
+	 * Shared Processor authorizes concurrent onNext calls and is suited for
+	 * multi-threaded publisher that will fan-in data. <p> Rather than assigning a thread
+	 * to each subscriber, subscribers are drained as non-blocking tasks on a {@link
+	 * Scheduler.Worker} of the passed {@link Scheduler} and woken up on publication.
+	 * @param scheduler the {@link Scheduler} draining the subscribers
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> TopicProcessor<E> share(Scheduler scheduler, int bufferSize) {
+		return new TopicProcessor<>(new EventLoopFactory(TopicProcessor.class.getSimpleName(), true),
+				null,
+				scheduler,
+				bufferSize,
+				WaitStrategy.liteBlocking(),
+				true,
+				true,
+				null);
+	}
+
 	final RingBuffer.Reader barrier;
 
 	final RingBuffer.Sequence minimum;
@@ -595,7 +643,19 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 			boolean shared,
 			boolean autoCancel,
 			final Supplier<E> signalSupplier) {
-		super(bufferSize, threadFactory, executor, autoCancel, shared, () -> {
+		this(threadFactory, executor, null, bufferSize, waitStrategy, shared,
+				autoCancel, signalSupplier);
+	}
+
+	TopicProcessor(ThreadFactory threadFactory,
+			ExecutorService executor,
+			Scheduler scheduler,
+			int bufferSize,
+			WaitStrategy waitStrategy,
+			boolean shared,
+			boolean autoCancel,
+			final Supplier<E> signalSupplier) {
+		super(bufferSize, threadFactory, executor, scheduler, autoCancel, shared, () -> {
 			Slot<E> signal = new Slot<>();
 			if (signalSupplier != null) {
 				signal.value = signalSupplier.get();
@@ -616,6 +676,11 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 			return;
 		}
 
+		if (scheduler != null) {
+			subscribeScheduled(subscriber);
+			return;
+		}
+
 		//create a unique eventProcessor for this subscriber
 		final RingBuffer.Sequence pendingRequest = RingBuffer.newSequence(0);
 		final TopicSubscriberLoop<E> signalProcessor =
@@ -639,6 +704,8 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 
 		}
 
+		trackSubscriber(subscriber, signalProcessor.sequence);
+
 		try {
 			//start the subscriber thread
 			executor.execute(signalProcessor);
@@ -646,6 +713,7 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 		}
 		catch (Throwable t) {
 			ringBuffer.removeGatingSequence(signalProcessor.sequence);
+			untrackSubscriber(signalProcessor.sequence);
 			decrementSubscribers();
 			if (!alive() && RejectedExecutionException.class.isAssignableFrom(t.getClass())){
 				coldSource(ringBuffer, t, error, minimum).subscribe(subscriber);
@@ -656,6 +724,23 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 		}
 	}
 
+	void subscribeScheduled(Subscriber<? super E> subscriber) {
+		TopicScheduledConsumer<E> consumer =
+				new TopicScheduledConsumer<>(this, scheduler, subscriber);
+
+		//same replay rules than the event loop subscribers
+		if (incrementSubscribers()) {
+			consumer.sequence.set(minimum.getAsLong());
+		}
+		else {
+			consumer.sequence.set(ringBuffer.getCursor());
+		}
+		ringBuffer.addGatingSequence(consumer.sequence);
+		trackSubscriber(subscriber, consumer.sequence);
+		addConsumer(consumer);
+		consumer.schedule();
+	}
+
 	@Override
 	public Flux<E> drain() {
 		return coldSource(ringBuffer, null, error, minimum);
@@ -685,6 +770,10 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 	protected void requestTask(Subscription s) {
 		minimum.set(ringBuffer.getCursor());
 		ringBuffer.addGatingSequence(minimum);
+		if (scheduler != null) {
+			scheduledRequestTask();
+			return;
+		}
 		new Thread(EventLoopProcessor.createRequestTask(s, () -> {
 					             if (!alive()) {
 						             if(cancelled){
@@ -703,6 +792,14 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 				name+"[request-task]").start();
 	}
 
+	@Override
+	long consumedSequence() {
+		long consumed = SUBSCRIBER_COUNT.get(this) == 0 ? minimum.getAsLong() :
+				ringBuffer.getMinimumGatingSequence(minimum);
+		minimum.set(consumed);
+		return consumed;
+	}
+
 	@Override
 	public void run() {
 		if (!alive() && SUBSCRIBER_COUNT.get(TopicProcessor.this) == 0) {
@@ -731,6 +828,8 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 
 		final Subscriber<? super T> subscriber;
 
+		final BatchAwareSubscriber<? super T> batchAware;
+
 		final Runnable waiter = new Runnable() {
 			@Override
 			public void run() {
@@ -748,12 +847,15 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 		 * @param pendingRequest holder for the number of pending requests
 		 * @param subscriber the output Subscriber instance
 		 */
+		@SuppressWarnings("unchecked")
 		TopicSubscriberLoop(TopicProcessor<T> processor,
 		                            RingBuffer.Sequence pendingRequest,
 		                            Subscriber<? super T> subscriber) {
 			this.processor = processor;
 			this.pendingRequest = pendingRequest;
 			this.subscriber = subscriber;
+			this.batchAware = subscriber instanceof BatchAwareSubscriber ?
+					(BatchAwareSubscriber<? super T>) subscriber : null;
 		}
 
 		void halt() {
@@ -798,24 +900,35 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 				while (true) {
 					try {
 
-						final long availableSequence = processor.barrier.waitFor(nextSequence, waiter);
+						final long availableSequence =
+								processor.waitFor(processor.barrier, nextSequence, waiter);
 						while (nextSequence <= availableSequence) {
-							event = processor.ringBuffer.get(nextSequence);
+							long batchEnd = availableSequence;
 
-								//if bounded and out of capacity
-								while (!unbounded && getAndSub(pendingRequest, 1L) ==
-												0) {
+							if (!unbounded) {
+								long r;
+								//claim the demand for as much of the batch as possible at once
+								while ((r = getAndSub(pendingRequest,
+										availableSequence - nextSequence + 1L)) == 0L) {
 									//Todo Use WaitStrategy?
 									if(!running.get() || processor.isTerminated()){
 										WaitStrategy.throwAlert();
 									}
 									LockSupport.parkNanos(1L);
 								}
+								if (r <= availableSequence - nextSequence) {
+									batchEnd = nextSequence + r - 1L;
+								}
+							}
 
-								//It's an unbounded subscriber or there is enough capacity to process the signal
+							//It's an unbounded subscriber or there is enough capacity to process the signals
+							for (; nextSequence <= batchEnd; nextSequence++) {
+								event = processor.ringBuffer.get(nextSequence);
 								subscriber.onNext(event.value);
-								nextSequence++;
-
+							}
+						}
+						if (batchAware != null) {
+							batchAware.onEndOfBatch();
 						}
 						sequence.set(availableSequence);
 
@@ -857,6 +970,7 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 			}
 			finally {
 				processor.ringBuffer.removeGatingSequence(sequence);
+				processor.untrackSubscriber(sequence);
 				processor.decrementSubscribers();
 				running.set(false);
 				processor.readWait.signalAllWhenBlocking();
@@ -920,4 +1034,196 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 		}
 	}
 
+	/**
+	 * A {@link TopicProcessor} subscriber drained on a {@link Scheduler.Worker}: each
+	 * pass delivers the published signals within the current demand, then advances
+	 * the gating sequence and replenishes the upstream demand.
+	 * @param <T> the value type
+	 */
+	final static class TopicScheduledConsumer<T> extends ScheduledConsumer
+			implements Producer, Receiver, Trackable, Subscription {
+
+		final RingBuffer.Sequence sequence =
+				wrap(RingBuffer.INITIAL_CURSOR_VALUE, this);
+
+		final TopicProcessor<T> processor;
+
+		final Subscriber<? super T> subscriber;
+
+		final BatchAwareSubscriber<? super T> batchAware;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<TopicScheduledConsumer> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(TopicScheduledConsumer.class,
+						"requested");
+
+		volatile boolean cancelled;
+
+		boolean subscribed;
+
+		boolean done;
+
+		@SuppressWarnings("unchecked")
+		TopicScheduledConsumer(TopicProcessor<T> processor,
+				Scheduler scheduler,
+				Subscriber<? super T> subscriber) {
+			super(scheduler);
+			this.processor = processor;
+			this.subscriber = subscriber;
+			this.batchAware = subscriber instanceof BatchAwareSubscriber ?
+					(BatchAwareSubscriber<? super T>) subscriber : null;
+		}
+
+		@Override
+		void drain() {
+			if (done) {
+				return;
+			}
+			if (!subscribed) {
+				subscribed = true;
+				subscriber.onSubscribe(this);
+			}
+			try {
+				final RingBuffer<Slot<T>> ringBuffer = processor.ringBuffer;
+
+				long r = requested;
+				long e = 0L;
+				long nextSequence = sequence.getAsLong() + 1L;
+				long available = ringBuffer.getCursor();
+				if (available >= nextSequence) {
+					available = ringBuffer.getSequencer()
+					                      .getHighestPublishedSequence(nextSequence,
+							                      available);
+				}
+
+				while (e != r && nextSequence <= available) {
+					if (cancelled) {
+						terminate();
+						return;
+					}
+					subscriber.onNext(ringBuffer.get(nextSequence).value);
+					nextSequence++;
+					e++;
+				}
+
+				if (e != 0L) {
+					if (batchAware != null) {
+						batchAware.onEndOfBatch();
+					}
+					sequence.set(nextSequence - 1L);
+					if (r != Long.MAX_VALUE) {
+						REQUESTED.addAndGet(this, -e);
+					}
+					processor.replenish();
+				}
+
+				if (cancelled) {
+					terminate();
+					return;
+				}
+
+				int t = processor.terminated;
+				if (t == FORCED_SHUTDOWN) {
+					terminate();
+				}
+				else if (t == SHUTDOWN) {
+					Throwable ex = processor.error;
+					if (ex != null) {
+						terminate();
+						subscriber.onError(ex);
+					}
+					else if (nextSequence > ringBuffer.getCursor()) {
+						terminate();
+						subscriber.onComplete();
+					}
+				}
+			}
+			catch (Throwable ex) {
+				terminate();
+				subscriber.onError(Operators.onOperatorError(this, ex));
+			}
+		}
+
+		@Override
+		void rejected() {
+			if (!done) {
+				done = true;
+				processor.ringBuffer.removeGatingSequence(sequence);
+				processor.untrackSubscriber(sequence);
+				processor.removeConsumer(this);
+				processor.decrementSubscribers();
+				if (subscribed) {
+					subscriber.onError(Operators.onRejectedExecution());
+				}
+				else {
+					Operators.error(subscriber, Operators.onRejectedExecution());
+				}
+			}
+		}
+
+		void terminate() {
+			done = true;
+			processor.ringBuffer.removeGatingSequence(sequence);
+			processor.untrackSubscriber(sequence);
+			processor.removeConsumer(this);
+			processor.decrementSubscribers();
+			worker.shutdown();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public boolean isStarted() {
+			return sequence.getAsLong() != -1L;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public long getPending() {
+			return processor.ringBuffer.getCursor() - sequence.getAsLong();
+		}
+
+		@Override
+		public long getCapacity() {
+			return processor.getCapacity();
+		}
+
+		@Override
+		public Object downstream() {
+			return subscriber;
+		}
+
+		@Override
+		public Object upstream() {
+			return processor;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.checkRequest(n, subscriber)) {
+				Operators.getAndAddCap(REQUESTED, this, n);
+				schedule();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+	}
+
 }
@@ -37,6 +37,11 @@ import reactor.util.concurrent.QueueSupplier;
  * 
  * <p>
  * The implementation keeps the order of signals.
+ * <p>
+ * The default queue expects a single producer thread. When created with a
+ * multi-producer queue such as {@link QueueSupplier#mpscUnbounded()},
+ * {@link #onNext(Object)} can be called concurrently from several threads without
+ * an extra serialization step.
  *
  * @param <T> the input and output type
  */
@@ -16,6 +16,10 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
@@ -23,17 +27,24 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactor.core.Cancellation;
+import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.Producer;
 import reactor.core.Receiver;
 import reactor.core.Trackable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.TimedScheduler;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 import reactor.util.concurrent.QueueSupplier;
@@ -239,6 +250,36 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 				autoCancel);
 	}
 
+	/**
+	 * Create a new WorkQueueProcessor using the passed buffer size, blockingWait
+	 * Strategy and auto-cancel, pre-allocating the ring buffer events with the passed
+	 * supplier. Events are then published allocation-free by mutating the claimed
+	 * instance in place with {@link #publishEvent(java.util.function.BiConsumer, Object)}.
+	 * <p> Subscribers must not retain the events past {@code onNext}. The signal a
+	 * subscriber fails by cancelling is replayed as the same pre-allocated instance,
+	 * which the publisher may overwrite in the meantime.
+	 * <p> A new Cached ThreadExecutorPool will be implicitly created and will use the
+	 * passed name to qualify the created threads.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created
+	 * threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param signalSupplier A supplier of dispatched signals to preallocate in the ring
+	 * buffer
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> WorkQueueProcessor<E> create(String name, int bufferSize,
+			Supplier<E> signalSupplier) {
+		return new WorkQueueProcessor<>(new EventLoopFactory(name, true),
+				null,
+				null,
+				bufferSize,
+				WaitStrategy.liteBlocking(),
+				false,
+				true,
+				Objects.requireNonNull(signalSupplier, "signalSupplier"));
+	}
+
 	/**
 	 * Create a new WorkQueueProcessor using the passed buffer size and blockingWait
 	 * Strategy settings but will auto-cancel. <p> The passed {@link
@@ -439,6 +480,38 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 				autoCancel);
 	}
 
+	/**
+	 * Create a new WorkQueueProcessor using the passed buffer size, blockingWait
+	 * Strategy and auto-cancel, pre-allocating the ring buffer events with the passed
+	 * supplier. Events are then published allocation-free by mutating the claimed
+	 * instance in place with {@link #publishEvent(java.util.function.BiConsumer, Object)}.
+	 * <p> A Shared Processor authorizes concurrent publications and is suited for
+	 * multi-threaded publisher that will fan-in data.
+	 * <p> Subscribers must not retain the events past {@code onNext}. The signal a
+	 * subscriber fails by cancelling is replayed as the same pre-allocated instance,
+	 * which the publisher may overwrite in the meantime.
+	 * <p> A new Cached ThreadExecutorPool will be implicitly created and will use the
+	 * passed name to qualify the created threads.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created
+	 * threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param signalSupplier A supplier of dispatched signals to preallocate in the ring
+	 * buffer
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> WorkQueueProcessor<E> share(String name, int bufferSize,
+			Supplier<E> signalSupplier) {
+		return new WorkQueueProcessor<>(new EventLoopFactory(name, true),
+				null,
+				null,
+				bufferSize,
+				WaitStrategy.liteBlocking(),
+				true,
+				true,
+				Objects.requireNonNull(signalSupplier, "signalSupplier"));
+	}
+
 	/**
 	 * Create a new WorkQueueProcessor using the passed buffer size and blockingWait
 	 * Strategy settings but will auto-cancel. <p> A Shared Processor authorizes
@@ -482,6 +555,47 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 				autoCancel);
 	}
 
+	/**
+	 * Create a new WorkQueueProcessor using the passed buffer size and auto-cancel.
+	 * <p> Rather than assigning a thread to each subscriber, subscribers are drained as
+	 * non-blocking tasks on a {@link Scheduler.Worker} of the passed {@link Scheduler}
+	 * and woken up on publication, so that many processors can share a fixed pool.
+	 * @param scheduler the {@link Scheduler} draining the subscribers
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> WorkQueueProcessor<E> create(Scheduler scheduler, int bufferSize) {
+		return new WorkQueueProcessor<>(new EventLoopFactory(WorkQueueProcessor.class.getSimpleName(), true),
+				null,
+				scheduler,
+				bufferSize,
+				WaitStrategy.liteBlocking(),
+				false,
+				true);
+	}
+
+	/**
+	 * Create a new WorkQueueProcessor using the passed buffer size and auto-cancel.
+	 * <p> A Shared Processor authorizes concurrent onNext calls and is suited for
+	 * multi-threaded publisher that will fan-in data. <p> Rather than assigning a thread
+	 * to each subscriber, subscribers are drained as non-blocking tasks on a {@link
+	 * Scheduler.Worker} of the passed {@link Scheduler} and woken up on publication.
+	 * @param scheduler the {@link Scheduler} draining the subscribers
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> WorkQueueProcessor<E> share(Scheduler scheduler, int bufferSize) {
+		return new WorkQueueProcessor<>(new EventLoopFactory(WorkQueueProcessor.class.getSimpleName(), true),
+				null,
+				scheduler,
+				bufferSize,
+				WaitStrategy.liteBlocking(),
+				true,
+				true);
+	}
+
 	@SuppressWarnings("rawtypes")
     static final Supplier FACTORY = (Supplier<Slot>) Slot::new;
 
@@ -517,16 +631,39 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 				autoCancel);
 	}
 
-	@SuppressWarnings("unchecked")
 	WorkQueueProcessor(ThreadFactory threadFactory,
 			ExecutorService executor,
 			int bufferSize, WaitStrategy waitStrategy, boolean share,
 	                                boolean autoCancel) {
+		this(threadFactory, executor, null, bufferSize, waitStrategy, share, autoCancel);
+	}
+
+	WorkQueueProcessor(ThreadFactory threadFactory,
+			ExecutorService executor,
+			Scheduler scheduler,
+			int bufferSize, WaitStrategy waitStrategy, boolean share,
+	                                boolean autoCancel) {
+		this(threadFactory, executor, scheduler, bufferSize, waitStrategy, share,
+				autoCancel, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	WorkQueueProcessor(ThreadFactory threadFactory,
+			ExecutorService executor,
+			Scheduler scheduler,
+			int bufferSize, WaitStrategy waitStrategy, boolean share,
+	                                boolean autoCancel,
+			final Supplier<E> signalSupplier) {
 		super(bufferSize, threadFactory,
 				executor,
+				scheduler,
 				autoCancel,
 				share,
-				FACTORY,
+				signalSupplier == null ? FACTORY : () -> {
+					Slot<E> signal = new Slot<>();
+					signal.value = signalSupplier.get();
+					return signal;
+				},
 				waitStrategy);
 
 		this.writeWait = waitStrategy;
@@ -544,8 +681,113 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 			return;
 		}
 
-		final QueueSubscriberLoop<E> signalProcessor =
-				new QueueSubscriberLoop<>(subscriber, this);
+		if (scheduler != null) {
+			QueueScheduledConsumer<E> consumer =
+					new QueueScheduledConsumer<>(this, scheduler, subscriber);
+			incrementSubscribers();
+			ringBuffer.addGatingSequence(consumer.sequence);
+			trackSubscriber(subscriber, consumer.sequence);
+			addConsumer(consumer);
+			consumer.schedule();
+			return;
+		}
+
+		startLoop(new QueueSubscriberLoop<>(subscriber, this));
+	}
+
+	/**
+	 * Subscribe an elastic pool of workers, each supplied by {@code workerSupplier} and
+	 * draining its own share of the signals like a regular subscriber.
+	 * <p>
+	 * The pool starts {@code minWorkers} workers and adds one more, up to
+	 * {@code maxWorkers}, each time it observes at least half of the buffer published
+	 * but not yet claimed by any worker. When the backlog is drained, workers that
+	 * waited for a signal for longer than {@code idleTimeout} are cancelled one at a
+	 * time until the pool is back to {@code minWorkers}. A slot claimed by a cancelled
+	 * worker is replayed to the remaining ones. The pool is checked on
+	 * {@link Schedulers#timer()}.
+	 * <p>
+	 * Only processors running their subscribers on an {@link ExecutorService} can be
+	 * elastic, the number of workers remaining bounded by the executor capacity.
+	 *
+	 * @param workerSupplier the {@link Subscriber} factory called for each new worker
+	 * @param minWorkers the number of workers always subscribed, at least 1
+	 * @param maxWorkers the maximum number of workers
+	 * @param idleTimeout the time a worker can wait for a signal before being removed
+	 *
+	 * @return a {@link Disposable} stopping the pool and cancelling all its workers
+	 */
+	public Disposable subscribeElastic(Supplier<? extends Subscriber<? super E>> workerSupplier,
+			int minWorkers,
+			int maxWorkers,
+			Duration idleTimeout) {
+		return subscribeElastic(workerSupplier,
+				minWorkers,
+				maxWorkers,
+				idleTimeout,
+				Schedulers.timer());
+	}
+
+	/**
+	 * Subscribe an elastic pool of workers, each supplied by {@code workerSupplier} and
+	 * draining its own share of the signals like a regular subscriber.
+	 * <p>
+	 * The pool starts {@code minWorkers} workers and adds one more, up to
+	 * {@code maxWorkers}, each time it observes at least half of the buffer published
+	 * but not yet claimed by any worker. When the backlog is drained, workers that
+	 * waited for a signal for longer than {@code idleTimeout} are cancelled one at a
+	 * time until the pool is back to {@code minWorkers}. A slot claimed by a cancelled
+	 * worker is replayed to the remaining ones.
+	 * <p>
+	 * Only processors running their subscribers on an {@link ExecutorService} can be
+	 * elastic, the number of workers remaining bounded by the executor capacity.
+	 *
+	 * @param workerSupplier the {@link Subscriber} factory called for each new worker
+	 * @param minWorkers the number of workers always subscribed, at least 1
+	 * @param maxWorkers the maximum number of workers
+	 * @param idleTimeout the time a worker can wait for a signal before being removed
+	 * @param timer the {@link TimedScheduler} periodically resizing the pool and
+	 * measuring the workers idle time
+	 *
+	 * @return a {@link Disposable} stopping the pool and cancelling all its workers
+	 */
+	public Disposable subscribeElastic(Supplier<? extends Subscriber<? super E>> workerSupplier,
+			int minWorkers,
+			int maxWorkers,
+			Duration idleTimeout,
+			TimedScheduler timer) {
+		Objects.requireNonNull(workerSupplier, "workerSupplier");
+		Objects.requireNonNull(idleTimeout, "idleTimeout");
+		Objects.requireNonNull(timer, "timer");
+		if (minWorkers < 1) {
+			throw new IllegalArgumentException("minWorkers > 0 required but it was " + minWorkers);
+		}
+		if (maxWorkers < minWorkers) {
+			throw new IllegalArgumentException("maxWorkers >= minWorkers required but it was " + maxWorkers);
+		}
+		if (scheduler != null) {
+			throw new IllegalStateException("Elastic workers require a processor running on an ExecutorService");
+		}
+
+		ElasticPool<E> pool = new ElasticPool<>(this,
+				workerSupplier,
+				minWorkers,
+				maxWorkers,
+				idleTimeout.toNanos());
+		pool.start(timer);
+		return pool;
+	}
+
+	/**
+	 * Run a {@link QueueSubscriberLoop} on the executor, or signal its subscriber
+	 * why it could not be started.
+	 *
+	 * @param signalProcessor the loop to start
+	 *
+	 * @return true if the loop has been submitted to the executor
+	 */
+	boolean startLoop(QueueSubscriberLoop<E> signalProcessor) {
+		final Subscriber<? super E> subscriber = signalProcessor.subscriber;
 		try {
 
 			incrementSubscribers();
@@ -553,6 +795,7 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 			//bind eventProcessor sequence to observe the ringBuffer
 			signalProcessor.sequence.set(workSequence.getAsLong());
 			ringBuffer.addGatingSequence(signalProcessor.sequence);
+			trackSubscriber(subscriber, signalProcessor.sequence);
 
 			//best effort to prevent starting the subscriber thread if we can detect the pool is too small
 			int maxSubscribers = bestEffortMaxSubscribers(executor);
@@ -562,16 +805,19 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 			}
 
 			executor.execute(signalProcessor);
+			return true;
 		}
 		catch (Throwable t) {
 			decrementSubscribers();
 			ringBuffer.removeGatingSequence(signalProcessor.sequence);
+			untrackSubscriber(signalProcessor.sequence);
 			if(RejectedExecutionException.class.isAssignableFrom(t.getClass())){
 				TopicProcessor.coldSource(ringBuffer, t, error, workSequence).subscribe(subscriber);
 			}
 			else {
 				Operators.error(subscriber, t);
 			}
+			return false;
 		}
 	}
 
@@ -617,6 +863,10 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 
 	@Override
 	protected void requestTask(Subscription s) {
+		if (scheduler != null) {
+			scheduledRequestTask();
+			return;
+		}
 		new Thread(EventLoopProcessor.createRequestTask(s,
 				() -> {
 					if (!alive()) {
@@ -668,6 +918,21 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 
 		final Subscriber<? super T> subscriber;
 
+		final BatchAwareSubscriber<? super T> batchAware;
+
+		/**
+		 * The clock reading {@link #idleSince}, null if idleness is not tracked
+		 */
+		final TimedScheduler clock;
+
+		/**
+		 * True while waiting for a signal to be published, since {@link #idleSince}
+		 */
+		volatile boolean idle;
+		volatile long    idleSince;
+
+		volatile boolean retired;
+
 		final Runnable waiter = new Runnable() {
 			@Override
 			public void run() {
@@ -686,8 +951,24 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 		 */
 		QueueSubscriberLoop(Subscriber<? super T> subscriber,
 				WorkQueueProcessor<T> processor) {
+			this(subscriber, processor, null);
+		}
+
+		/**
+		 * Construct a ringbuffer consumer tracking since when it is idle
+		 * @param subscriber the output Subscriber instance
+		 * @param processor the source processor
+		 * @param clock the clock reading the idle time, null if not tracked
+		 */
+		@SuppressWarnings("unchecked")
+		QueueSubscriberLoop(Subscriber<? super T> subscriber,
+				WorkQueueProcessor<T> processor,
+				TimedScheduler clock) {
 			this.processor = processor;
+			this.clock = clock;
 			this.subscriber = subscriber;
+			this.batchAware = subscriber instanceof BatchAwareSubscriber ?
+					(BatchAwareSubscriber<? super T>) subscriber : null;
 
 			this.barrier = processor.ringBuffer.newReader();
 		}
@@ -697,6 +978,15 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 			barrier.alert();
 		}
 
+		/**
+		 * Stop this loop without replaying the last signal it delivered, as opposed
+		 * to a cancellation from the subscriber.
+		 */
+		void retire() {
+			retired = true;
+			halt();
+		}
+
 		boolean isRunning() {
 			return running.get() && (processor.terminated == 0 || processor.error == null &&
 					processor.ringBuffer.getAsLong() > sequence.getAsLong());
@@ -710,6 +1000,8 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 		public void run() {
 			long nextSequence;
 			boolean processedSequence = true;
+			//true when values were delivered to a BatchAwareSubscriber since last wait
+			boolean inBatch = false;
 
 			try {
 
@@ -785,20 +1077,30 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 
 							processedSequence = true;
 							subscriber.onNext(event.value);
-
-
+							inBatch = batchAware != null;
 						}
 						else {
+							if (inBatch) {
+								inBatch = false;
+								batchAware.onEndOfBatch();
+							}
 							processor.readWait.signalAllWhenBlocking();
-								cachedAvailableSequence =
-										barrier.waitFor(nextSequence, waiter);
-
+							if (clock != null && !idle) {
+								idleSince = clock.now(TimeUnit.NANOSECONDS);
+								idle = true;
+							}
+							cachedAvailableSequence =
+									processor.waitFor(barrier, nextSequence, waiter);
+							idle = false;
 						}
 
 					}
 					catch (InterruptedException | RuntimeException ce) {
 						if (Exceptions.isCancel(ce)){
-							reschedule(event);
+							//a retired worker has not failed the signal it delivered
+							if (!retired || !processedSequence) {
+								reschedule(event);
+							}
 							break;
 						}
 						if (!WaitStrategy.isAlert(ce)) {
@@ -828,6 +1130,7 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 				}
 			}
 			finally {
+				processor.untrackSubscriber(sequence);
 				processor.decrementSubscribers();
 				running.set(false);
 
@@ -991,6 +1294,378 @@ public final class WorkQueueProcessor<E> extends EventLoopProcessor<E> {
 
 	}
 
+	/**
+	 * A set of {@link QueueSubscriberLoop} growing and shrinking between a minimum
+	 * and a maximum size, resized periodically from the ring backlog (published
+	 * slots not yet claimed from the work sequence) and the time each worker spent
+	 * waiting for a signal. Workers are removed by cancellation, the slot they might
+	 * have claimed is then replayed through {@link WorkQueueProcessor#claimedDisposed}.
+	 * @param <T> the value type
+	 */
+	final static class ElasticPool<T> implements Runnable, Disposable {
+
+		/**
+		 * The maximum period between two resizing of the pool
+		 */
+		static final long MAX_PERIOD_MILLIS = 100L;
+
+		final WorkQueueProcessor<T>                     processor;
+		final Supplier<? extends Subscriber<? super T>> workerSupplier;
+		final int                                       minWorkers;
+		final int                                       maxWorkers;
+		final long                                      idleNanos;
+		final long                                      growThreshold;
+
+		/**
+		 * Guarded by this
+		 */
+		final List<QueueSubscriberLoop<T>> workers = new ArrayList<>();
+
+		/**
+		 * Set on start, the clock also reading the workers idle time
+		 */
+		TimedScheduler timer;
+		Cancellation   monitor;
+		boolean        cancelled;
+
+		ElasticPool(WorkQueueProcessor<T> processor,
+				Supplier<? extends Subscriber<? super T>> workerSupplier,
+				int minWorkers,
+				int maxWorkers,
+				long idleNanos) {
+			this.processor = processor;
+			this.workerSupplier = workerSupplier;
+			this.minWorkers = minWorkers;
+			this.maxWorkers = maxWorkers;
+			this.idleNanos = idleNanos;
+			this.growThreshold = Math.max(1, processor.ringBuffer.bufferSize() >> 1);
+		}
+
+		synchronized void start(TimedScheduler timer) {
+			this.timer = timer;
+			for (int i = 0; i < minWorkers; i++) {
+				if (!addWorker()) {
+					return;
+				}
+			}
+			long period = Math.max(1L,
+					Math.min(TimeUnit.NANOSECONDS.toMillis(idleNanos), MAX_PERIOD_MILLIS));
+			monitor = timer.schedulePeriodically(this, period, period, TimeUnit.MILLISECONDS);
+		}
+
+		boolean addWorker() {
+			if (!processor.alive()) {
+				return false;
+			}
+			QueueSubscriberLoop<T> worker =
+					new QueueSubscriberLoop<>(workerSupplier.get(), processor, timer);
+			if (processor.startLoop(worker)) {
+				workers.add(worker);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public synchronized void run() {
+			if (cancelled) {
+				return;
+			}
+			if (!processor.alive()) {
+				//workers terminate on their own
+				stop();
+				return;
+			}
+
+			workers.removeIf(w -> !w.running.get());
+			while (workers.size() < minWorkers) {
+				if (!addWorker()) {
+					return;
+				}
+			}
+
+			long backlog = processor.ringBuffer.getAsLong() - processor.workSequence.getAsLong();
+			if (backlog >= growThreshold) {
+				if (workers.size() < maxWorkers) {
+					addWorker();
+				}
+			}
+			else if (backlog <= 0L && workers.size() > minWorkers) {
+				long now = timer.now(TimeUnit.NANOSECONDS);
+				for (int i = 0; i < workers.size(); i++) {
+					QueueSubscriberLoop<T> w = workers.get(i);
+					if (w.idle && now - w.idleSince >= idleNanos) {
+						workers.remove(i);
+						w.retire();
+						return;
+					}
+				}
+			}
+		}
+
+		/**
+		 * @return the number of workers currently part of the pool
+		 */
+		synchronized int size() {
+			return workers.size();
+		}
+
+		/**
+		 * @return true if every worker of the pool is waiting for a signal
+		 */
+		synchronized boolean allIdle() {
+			for (QueueSubscriberLoop<T> w : workers) {
+				if (!w.idle) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		void stop() {
+			Cancellation c = monitor;
+			if (c != null) {
+				monitor = null;
+				c.dispose();
+			}
+		}
+
+		@Override
+		public synchronized void dispose() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			stop();
+			for (QueueSubscriberLoop<T> w : workers) {
+				w.retire();
+			}
+			workers.clear();
+		}
+
+		@Override
+		public synchronized boolean isDisposed() {
+			return cancelled;
+		}
+	}
+
+	/**
+	 * A {@link WorkQueueProcessor} subscriber drained on a {@link Scheduler.Worker}.
+	 * Sequences are only claimed from the shared work sequence once published and
+	 * requested. Like {@link QueueSubscriberLoop}, the gating sequence only moves
+	 * forward: it is set to the observed work sequence before each claim and stays
+	 * there until the next one, so it never exceeds a slot this consumer may still
+	 * read.
+	 * @param <T> the value type
+	 */
+	final static class QueueScheduledConsumer<T> extends ScheduledConsumer
+			implements Producer, Receiver, Trackable, Subscription {
+
+		final RingBuffer.Sequence sequence;
+
+		final WorkQueueProcessor<T> processor;
+
+		final Subscriber<? super T> subscriber;
+
+		final BatchAwareSubscriber<? super T> batchAware;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<QueueScheduledConsumer> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(QueueScheduledConsumer.class,
+						"requested");
+
+		volatile boolean cancelled;
+
+		boolean subscribed;
+
+		boolean done;
+
+		@SuppressWarnings("unchecked")
+		QueueScheduledConsumer(WorkQueueProcessor<T> processor,
+				Scheduler scheduler,
+				Subscriber<? super T> subscriber) {
+			super(scheduler);
+			this.processor = processor;
+			this.subscriber = subscriber;
+			this.batchAware = subscriber instanceof BatchAwareSubscriber ?
+					(BatchAwareSubscriber<? super T>) subscriber : null;
+			//every slot this consumer will claim is past the current work sequence
+			this.sequence = wrap(processor.workSequence.getAsLong(), this);
+		}
+
+		@Override
+		void drain() {
+			if (done) {
+				return;
+			}
+			if (!subscribed) {
+				subscribed = true;
+				subscriber.onSubscribe(this);
+			}
+			try {
+				final RingBuffer<Slot<T>> ringBuffer = processor.ringBuffer;
+				final RingBuffer.Sequence workSequence = processor.workSequence;
+
+				long r = requested;
+				long e = 0L;
+
+				while (e != r) {
+					if (cancelled) {
+						terminate();
+						return;
+					}
+					long current = workSequence.getAsLong();
+					long nextSequence = current + 1L;
+					if (nextSequence > ringBuffer.getCursor() ||
+							ringBuffer.getSequencer()
+							          .getHighestPublishedSequence(nextSequence,
+									          nextSequence) != nextSequence) {
+						break;
+					}
+					//gate the slot before claiming it, the sequence stays behind it
+					//until the next claim so producers can't wrap onto it
+					sequence.set(current);
+					if (!workSequence.compareAndSet(current, nextSequence)) {
+						continue;
+					}
+					T v = ringBuffer.get(nextSequence).value;
+
+					subscriber.onNext(v);
+					e++;
+				}
+
+				//the next claim is past the current work sequence, stop gating the
+				//slots claimed by the other consumers meanwhile
+				long claimed = workSequence.getAsLong();
+				boolean released = sequence.getAsLong() != claimed;
+				sequence.set(claimed);
+
+				if (e != 0L) {
+					if (batchAware != null) {
+						batchAware.onEndOfBatch();
+					}
+					if (r != Long.MAX_VALUE) {
+						REQUESTED.addAndGet(this, -e);
+					}
+					//idle consumers still gate the slots claimed here until they
+					//drain again and catch up with the work sequence
+					if (ringBuffer.getMinimumGatingSequence() < claimed) {
+						processor.signalConsumers();
+					}
+				}
+				if (released) {
+					processor.replenish();
+				}
+
+				if (cancelled) {
+					terminate();
+					return;
+				}
+
+				int t = processor.terminated;
+				if (t == FORCED_SHUTDOWN) {
+					terminate();
+				}
+				else if (t == SHUTDOWN) {
+					Throwable ex = processor.error;
+					if (ex != null) {
+						terminate();
+						subscriber.onError(ex);
+					}
+					else if (workSequence.getAsLong() >= ringBuffer.getCursor()) {
+						terminate();
+						subscriber.onComplete();
+					}
+				}
+			}
+			catch (Throwable ex) {
+				terminate();
+				subscriber.onError(Operators.onOperatorError(this, ex));
+			}
+		}
+
+		@Override
+		void rejected() {
+			if (!done) {
+				done = true;
+				processor.ringBuffer.removeGatingSequence(sequence);
+				processor.untrackSubscriber(sequence);
+				processor.removeConsumer(this);
+				processor.decrementSubscribers();
+				if (subscribed) {
+					subscriber.onError(Operators.onRejectedExecution());
+				}
+				else {
+					Operators.error(subscriber, Operators.onRejectedExecution());
+				}
+			}
+		}
+
+		void terminate() {
+			done = true;
+			processor.ringBuffer.removeGatingSequence(sequence);
+			processor.untrackSubscriber(sequence);
+			processor.removeConsumer(this);
+			processor.decrementSubscribers();
+			worker.shutdown();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public boolean isStarted() {
+			return subscribed;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return done;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		@Override
+		public long getPending() {
+			return processor.ringBuffer.getPending();
+		}
+
+		@Override
+		public long getCapacity() {
+			return processor.getCapacity();
+		}
+
+		@Override
+		public Object downstream() {
+			return subscriber;
+		}
+
+		@Override
+		public Object upstream() {
+			return processor;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.checkRequest(n, subscriber)) {
+				Operators.getAndAddCap(REQUESTED, this, n);
+				schedule();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+	}
+
 	static final Logger log = Loggers.getLogger(WorkQueueProcessor.class);
 
 }
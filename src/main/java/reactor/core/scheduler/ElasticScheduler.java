@@ -70,6 +70,8 @@ final class ElasticScheduler implements Scheduler, Supplier<ExecutorService> {
 
 	final ScheduledExecutorService evictor;
 
+	final SchedulerMetrics metrics;
+
 	static final ExecutorService SHUTDOWN;
 
 	static {
@@ -87,6 +89,10 @@ final class ElasticScheduler implements Scheduler, Supplier<ExecutorService> {
 		this.factory = factory;
 		this.cache = new ConcurrentLinkedQueue<>();
 		this.all = new ConcurrentLinkedQueue<>();
+		this.metrics = Schedulers.schedulerMetrics(Schedulers.ELASTIC, this);
+		if (metrics != null) {
+			metrics.idleExecutors = cache::size;
+		}
 		this.evictor = Executors.newScheduledThreadPool(1, EVICTOR_FACTORY);
 		this.evictor.scheduleAtFixedRate(this::eviction,
 				ttlSeconds,
@@ -176,7 +182,7 @@ final class ElasticScheduler implements Scheduler, Supplier<ExecutorService> {
 			f = exec.submit(wrapper);
 		}
 		catch (RejectedExecutionException ex) {
-			return REJECTED;
+			return Schedulers.rejected(metrics);
 		}
 		return new ExecutorServiceScheduler.DisposableFuture(f, true);
 	}
@@ -208,6 +214,9 @@ final class ElasticScheduler implements Scheduler, Supplier<ExecutorService> {
 			if (e.expireMillis < now) {
 				if (cache.remove(e)) {
 					e.executor.shutdownNow();
+					if (metrics != null) {
+						metrics.evicted.increment();
+					}
 				}
 			}
 		}
@@ -243,14 +252,14 @@ final class ElasticScheduler implements Scheduler, Supplier<ExecutorService> {
 		@Override
 		public Disposable schedule(Runnable task) {
 			if (shutdown) {
-				return REJECTED;
+				return Schedulers.rejected(parent.metrics);
 			}
 
 			CachedTask ct = new CachedTask(task, this);
 
 			synchronized (this) {
 				if (shutdown) {
-					return REJECTED;
+					return Schedulers.rejected(parent.metrics);
 				}
 				tasks.add(ct);
 			}
@@ -260,7 +269,7 @@ final class ElasticScheduler implements Scheduler, Supplier<ExecutorService> {
 				f = executor.submit(ct);
 			}
 			catch (RejectedExecutionException ex) {
-				return REJECTED;
+				return Schedulers.rejected(parent.metrics);
 			}
 
 			ct.setFuture(f);
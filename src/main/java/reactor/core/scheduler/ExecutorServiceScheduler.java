@@ -36,18 +36,21 @@ final class ExecutorServiceScheduler implements Scheduler {
 	static final Future<?> CANCELLED = new FutureTask<>(EMPTY, null);
 	static final Future<?> FINISHED  = new FutureTask<>(EMPTY, null);
 
-	final ExecutorService executor;
-	final boolean         interruptOnCancel;
+	final ExecutorService  executor;
+	final boolean          interruptOnCancel;
+	final SchedulerMetrics metrics;
 
 	ExecutorServiceScheduler(ExecutorService executorService, boolean interruptOnCancel) {
+		this.metrics = Schedulers.schedulerMetrics("ExecutorService", this);
 		this.executor = Schedulers.decorateExecutorService("ExecutorService",
-				() -> executorService);
+				() -> executorService,
+				this);
 		this.interruptOnCancel = interruptOnCancel;
 	}
 
 	@Override
 	public Worker createWorker() {
-		return new ExecutorServiceWorker(executor, interruptOnCancel);
+		return new ExecutorServiceWorker(executor, interruptOnCancel, metrics);
 	}
 
 	@Override
@@ -56,7 +59,7 @@ final class ExecutorServiceScheduler implements Scheduler {
 			return new DisposableFuture(executor.submit(task), interruptOnCancel);
 		}
 		catch (RejectedExecutionException ree) {
-			return REJECTED;
+			return Schedulers.rejected(metrics);
 		}
 	}
 
@@ -98,16 +101,20 @@ final class ExecutorServiceScheduler implements Scheduler {
 
 	static final class ExecutorServiceWorker implements Worker {
 
-		final ExecutorService executor;
-		final boolean         interruptOnCancel;
+		final ExecutorService  executor;
+		final boolean          interruptOnCancel;
+		final SchedulerMetrics metrics;
 
 		volatile boolean terminated;
 
 		OpenHashSet<ScheduledRunnable> tasks;
 
-		ExecutorServiceWorker(ExecutorService executor, boolean interruptOnCancel) {
+		ExecutorServiceWorker(ExecutorService executor,
+				boolean interruptOnCancel,
+				SchedulerMetrics metrics) {
 			this.executor = executor;
 			this.interruptOnCancel = interruptOnCancel;
+			this.metrics = metrics;
 			this.tasks = new OpenHashSet<>();
 		}
 
@@ -124,7 +131,7 @@ final class ExecutorServiceScheduler implements Scheduler {
 			catch (RejectedExecutionException ree) {
 				delete(sr);
 			}
-			return REJECTED;
+			return Schedulers.rejected(metrics);
 		}
 
 		boolean add(ScheduledRunnable sr) {
@@ -0,0 +1,586 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import reactor.core.Disposable;
+import reactor.util.concurrent.OpenHashSet;
+import reactor.util.concurrent.QueueSupplier;
+
+/**
+ * A TimedScheduler backed by a hashed wheel of timeouts, driven by a single timer
+ * thread, shared among all workers.
+ * <p>
+ * Unlike {@link SingleTimedScheduler}, scheduling and cancelling a task are O(1): new
+ * tasks are offered to a lock-free multi-producer queue and cancelled tasks are
+ * only marked, the timer thread moving them in and out of the wheel once per tick.
+ * Each tick expires a whole bucket of tasks in one pass. The price is precision:
+ * delays are rounded up to the next tick, whose duration is configurable.
+ * <p>
+ * Tasks run on the timer thread, so long-running tasks delay the next ticks; they
+ * are never interrupted when cancelled.
+ * <p>
+ * When instrumented, its {@link SchedulerMetrics} don't report pending tasks and
+ * only record the queue wait of delayed tasks, since immediate tasks don't keep
+ * their submission time.
+ */
+final class HashedWheelTimedScheduler implements TimedScheduler {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	/** The default duration of a tick, in milliseconds. */
+	static final long DEFAULT_TICK_MILLIS = 10L;
+
+	/** The default number of buckets in the wheel. */
+	static final int DEFAULT_WHEEL_SIZE = 512;
+
+	/** Maximum number of newly scheduled tasks moved into the wheel per tick. */
+	static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+	final ThreadFactory threadFactory;
+
+	final long tickNanos;
+
+	final WheelTask[] heads;
+
+	final WheelTask[] tails;
+
+	final int mask;
+
+	final Queue<WheelTask> immediate;
+
+	final Queue<WheelTask> pending;
+
+	final Queue<WheelTask> cancelled;
+
+	final long startTime;
+
+	final SchedulerMetrics metrics;
+
+	volatile Thread thread;
+
+	volatile boolean sleeping;
+
+	volatile int state;
+	static final AtomicIntegerFieldUpdater<HashedWheelTimedScheduler> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(HashedWheelTimedScheduler.class, "state");
+
+	static final int STATE_INIT       = 0;
+	static final int STATE_STARTED    = 1;
+	static final int STATE_TERMINATED = 2;
+
+	/**
+	 * Constructs a new HashedWheelTimedScheduler with the given thread factory, tick
+	 * duration and number of buckets.
+	 *
+	 * @param threadFactory the thread factory to use for the timer thread
+	 * @param tickDuration the duration of a tick, the resolution of this scheduler
+	 * @param unit the unit of the tick duration
+	 * @param wheelSize the number of buckets, rounded up to the next power of 2
+	 */
+	HashedWheelTimedScheduler(ThreadFactory threadFactory,
+			long tickDuration,
+			TimeUnit unit,
+			int wheelSize) {
+		if (tickDuration <= 0L) {
+			throw new IllegalArgumentException("tickDuration > 0 required but it was " + tickDuration);
+		}
+		if (wheelSize <= 0) {
+			throw new IllegalArgumentException("wheelSize > 0 required but it was " + wheelSize);
+		}
+		this.threadFactory = threadFactory;
+		this.tickNanos = unit.toNanos(tickDuration);
+		int n = QueueSupplier.ceilingNextPowerOfTwo(wheelSize);
+		this.heads = new WheelTask[n];
+		this.tails = new WheelTask[n];
+		this.mask = n - 1;
+		this.immediate = QueueSupplier.<WheelTask>mpscUnbounded().get();
+		this.pending = QueueSupplier.<WheelTask>mpscUnbounded().get();
+		this.cancelled = QueueSupplier.<WheelTask>mpscUnbounded().get();
+		this.startTime = System.nanoTime();
+		this.metrics = Schedulers.schedulerMetrics(Schedulers.TIMER, this);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return submit(new WheelTask(task, this, null, -1L, 0L));
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (delay <= 0L) {
+			return schedule(task);
+		}
+		return submit(new WheelTask(task, this, null, deadline(delay, unit), 0L));
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		return submit(new WheelTask(task,
+				this,
+				null,
+				deadline(initialDelay, unit),
+				Math.max(unit.toNanos(period), 1L)));
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Not supported, yet.");
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return state == STATE_TERMINATED;
+	}
+
+	@Override
+	public void shutdown() {
+		dispose();
+	}
+
+	@Override
+	public void dispose() {
+		if (STATE.getAndSet(this, STATE_TERMINATED) == STATE_STARTED) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	@Override
+	public TimedWorker createWorker() {
+		return new HashedWheelTimedWorker(this);
+	}
+
+	long deadline(long delay, TimeUnit unit) {
+		return System.nanoTime() - startTime + Math.max(unit.toNanos(delay), 0L);
+	}
+
+	Disposable submit(WheelTask task) {
+		int s = state;
+		if (s == STATE_TERMINATED) {
+			return Schedulers.rejected(metrics);
+		}
+		if (s == STATE_INIT && STATE.compareAndSet(this, STATE_INIT, STATE_STARTED)) {
+			Thread t = threadFactory.newThread(this::run);
+			thread = t;
+			if (metrics != null) {
+				metrics.activeExecutors.increment();
+			}
+			t.start();
+		}
+		if (metrics != null) {
+			metrics.submitted.increment();
+		}
+
+		if (task.deadline < 0L) {
+			immediate.offer(task);
+			if (sleeping) {
+				LockSupport.unpark(thread);
+			}
+		}
+		else {
+			pending.offer(task);
+		}
+
+		if (state == STATE_TERMINATED) {
+			task.dispose();
+			return Schedulers.rejected(metrics);
+		}
+		return task;
+	}
+
+	void cancel(WheelTask task) {
+		cancelled.offer(task);
+	}
+
+	void run() {
+		long tick = 0L;
+		for (; ; ) {
+			long tickDeadline = tickNanos * (tick + 1);
+
+			for (; ; ) {
+				if (state == STATE_TERMINATED) {
+					if (metrics != null) {
+						metrics.activeExecutors.decrement();
+					}
+					return;
+				}
+				runImmediate();
+
+				long sleep = tickDeadline - (System.nanoTime() - startTime);
+				if (sleep <= 0L) {
+					break;
+				}
+
+				sleeping = true;
+				if (immediate.isEmpty()) {
+					LockSupport.parkNanos(this, sleep);
+				}
+				sleeping = false;
+			}
+
+			removeCancelled();
+			transferPending(tick);
+			expire(tick, tickDeadline);
+			tick++;
+		}
+	}
+
+	void runImmediate() {
+		WheelTask t;
+		while ((t = immediate.poll()) != null) {
+			if (state == STATE_TERMINATED) {
+				return;
+			}
+			t.run();
+		}
+	}
+
+	/**
+	 * Run a task on the timer thread, recording it if this scheduler is instrumented.
+	 *
+	 * @param task the task to run
+	 * @param deadline the task deadline relative to the scheduler start, -1 if immediate
+	 */
+	void runTask(Runnable task, long deadline) {
+		SchedulerMetrics m = metrics;
+		if (m == null) {
+			task.run();
+			return;
+		}
+		long start = System.nanoTime();
+		m.active.increment();
+		try {
+			task.run();
+		}
+		finally {
+			long end = System.nanoTime();
+			m.active.decrement();
+			m.recordRun(deadline < 0L ? 0L : start - startTime - deadline, end - start);
+		}
+	}
+
+	void removeCancelled() {
+		WheelTask t;
+		while ((t = cancelled.poll()) != null) {
+			if (t.linked) {
+				unlink(t);
+			}
+		}
+	}
+
+	void transferPending(long tick) {
+		for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+			WheelTask t = pending.poll();
+			if (t == null) {
+				return;
+			}
+			if (t.isDisposed()) {
+				continue;
+			}
+			add(t, tick);
+		}
+	}
+
+	void add(WheelTask t, long tick) {
+		long calculated = t.deadline / tickNanos;
+		t.remainingRounds = (calculated - tick) / heads.length;
+
+		int index = (int) Math.max(calculated, tick) & mask;
+
+		WheelTask tail = tails[index];
+		t.bucket = index;
+		t.prev = tail;
+		t.next = null;
+		t.linked = true;
+		if (tail == null) {
+			heads[index] = t;
+		}
+		else {
+			tail.next = t;
+		}
+		tails[index] = t;
+	}
+
+	void unlink(WheelTask t) {
+		int index = t.bucket;
+		WheelTask p = t.prev;
+		WheelTask n = t.next;
+		if (p == null) {
+			heads[index] = n;
+		}
+		else {
+			p.next = n;
+		}
+		if (n == null) {
+			tails[index] = p;
+		}
+		else {
+			n.prev = p;
+		}
+		t.prev = null;
+		t.next = null;
+		t.linked = false;
+	}
+
+	void expire(long tick, long tickDeadline) {
+		WheelTask t = heads[(int) tick & mask];
+		while (t != null) {
+			WheelTask next = t.next;
+			if (t.remainingRounds <= 0L) {
+				unlink(t);
+				if (t.deadline <= tickDeadline) {
+					if (state == STATE_TERMINATED) {
+						return;
+					}
+					if (t.run()) {
+						t.deadline += t.period;
+						add(t, tick + 1);
+					}
+				}
+				else {
+					// a periodic task relinked to the bucket being expired is visited
+					// once more in this pass and so reaches its last round a wheel
+					// turn early: relink it to recompute its rounds from the next tick
+					add(t, tick + 1);
+				}
+			}
+			else {
+				t.remainingRounds--;
+			}
+			t = next;
+		}
+	}
+
+	static final class HashedWheelTimedWorker implements TimedWorker {
+
+		final HashedWheelTimedScheduler parent;
+
+		OpenHashSet<WheelTask> tasks;
+
+		volatile boolean terminated;
+
+		HashedWheelTimedWorker(HashedWheelTimedScheduler parent) {
+			this.parent = parent;
+			this.tasks = new OpenHashSet<>();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			return submit(new WheelTask(task, parent, this, -1L, 0L));
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			if (delay <= 0L) {
+				return schedule(task);
+			}
+			return submit(new WheelTask(task, parent, this, parent.deadline(delay, unit), 0L));
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			return submit(new WheelTask(task,
+					parent,
+					this,
+					parent.deadline(initialDelay, unit),
+					Math.max(unit.toNanos(period), 1L)));
+		}
+
+		Disposable submit(WheelTask t) {
+			if (terminated) {
+				return Schedulers.rejected(parent.metrics);
+			}
+
+			synchronized (this) {
+				if (terminated) {
+					return Schedulers.rejected(parent.metrics);
+				}
+				tasks.add(t);
+			}
+
+			Disposable d = parent.submit(t);
+			if (d == REJECTED) {
+				delete(t);
+			}
+			return d;
+		}
+
+		void delete(WheelTask t) {
+			synchronized (this) {
+				if (!terminated) {
+					tasks.remove(t);
+				}
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			dispose();
+		}
+
+		@Override
+		public void dispose() {
+			if (terminated) {
+				return;
+			}
+			terminated = true;
+
+			OpenHashSet<WheelTask> set;
+
+			synchronized (this) {
+				set = tasks;
+				if (set == null) {
+					return;
+				}
+				tasks = null;
+			}
+
+			if (!set.isEmpty()) {
+				Object[] keys = set.keys();
+				for (Object c : keys) {
+					if (c != null) {
+						((WheelTask) c).cancelTask();
+					}
+				}
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return terminated;
+		}
+	}
+
+	/**
+	 * A task in the wheel, linked into its bucket by the timer thread. The state
+	 * transitions are {@code READY -> RUNNING -> READY} (periodic) or
+	 * {@code READY -> RUNNING -> FINISHED} (single-shot) on the timer thread, and
+	 * {@code READY|RUNNING -> CANCELLED} from any thread.
+	 */
+	static final class WheelTask extends AtomicInteger implements Disposable {
+
+		/** */
+		private static final long serialVersionUID = -1786251543707962733L;
+
+		static final int READY     = 0;
+		static final int RUNNING   = 1;
+		static final int CANCELLED = 2;
+		static final int FINISHED  = 3;
+
+		final Runnable task;
+
+		final HashedWheelTimedScheduler scheduler;
+
+		final HashedWheelTimedWorker parent;
+
+		final long period;
+
+		/** Deadline in nanoseconds relative to the scheduler start, -1 if immediate. */
+		long deadline;
+
+		long remainingRounds;
+
+		int bucket;
+
+		boolean linked;
+
+		WheelTask prev;
+
+		WheelTask next;
+
+		WheelTask(Runnable task,
+				HashedWheelTimedScheduler scheduler,
+				HashedWheelTimedWorker parent,
+				long deadline,
+				long period) {
+			this.task = task;
+			this.scheduler = scheduler;
+			this.parent = parent;
+			this.deadline = deadline;
+			this.period = period;
+		}
+
+		/**
+		 * Run the task on the timer thread.
+		 *
+		 * @return true if the task should be rescheduled for its next period
+		 */
+		boolean run() {
+			if (!compareAndSet(READY, RUNNING)) {
+				return false;
+			}
+			try {
+				scheduler.runTask(task, deadline);
+			}
+			catch (Throwable ex) {
+				Schedulers.handleError(ex);
+				if (compareAndSet(RUNNING, FINISHED) && parent != null) {
+					parent.delete(this);
+				}
+				return false;
+			}
+			if (period != 0L) {
+				// a failed CAS means it has been cancelled while running
+				return compareAndSet(RUNNING, READY);
+			}
+			if (compareAndSet(RUNNING, FINISHED) && parent != null) {
+				parent.delete(this);
+			}
+			return false;
+		}
+
+		boolean cancelTask() {
+			for (; ; ) {
+				int s = get();
+				if (s == CANCELLED || s == FINISHED) {
+					return false;
+				}
+				if (compareAndSet(s, CANCELLED)) {
+					if (s == READY) {
+						scheduler.cancel(this);
+					}
+					return true;
+				}
+			}
+		}
+
+		@Override
+		public void dispose() {
+			if (cancelTask() && parent != null) {
+				parent.delete(this);
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			int s = get();
+			return s == CANCELLED || s == FINISHED;
+		}
+	}
+}
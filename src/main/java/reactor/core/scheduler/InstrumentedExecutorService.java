@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Wraps the {@link ExecutorService} of a {@link Scheduler} and records its tasks into
+ * a {@link SchedulerMetrics}.
+ * <p>
+ * Tasks submitted with {@code submit} are wrapped after their {@link
+ * java.util.concurrent.FutureTask}, so a cancelled task still runs (as a no-op) and
+ * leaves the pending count.
+ */
+class InstrumentedExecutorService extends AbstractExecutorService {
+
+	final ExecutorService  actual;
+	final SchedulerMetrics metrics;
+
+	volatile int terminated;
+	static final AtomicIntegerFieldUpdater<InstrumentedExecutorService> TERMINATED =
+			AtomicIntegerFieldUpdater.newUpdater(InstrumentedExecutorService.class,
+					"terminated");
+
+	/**
+	 * Immediate tasks of this executor not started yet, all of them leaving the
+	 * pending count on {@link #shutdownNow()} as the drained tasks may be wrapped by
+	 * the actual executor (e.g. a {@link java.util.concurrent.ScheduledThreadPoolExecutor}).
+	 */
+	volatile long unstarted;
+	static final AtomicLongFieldUpdater<InstrumentedExecutorService> UNSTARTED =
+			AtomicLongFieldUpdater.newUpdater(InstrumentedExecutorService.class,
+					"unstarted");
+
+	InstrumentedExecutorService(ExecutorService actual, SchedulerMetrics metrics) {
+		this.actual = actual;
+		this.metrics = metrics;
+		metrics.activeExecutors.increment();
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		InstrumentedTask task = new InstrumentedTask(command, metrics, this,
+				System.nanoTime(), 0L);
+		metrics.submitted.increment();
+		metrics.pending.increment();
+		UNSTARTED.incrementAndGet(this);
+		try {
+			actual.execute(task);
+		}
+		catch (RejectedExecutionException ree) {
+			// counted as rejected by the scheduler returning Scheduler#REJECTED
+			started();
+			throw ree;
+		}
+	}
+
+	/**
+	 * Mark an immediate task as started, unless {@link #shutdownNow()} already
+	 * accounted for it.
+	 */
+	final void started() {
+		for (;;) {
+			long u = unstarted;
+			if (u == 0L) {
+				return;
+			}
+			if (UNSTARTED.compareAndSet(this, u, u - 1)) {
+				metrics.pending.decrement();
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		terminate();
+		actual.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		terminate();
+		List<Runnable> tasks = actual.shutdownNow();
+		metrics.pending.add(-UNSTARTED.getAndSet(this, 0L));
+		List<Runnable> result = new ArrayList<>(tasks.size());
+		for (Runnable r : tasks) {
+			if (r instanceof InstrumentedTask) {
+				result.add(((InstrumentedTask) r).task);
+			}
+			else {
+				result.add(r);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return actual.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return actual.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return actual.awaitTermination(timeout, unit);
+	}
+
+	final void terminate() {
+		if (TERMINATED.compareAndSet(this, 0, 1)) {
+			metrics.activeExecutors.decrement();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Instrumented(" + actual + ")";
+	}
+
+	static final class Scheduled extends InstrumentedExecutorService
+			implements ScheduledExecutorService {
+
+		final ScheduledExecutorService scheduled;
+
+		Scheduled(ScheduledExecutorService scheduled, SchedulerMetrics metrics) {
+			super(scheduled, metrics);
+			this.scheduled = scheduled;
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			InstrumentedTask task = delayed(command, unit.toNanos(delay), 0L);
+			return scheduled.schedule(task, delay, unit);
+		}
+
+		@Override
+		public <V> ScheduledFuture<V> schedule(Callable<V> callable,
+				long delay,
+				TimeUnit unit) {
+			metrics.submitted.increment();
+			long due = System.nanoTime() + unit.toNanos(delay);
+			return scheduled.schedule(() -> {
+				long start = System.nanoTime();
+				metrics.active.increment();
+				try {
+					return callable.call();
+				}
+				finally {
+					metrics.active.decrement();
+					metrics.recordRun(start - due, System.nanoTime() - start);
+				}
+			}, delay, unit);
+		}
+
+		@Override
+		public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			InstrumentedTask task =
+					delayed(command, unit.toNanos(initialDelay), unit.toNanos(period));
+			return scheduled.scheduleAtFixedRate(task, initialDelay, period, unit);
+		}
+
+		@Override
+		public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+				long initialDelay,
+				long delay,
+				TimeUnit unit) {
+			InstrumentedTask task =
+					delayed(command, unit.toNanos(initialDelay), -unit.toNanos(delay));
+			return scheduled.scheduleWithFixedDelay(task, initialDelay, delay, unit);
+		}
+
+		/**
+		 * Delayed tasks are not accounted as pending: with a remove-on-cancel policy a
+		 * cancelled task would never run to leave the count.
+		 */
+		InstrumentedTask delayed(Runnable command, long delayNanos, long periodNanos) {
+			metrics.submitted.increment();
+			return new InstrumentedTask(command, metrics, null,
+					System.nanoTime() + delayNanos, periodNanos);
+		}
+	}
+
+	static final class InstrumentedTask implements Runnable {
+
+		final Runnable         task;
+		final SchedulerMetrics metrics;
+		/**
+		 * The executor of an immediate task, null for a delayed task
+		 */
+		final InstrumentedExecutorService owner;
+		/**
+		 * Positive for a fixed rate, negative for a fixed delay, 0 if not periodic
+		 */
+		final long             period;
+
+		long due;
+
+		InstrumentedTask(Runnable task,
+				SchedulerMetrics metrics,
+				InstrumentedExecutorService owner,
+				long due,
+				long period) {
+			this.task = task;
+			this.metrics = metrics;
+			this.owner = owner;
+			this.due = due;
+			this.period = period;
+		}
+
+		@Override
+		public void run() {
+			long start = System.nanoTime();
+			if (owner != null) {
+				owner.started();
+			}
+			metrics.active.increment();
+			try {
+				task.run();
+			}
+			finally {
+				long end = System.nanoTime();
+				metrics.active.decrement();
+				metrics.recordRun(start - due, end - start);
+				if (period > 0L) {
+					due += period;
+				}
+				else if (period < 0L) {
+					due = end - period;
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return task.toString();
+		}
+	}
+}
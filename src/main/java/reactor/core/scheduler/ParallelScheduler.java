@@ -40,6 +40,8 @@ final class ParallelScheduler implements Scheduler, Supplier<ExecutorService> {
     
     final ThreadFactory factory;
 
+    final SchedulerMetrics metrics;
+
     volatile ExecutorService[] executors;
     static final AtomicReferenceFieldUpdater<ParallelScheduler, ExecutorService[]> EXECUTORS =
             AtomicReferenceFieldUpdater.newUpdater(ParallelScheduler.class, ExecutorService[].class, "executors");
@@ -60,6 +62,7 @@ final class ParallelScheduler implements Scheduler, Supplier<ExecutorService> {
         }
         this.n = n;
         this.factory = factory;
+        this.metrics = Schedulers.schedulerMetrics(Schedulers.PARALLEL, this);
         init(n);
     }
 
@@ -155,38 +158,41 @@ final class ParallelScheduler implements Scheduler, Supplier<ExecutorService> {
 				    false);
 	    }
 	    catch (RejectedExecutionException ex) {
-		    return REJECTED;
+		    return Schedulers.rejected(metrics);
 	    }
     }
 
     @Override
     public Worker createWorker() {
-        return new ParallelWorker(pick());
+        return new ParallelWorker(pick(), metrics);
     }
     
     static final class ParallelWorker implements Worker {
         final ExecutorService exec;
+
+        final SchedulerMetrics metrics;
         
         OpenHashSet<ParallelWorkerTask> tasks;
         
         volatile boolean shutdown;
         
-        public ParallelWorker(ExecutorService exec) {
+        public ParallelWorker(ExecutorService exec, SchedulerMetrics metrics) {
             this.exec = exec;
+            this.metrics = metrics;
             this.tasks = new OpenHashSet<>();
         }
 
         @Override
         public Disposable schedule(Runnable task) {
             if (shutdown) {
-                return REJECTED;
+                return Schedulers.rejected(metrics);
             }
             
             ParallelWorkerTask pw = new ParallelWorkerTask(task, this);
             
             synchronized (this) {
                 if (shutdown) {
-                    return REJECTED;
+                    return Schedulers.rejected(metrics);
                 }
                 tasks.add(pw);
             }
@@ -195,7 +201,7 @@ final class ParallelScheduler implements Scheduler, Supplier<ExecutorService> {
             try {
                 f = exec.submit(pw);
             } catch (RejectedExecutionException ex) {
-                return REJECTED;
+                return Schedulers.rejected(metrics);
             }
 
             if (shutdown){
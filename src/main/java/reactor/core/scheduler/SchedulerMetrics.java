@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Task and executor counters recorded by a {@link Scheduler} created after {@link
+ * Schedulers#enableMetrics()}, obtained with {@link Schedulers#metrics(Scheduler)}.
+ * <p>
+ * Counters are striped ({@link LongAdder}) so that workers don't contend when
+ * recording, each getter returns an instant snapshot.
+ */
+public final class SchedulerMetrics {
+
+	/**
+	 * Number of run time histogram buckets, see {@link #runTimeHistogram()}.
+	 */
+	public static final int HISTOGRAM_BUCKETS = 24;
+
+	final String type;
+
+	final LongAdder submitted       = new LongAdder();
+	final LongAdder pending         = new LongAdder();
+	final LongAdder active          = new LongAdder();
+	final LongAdder completed       = new LongAdder();
+	final LongAdder rejected        = new LongAdder();
+	final LongAdder activeExecutors = new LongAdder();
+	final LongAdder evicted         = new LongAdder();
+	final LongAdder queueWait       = new LongAdder();
+	final LongAdder runTime         = new LongAdder();
+	final LongAdder[] runTimeBuckets;
+
+	volatile LongSupplier idleExecutors;
+
+	SchedulerMetrics(String type) {
+		this.type = type;
+		this.runTimeBuckets = new LongAdder[HISTOGRAM_BUCKETS];
+		for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+			runTimeBuckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * @return the type of the instrumented {@link Scheduler}, e.g. {@code "parallel"}
+	 */
+	public String type() {
+		return type;
+	}
+
+	/**
+	 * @return the number of tasks submitted, including delayed and periodic tasks
+	 */
+	public long submittedCount() {
+		return submitted.sum();
+	}
+
+	/**
+	 * @return the number of immediate tasks waiting in an executor queue
+	 */
+	public long pendingTasks() {
+		return pending.sum();
+	}
+
+	/**
+	 * @return the number of tasks currently running
+	 */
+	public long activeTasks() {
+		return active.sum();
+	}
+
+	/**
+	 * @return the number of task runs that finished, periodic tasks count once per run
+	 */
+	public long completedCount() {
+		return completed.sum();
+	}
+
+	/**
+	 * @return the number of tasks rejected with a {@link Scheduler#REJECTED} {@link
+	 * reactor.core.Disposable}, either by an executor or by a disposed {@link Scheduler}
+	 * or worker
+	 */
+	public long rejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * @return the number of executors (worker threads or pools) currently alive
+	 */
+	public long activeExecutors() {
+		return activeExecutors.sum();
+	}
+
+	/**
+	 * @return the number of executors cached while idle, only reported by the elastic
+	 * {@link Scheduler}
+	 */
+	public long idleExecutors() {
+		LongSupplier s = idleExecutors;
+		return s != null ? s.getAsLong() : 0L;
+	}
+
+	/**
+	 * @return the number of idle executors evicted after their time-to-live, only
+	 * reported by the elastic {@link Scheduler}
+	 */
+	public long evictedCount() {
+		return evicted.sum();
+	}
+
+	/**
+	 * @return the cumulated nanoseconds tasks waited between their submission (or
+	 * their due time when delayed) and the start of their run
+	 */
+	public long queueWaitNanos() {
+		return queueWait.sum();
+	}
+
+	/**
+	 * @return the cumulated nanoseconds spent running tasks
+	 */
+	public long runNanos() {
+		return runTime.sum();
+	}
+
+	/**
+	 * Return a snapshot of the task run time histogram: bucket 0 counts the runs
+	 * shorter than one microsecond and bucket {@code i} the runs between {@code
+	 * 2^(i-1)} and {@code 2^i} microseconds, the last bucket counts all longer runs.
+	 *
+	 * @return a new array of {@link #HISTOGRAM_BUCKETS} counts
+	 */
+	public long[] runTimeHistogram() {
+		long[] histogram = new long[HISTOGRAM_BUCKETS];
+		for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+			histogram[i] = runTimeBuckets[i].sum();
+		}
+		return histogram;
+	}
+
+	void recordRun(long waitNanos, long runNanos) {
+		if (waitNanos > 0L) {
+			queueWait.add(waitNanos);
+		}
+		runTime.add(runNanos);
+		runTimeBuckets[bucket(runNanos)].increment();
+		completed.increment();
+	}
+
+	static int bucket(long runNanos) {
+		long micros = runNanos / 1000L;
+		if (micros == 0L) {
+			return 0;
+		}
+		return Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+	}
+
+	@Override
+	public String toString() {
+		return "SchedulerMetrics{" + "type='" + type + '\'' +
+				", pending=" + pendingTasks() +
+				", active=" + activeTasks() +
+				", completed=" + completedCount() +
+				", rejected=" + rejectedCount() +
+				", executors=" + activeExecutors() + '}';
+	}
+}
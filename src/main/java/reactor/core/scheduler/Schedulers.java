@@ -19,11 +19,16 @@ package reactor.core.scheduler;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -63,6 +68,10 @@ public abstract class Schedulers {
 
 	static volatile BiConsumer<Thread, ? super Throwable> onHandleErrorHook;
 
+	static volatile boolean metricsEnabled;
+
+	static final Map<Object, SchedulerMetrics> schedulerMetrics = new WeakHashMap<>();
+
 	/**
 	 * Create a {@link Scheduler} which uses a backing {@link Executor} to schedule
 	 * Runnables for async operators.
@@ -137,6 +146,32 @@ public abstract class Schedulers {
 		return cache(ELASTIC, ELASTIC_SUPPLIER);
 	}
 
+	/**
+	 * Stop instrumenting the {@link Scheduler} created from now on and forget the
+	 * {@link SchedulerMetrics} recorded so far.
+	 */
+	public static void disableMetrics() {
+		log.info("Reset to factory defaults: metrics");
+		metricsEnabled = false;
+		synchronized (schedulerMetrics) {
+			schedulerMetrics.clear();
+		}
+	}
+
+	/**
+	 * Instrument the executors of the {@link Scheduler} created from now on, including
+	 * the cached ones like {@link #parallel()} once re-created (e.g. after {@link
+	 * #shutdownNow()}). Their {@link SchedulerMetrics} are then available with {@link
+	 * #metrics(Scheduler)}.
+	 * <p>
+	 * Instrumentation wraps each submitted task to record its queue wait and run
+	 * time, which adds a small overhead per task.
+	 */
+	public static void enableMetrics() {
+		log.info("Hooking new default: metrics");
+		metricsEnabled = true;
+	}
+
 	/**
 	 * Executes tasks on the caller's thread immediately.
 	 *
@@ -146,6 +181,37 @@ public abstract class Schedulers {
 		return ImmediateScheduler.instance();
 	}
 
+	/**
+	 * Return the {@link SchedulerMetrics} of a {@link Scheduler} created after {@link
+	 * #enableMetrics()}.
+	 *
+	 * @param scheduler the instrumented {@link Scheduler}
+	 *
+	 * @return the {@link SchedulerMetrics} of the {@link Scheduler} or null if it is not
+	 * instrumented
+	 */
+	public static SchedulerMetrics metrics(Scheduler scheduler) {
+		Object owner = scheduler;
+		if (owner instanceof CachedScheduler) {
+			owner = ((CachedScheduler) owner).cached;
+		}
+		synchronized (schedulerMetrics) {
+			return schedulerMetrics.get(owner);
+		}
+	}
+
+	/**
+	 * Return the {@link SchedulerMetrics} of all the instrumented {@link Scheduler}
+	 * still referenced.
+	 *
+	 * @return a snapshot list of {@link SchedulerMetrics}
+	 */
+	public static List<SchedulerMetrics> metrics() {
+		synchronized (schedulerMetrics) {
+			return new ArrayList<>(schedulerMetrics.values());
+		}
+	}
+
 	/**
 	 * {@link Scheduler} that dynamically creates ExecutorService-based Workers and caches
 	 * the thread pools, reusing them once the Workers have been shut down.
@@ -285,6 +351,87 @@ public abstract class Schedulers {
 		return factory.newParallel(parallelism, threadFactory);
 	}
 
+	/**
+	 * {@link Scheduler} that creates a dedicated virtual thread for each Worker and is
+	 * suited for a high number of concurrent blocking tasks. Tasks of a given {@link
+	 * Scheduler.Worker} keep running one at a time and in submission order.
+	 * <p>
+	 * If the runtime doesn't support virtual threads, this falls back to an {@link
+	 * #newElastic(String) elastic} {@link Scheduler} of daemon platform threads.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} backed by virtual threads when supported
+	 */
+	public static Scheduler newVirtualThread(String name) {
+		return factory.newVirtualThread(name);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing {@link ForkJoinPool} sized to the
+	 * number of CPUs and is suited for parallel work of uneven cost. Tasks of a given
+	 * {@link Scheduler.Worker} keep running one at a time and in submission order.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool and is suited for
+	 * parallel work
+	 */
+	public static Scheduler newWorkStealing(String name) {
+		return newWorkStealing(name, Runtime.getRuntime()
+		                                    .availableProcessors());
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing {@link ForkJoinPool} and is suited
+	 * for parallel work of uneven cost. Tasks of a given {@link Scheduler.Worker} keep
+	 * running one at a time and in submission order.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Target parallelism level of the pool
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool and is suited for
+	 * parallel work
+	 */
+	public static Scheduler newWorkStealing(String name, int parallelism) {
+		return newWorkStealing(name, parallelism, true);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing {@link ForkJoinPool} and is suited
+	 * for parallel work of uneven cost. Tasks of a given {@link Scheduler.Worker} keep
+	 * running one at a time and in submission order.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Target parallelism level of the pool
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool and is suited for
+	 * parallel work
+	 */
+	public static Scheduler newWorkStealing(String name, int parallelism, boolean daemon) {
+		return newWorkStealing(parallelism,
+				new SchedulerThreadFactory(name, daemon, WorkStealingScheduler.COUNTER));
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing {@link ForkJoinPool} and is suited
+	 * for parallel work of uneven cost. Tasks of a given {@link Scheduler.Worker} keep
+	 * running one at a time and in submission order.
+	 *
+	 * @param parallelism Target parallelism level of the pool
+	 * @param threadFactory a {@link ForkJoinWorkerThreadFactory} to use for the pool
+	 * threads
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool and is suited for
+	 * parallel work
+	 */
+	public static Scheduler newWorkStealing(int parallelism,
+			ForkJoinWorkerThreadFactory threadFactory) {
+		return factory.newWorkStealing(parallelism, threadFactory);
+	}
+
 	/**
 	 * {@link Scheduler} that hosts a single-threaded ExecutorService-based worker and is
 	 * suited for parallel work.
@@ -369,6 +516,62 @@ public abstract class Schedulers {
 		return factory.newTimer(threadFactory);
 	}
 
+	/**
+	 * Create a new hashed-wheel based {@link TimedScheduler} with a resolution of 10ms
+	 * and 512 buckets. Scheduling and cancelling a task are constant time operations,
+	 * but all delays are rounded up to the next tick.
+	 *
+	 * @param name timer thread prefix
+	 *
+	 * @return a new hashed-wheel based {@link TimedScheduler}
+	 */
+	public static TimedScheduler newHashedWheelTimer(String name) {
+		return newHashedWheelTimer(name,
+				HashedWheelTimedScheduler.DEFAULT_TICK_MILLIS,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Create a new hashed-wheel based {@link TimedScheduler} with the given tick
+	 * duration and 512 buckets. Scheduling and cancelling a task are constant time
+	 * operations, but all delays are rounded up to the next tick.
+	 *
+	 * @param name timer thread prefix
+	 * @param tickDuration the duration of a tick, that is the timer resolution
+	 * @param unit the unit of the tick duration
+	 *
+	 * @return a new hashed-wheel based {@link TimedScheduler}
+	 */
+	public static TimedScheduler newHashedWheelTimer(String name,
+			long tickDuration,
+			TimeUnit unit) {
+		return newHashedWheelTimer(new SchedulerThreadFactory(name,
+						true,
+						HashedWheelTimedScheduler.COUNTER),
+				tickDuration,
+				unit,
+				HashedWheelTimedScheduler.DEFAULT_WHEEL_SIZE);
+	}
+
+	/**
+	 * Create a new hashed-wheel based {@link TimedScheduler}. Scheduling and cancelling
+	 * a task are constant time operations, but all delays are rounded up to the next
+	 * tick.
+	 *
+	 * @param threadFactory a {@link ThreadFactory} to use for the unique timer thread
+	 * @param tickDuration the duration of a tick, that is the timer resolution
+	 * @param unit the unit of the tick duration
+	 * @param wheelSize the number of buckets in the wheel, rounded up to a power of 2
+	 *
+	 * @return a new hashed-wheel based {@link TimedScheduler}
+	 */
+	public static TimedScheduler newHashedWheelTimer(ThreadFactory threadFactory,
+			long tickDuration,
+			TimeUnit unit,
+			int wheelSize) {
+		return factory.newHashedWheelTimer(threadFactory, tickDuration, unit, wheelSize);
+	}
+
 	/**
 	 * Define a hook that is executed when a {@link Scheduler} has
 	 * {@link #handleError(Throwable) handled an error}. Note that it is executed after
@@ -495,12 +698,73 @@ public abstract class Schedulers {
 
 	public static ExecutorService decorateExecutorService(String schedulerType,
 			Supplier<? extends ExecutorService> actual) {
-		return factory.decorateExecutorService(schedulerType, actual);
+		return decorateExecutorService(schedulerType, actual, actual);
+	}
+
+	/**
+	 * Decorate an {@link ExecutorService} recording into the {@link SchedulerMetrics}
+	 * of the given owner, for the {@link Scheduler} that don't supply their executors
+	 * themselves.
+	 *
+	 * @param schedulerType the scheduler type
+	 * @param actual the executor {@link Supplier}
+	 * @param owner the {@link Scheduler} owning the executor
+	 * @return the decorated {@link ExecutorService}
+	 */
+	static ExecutorService decorateExecutorService(String schedulerType,
+			Supplier<? extends ExecutorService> actual,
+			Object owner) {
+		ExecutorService executor = factory.decorateExecutorService(schedulerType, actual);
+		if (metricsEnabled) {
+			return new InstrumentedExecutorService(executor,
+					schedulerMetrics(schedulerType, owner));
+		}
+		return executor;
 	}
 
 	public static ScheduledExecutorService decorateScheduledExecutorService(String schedulerType,
 			Supplier<? extends ScheduledExecutorService> actual) {
-		return factory.decorateScheduledExecutorService(schedulerType, actual);
+		ScheduledExecutorService executor =
+				factory.decorateScheduledExecutorService(schedulerType, actual);
+		if (metricsEnabled) {
+			return new InstrumentedExecutorService.Scheduled(executor,
+					schedulerMetrics(schedulerType, actual));
+		}
+		return executor;
+	}
+
+	/**
+	 * Return the {@link SchedulerMetrics} of the given {@link Scheduler} owner of
+	 * decorated executors, creating them on first use, or null if metrics are not
+	 * enabled.
+	 *
+	 * @param schedulerType the scheduler type
+	 * @param owner the {@link Scheduler} (or executor {@link Supplier}) owning the
+	 * executors
+	 * @return the {@link SchedulerMetrics} or null
+	 */
+	static SchedulerMetrics schedulerMetrics(String schedulerType, Object owner) {
+		if (!metricsEnabled) {
+			return null;
+		}
+		synchronized (schedulerMetrics) {
+			return schedulerMetrics.computeIfAbsent(owner,
+					k -> new SchedulerMetrics(schedulerType));
+		}
+	}
+
+	/**
+	 * Return {@link Scheduler#REJECTED}, counting the rejection into the given
+	 * {@link SchedulerMetrics} if the rejecting {@link Scheduler} is instrumented.
+	 *
+	 * @param metrics the {@link SchedulerMetrics} of the rejecting scheduler or null
+	 * @return {@link Scheduler#REJECTED}
+	 */
+	static Disposable rejected(SchedulerMetrics metrics) {
+		if (metrics != null) {
+			metrics.rejected.increment();
+		}
+		return Scheduler.REJECTED;
 	}
 
 	/**
@@ -549,6 +813,39 @@ public abstract class Schedulers {
 			return new ParallelScheduler(parallelism, threadFactory);
 		}
 
+		/**
+		 * {@link Scheduler} that creates a dedicated virtual thread for each Worker, or
+		 * an elastic {@link Scheduler} if the runtime doesn't support virtual threads.
+		 *
+		 * @param name Thread prefix
+		 *
+		 * @return a new {@link Scheduler} backed by virtual threads when supported
+		 */
+		default Scheduler newVirtualThread(String name) {
+			ThreadFactory virtualFactory = VirtualThreadScheduler.virtualThreadFactory(name);
+			if (virtualFactory == null) {
+				return newElastic(ElasticScheduler.DEFAULT_TTL_SECONDS,
+						new SchedulerThreadFactory(name, true, ElasticScheduler.COUNTER));
+			}
+			return new VirtualThreadScheduler(virtualFactory);
+		}
+
+		/**
+		 * {@link Scheduler} that hosts a work-stealing pool and is suited for parallel
+		 * work of uneven cost, while keeping the per-worker ordering of tasks.
+		 *
+		 * @param parallelism Target parallelism level of the pool
+		 * @param threadFactory a {@link ForkJoinWorkerThreadFactory} to use for the pool
+		 * threads
+		 *
+		 * @return a new {@link Scheduler} that hosts a work-stealing pool and is suited
+		 * for parallel work
+		 */
+		default Scheduler newWorkStealing(int parallelism,
+				ForkJoinWorkerThreadFactory threadFactory) {
+			return new WorkStealingScheduler(parallelism, threadFactory);
+		}
+
 		/**
 		 * {@link Scheduler} that hosts a single worker and is suited for non-blocking
 		 * work.
@@ -564,6 +861,10 @@ public abstract class Schedulers {
 
 		/**
 		 * Create a new {@link TimedScheduler} backed by a dedicated resource.
+		 * <p>
+		 * Override to return {@link #newHashedWheelTimer} in order to back {@link
+		 * #timer()} and other timers by a hashed wheel rather than a {@link
+		 * ScheduledExecutorService}.
 		 *
 		 * @param threadFactory a {@link ThreadFactory} to use for the eventual thread
 		 *
@@ -572,6 +873,27 @@ public abstract class Schedulers {
 		default TimedScheduler newTimer(ThreadFactory threadFactory) {
 			return new SingleTimedScheduler(threadFactory);
 		}
+
+		/**
+		 * Create a new {@link TimedScheduler} backed by a hashed wheel of timeouts,
+		 * driven by a dedicated thread.
+		 *
+		 * @param threadFactory a {@link ThreadFactory} to use for the timer thread
+		 * @param tickDuration the duration of a tick, that is the timer resolution
+		 * @param unit the unit of the tick duration
+		 * @param wheelSize the number of buckets in the wheel, rounded up to a power of 2
+		 *
+		 * @return a new hashed-wheel based {@link TimedScheduler}
+		 */
+		default TimedScheduler newHashedWheelTimer(ThreadFactory threadFactory,
+				long tickDuration,
+				TimeUnit unit,
+				int wheelSize) {
+			return new HashedWheelTimedScheduler(threadFactory,
+					tickDuration,
+					unit,
+					wheelSize);
+		}
 	}
 
 	// Internals
@@ -579,6 +901,8 @@ public abstract class Schedulers {
 	static final String PARALLEL = "parallel"; //scale up common tasks
 	static final String SINGLE   = "single"; //non blocking tasks
 	static final String TIMER    = "timer"; //timed tasks
+	static final String VIRTUAL  = "virtual"; //high fan-out blocking tasks
+	static final String WORK_STEALING = "workStealing"; //uneven parallel tasks
 
 	static final ConcurrentMap<String, CachedScheduler> cachedSchedulers =
 			new ConcurrentHashMap<>();
@@ -632,7 +956,8 @@ public abstract class Schedulers {
 	static final Logger log = Loggers.getLogger(Schedulers.class);
 
 	static final class SchedulerThreadFactory
-			implements ThreadFactory, Supplier<String>, Thread.UncaughtExceptionHandler {
+			implements ThreadFactory, ForkJoinWorkerThreadFactory, Supplier<String>,
+			           Thread.UncaughtExceptionHandler {
 
 		final String     name;
 		final boolean    daemon;
@@ -652,6 +977,15 @@ public abstract class Schedulers {
 			return t;
 		}
 
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			ForkJoinWorkerThread t = new WorkStealingScheduler.WorkStealingThread(pool);
+			t.setName(name + "-" + COUNTER.incrementAndGet());
+			t.setDaemon(daemon);
+			t.setUncaughtExceptionHandler(this);
+			return t;
+		}
+
 		@Override
 		public void uncaughtException(Thread t, Throwable e) {
 			log.error("Scheduler worker in group " + t.getThreadGroup().getName() +
@@ -39,6 +39,8 @@ final class SingleScheduler implements Scheduler, Supplier<ExecutorService> {
 
 	final ThreadFactory factory;
 
+	final SchedulerMetrics metrics;
+
 	volatile ExecutorService executor;
 	static final AtomicReferenceFieldUpdater<SingleScheduler, ExecutorService> EXECUTORS =
 			AtomicReferenceFieldUpdater.newUpdater(SingleScheduler.class,
@@ -54,6 +56,7 @@ final class SingleScheduler implements Scheduler, Supplier<ExecutorService> {
 
 	SingleScheduler(ThreadFactory factory) {
 		this.factory = factory;
+		this.metrics = Schedulers.schedulerMetrics(Schedulers.SINGLE, this);
 		init();
 	}
 
@@ -122,39 +125,42 @@ final class SingleScheduler implements Scheduler, Supplier<ExecutorService> {
 					false);
 		}
 		catch (RejectedExecutionException ex) {
-			return REJECTED;
+			return Schedulers.rejected(metrics);
 		}
 	}
 
 	@Override
 	public Worker createWorker() {
-		return new SingleWorker(executor);
+		return new SingleWorker(executor, metrics);
 	}
 
 	static final class SingleWorker implements Worker {
 
 		final ExecutorService exec;
 
+		final SchedulerMetrics metrics;
+
 		OpenHashSet<SingleWorkerTask> tasks;
 
 		volatile boolean shutdown;
 
-		SingleWorker(ExecutorService exec) {
+		SingleWorker(ExecutorService exec, SchedulerMetrics metrics) {
 			this.exec = exec;
+			this.metrics = metrics;
 			this.tasks = new OpenHashSet<>();
 		}
 
 		@Override
 		public Disposable schedule(Runnable task) {
 			if (shutdown) {
-				return REJECTED;
+				return Schedulers.rejected(metrics);
 			}
 
 			SingleWorkerTask pw = new SingleWorkerTask(task, this);
 
 			synchronized (this) {
 				if (shutdown) {
-					return REJECTED;
+					return Schedulers.rejected(metrics);
 				}
 				tasks.add(pw);
 			}
@@ -164,7 +170,7 @@ final class SingleScheduler implements Scheduler, Supplier<ExecutorService> {
 				f = exec.submit(pw);
 			}
 			catch (RejectedExecutionException ex) {
-				return REJECTED;
+				return Schedulers.rejected(metrics);
 			}
 
 			if (shutdown) {
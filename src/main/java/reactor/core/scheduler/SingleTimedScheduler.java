@@ -26,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
 
 import reactor.core.Disposable;
 import reactor.util.concurrent.OpenHashSet;
@@ -37,10 +38,15 @@ import static reactor.core.scheduler.ExecutorServiceScheduler.FINISHED;
  * A TimedScheduler with an embedded, single-threaded ScheduledExecutorService,
  * shared among all workers.
  */
-final class SingleTimedScheduler implements TimedScheduler {
+final class SingleTimedScheduler
+		implements TimedScheduler, Supplier<ScheduledExecutorService> {
 
 	static final AtomicLong COUNTER = new AtomicLong();
 
+	final ThreadFactory threadFactory;
+
+	final SchedulerMetrics metrics;
+
 	final ScheduledExecutorService executor;
 
 	/**
@@ -49,9 +55,21 @@ final class SingleTimedScheduler implements TimedScheduler {
 	 * @param threadFactory the thread factory to use
 	 */
 	SingleTimedScheduler(ThreadFactory threadFactory) {
+		this.threadFactory = threadFactory;
+		this.metrics = Schedulers.schedulerMetrics(Schedulers.TIMER, this);
+		this.executor = Schedulers.decorateScheduledExecutorService(Schedulers.TIMER, this);
+	}
+
+	/**
+	 * Instantiates the default {@link ScheduledExecutorService} for the
+	 * SingleTimedScheduler ({@code Executors.newScheduledThreadPool} with a
+	 * remove-on-cancel policy).
+	 */
+	@Override
+	public ScheduledExecutorService get() {
 		ScheduledExecutorService e = Executors.newScheduledThreadPool(1, threadFactory);
 		((ScheduledThreadPoolExecutor) e).setRemoveOnCancelPolicy(true);
-		executor = Schedulers.decorateScheduledExecutorService(Schedulers.TIMER, () -> e);
+		return e;
 	}
 
 	@Override
@@ -62,7 +80,7 @@ final class SingleTimedScheduler implements TimedScheduler {
 					false);
 		}
 		catch (RejectedExecutionException ex) {
-			return REJECTED;
+			return Schedulers.rejected(metrics);
 		}
 	}
 
@@ -74,7 +92,7 @@ final class SingleTimedScheduler implements TimedScheduler {
 					false);
 		}
 		catch (RejectedExecutionException ex) {
-			return REJECTED;
+			return Schedulers.rejected(metrics);
 		}
 	}
 
@@ -89,7 +107,7 @@ final class SingleTimedScheduler implements TimedScheduler {
 					false);
 		}
 		catch (RejectedExecutionException ex) {
-			return REJECTED;
+			return Schedulers.rejected(metrics);
 		}
 	}
 
@@ -115,33 +133,37 @@ final class SingleTimedScheduler implements TimedScheduler {
 
 	@Override
 	public TimedWorker createWorker() {
-		return new SingleTimedSchedulerWorker(executor);
+		return new SingleTimedSchedulerWorker(executor, metrics);
 	}
 
 	static final class SingleTimedSchedulerWorker implements TimedWorker {
 
 		final ScheduledExecutorService executor;
 
+		final SchedulerMetrics metrics;
+
 		OpenHashSet<CancelFuture> tasks;
 
 		volatile boolean terminated;
 
-		SingleTimedSchedulerWorker(ScheduledExecutorService executor) {
+		SingleTimedSchedulerWorker(ScheduledExecutorService executor,
+				SchedulerMetrics metrics) {
 			this.executor = executor;
+			this.metrics = metrics;
 			this.tasks = new OpenHashSet<>();
 		}
 
 		@Override
 		public Disposable schedule(Runnable task) {
 			if (terminated) {
-				return REJECTED;
+				return Schedulers.rejected(metrics);
 			}
 
 			TimedScheduledRunnable sr = new TimedScheduledRunnable(task, this);
 
 			synchronized (this) {
 				if (terminated) {
-					return REJECTED;
+					return Schedulers.rejected(metrics);
 				}
 
 				tasks.add(sr);
@@ -153,7 +175,7 @@ final class SingleTimedScheduler implements TimedScheduler {
 			}
 			catch (RejectedExecutionException ex) {
 				sr.dispose();
-				return REJECTED;
+				return Schedulers.rejected(metrics);
 			}
 
 			return sr;
@@ -170,14 +192,14 @@ final class SingleTimedScheduler implements TimedScheduler {
 		@Override
 		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
 			if (terminated) {
-				return REJECTED;
+				return Schedulers.rejected(metrics);
 			}
 
 			TimedScheduledRunnable sr = new TimedScheduledRunnable(task, this);
 
 			synchronized (this) {
 				if (terminated) {
-					return REJECTED;
+					return Schedulers.rejected(metrics);
 				}
 
 				tasks.add(sr);
@@ -189,7 +211,7 @@ final class SingleTimedScheduler implements TimedScheduler {
 			}
 			catch (RejectedExecutionException ex) {
 				sr.dispose();
-				return REJECTED;
+				return Schedulers.rejected(metrics);
 			}
 
 			return sr;
@@ -201,7 +223,7 @@ final class SingleTimedScheduler implements TimedScheduler {
 				long period,
 				TimeUnit unit) {
 			if (terminated) {
-				return REJECTED;
+				return Schedulers.rejected(metrics);
 			}
 
 			TimedPeriodicScheduledRunnable sr =
@@ -209,7 +231,7 @@ final class SingleTimedScheduler implements TimedScheduler {
 
 			synchronized (this) {
 				if (terminated) {
-					return REJECTED;
+					return Schedulers.rejected(metrics);
 				}
 
 				tasks.add(sr);
@@ -222,7 +244,7 @@ final class SingleTimedScheduler implements TimedScheduler {
 			}
 			catch (RejectedExecutionException ex) {
 				sr.dispose();
-				return REJECTED;
+				return Schedulers.rejected(metrics);
 			}
 
 			return sr;
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.ExecutorServiceScheduler.ExecutorServiceWorker;
+
+/**
+ * Scheduler that gives each Worker its own single-threaded ExecutorService running on a
+ * virtual thread, suited for blocking work with a high fan-out.
+ * <p>
+ * Virtual threads are cheap to create and park, so unlike {@link ElasticScheduler} the
+ * executors are not cached nor evicted: they are created with their Worker and shut
+ * down when it is disposed. Tasks of a Worker still run one at a time and in
+ * submission order.
+ * <p>
+ * Virtual threads are looked up reflectively since they are not available on all
+ * supported runtimes, see {@link #virtualThreadFactory(String)}.
+ */
+final class VirtualThreadScheduler implements Scheduler, Supplier<ExecutorService> {
+
+	static final ExecutorService SHUTDOWN = ElasticScheduler.SHUTDOWN;
+
+	final ThreadFactory factory;
+
+	final SchedulerMetrics metrics;
+
+	final ExecutorService direct;
+
+	final Set<ExecutorService> all;
+
+	volatile boolean shutdown;
+
+	VirtualThreadScheduler(ThreadFactory factory) {
+		this.factory = factory;
+		this.all = ConcurrentHashMap.newKeySet();
+		this.metrics = Schedulers.schedulerMetrics(Schedulers.VIRTUAL, this);
+		this.direct = Schedulers.decorateExecutorService(Schedulers.VIRTUAL,
+				() -> Executors.newCachedThreadPool(factory),
+				this);
+	}
+
+	/**
+	 * Return a {@link ThreadFactory} creating virtual threads named after the given
+	 * prefix, or null if the runtime doesn't support virtual threads.
+	 *
+	 * @param name the thread name prefix
+	 *
+	 * @return a virtual {@link ThreadFactory} or null if not supported
+	 */
+	static ThreadFactory virtualThreadFactory(String name) {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderType = ofVirtual.getReturnType();
+			Object builder = ofVirtual.invoke(null);
+			builder = builderType.getMethod("name", String.class, long.class)
+			                     .invoke(builder, name + "-", 1L);
+			return (ThreadFactory) builderType.getMethod("factory")
+			                                  .invoke(builder);
+		}
+		catch (Throwable e) {
+			// not available (pre-21 runtime) or not enabled (preview)
+			return null;
+		}
+	}
+
+	/**
+	 * Instantiates the default {@link ExecutorService} of a VirtualThreadScheduler
+	 * Worker ({@code Executors.newSingleThreadExecutor}).
+	 */
+	@Override
+	public ExecutorService get() {
+		return Executors.newSingleThreadExecutor(factory);
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return shutdown;
+	}
+
+	@Override
+	public void shutdown() {
+		dispose();
+	}
+
+	@Override
+	public void dispose() {
+		if (shutdown) {
+			return;
+		}
+		shutdown = true;
+
+		Schedulers.executorServiceShutdown(direct, Schedulers.VIRTUAL);
+
+		for (ExecutorService exec : all) {
+			if (all.remove(exec)) {
+				Schedulers.executorServiceShutdown(exec, Schedulers.VIRTUAL);
+			}
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		if (shutdown) {
+			return Schedulers.rejected(metrics);
+		}
+
+		Runnable wrapper = () -> {
+			try {
+				task.run();
+			}
+			catch (Throwable ex) {
+				Schedulers.handleError(ex);
+			}
+		};
+		Future<?> f;
+
+		try {
+			f = direct.submit(wrapper);
+		}
+		catch (RejectedExecutionException ex) {
+			return Schedulers.rejected(metrics);
+		}
+		return new ExecutorServiceScheduler.DisposableFuture(f, true);
+	}
+
+	@Override
+	public Worker createWorker() {
+		if (shutdown) {
+			return new VirtualThreadWorker(SHUTDOWN, this);
+		}
+		ExecutorService exec = Schedulers.decorateExecutorService(Schedulers.VIRTUAL, this);
+		all.add(exec);
+		if (shutdown && all.remove(exec)) {
+			exec.shutdownNow();
+		}
+		return new VirtualThreadWorker(exec, this);
+	}
+
+	void release(ExecutorService exec) {
+		if (all.remove(exec)) {
+			exec.shutdown();
+		}
+	}
+
+	static final class VirtualThreadWorker implements Worker {
+
+		final ExecutorService exec;
+
+		final VirtualThreadScheduler parent;
+
+		final ExecutorServiceWorker tasks;
+
+		VirtualThreadWorker(ExecutorService exec, VirtualThreadScheduler parent) {
+			this.exec = exec;
+			this.parent = parent;
+			this.tasks = new ExecutorServiceWorker(exec, false, parent.metrics);
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			return tasks.schedule(task);
+		}
+
+		@Override
+		public void shutdown() {
+			dispose();
+		}
+
+		@Override
+		public void dispose() {
+			if (!tasks.isDisposed()) {
+				tasks.dispose();
+				parent.release(exec);
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+	}
+}
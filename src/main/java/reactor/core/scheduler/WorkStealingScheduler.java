@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.ExecutorScheduler.ExecutorPlainRunnable;
+import reactor.core.scheduler.ExecutorScheduler.ExecutorTrackedRunnable;
+import reactor.core.scheduler.ExecutorScheduler.WorkerDelete;
+import reactor.util.concurrent.OpenHashSet;
+import reactor.util.concurrent.QueueSupplier;
+
+/**
+ * Scheduler that hosts a work-stealing {@link ForkJoinPool} and is suited for parallel
+ * work of uneven cost.
+ * <p>
+ * Each {@link Worker} trampolines its tasks through its own queue, so tasks of a same
+ * worker still run one at a time and in submission order, but the drain of a worker
+ * can run on any thread of the pool, and idle threads steal the pending drains of busy
+ * ones.
+ */
+final class WorkStealingScheduler implements Scheduler, Supplier<ExecutorService> {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	/**
+	 * Maximum number of tasks a worker runs in a row before resubmitting its drain to
+	 * the pool, giving other workers and idle threads a chance to pick it up.
+	 */
+	static final int DRAIN_LIMIT = 256;
+
+	static final ExecutorService SHUTDOWN;
+	static {
+		SHUTDOWN = new ForkJoinPool(1);
+		SHUTDOWN.shutdownNow();
+	}
+
+	final int parallelism;
+
+	final ForkJoinPool.ForkJoinWorkerThreadFactory factory;
+
+	final SchedulerMetrics metrics;
+
+	volatile ExecutorService executor;
+	static final AtomicReferenceFieldUpdater<WorkStealingScheduler, ExecutorService> EXECUTOR =
+			AtomicReferenceFieldUpdater.newUpdater(WorkStealingScheduler.class,
+					ExecutorService.class,
+					"executor");
+
+	WorkStealingScheduler(int parallelism,
+			ForkJoinPool.ForkJoinWorkerThreadFactory factory) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+		}
+		this.parallelism = parallelism;
+		this.factory = factory;
+		this.metrics = Schedulers.schedulerMetrics(Schedulers.WORK_STEALING, this);
+		EXECUTOR.lazySet(this,
+				Schedulers.decorateExecutorService(Schedulers.WORK_STEALING, this));
+	}
+
+	/**
+	 * Instantiates the default {@link ExecutorService} for the WorkStealingScheduler, a
+	 * {@link ForkJoinPool} in async (FIFO) mode.
+	 */
+	@Override
+	public ExecutorService get() {
+		return new ForkJoinPool(parallelism, factory, null, true);
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return executor == SHUTDOWN;
+	}
+
+	@Override
+	public void start() {
+		ExecutorService b = null;
+		for (; ; ) {
+			ExecutorService a = executor;
+			if (a != SHUTDOWN) {
+				if (b != null) {
+					b.shutdownNow();
+				}
+				return;
+			}
+
+			if (b == null) {
+				b = Schedulers.decorateExecutorService(Schedulers.WORK_STEALING, this);
+			}
+
+			if (EXECUTOR.compareAndSet(this, a, b)) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		dispose();
+	}
+
+	@Override
+	public void dispose() {
+		ExecutorService a = executor;
+		if (a != SHUTDOWN) {
+			a = EXECUTOR.getAndSet(this, SHUTDOWN);
+			if (a != SHUTDOWN) {
+				Schedulers.executorServiceShutdown(a, Schedulers.WORK_STEALING);
+			}
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		Objects.requireNonNull(task, "task");
+		ExecutorService exec = executor;
+		if (exec == SHUTDOWN) {
+			return Schedulers.rejected(metrics);
+		}
+		ExecutorPlainRunnable r = new ExecutorPlainRunnable(task);
+		try {
+			exec.execute(r);
+		}
+		catch (RejectedExecutionException ex) {
+			return Schedulers.rejected(metrics);
+		}
+		return r;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new WorkStealingWorker(executor, metrics);
+	}
+
+	/**
+	 * A worker that tracks its tasks and serializes them through an MPSC queue drained
+	 * by a single pool task at a time.
+	 */
+	static final class WorkStealingWorker implements Worker, WorkerDelete, Runnable {
+
+		final ExecutorService exec;
+
+		final SchedulerMetrics metrics;
+
+		final Queue<ExecutorTrackedRunnable> queue;
+
+		OpenHashSet<ExecutorTrackedRunnable> tasks;
+
+		volatile boolean terminated;
+
+		volatile int wip;
+		static final AtomicIntegerFieldUpdater<WorkStealingWorker> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(WorkStealingWorker.class, "wip");
+
+		WorkStealingWorker(ExecutorService exec, SchedulerMetrics metrics) {
+			this.exec = exec;
+			this.metrics = metrics;
+			this.queue = QueueSupplier.<ExecutorTrackedRunnable>mpscUnbounded().get();
+			this.tasks = new OpenHashSet<>();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			Objects.requireNonNull(task, "task");
+			if (terminated) {
+				return Schedulers.rejected(metrics);
+			}
+
+			ExecutorTrackedRunnable r = new ExecutorTrackedRunnable(task, this, true);
+			synchronized (this) {
+				if (terminated) {
+					return Schedulers.rejected(metrics);
+				}
+				tasks.add(r);
+			}
+
+			queue.offer(r);
+
+			if (WIP.getAndIncrement(this) == 0) {
+				try {
+					exec.execute(this);
+				}
+				catch (RejectedExecutionException ex) {
+					// the pool is gone, so is this worker
+					dispose();
+					queue.clear();
+					return Schedulers.rejected(metrics);
+				}
+			}
+
+			return r;
+		}
+
+		@Override
+		public void shutdown() {
+			dispose();
+		}
+
+		@Override
+		public void dispose() {
+			if (terminated) {
+				return;
+			}
+			OpenHashSet<ExecutorTrackedRunnable> set;
+			synchronized (this) {
+				if (terminated) {
+					return;
+				}
+				terminated = true;
+				set = tasks;
+				tasks = null;
+			}
+
+			// pending tasks are skipped, the queue is cleared by the next drain
+			if (!set.isEmpty()) {
+				Object[] a = set.keys();
+				for (Object o : a) {
+					if (o != null) {
+						((ExecutorTrackedRunnable) o).dispose();
+					}
+				}
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return terminated;
+		}
+
+		@Override
+		public void delete(ExecutorTrackedRunnable r) {
+			synchronized (this) {
+				if (!terminated) {
+					tasks.remove(r);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			final Queue<ExecutorTrackedRunnable> q = queue;
+			int missed = 1;
+			int e = 0;
+
+			for (; ; ) {
+				for (; ; ) {
+					if (terminated) {
+						q.clear();
+						return;
+					}
+
+					if (e == DRAIN_LIMIT) {
+						// keep wip non-zero and let the pool reschedule the rest
+						try {
+							exec.execute(this);
+						}
+						catch (RejectedExecutionException ex) {
+							dispose();
+							q.clear();
+						}
+						return;
+					}
+
+					ExecutorTrackedRunnable task = q.poll();
+					if (task == null) {
+						break;
+					}
+
+					task.run();
+					e++;
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * A {@link ForkJoinWorkerThread} that can be named and configured by a
+	 * {@link ForkJoinPool.ForkJoinWorkerThreadFactory}.
+	 */
+	static final class WorkStealingThread extends ForkJoinWorkerThread {
+
+		WorkStealingThread(ForkJoinPool pool) {
+			super(pool);
+		}
+	}
+}
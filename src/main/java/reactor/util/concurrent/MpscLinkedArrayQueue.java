@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An unbounded, array-backed multi-producer, single-consumer queue with a fixed link
+ * size.
+ * <p>
+ * This implementation is based on JCTools' MPSC algorithms: <a
+ * href='https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues/MpscUnboundedArrayQueue.java'>MpscUnboundedArrayQueue</a>
+ * and <a href='https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues/atomic/MpscUnboundedAtomicArrayQueue.java'>MpscUnboundedAtomicArrayQueue</a>.
+ * Indexes move by 2 for each element so that an odd producer index marks a link
+ * being appended: the producer that fails to fit in the current array takes the
+ * resize "lock" by making the index odd, links a new array of the same size and
+ * leaves a {@link #JUMP} marker for the consumer. Like {@link SpscLinkedArrayQueue},
+ * this class is not padded.
+ *
+ * @param <T> the value type
+ */
+final class MpscLinkedArrayQueue<T> extends AbstractQueue<T> {
+
+	static final Object JUMP = new Object();
+
+	volatile long producerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscLinkedArrayQueue> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpscLinkedArrayQueue.class,
+					"producerIndex");
+
+	volatile long producerLimit;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscLinkedArrayQueue> PRODUCER_LIMIT =
+			AtomicLongFieldUpdater.newUpdater(MpscLinkedArrayQueue.class,
+					"producerLimit");
+
+	long                          producerMask;
+	AtomicReferenceArray<Object> producerArray;
+
+	volatile long consumerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscLinkedArrayQueue> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpscLinkedArrayQueue.class,
+					"consumerIndex");
+
+	long                          consumerMask;
+	AtomicReferenceArray<Object> consumerArray;
+
+	MpscLinkedArrayQueue(int linkSize) {
+		int c = QueueSupplier.ceilingNextPowerOfTwo(Math.max(8, linkSize));
+		long m = (long) (c - 1) << 1;
+		this.producerArray = this.consumerArray = new AtomicReferenceArray<>(c + 1);
+		this.producerMask = this.consumerMask = m;
+		this.producerLimit = m;
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e);
+
+		long m;
+		AtomicReferenceArray<Object> a;
+		long pi;
+
+		for (; ; ) {
+			long limit = producerLimit;
+			pi = producerIndex;
+			// an odd index means another producer is linking a new array
+			if ((pi & 1) == 1) {
+				continue;
+			}
+			m = producerMask;
+			a = producerArray;
+
+			if (limit <= pi) {
+				long ci = consumerIndex;
+				if (ci + m > pi) {
+					if (!PRODUCER_LIMIT.compareAndSet(this, limit, ci + m)) {
+						continue;
+					}
+				}
+				else if (PRODUCER_INDEX.compareAndSet(this, pi, pi + 1)) {
+					link(m, a, pi, e);
+					return true;
+				}
+				else {
+					continue;
+				}
+			}
+
+			if (PRODUCER_INDEX.compareAndSet(this, pi, pi + 2)) {
+				break;
+			}
+		}
+
+		a.lazySet(offset(pi, m), e);
+		return true;
+	}
+
+	void link(long m, AtomicReferenceArray<Object> a, long pi, T e) {
+		AtomicReferenceArray<Object> b = new AtomicReferenceArray<>(a.length());
+		producerArray = b;
+
+		int offset = offset(pi, m);
+		b.lazySet(offset, e);
+		a.lazySet(nextOffset(m), b);
+
+		PRODUCER_LIMIT.lazySet(this, pi + m);
+		PRODUCER_INDEX.lazySet(this, pi + 2);
+
+		// the new array is visible to the consumer once the marker is
+		a.lazySet(offset, JUMP);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T poll() {
+		AtomicReferenceArray<Object> a = consumerArray;
+		long ci = consumerIndex;
+		long m = consumerMask;
+
+		int offset = offset(ci, m);
+		Object o = a.get(offset);
+
+		if (o == null) {
+			if (ci == producerIndex) {
+				return null;
+			}
+			// a producer claimed the slot but did not store the value yet
+			do {
+				o = a.get(offset);
+			}
+			while (o == null);
+		}
+
+		if (o == JUMP) {
+			AtomicReferenceArray<Object> b = nextArray(a, m);
+			o = b.get(offset);
+			a = b;
+		}
+
+		a.lazySet(offset, null);
+		CONSUMER_INDEX.lazySet(this, ci + 2);
+		return (T) o;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T peek() {
+		AtomicReferenceArray<Object> a = consumerArray;
+		long ci = consumerIndex;
+		long m = consumerMask;
+
+		int offset = offset(ci, m);
+		Object o = a.get(offset);
+
+		if (o == null && ci != producerIndex) {
+			do {
+				o = a.get(offset);
+			}
+			while (o == null);
+		}
+
+		if (o == JUMP) {
+			return (T) nextArray(a, m).get(offset);
+		}
+		return (T) o;
+	}
+
+	@SuppressWarnings("unchecked")
+	AtomicReferenceArray<Object> nextArray(AtomicReferenceArray<Object> a, long m) {
+		int next = nextOffset(m);
+		AtomicReferenceArray<Object> b = (AtomicReferenceArray<Object>) a.get(next);
+		a.lazySet(next, null);
+		consumerArray = b;
+		return b;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return consumerIndex == producerIndex;
+	}
+
+	@Override
+	public int size() {
+		long ci = consumerIndex;
+		for (; ; ) {
+			long pi = producerIndex;
+			long ci2 = consumerIndex;
+			if (ci == ci2) {
+				return (int) ((pi - ci) >> 1);
+			}
+			ci = ci2;
+		}
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null && !isEmpty()) {
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	static int offset(long index, long mask) {
+		return (int) ((index & mask) >> 1);
+	}
+
+	static int nextOffset(long mask) {
+		return (int) ((mask + 2) >> 1);
+	}
+}
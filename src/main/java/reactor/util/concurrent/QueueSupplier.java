@@ -24,6 +24,8 @@ import java.util.function.Supplier;
 
 /**
  * Provide a 1-producer/1-consumer ready queue adapted for a given capacity.
+ * Multi-producer/1-consumer variants are available via {@link #mpsc(int)} and
+ * {@link #mpscUnbounded()}.
  *
  * @param <T> the queue element type
  */
@@ -86,6 +88,51 @@ public final class QueueSupplier<T> implements Supplier<Queue<T>> {
 		return Integer.bitCount(x) == 1;
 	}
 
+	/**
+	 * Returns a bounded, array-based Queue that supports concurrent offers from
+	 * multiple producers and a single consumer.
+	 *
+	 * @param batchSize the bounded queue size
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return a bounded multi-producer {@link Queue} {@link Supplier}
+	 */
+	public static <T> Supplier<Queue<T>> mpsc(int batchSize) {
+		int capacity = Math.max(8, batchSize);
+		return () -> new MpscArrayQueue<>(capacity);
+	}
+
+	/**
+	 * Returns an unbounded, linked-array-based Queue that supports concurrent offers
+	 * from multiple producers and a single consumer.
+	 *
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return an unbounded multi-producer {@link Queue} {@link Supplier}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Supplier<Queue<T>> mpscUnbounded() {
+		return MPSC_SMALL_UNBOUNDED;
+	}
+
+	/**
+	 * Returns an unbounded, linked-array-based Queue that supports concurrent offers
+	 * from multiple producers and a single consumer. Integer.max sized link will
+	 * return the default {@link #SMALL_BUFFER_SIZE} size.
+	 *
+	 * @param linkSize the link size
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return an unbounded multi-producer {@link Queue} {@link Supplier}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Supplier<Queue<T>> mpscUnbounded(int linkSize) {
+		if (linkSize == XS_BUFFER_SIZE) {
+			return MPSC_XS_UNBOUNDED;
+		}
+		else if (linkSize == Integer.MAX_VALUE || linkSize == SMALL_BUFFER_SIZE) {
+			return mpscUnbounded();
+		}
+		return () -> new MpscLinkedArrayQueue<>(linkSize);
+	}
+
 	/**
 	 *
 	 * @param <T> the reified {@link Queue} generic type
@@ -314,4 +361,10 @@ public final class QueueSupplier<T> implements Supplier<Queue<T>> {
 			() -> new SpscLinkedArrayQueue<>(SMALL_BUFFER_SIZE);
 	@SuppressWarnings("rawtypes")
 	static final Supplier XS_UNBOUNDED = () -> new SpscLinkedArrayQueue<>(XS_BUFFER_SIZE);
+	@SuppressWarnings("rawtypes")
+	static final Supplier MPSC_SMALL_UNBOUNDED =
+			() -> new MpscLinkedArrayQueue<>(SMALL_BUFFER_SIZE);
+	@SuppressWarnings("rawtypes")
+	static final Supplier MPSC_XS_UNBOUNDED =
+			() -> new MpscLinkedArrayQueue<>(XS_BUFFER_SIZE);
 }
@@ -17,6 +17,7 @@ package reactor.util.concurrent;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
@@ -30,6 +31,38 @@ import java.util.function.LongSupplier;
 public abstract class WaitStrategy
 {
 
+    /**
+     * Adaptive strategy that tunes spinning, yielding and parking from the gaps
+     * recently observed between arrivals by each waiting consumer thread.
+     * <p>
+     * A consumer whose recent waits were shorter than 20 microseconds starts spinning,
+     * one whose waits were shorter than 200 microseconds starts yielding and any other
+     * consumer parks right away, backing off up to 1 millisecond. Each phase escalates
+     * to the next once its threshold elapsed, and the time spent in each phase is
+     * exposed by the returned {@link Adaptive} strategy.
+     *
+     * @return the wait strategy
+     */
+    public static Adaptive adaptive() {
+        return adaptive(20_000L, 200_000L, 1_000_000L, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adaptive strategy that tunes spinning, yielding and parking from the gaps
+     * recently observed between arrivals by each waiting consumer thread.
+     *
+     * @param spinThreshold the maximum expected gap for which a consumer spins, and how
+     * long it spins before yielding
+     * @param yieldThreshold the maximum expected gap for which a consumer yields, and
+     * how long it waits before parking
+     * @param maxPark the upper bound of the exponential park back-off
+     * @param units the time unit
+     * @return the wait strategy
+     */
+    public static Adaptive adaptive(long spinThreshold, long yieldThreshold, long maxPark, TimeUnit units) {
+        return new Adaptive(spinThreshold, yieldThreshold, maxPark, units);
+    }
+
     /**
      * Blocking strategy that uses a lock and condition variable for consumer waiting on a barrier.
      *
@@ -236,6 +269,160 @@ public abstract class WaitStrategy
 
     }
 
+    /**
+     * A {@link WaitStrategy} moving between spinning, yielding and parking depending
+     * on the recent inter-arrival gaps observed by each consumer thread, and counting
+     * the time spent in each phase.
+     *
+     * @see #adaptive()
+     */
+    public static final class Adaptive extends WaitStrategy {
+
+        static final int SPIN  = 0;
+        static final int YIELD = 1;
+        static final int PARK  = 2;
+
+        static final long MIN_PARK_NANOS = 1_000L;
+
+        final long spinThresholdNanos;
+        final long yieldThresholdNanos;
+        final long maxParkNanos;
+
+        /**
+         * Exponentially weighted moving average of the waits of the current consumer
+         */
+        final ThreadLocal<long[]> averageGap = ThreadLocal.withInitial(() -> new long[1]);
+
+        final LongAdder waits      = new LongAdder();
+        final LongAdder spinNanos  = new LongAdder();
+        final LongAdder yieldNanos = new LongAdder();
+        final LongAdder parkNanos  = new LongAdder();
+
+        Adaptive(long spinThreshold, long yieldThreshold, long maxPark, TimeUnit units) {
+            if (spinThreshold < 0 || yieldThreshold < spinThreshold || maxPark <= 0) {
+                throw new IllegalArgumentException("0 <= spinThreshold <= yieldThreshold" +
+                        " and maxPark > 0 required but it was " + spinThreshold + ", " +
+                        yieldThreshold + ", " + maxPark);
+            }
+            this.spinThresholdNanos = units.toNanos(spinThreshold);
+            this.yieldThresholdNanos = units.toNanos(yieldThreshold);
+            this.maxParkNanos = Math.max(MIN_PARK_NANOS, units.toNanos(maxPark));
+        }
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, Runnable barrier)
+                throws InterruptedException {
+            long availableSequence;
+            if ((availableSequence = cursor.getAsLong()) >= sequence) {
+                return availableSequence;
+            }
+
+            final long[] gap = averageGap.get();
+            final long expected = gap[0];
+            final long start = System.nanoTime();
+
+            int phase = expected <= spinThresholdNanos ? SPIN :
+                    expected <= yieldThresholdNanos ? YIELD : PARK;
+            long phaseStart = start;
+            long park = MIN_PARK_NANOS;
+            int counter = SPIN_TRIES;
+
+            try {
+                while ((availableSequence = cursor.getAsLong()) < sequence) {
+                    barrier.run();
+
+                    if (phase == SPIN) {
+                        if (--counter == 0) {
+                            counter = SPIN_TRIES;
+                            long now = System.nanoTime();
+                            if (now - start > spinThresholdNanos) {
+                                spinNanos.add(now - phaseStart);
+                                phaseStart = now;
+                                phase = YIELD;
+                            }
+                        }
+                    }
+                    else if (phase == YIELD) {
+                        Thread.yield();
+                        long now = System.nanoTime();
+                        if (now - start > yieldThresholdNanos) {
+                            yieldNanos.add(now - phaseStart);
+                            phaseStart = now;
+                            phase = PARK;
+                        }
+                    }
+                    else {
+                        LockSupport.parkNanos(park);
+                        if (park < maxParkNanos) {
+                            park = Math.min(park << 1, maxParkNanos);
+                        }
+                    }
+                }
+            }
+            finally {
+                long now = System.nanoTime();
+                long elapsed = now - phaseStart;
+                if (phase == SPIN) {
+                    spinNanos.add(elapsed);
+                }
+                else if (phase == YIELD) {
+                    yieldNanos.add(elapsed);
+                }
+                else {
+                    parkNanos.add(elapsed);
+                }
+                gap[0] = expected + ((now - start - expected) >> 2);
+                waits.increment();
+            }
+
+            return availableSequence;
+        }
+
+        /**
+         * @return the number of times a consumer had to wait for a sequence
+         */
+        public long waitCount() {
+            return waits.sum();
+        }
+
+        /**
+         * @return the cumulated time consumers spent spinning, in nanoseconds
+         */
+        public long spinNanos() {
+            return spinNanos.sum();
+        }
+
+        /**
+         * @return the cumulated time consumers spent yielding, in nanoseconds
+         */
+        public long yieldNanos() {
+            return yieldNanos.sum();
+        }
+
+        /**
+         * @return the cumulated time consumers spent parked, in nanoseconds
+         */
+        public long parkNanos() {
+            return parkNanos.sum();
+        }
+
+        /**
+         * @return the average gap expected by the calling consumer thread, in
+         * nanoseconds
+         */
+        public long expectedGapNanos() {
+            return averageGap.get()[0];
+        }
+
+        @Override
+        public String toString() {
+            return "Adaptive{waits=" + waitCount() + ", spinNanos=" + spinNanos() +
+                    ", yieldNanos=" + yieldNanos() + ", parkNanos=" + parkNanos() + "}";
+        }
+
+        static final int SPIN_TRIES = 100;
+    }
+
     final static class Blocking extends WaitStrategy {
 
         private final Lock      lock                     = new ReentrantLock();
@@ -24,6 +24,7 @@ import java.util.logging.Level;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
 import reactor.core.publisher.ConnectableFlux;
 import reactor.core.publisher.EmitterProcessor;
 import reactor.core.publisher.Flux;
@@ -243,6 +244,101 @@ public class HooksTest {
 		throw new IllegalStateException();
 	}
 
+	@Test
+	public void testTraceCallSite() throws Exception {
+		Hooks.onOperator(hooks -> hooks.ifName("map", "filter")
+		                               .operatorCallSite());
+		try {
+			Mono.just(1)
+			    .map(d -> {
+				    throw new RuntimeException();
+			    })
+			    .filter(d -> true)
+			    .doOnNext(d -> System.currentTimeMillis())
+			    .map(d -> d)
+			    .block();
+		}
+		catch(Exception e){
+			String message = e.getSuppressed()[0].getMessage();
+			Assert.assertTrue(message.contains("|_\tMono.map(HooksTest.java:"));
+			Assert.assertTrue(message.contains("|_\tMono.filter(HooksTest.java:"));
+			Assert.assertFalse(message.contains("junit"));
+			return;
+		}
+		finally {
+			Hooks.resetOnOperator();
+		}
+		throw new IllegalStateException();
+	}
+
+	@Test
+	public void testTraceCallSiteSharedPerCallSite() throws Exception {
+		Hooks.onOperator(Hooks.OperatorHook::operatorCallSite);
+		try {
+			String first = null;
+			for (int i = 0; i < 2; i++) {
+				try {
+					Flux.just(1)
+					    .map(d -> {
+						    throw new IllegalStateException();
+					    })
+					    .blockLast();
+					throw new AssertionError("expected an error");
+				}
+				catch (IllegalStateException e) {
+					String message = e.getSuppressed()[0].getMessage();
+					Assert.assertTrue(message.contains("Flux.map(HooksTest.java:"));
+					if (first == null) {
+						first = message;
+					}
+					else {
+						Assert.assertEquals(first, message);
+					}
+				}
+			}
+		}
+		finally {
+			Hooks.resetOnOperator();
+		}
+	}
+
+	/**
+	 * A user {@link Flux} implementation assembling an operator from its own method.
+	 */
+	static final class CustomFlux extends Flux<Integer> {
+
+		@Override
+		public void subscribe(Subscriber<? super Integer> s) {
+			Flux.just(1).subscribe(s);
+		}
+
+		Flux<Integer> failing() {
+			return map(d -> {
+				throw new IllegalStateException();
+			});
+		}
+	}
+
+	@Test
+	public void testTraceCallSiteInUserPublisher() throws Exception {
+		Hooks.onOperator(Hooks.OperatorHook::operatorCallSite);
+		try {
+			new CustomFlux().failing()
+			                .blockLast();
+		}
+		catch (IllegalStateException e) {
+			//user Publisher implementations are user code, reported as the call site
+			String message = e.getSuppressed()[0].getMessage();
+			Assert.assertTrue(message.contains("reactor.core.publisher.Flux.map(Flux.java:"));
+			Assert.assertTrue(message.contains("HooksTest$CustomFlux.failing(HooksTest.java:"));
+			return;
+		}
+		finally {
+			Hooks.resetOnOperator();
+		}
+		throw new IllegalStateException();
+	}
+
 	@Test
 	public void testTrace3() throws Exception {
 		Hooks.onOperator(hooks -> hooks.operatorStacktrace());
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptivePrefetchTest {
+
+	@Test
+	public void growsWhileDrainedUpToMax() {
+		AdaptivePrefetch p = new AdaptivePrefetch(8, 48);
+
+		assertThat(p.initialRequest()).isEqualTo(8);
+		assertThat(p.limit).isEqualTo(6);
+
+		assertThat(p.replenish(6, new ArrayDeque<>())).isEqualTo(14);
+		assertThat(p.prefetch).isEqualTo(16);
+		assertThat(p.limit).isEqualTo(12);
+
+		assertThat(p.replenish(12, null)).isEqualTo(28);
+		assertThat(p.prefetch).isEqualTo(32);
+
+		assertThat(p.replenish(24, null)).isEqualTo(40);
+		assertThat(p.prefetch).isEqualTo(48);
+
+		assertThat(p.replenish(36, null)).isEqualTo(36);
+		assertThat(p.prefetch).isEqualTo(48);
+	}
+
+	@Test
+	public void shrinksWhileProducerIsAhead() {
+		AdaptivePrefetch p = new AdaptivePrefetch(4, 64);
+		p.initialRequest();
+		p.replenish(3, null);
+		p.replenish(6, null);
+		p.replenish(12, null);
+		p.replenish(24, null);
+		assertThat(p.prefetch).isEqualTo(64);
+		assertThat(p.outstanding).isEqualTo(64);
+
+		// all the 16 values still outstanding after consuming 48 have been received
+		Queue<Integer> backlog = new ArrayDeque<>();
+		for (int i = 0; i < 16; i++) {
+			backlog.offer(i);
+		}
+
+		assertThat(p.replenish(48, backlog)).isEqualTo(16);
+		assertThat(p.prefetch).isEqualTo(32);
+		assertThat(p.limit).isEqualTo(24);
+		assertThat(p.outstanding).isEqualTo(32);
+
+		// some values are still in flight: keep the current prefetch
+		Queue<Integer> partial = new ArrayDeque<>();
+		partial.offer(1);
+		assertThat(p.replenish(24, partial)).isEqualTo(24);
+		assertThat(p.prefetch).isEqualTo(32);
+
+		for (int i = 0; i < 16; i++) {
+			backlog.offer(i);
+		}
+		assertThat(p.replenish(24, backlog)).isEqualTo(8);
+		assertThat(p.prefetch).isEqualTo(16);
+		assertThat(p.replenish(12, backlog)).isEqualTo(4);
+		assertThat(p.prefetch).isEqualTo(8);
+		assertThat(p.replenish(6, backlog)).isEqualTo(2);
+		assertThat(p.prefetch).isEqualTo(4);
+		assertThat(p.limit).isEqualTo(3);
+		assertThat(p.outstanding).isEqualTo(4);
+		assertThat(p.replenish(3, backlog)).isEqualTo(3);
+		assertThat(p.prefetch).isEqualTo(4);
+	}
+
+	@Test
+	public void outstandingNeverExceedsPrefetch() {
+		AdaptivePrefetch p = new AdaptivePrefetch(2, 128);
+		long outstanding = p.initialRequest();
+		Queue<Integer> q = new ArrayDeque<>();
+
+		for (int i = 0; i < 100; i++) {
+			long consumed = p.limit;
+			outstanding -= consumed;
+			q.clear();
+			if (i % 3 == 0) {
+				for (int j = 0; j < p.limit; j++) {
+					q.offer(j);
+				}
+			}
+			outstanding += p.replenish(consumed, q);
+
+			assertThat(outstanding).isEqualTo(p.outstanding)
+			                       .isLessThanOrEqualTo(128)
+			                       .isGreaterThanOrEqualTo(p.limit);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failInvertedBounds() {
+		new AdaptivePrefetch(32, 16);
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssemblyCallSiteTest {
+
+	@After
+	public void clearCallSites() {
+		// the interned call sites are shared with every assembly of the test JVM
+		AssemblyCallSite.CALL_SITES.clear();
+	}
+
+	@Test
+	public void sameFramesShareSnapshot() {
+		AssemblyCallSite.Key key = new AssemblyCallSite.Key(Flux.class, "map", 3,
+				AssemblyCallSiteTest.class, "sameFramesShareSnapshot", 12);
+		AssemblyCallSite.Key same = new AssemblyCallSite.Key(Flux.class, "map", 3,
+				AssemblyCallSiteTest.class, "sameFramesShareSnapshot", 12);
+
+		AssemblyCallSite snapshot = AssemblyCallSite.intern(key, "\tcallSite\n");
+
+		assertThat(AssemblyCallSite.intern(same, "\tcallSite\n")).isSameAs(snapshot);
+	}
+
+	@Test
+	public void internedCallSitesAreBounded() {
+		for (int i = 0; i < AssemblyCallSite.MAX_CALL_SITES + 100; i++) {
+			AssemblyCallSite.Key key = new AssemblyCallSite.Key(null, null, -1,
+					AssemblyCallSiteTest.class, "internedCallSitesAreBounded", i);
+			assertThat(AssemblyCallSite.intern(key, "\tcallSite " + i + "\n").callSite)
+					.isEqualTo("\tcallSite " + i + "\n");
+		}
+
+		assertThat(AssemblyCallSite.CALL_SITES).hasSize(AssemblyCallSite.MAX_CALL_SITES);
+	}
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FluxBatchedTest {
+
+	static final class RecordingSubscriber<T> implements BatchSubscriber<T> {
+
+		final List<Integer> sizes  = new ArrayList<>();
+		final List<T>       values = new ArrayList<>();
+		final long request;
+
+		Throwable error;
+		boolean   completed;
+
+		RecordingSubscriber(long request) {
+			this.request = request;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(request);
+		}
+
+		@Override
+		public void onNextBatch(List<? extends T> batch) {
+			sizes.add(batch.size());
+			values.addAll(batch);
+		}
+
+		@Override
+		public void onNext(T t) {
+			sizes.add(1);
+			values.add(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			error = t;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failNegativeBatchSize() {
+		Flux.range(1, 10)
+		    .batched(0);
+	}
+
+	@Test
+	public void syncSourceDeliversRuns() {
+		RecordingSubscriber<Integer> rs = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+		Flux.range(1, 100)
+		    .batched(32)
+		    .subscribe(rs);
+
+		assertThat(rs.sizes).containsExactly(32, 32, 32, 4);
+		assertThat(rs.values).hasSize(100)
+		                     .startsWith(1, 2, 3)
+		                     .endsWith(100);
+		assertThat(rs.completed).isTrue();
+	}
+
+	@Test
+	public void runsAreBoundedByDemand() {
+		RecordingSubscriber<Integer> rs = new RecordingSubscriber<>(10);
+
+		Flux.range(1, 100)
+		    .batched(32)
+		    .subscribe(rs);
+
+		assertThat(rs.sizes).containsExactly(10);
+		assertThat(rs.completed).isFalse();
+	}
+
+	@Test
+	public void mapKeepsRuns() {
+		RecordingSubscriber<String> rs = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+		Flux.range(1, 10)
+		    .batched(4)
+		    .map(String::valueOf)
+		    .subscribe(rs);
+
+		assertThat(rs.sizes).containsExactly(4, 4, 2);
+		assertThat(rs.values).containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+		assertThat(rs.completed).isTrue();
+	}
+
+	@Test
+	public void filterKeepsRunsAndReplenishes() {
+		RecordingSubscriber<Integer> rs = new RecordingSubscriber<>(10);
+
+		Flux.range(1, 100)
+		    .batched(10)
+		    .filter(v -> v % 2 == 0)
+		    .subscribe(rs);
+
+		assertThat(rs.values).containsExactly(2, 4, 6, 8, 10, 12, 14, 16, 18, 20);
+		assertThat(rs.sizes).containsExactly(5, 2, 2, 1);
+		assertThat(rs.completed).isFalse();
+	}
+
+	@Test
+	public void mapFilterNormal() {
+		StepVerifier.create(Flux.range(1, 1000)
+		                        .batched(64)
+		                        .map(v -> v * 2)
+		                        .filter(v -> v % 3 == 0)
+		                        .count())
+		            .expectNext(333L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void backpressured() {
+		StepVerifier.create(Flux.range(1, 10)
+		                        .batched(4), 0)
+		            .thenRequest(3)
+		            .expectNext(1, 2, 3)
+		            .thenRequest(7)
+		            .expectNext(4, 5, 6, 7, 8, 9, 10)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void mapperErrorDeliversHeadOfRun() {
+		StepVerifier.create(Flux.range(1, 10)
+		                        .batched(10)
+		                        .map(v -> {
+			                        if (v == 5) {
+				                        throw new IllegalStateException("boom");
+			                        }
+			                        return v;
+		                        }))
+		            .expectNext(1, 2, 3, 4)
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void asyncSource() {
+		UnicastProcessor<Integer> up = UnicastProcessor.create();
+		RecordingSubscriber<Integer> rs = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+		up.batched(8)
+		  .subscribe(rs);
+
+		for (int i = 1; i <= 20; i++) {
+			up.onNext(i);
+		}
+		up.onComplete();
+
+		assertThat(rs.values).hasSize(20);
+		assertThat(rs.completed).isTrue();
+	}
+
+	@Test
+	public void asyncSourceError() {
+		UnicastProcessor<Integer> up = UnicastProcessor.create();
+
+		StepVerifier.create(up.batched(8))
+		            .then(() -> {
+			            up.onNext(1);
+			            up.onError(new IllegalStateException("boom"));
+		            })
+		            .expectNext(1)
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void nonFuseableSourceIsRelayed() {
+		RecordingSubscriber<Integer> rs = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+		Flux.range(1, 5)
+		    .hide()
+		    .batched(4)
+		    .subscribe(rs);
+
+		assertThat(rs.sizes).containsExactly(1, 1, 1, 1, 1);
+		assertThat(rs.completed).isTrue();
+	}
+
+	@Test
+	public void publishOn() {
+		Scheduler s = Schedulers.newSingle("test-batched");
+		try {
+			StepVerifier.create(Flux.range(1, 100_000)
+			                        .batched(256)
+			                        .publishOn(s)
+			                        .map(v -> v + 1)
+			                        .count())
+			            .expectNext(100_000L)
+			            .verifyComplete();
+
+			StepVerifier.create(Flux.range(1, 1000)
+			                        .batched(256)
+			                        .filter(v -> v % 2 == 0)
+			                        .publishOn(s, 32)
+			                        .filter(v -> v % 4 == 0))
+			            .expectNextCount(250)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+}
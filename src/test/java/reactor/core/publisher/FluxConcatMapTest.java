@@ -16,8 +16,10 @@
 
 package reactor.core.publisher;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -26,6 +28,8 @@ import reactor.test.StepVerifier;
 import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.concurrent.QueueSupplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class FluxConcatMapTest extends AbstractFluxOperatorTest<String, String> {
 
 	@Override
@@ -717,4 +721,28 @@ public class FluxConcatMapTest extends AbstractFluxOperatorTest<String, String>
 		            .verifyErrorMessage("test");
 	}
 
+	@Test
+	public void adaptivePrefetchGrowsWhileInnersKeepUp() {
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		List<Long> requests = new ArrayList<>();
+		AtomicLong requested = new AtomicLong();
+		AssertSubscriber<Integer> ts = AssertSubscriber.create();
+
+		source.doOnRequest(r -> {
+			requests.add(r);
+			requested.addAndGet(r);
+		})
+		      .concatMap(Flux::just, 4, 32)
+		      .subscribe(ts);
+
+		for (int i = 0; i < 1000 && i < requested.get(); i++) {
+			source.onNext(i);
+		}
+		source.onComplete();
+
+		ts.assertValueCount(1000)
+		  .assertComplete();
+		assertThat(requests).startsWith(4L, 7L, 14L, 28L, 24L)
+		                    .allMatch(r -> r <= 32L);
+	}
 }
@@ -15,6 +15,10 @@
  */
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -315,6 +319,36 @@ public class FluxCreateTest {
 		}
 	}
 
+	@Test
+	public void fluxCreateBufferedConcurrent() throws Exception {
+		int producers = 4;
+		int count = 10_000;
+		CountDownLatch latch = new CountDownLatch(producers);
+
+		Flux<Integer> created = Flux.create(s -> {
+			assertThat(s.serialize()).isSameAs(s);
+			for (int i = 0; i < producers; i++) {
+				new Thread(() -> {
+					for (int j = 0; j < count; j++) {
+						s.next(j);
+					}
+					latch.countDown();
+				}).start();
+			}
+			try {
+				latch.await();
+			}
+			catch (InterruptedException e) {
+				Assert.fail();
+			}
+			s.complete();
+		});
+
+		StepVerifier.create(created.count())
+		            .expectNext((long) producers * count)
+		            .verifyComplete();
+	}
+
 	@Test
 	public void fluxCreateLatest() {
 		Flux<String> created = Flux.create(s -> {
@@ -723,4 +757,99 @@ public class FluxCreateTest {
 			);
 		}
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void fluxCreateBufferedNextAll() {
+		Flux<String> created = Flux.create(s -> {
+			s.nextAll(Arrays.asList("test1", "test2", "test3"));
+			s.complete();
+		}, FluxSink.OverflowStrategy.BUFFER);
+
+		StepVerifier.create(created, 1)
+		            .expectNext("test1")
+		            .thenRequest(2)
+		            .expectNext("test2", "test3")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void fluxCreateBufferedNextAllWithNullQueuesNothing() {
+		Flux<String> created = Flux.create(s -> {
+			try {
+				s.nextAll(Arrays.asList("test1", null, "test2"));
+			}
+			catch (NullPointerException e) {
+				s.next("test3");
+				s.complete();
+			}
+		}, FluxSink.OverflowStrategy.BUFFER);
+
+		StepVerifier.create(created)
+		            .expectNext("test3")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void fluxCreateBufferedErrorRacingCompleteIsNeverLost()
+			throws InterruptedException {
+		Exception boom = new Exception("boom");
+		AtomicReference<Throwable> dropped = new AtomicReference<>();
+		Hooks.onErrorDropped(dropped::set);
+		try {
+			for (int i = 0; i < 5000; i++) {
+				dropped.set(null);
+				AtomicReference<FluxSink<String>> sink = new AtomicReference<>();
+				AssertSubscriber<String> ts =
+						Flux.create(sink::set, FluxSink.OverflowStrategy.BUFFER)
+						    .subscribeWith(AssertSubscriber.create());
+
+				Thread t = new Thread(() -> sink.get().error(boom));
+				t.start();
+				sink.get().complete();
+				t.join();
+
+				if (dropped.get() == boom) {
+					ts.assertComplete();
+				}
+				else {
+					ts.assertErrorMessage("boom");
+				}
+			}
+		}
+		finally {
+			Hooks.resetOnErrorDropped();
+		}
+	}
+
+	@Test
+	public void fluxCreateSerializedNextAll() {
+		Flux<String> created = Flux.create(s -> {
+			s.next("test1");
+			s.nextAll(Arrays.asList("test2", "test3"));
+			s.complete();
+		});
+
+		StepVerifier.create(created)
+		            .expectNext("test1", "test2", "test3")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void fluxCreateIgnoreNextAllIntoTopicProcessor() {
+		TopicProcessor<Integer> processor = TopicProcessor.create("nextAll", 4);
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			values.add(i);
+		}
+
+		StepVerifier.create(processor)
+		            .then(() -> Flux.<Integer>create(s -> {
+			            s.nextAll(values);
+			            s.complete();
+		            }, FluxSink.OverflowStrategy.IGNORE)
+		                            .subscribe(processor))
+		            .expectNext(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
+}
@@ -16,14 +16,21 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import reactor.core.Fuseable;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
 import reactor.test.subscriber.AssertSubscriber;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class FluxDistinctTest extends AbstractFluxOperatorTest<String, String> {
 
 	@Override
@@ -69,7 +76,8 @@ public class FluxDistinctTest extends AbstractFluxOperatorTest<String, String> {
 
 	@Test(expected = NullPointerException.class)
 	public void sourceNull() {
-		new FluxDistinct<>(null, k -> k, HashSet::new);
+		new FluxDistinct<Integer, Integer, Set<Integer>>(null, k -> k, HashSet::new,
+				Set::add, Set::clear);
 	}
 
 	@Test(expected = NullPointerException.class)
@@ -79,7 +87,8 @@ public class FluxDistinctTest extends AbstractFluxOperatorTest<String, String> {
 
 	@Test(expected = NullPointerException.class)
 	public void collectionSupplierNull() {
-		new FluxDistinct<>(Flux.never(), k -> k, null);
+		new FluxDistinct<Integer, Integer, Set<Integer>>(Flux.never(), k -> k, null,
+				Set::add, Set::clear);
 	}
 
 	@Test
@@ -331,9 +340,9 @@ public class FluxDistinctTest extends AbstractFluxOperatorTest<String, String> {
 	public void collectionSupplierThrows() {
 		AssertSubscriber<Integer> ts = AssertSubscriber.create();
 
-		new FluxDistinct<>(Flux.range(1, 10), k -> k, () -> {
+		new FluxDistinct<Integer, Integer, Set<Integer>>(Flux.range(1, 10), k -> k, () -> {
 			throw new RuntimeException("forced failure");
-		}).subscribe(ts);
+		}, Set::add, Set::clear).subscribe(ts);
 
 		ts.assertNoValues()
 		  .assertNotComplete()
@@ -345,10 +354,117 @@ public class FluxDistinctTest extends AbstractFluxOperatorTest<String, String> {
 	public void collectionSupplierReturnsNull() {
 		AssertSubscriber<Integer> ts = AssertSubscriber.create();
 
-		new FluxDistinct<>(Flux.range(1, 10), k -> k, () -> null).subscribe(ts);
+		new FluxDistinct<Integer, Integer, Set<Integer>>(Flux.range(1, 10), k -> k,
+				() -> null, Set::add, Set::clear).subscribe(ts);
 
 		ts.assertNoValues()
 		  .assertNotComplete()
 		  .assertError(NullPointerException.class);
 	}
+
+	@Test
+	public void lruForgetsLeastRecentlySeenKeys() {
+		StepVerifier.create(Flux.just(1, 2, 1, 3, 2, 1, 3, 4, 2)
+		                        .distinct(k -> k, 2))
+		            // 2 is evicted by 3 as 1 was seen again, 1 by 2, 3 by 4
+		            .expectNext(1, 2, 3, 2, 1, 3, 4, 2)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void lruBoundsRetainedKeys() {
+		LruKeyStore<Integer> keys = new LruKeyStore<>(100);
+		for (int i = 0; i < 10_000; i++) {
+			keys.add(i);
+		}
+		assertThat(keys.keys).hasSize(100)
+		                     .containsKey(9_999)
+		                     .doesNotContainKey(0);
+	}
+
+	@Test
+	public void customKeyStoreIsClearedOnComplete() {
+		Set<Integer> seen = new HashSet<>();
+		AtomicInteger cleared = new AtomicInteger();
+		KeyStore<Integer> store = new KeyStore<Integer>() {
+			@Override
+			public boolean add(Integer key) {
+				return seen.add(key % 3);
+			}
+
+			@Override
+			public void clear() {
+				cleared.incrementAndGet();
+				seen.clear();
+			}
+		};
+
+		StepVerifier.create(Flux.range(1, 10)
+		                        .distinct(k -> k, () -> store))
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+
+		assertThat(cleared.get()).isEqualTo(1);
+		assertThat(seen).isEmpty();
+	}
+
+	@Test
+	public void expiringKeysAreEmittedAgainAfterTtl() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		DirectProcessor<String> source = DirectProcessor.create();
+
+		StepVerifier.create(source.distinct(k -> k, Duration.ofSeconds(10), vts))
+		            .then(() -> source.onNext("a"))
+		            .then(() -> vts.advanceTimeBy(Duration.ofSeconds(5)))
+		            .then(() -> source.onNext("a"))
+		            .then(() -> source.onNext("b"))
+		            .then(() -> vts.advanceTimeBy(Duration.ofSeconds(5)))
+		            .then(() -> source.onNext("a"))
+		            .then(() -> source.onNext("b"))
+		            .then(() -> source.onComplete())
+		            .expectNext("a", "b", "a")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void approximateDropsDuplicateHashes() {
+		StepVerifier.create(Flux.range(0, 1000)
+		                        .map(i -> i % 100)
+		                        .distinctApproximate(i -> i, 100, 0.0001))
+		            .expectNextCount(100)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void approximateFalsePositiveRateWithinBounds() {
+		BloomKeyStore<Long> filter = new BloomKeyStore<>(l -> l, 100_000, 0.01);
+		for (long i = 0; i < 100_000; i++) {
+			filter.add(i);
+		}
+		int falsePositives = 0;
+		for (long i = 100_000; i < 200_000; i++) {
+			if (filter.mightContain(i)) {
+				falsePositives++;
+			}
+		}
+		// 1% expected
+		assertThat(falsePositives).isLessThan(1_500);
+		// about 9.6 bits per key
+		assertThat(filter.bits.length).isLessThan(100_000 * 10 / 64 + 1);
+	}
+
+	@Test
+	public void approximateKeyStoreToStringDoesNotIterate() {
+		BloomKeyStore<Long> filter = new BloomKeyStore<>(l -> l, 100, 0.01);
+		filter.add(1L);
+		filter.add(2L);
+
+		assertThat(filter.toString()).startsWith("BloomKeyStore{size=2, bitCount=")
+		                             .contains("hashCount=");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void approximateRejectsInvalidRate() {
+		Flux.just(1).distinctApproximate(i -> i, 10, 1d);
+	}
 }
@@ -982,6 +982,27 @@ public class FluxFlatMapTest {
 		assertThat(s.isCancelled()).isFalse();
 	}
 
+	@Test
+	public void cancelDuringLargeSynchronousInner() {
+		AtomicInteger produced = new AtomicInteger();
+		AtomicInteger delivered = new AtomicInteger();
+
+		StepVerifier.create(Flux.just(1)
+		                        .hide()
+		                        .flatMap(v -> Flux.range(1, 1_000_000)
+		                                          .doOnNext(i -> produced.incrementAndGet())
+		                                          .hide())
+		                        .doOnNext(i -> delivered.incrementAndGet())
+		                        .take(10))
+		            .expectNextCount(10)
+		            .verifyComplete();
+
+		// the inner is tracked while it emits synchronously so cancelling the main
+		// stops it right away
+		assertThat(delivered.get()).isEqualTo(10);
+		assertThat(produced.get()).isEqualTo(10);
+	}
+
 	@Test
 	public void assertOnSubscribeStateMainAndInner() {
 		StepVerifier.create(Flux.from(s -> {
@@ -1205,4 +1226,62 @@ public class FluxFlatMapTest {
 		            .thenCancel()
 		            .verify();
 	}
+
+	@Test
+	public void adaptivePrefetchGrowsWhileInnerIsDrained() {
+		List<Long> requests = new ArrayList<>();
+
+		StepVerifier.create(Flux.just(1)
+		                        .hide()
+		                        .flatMap(v -> Flux.range(1, 1000)
+		                                          .hide()
+		                                          .doOnRequest(requests::add), 1, 8, 64))
+		            .expectNextCount(1000)
+		            .verifyComplete();
+
+		assertThat(requests).startsWith(8L, 14L, 28L, 56L, 48L)
+		                    .allMatch(r -> r <= 64L);
+	}
+
+	@Test
+	public void synchronousInnersReplenishMainLikeScalars() {
+		List<Long> requests = new ArrayList<>();
+
+		StepVerifier.create(Flux.range(1, 5000)
+		                        .hide()
+		                        .doOnRequest(requests::add)
+		                        .flatMap(v -> Flux.range(v, 2).hide(), 1000))
+		            .expectNextCount(10_000)
+		            .verifyComplete();
+
+		assertThat(requests).startsWith(1000L, 750L);
+	}
+
+	@Test
+	public void highConcurrencyInnerQueuesGrowWithBacklog() {
+		AssertSubscriber<Integer> ts = AssertSubscriber.create(0);
+
+		Flux.range(1, 2000)
+		    .flatMap(v -> Flux.range(1, 100).hide(), 2000, 64)
+		    .subscribe(ts);
+
+		ts.assertNoValues();
+
+		ts.request(10);
+		ts.assertValueCount(10)
+		  .assertNotComplete();
+
+		ts.request(Long.MAX_VALUE);
+		ts.assertValueCount(200_000)
+		  .assertNoError()
+		  .assertComplete();
+	}
+
+	@Test
+	public void highConcurrencyUsesLazilySizedQueues() {
+		assertThat(FluxFlatMap.innerQueueSupplierFor(2000, 64).get())
+				.isNotInstanceOf(QueueSupplier.get(64).get().getClass());
+		assertThat(FluxFlatMap.innerQueueSupplierFor(256, 64).get())
+				.isInstanceOf(QueueSupplier.get(64).get().getClass());
+	}
 }
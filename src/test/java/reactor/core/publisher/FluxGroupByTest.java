@@ -17,9 +17,11 @@
 package reactor.core.publisher;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Assert;
@@ -29,6 +31,7 @@ import org.reactivestreams.Subscription;
 import reactor.core.Fuseable;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
 import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.concurrent.QueueSupplier;
 
@@ -838,4 +841,109 @@ public class FluxGroupByTest extends AbstractFluxOperatorTest<String, GroupedFlu
 		assertThat(initialRequest.get()).isEqualTo(Long.MAX_VALUE);
 	}
 
+	@Test
+	public void maxGroupsCompletesLeastRecentlyUsedGroup() {
+		List<String> groups = Flux.just(1, 2, 3, 2, 1, 4)
+		                          .groupBy(i -> i, i -> i, 2, null)
+		                          .flatMap(g -> g.collectList()
+		                                         .map(l -> g.key() + ":" + l))
+		                          .collectList()
+		                          .block();
+
+		assertThat(groups).startsWith("1:[1]", "3:[3]")
+		                  .containsExactlyInAnyOrder("1:[1]", "3:[3]", "2:[2, 2]", "1:[1]", "4:[4]");
+	}
+
+	@Test
+	public void idleGroupsAreCompleted() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		DirectProcessor<String> source = DirectProcessor.create();
+		List<AssertSubscriber<String>> groups = new ArrayList<>();
+
+		AssertSubscriber<GroupedFlux<String, String>> ts = AssertSubscriber.create();
+		source.groupBy(s -> s, s -> s, Integer.MAX_VALUE, Duration.ofSeconds(1), vts)
+		      .doOnNext(g -> {
+			      AssertSubscriber<String> gs = AssertSubscriber.create();
+			      groups.add(gs);
+			      g.subscribe(gs);
+		      })
+		      .subscribe(ts);
+
+		source.onNext("a");
+		vts.advanceTimeBy(Duration.ofMillis(500));
+		source.onNext("b");
+		vts.advanceTimeBy(Duration.ofMillis(500));
+
+		groups.get(0).assertValues("a").assertComplete();
+		groups.get(1).assertValues("b").assertNotComplete();
+
+		source.onNext("b");
+		vts.advanceTimeBy(Duration.ofMillis(500));
+		groups.get(1).assertValues("b", "b").assertNotComplete();
+
+		source.onNext("a");
+		assertThat(groups).hasSize(3);
+		groups.get(2).assertValues("a").assertNotComplete();
+
+		vts.advanceTimeBy(Duration.ofMillis(2000));
+		groups.get(1).assertComplete();
+		groups.get(2).assertComplete();
+
+		ts.assertValueCount(3)
+		  .assertNotComplete();
+		assertThat(source.hasDownstreams()).isTrue();
+
+		source.onComplete();
+		ts.assertComplete();
+	}
+
+	@Test
+	public void idleEvictionDoesNotWaitForGroupDownstream() throws Exception {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		DirectProcessor<String> source = DirectProcessor.create();
+		AssertSubscriber<String> group = AssertSubscriber.create();
+		AtomicBoolean evictionReturned = new AtomicBoolean();
+
+		// the second value reaches the group downstream synchronously, which then
+		// waits for an idle check running on another thread
+		Runnable idleCheck = () -> {
+			Thread t = new Thread(() -> vts.advanceTimeBy(Duration.ofSeconds(2)));
+			t.start();
+			try {
+				t.join(5000);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			evictionReturned.set(!t.isAlive());
+		};
+
+		source.groupBy(s -> s, s -> s, Integer.MAX_VALUE, Duration.ofSeconds(1), vts)
+		      .subscribe(g -> g.skip(1)
+		                       .doOnNext(v -> idleCheck.run())
+		                       .subscribe(group));
+
+		source.onNext("a");
+		source.onNext("a");
+
+		assertThat(evictionReturned.get()).isTrue();
+		group.assertValues("a")
+		     .assertComplete();
+	}
+
+	@Test
+	public void boundedGroupsCancelledByDownstreamAreForgotten() {
+		StepVerifier.create(Flux.range(1, 10)
+		                        .groupBy(i -> i % 3, i -> i, 2, Duration.ofMinutes(1))
+		                        .flatMap(g -> g.take(1)))
+		            .expectNextCount(10)
+		            .verifyComplete();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void failNonPositiveMaxGroups() {
+		Flux.never()
+		    .groupBy(v -> v, v -> v, 0, null);
+	}
+
 }
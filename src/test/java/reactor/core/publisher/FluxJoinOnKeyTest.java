@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.Test;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.test.subscriber.AssertSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FluxJoinOnKeyTest {
+
+	final Function<String, Character> key = s -> s.charAt(0);
+
+	final BiFunction<String, String, String> concat = (l, r) -> l + "+" + r;
+
+	@Test
+	public void matchesByKey() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+
+		DirectProcessor<String> left = DirectProcessor.create();
+		DirectProcessor<String> right = DirectProcessor.create();
+
+		left.joinOnKey(right, key, key, Duration.ofSeconds(1), vts, concat)
+		    .subscribe(ts);
+
+		left.onNext("a1");
+		left.onNext("b1");
+		left.onNext("a2");
+
+		right.onNext("a3");
+		right.onNext("c3");
+		right.onNext("b3");
+
+		left.onNext("b4");
+
+		ts.assertValues("a1+a3", "a2+a3", "b1+b3", "b4+b3")
+		  .assertNotComplete();
+
+		left.onComplete();
+		ts.assertNotComplete();
+		right.onComplete();
+
+		ts.assertComplete()
+		  .assertNoError();
+	}
+
+	@Test
+	public void valuesExpireAfterWindow() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+
+		DirectProcessor<String> left = DirectProcessor.create();
+		DirectProcessor<String> right = DirectProcessor.create();
+
+		left.joinOnKey(right, key, key, Duration.ofSeconds(1), vts, concat)
+		    .subscribe(ts);
+
+		left.onNext("a1");
+		vts.advanceTimeBy(Duration.ofMillis(600));
+		left.onNext("a2");
+		vts.advanceTimeBy(Duration.ofMillis(400));
+		right.onNext("a3");
+
+		ts.assertValues("a2+a3");
+
+		vts.advanceTimeBy(Duration.ofMillis(1000));
+		left.onNext("a4");
+
+		ts.assertValues("a2+a3")
+		  .assertNoError();
+	}
+
+	@Test
+	public void keySelectorThrows() {
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+
+		DirectProcessor<String> left = DirectProcessor.create();
+		DirectProcessor<String> right = DirectProcessor.create();
+
+		left.joinOnKey(right, key, s -> {
+			throw new IllegalStateException("boom");
+		}, Duration.ofSeconds(1), concat)
+		    .subscribe(ts);
+
+		left.onNext("a1");
+		right.onNext("a2");
+
+		ts.assertNoValues()
+		  .assertError(IllegalStateException.class)
+		  .assertErrorMessage("boom");
+
+		assertThat(left.hasDownstreams()).isFalse();
+		assertThat(right.hasDownstreams()).isFalse();
+	}
+
+	@Test
+	public void lackOfRequestsFails() {
+		AssertSubscriber<String> ts = AssertSubscriber.create(1);
+
+		DirectProcessor<String> left = DirectProcessor.create();
+		DirectProcessor<String> right = DirectProcessor.create();
+
+		left.joinOnKey(right, key, key, Duration.ofSeconds(1), concat)
+		    .subscribe(ts);
+
+		left.onNext("a1");
+		left.onNext("a2");
+		right.onNext("a3");
+
+		ts.assertValues("a1+a3")
+		  .assertError();
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FluxMetricsTest {
+
+	List<SequenceMetrics> registered;
+
+	@Before
+	public void installRegistry() {
+		registered = new ArrayList<>();
+		Hooks.onMetrics(registered::add);
+	}
+
+	@After
+	public void resetRegistry() {
+		Hooks.resetOnMetrics();
+	}
+
+	@Test
+	public void noRegistryReturnsSameInstance() {
+		Hooks.resetOnMetrics();
+		Flux<Integer> flux = Flux.range(1, 10);
+		Mono<Integer> mono = Mono.just(1);
+
+		assertThat(flux.metrics("range")).isSameAs(flux);
+		assertThat(mono.metrics("just")).isSameAs(mono);
+	}
+
+	@Test
+	public void registeredOncePerName() {
+		Flux.range(1, 10).metrics("range");
+		Flux.range(1, 10).metrics("range");
+		Flux.just(1).metrics("just");
+
+		assertThat(registered).extracting(SequenceMetrics::name)
+		                      .containsExactly("range", "just");
+	}
+
+	@Test
+	public void recordsCompletion() {
+		Flux<Integer> flux = Flux.range(1, 10).metrics("range");
+
+		StepVerifier.create(flux)
+		            .expectNextCount(10)
+		            .verifyComplete();
+		StepVerifier.create(flux, 3)
+		            .expectNextCount(3)
+		            .thenRequest(7)
+		            .expectNextCount(7)
+		            .verifyComplete();
+
+		SequenceMetrics m = registered.get(0);
+		assertThat(m.subscribed()).isEqualTo(2);
+		assertThat(m.onNextCount()).isEqualTo(20);
+		assertThat(m.unboundedRequestCount()).isEqualTo(1);
+		assertThat(m.requestedCount()).isEqualTo(10);
+		assertThat(m.completedCount()).isEqualTo(2);
+		assertThat(m.erroredCount()).isZero();
+		assertThat(m.cancelledCount()).isZero();
+		assertThat(m.subscriptionLatencyNanos()).isGreaterThanOrEqualTo(0);
+		assertThat(m.terminationTimeNanos()).isGreaterThan(0);
+	}
+
+	@Test
+	public void recordsError() {
+		StepVerifier.create(Flux.<Integer>error(new IllegalStateException("boom")).metrics("error"))
+		            .verifyErrorMessage("boom");
+
+		SequenceMetrics m = registered.get(0);
+		assertThat(m.erroredCount()).isEqualTo(1);
+		assertThat(m.completedCount()).isZero();
+		assertThat(m.onNextCount()).isZero();
+	}
+
+	@Test
+	public void recordsCancel() {
+		StepVerifier.create(Flux.range(1, 10).metrics("range").take(3))
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+
+		SequenceMetrics m = registered.get(0);
+		assertThat(m.cancelledCount()).isEqualTo(1);
+		assertThat(m.onNextCount()).isEqualTo(3);
+		assertThat(m.completedCount()).isZero();
+	}
+
+	@Test
+	public void samplesUpstreamPending() {
+		Flux<Integer> flux = Flux.range(1, 100)
+		                         .publishOn(Schedulers.single(), 32)
+		                         .metrics("publishOn");
+
+		StepVerifier.create(flux, 0)
+		            .thenRequest(10)
+		            .expectNextCount(10)
+		            .thenRequest(90)
+		            .expectNextCount(90)
+		            .verifyComplete();
+
+		assertThat(registered.get(0).averagePending()).isGreaterThanOrEqualTo(0d);
+	}
+
+	@Test
+	public void noPendingSampleWithoutTrackableUpstream() {
+		StepVerifier.create(Flux.just(1).hide().metrics("hide"))
+		            .expectNext(1)
+		            .verifyComplete();
+
+		assertThat(registered.get(0).averagePending()).isEqualTo(-1d);
+	}
+
+	@Test
+	public void monoMetrics() {
+		StepVerifier.create(Mono.just(1).metrics("just"))
+		            .expectNext(1)
+		            .verifyComplete();
+
+		SequenceMetrics m = registered.get(0);
+		assertThat(m.subscribed()).isEqualTo(1);
+		assertThat(m.onNextCount()).isEqualTo(1);
+		assertThat(m.completedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void resetClearsNames() {
+		Flux.range(1, 10).metrics("range");
+		Hooks.resetOnMetrics();
+		Hooks.onMetrics(registered::add);
+		Flux.range(1, 10).metrics("range");
+
+		assertThat(registered).hasSize(2);
+		assertThat(registered.get(0)).isNotSameAs(registered.get(1));
+	}
+}
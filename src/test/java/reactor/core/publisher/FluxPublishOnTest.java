@@ -17,6 +17,7 @@
 package reactor.core.publisher;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +32,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.hamcrest.CoreMatchers;
@@ -49,6 +51,7 @@ import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.concurrent.QueueSupplier;
 
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.lessThan;
@@ -1316,4 +1319,51 @@ public class FluxPublishOnTest extends AbstractFluxOperatorTest<String, String>
 			throw exception();
 		}
 	}
+
+	@Test
+	public void adaptivePrefetchGrowsWhileConsumerKeepsUp() {
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		List<Long> requests = new ArrayList<>();
+		AtomicLong requested = new AtomicLong();
+		AssertSubscriber<Integer> ts = AssertSubscriber.create();
+
+		source.doOnRequest(r -> {
+			requests.add(r);
+			requested.addAndGet(r);
+		})
+		      .publishOn(Schedulers.immediate(), 8, 64)
+		      .subscribe(ts);
+
+		for (int i = 0; i < 1000 && i < requested.get(); i++) {
+			source.onNext(i);
+		}
+		source.onComplete();
+
+		ts.assertValueCount(1000)
+		  .assertComplete();
+		assertThat(requests).startsWith(8L, 14L, 28L, 56L, 48L)
+		                    .allMatch(r -> r <= 64L);
+	}
+
+	@Test
+	public void adaptivePrefetchStaysLowWhileProducerIsAhead() {
+		List<Long> requests = new ArrayList<>();
+		AssertSubscriber<Integer> ts = AssertSubscriber.create(0);
+
+		Flux.range(0, 1000)
+		    .hide()
+		    .doOnRequest(requests::add)
+		    .publishOn(Schedulers.immediate(), 8, 64)
+		    .subscribe(ts);
+
+		for (int i = 0; i < 200; i++) {
+			ts.request(5);
+		}
+
+		ts.assertValueCount(1000)
+		  .assertComplete();
+		assertThat(requests).startsWith(8L, 6L, 6L)
+		                    .allMatch(r -> r <= 8L);
+	}
+
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JournalProcessorTest {
+
+	static final Function<String, byte[]> ENCODER =
+			s -> s.getBytes(StandardCharsets.UTF_8);
+	static final Function<byte[], String> DECODER =
+			b -> new String(b, StandardCharsets.UTF_8);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	JournalProcessor<String> open(Path dir, int segmentSize) {
+		return JournalProcessor.create(dir, segmentSize, ENCODER, DECODER);
+	}
+
+	@Test
+	public void liveSubscriber() throws Exception {
+		JournalProcessor<String> processor = open(folder.newFolder().toPath(), 1024);
+		processor.onNext("before");
+
+		StepVerifier.create(processor)
+		            .then(() -> Flux.just("a", "b", "c").subscribe(processor))
+		            .expectNext("a", "b", "c")
+		            .verifyComplete();
+
+		assertThat(processor.sequence()).isEqualTo(4);
+	}
+
+	@Test
+	public void backpressured() throws Exception {
+		JournalProcessor<String> processor = open(folder.newFolder().toPath(), 1024);
+
+		StepVerifier.create(processor, 0)
+		            .then(() -> Flux.just("a", "b", "c").subscribe(processor))
+		            .expectNoEvent(Duration.ofMillis(50))
+		            .thenRequest(2)
+		            .expectNext("a", "b")
+		            .thenRequest(1)
+		            .expectNext("c")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void replayAcrossSegments() throws Exception {
+		File dir = folder.newFolder();
+		JournalProcessor<String> processor = open(dir.toPath(), 64);
+		Flux.range(0, 100)
+		    .map(String::valueOf)
+		    .subscribe(processor);
+
+		assertThat(dir.list((d, name) -> name.endsWith(".journal")).length).isGreaterThan(1);
+
+		StepVerifier.create(processor.replayFrom(0))
+		            .expectNextSequence(Flux.range(0, 100)
+		                                    .map(String::valueOf)
+		                                    .toIterable())
+		            .verifyComplete();
+
+		StepVerifier.create(processor.replayFrom(95))
+		            .expectNext("95", "96", "97", "98", "99")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void consumerResumesAfterRestart() throws Exception {
+		Path dir = folder.newFolder().toPath();
+		JournalProcessor<String> processor = open(dir, 64);
+		for (int i = 0; i < 10; i++) {
+			processor.onNext("v" + i);
+		}
+
+		StepVerifier.create(processor.consumer("c").take(4))
+		            .expectNext("v0", "v1", "v2", "v3")
+		            .verifyComplete();
+		processor.shutdown();
+
+		JournalProcessor<String> reopened = open(dir, 64);
+		assertThat(reopened.sequence()).isEqualTo(10);
+		reopened.onNext("v10");
+		reopened.onComplete();
+
+		StepVerifier.create(reopened.consumer("c"))
+		            .expectNext("v4", "v5", "v6", "v7", "v8", "v9", "v10")
+		            .verifyComplete();
+		StepVerifier.create(reopened.consumer("other").take(1))
+		            .expectNext("v0")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void shutdownWaitsForReadersMidJournal() throws Exception {
+		Path dir = folder.newFolder().toPath();
+		JournalProcessor<String> processor = open(dir, 64);
+		for (int i = 0; i < 30; i++) {
+			processor.onNext("v" + i);
+		}
+
+		StepVerifier.create(processor.consumer("c"), 2)
+		            .expectNext("v0", "v1")
+		            .then(processor::shutdown)
+		            .then(() -> assertThat(processor.closed).isZero())
+		            .thenRequest(Long.MAX_VALUE)
+		            .expectNextCount(28)
+		            .verifyComplete();
+
+		assertThat(processor.closed).isEqualTo(1);
+		StepVerifier.create(processor.replayFrom(0))
+		            .verifyError(IllegalStateException.class);
+
+		JournalProcessor<String> reopened = open(dir, 64);
+		reopened.onComplete();
+		StepVerifier.create(reopened.consumer("c"))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void compactDeletesConsumedSegments() throws Exception {
+		File dir = folder.newFolder();
+		JournalProcessor<String> processor = open(dir.toPath(), 64);
+		Flux.range(0, 100)
+		    .map(String::valueOf)
+		    .subscribe(processor);
+
+		StepVerifier.create(processor.consumer("c").take(90))
+		            .expectNextCount(90)
+		            .verifyComplete();
+
+		int before = dir.list((d, name) -> name.endsWith(".journal")).length;
+		assertThat(processor.compact()).isGreaterThan(0);
+		assertThat(dir.list((d, name) -> name.endsWith(".journal")).length).isLessThan(before);
+
+		StepVerifier.create(processor.consumer("c"))
+		            .expectNext("90", "91", "92", "93", "94", "95", "96", "97", "98", "99")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void compactAtSegmentBoundaryThenReadOn() throws Exception {
+		JournalProcessor<String> processor = open(folder.newFolder().toPath(), 64);
+		//1-byte records: the first segment holds exactly 12 of them
+		Flux.range(0, 30)
+		    .map(i -> String.valueOf(i % 10))
+		    .subscribe(processor);
+
+		StepVerifier.create(processor.replayFrom(0), 12)
+		            .expectNextCount(12)
+		            .then(() -> assertThat(processor.compact()).isEqualTo(1))
+		            .thenRequest(10)
+		            .expectNext("2", "3", "4", "5", "6", "7", "8", "9", "0", "1")
+		            .thenCancel()
+		            .verify();
+	}
+
+	@Test
+	public void decoderFailure() throws Exception {
+		JournalProcessor<String> processor = JournalProcessor.create(folder.newFolder()
+		                                                                   .toPath(),
+				1024,
+				ENCODER,
+				b -> {
+					throw new IllegalStateException("boom");
+				});
+		processor.onNext("a");
+
+		StepVerifier.create(processor.replayFrom(0))
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void recordTooLarge() throws Exception {
+		JournalProcessor<String> processor = open(folder.newFolder().toPath(), 64);
+
+		StepVerifier.create(processor)
+		            .then(() -> processor.onNext(new String(new char[100])))
+		            .verifyError(IllegalArgumentException.class);
+	}
+}
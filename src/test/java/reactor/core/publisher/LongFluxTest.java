@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongFluxTest {
+
+	@Test
+	public void range() {
+		StepVerifier.create(LongFlux.range(Integer.MAX_VALUE, 3))
+		            .expectNext(2147483647L, 2147483648L, 2147483649L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void rangeEmpty() {
+		StepVerifier.create(LongFlux.range(1, 0))
+		            .verifyComplete();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rangeNegativeCount() {
+		LongFlux.range(1, -1);
+	}
+
+	@Test
+	public void rangeBackpressured() {
+		StepVerifier.create(LongFlux.range(1, 10), 0)
+		            .thenRequest(3)
+		            .expectNext(1L, 2L, 3L)
+		            .thenRequest(7)
+		            .expectNextCount(7)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void mapFilterSum() {
+		StepVerifier.create(LongFlux.range(1, 1000)
+		                            .map(v -> v * 2)
+		                            .filter(v -> v % 3 == 0)
+		                            .sum())
+		            .expectNext(333L * 334L * 3L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void filterBackpressured() {
+		StepVerifier.create(LongFlux.range(1, 10)
+		                            .filter(v -> v % 2 == 0), 0)
+		            .thenRequest(2)
+		            .expectNext(2L, 4L)
+		            .thenRequest(3)
+		            .expectNext(6L, 8L, 10L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void minMaxCount() {
+		LongFlux source = LongFlux.range(-5, 11);
+
+		StepVerifier.create(source.min())
+		            .expectNext(-5L)
+		            .verifyComplete();
+		StepVerifier.create(source.max())
+		            .expectNext(5L)
+		            .verifyComplete();
+		StepVerifier.create(source.count())
+		            .expectNext(11L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void emptyAggregates() {
+		LongFlux source = LongFlux.range(0, 0);
+
+		StepVerifier.create(source.min())
+		            .verifyComplete();
+		StepVerifier.create(source.max())
+		            .verifyComplete();
+		StepVerifier.create(source.sum())
+		            .expectNext(0L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void reduceWithoutSeed() {
+		StepVerifier.create(LongFlux.range(1, 5)
+		                            .reduce((a, b) -> a * b))
+		            .expectNext(120L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void scan() {
+		StepVerifier.create(LongFlux.range(1, 5)
+		                            .scan(Long::sum))
+		            .expectNext(1L, 3L, 6L, 10L, 15L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void mapperError() {
+		StepVerifier.create(LongFlux.range(1, 5)
+		                            .map(v -> {
+			                            if (v == 3) {
+				                            throw new IllegalStateException("boom");
+			                            }
+			                            return v;
+		                            }))
+		            .expectNext(1L, 2L)
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void reduceError() {
+		StepVerifier.create(LongFlux.range(1, 5)
+		                            .reduce(0L, (a, b) -> {
+			                            throw new IllegalStateException("boom");
+		                            }))
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void fromFlux() {
+		StepVerifier.create(Flux.just("1", "22", "333")
+		                        .mapToLong(String::length)
+		                        .sum())
+		            .expectNext(6L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void boxed() {
+		StepVerifier.create(LongFlux.range(1, 3)
+		                            .boxed()
+		                            .map(v -> v + 1))
+		            .expectNext(2L, 3L, 4L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void interval() {
+		StepVerifier.withVirtualTime(() -> LongFlux.interval(Duration.ofSeconds(1))
+		                                           .map(v -> v * 10)
+		                                           .boxed()
+		                                           .take(3))
+		            .thenAwait(Duration.ofSeconds(3))
+		            .expectNext(0L, 10L, 20L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void primitiveSubscriberIsNotBoxed() {
+		List<Long> values = new ArrayList<>();
+		boolean[] completed = new boolean[1];
+
+		LongFlux.range(1, 5)
+		        .map(v -> v + 1)
+		        .filter(v -> v != 3)
+		        .scan(Long::sum)
+		        .subscribe(new LongSubscriber() {
+			        @Override
+			        public void onSubscribe(Subscription s) {
+				        s.request(Long.MAX_VALUE);
+			        }
+
+			        @Override
+			        public void onNextLong(long t) {
+				        values.add(t);
+			        }
+
+			        @Override
+			        public void onNext(Long t) {
+				        throw new AssertionError("boxed value " + t);
+			        }
+
+			        @Override
+			        public void onError(Throwable t) {
+				        throw new AssertionError(t);
+			        }
+
+			        @Override
+			        public void onComplete() {
+				        completed[0] = true;
+			        }
+		        });
+
+		assertThat(values).containsExactly(2L, 6L, 11L, 17L);
+		assertThat(completed[0]).isTrue();
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import reactor.test.subscriber.AssertSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartitionedWorkQueueProcessorTest {
+
+	@SuppressWarnings("unchecked")
+	static <T> AssertSubscriber<T>[] rails(int n) {
+		AssertSubscriber<T>[] subscribers = new AssertSubscriber[n];
+		for (int i = 0; i < n; i++) {
+			subscribers[i] = AssertSubscriber.create();
+		}
+		return subscribers;
+	}
+
+	@Test
+	public void sameKeyValuesAreDeliveredInOrderByOneRail() {
+		PartitionedWorkQueueProcessor<Integer> processor =
+				PartitionedWorkQueueProcessor.create("partitioned", i -> i % 10, 4, 16);
+		AssertSubscriber<Integer>[] rails = rails(4);
+		processor.subscribe(rails);
+
+		Flux.range(0, 1000).subscribe(processor);
+
+		Map<Integer, Integer> railOfKey = new HashMap<>();
+		int count = 0;
+		for (int r = 0; r < rails.length; r++) {
+			rails[r].await(Duration.ofSeconds(5))
+			        .assertComplete();
+			List<Integer> values = rails[r].values();
+			count += values.size();
+			Map<Integer, Integer> last = new HashMap<>();
+			for (Integer v : values) {
+				int key = v % 10;
+				assertThat(railOfKey.getOrDefault(key, r)).isEqualTo(r);
+				railOfKey.put(key, r);
+				assertThat(v).isGreaterThan(last.getOrDefault(key, -1));
+				last.put(key, v);
+			}
+		}
+		assertThat(count).isEqualTo(1000);
+		assertThat(railOfKey).hasSize(10);
+	}
+
+	@Test
+	public void valuesPublishedBeforeSubscribingAreRetained() {
+		PartitionedWorkQueueProcessor<String> processor =
+				PartitionedWorkQueueProcessor.create(String::length, 2);
+		processor.onNext("a");
+		processor.onNext("bb");
+		processor.onNext("c");
+		processor.onComplete();
+
+		processor.sequential()
+		         .collectSortedList()
+		         .subscribeWith(AssertSubscriber.create())
+		         .await(Duration.ofSeconds(5))
+		         .assertValues(Arrays.asList("a", "bb", "c"))
+		         .assertComplete();
+	}
+
+	@Test
+	public void moreValuesThanBufferSizePublishedBeforeSubscribingAreRetained()
+			throws InterruptedException {
+		PartitionedWorkQueueProcessor<Integer> processor =
+				PartitionedWorkQueueProcessor.create("partitioned", i -> i, 1, 8);
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < 40; i++) {
+				processor.onNext(i);
+			}
+			processor.onComplete();
+		});
+		producer.start();
+
+		for (int i = 0; i < 500 && processor.partitions[0].getPending() < 8; i++) {
+			Thread.sleep(10);
+		}
+
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			expected.add(i);
+		}
+		processor.sequential()
+		         .subscribeWith(AssertSubscriber.create())
+		         .await(Duration.ofSeconds(5))
+		         .assertValueSequence(expected)
+		         .assertComplete();
+		producer.join(5000);
+	}
+
+	@Test
+	public void onlyOneSetOfSubscribers() {
+		PartitionedWorkQueueProcessor<Integer> processor =
+				PartitionedWorkQueueProcessor.create(i -> i, 2);
+		processor.subscribe(PartitionedWorkQueueProcessorTest.<Integer>rails(2));
+
+		AssertSubscriber<Integer>[] late = rails(2);
+		processor.subscribe(late);
+
+		late[0].assertError(IllegalStateException.class);
+		late[1].assertError(IllegalStateException.class);
+		processor.onComplete();
+	}
+
+	@Test
+	public void keyExtractorFailureErrorsAllRails() {
+		PartitionedWorkQueueProcessor<Integer> processor =
+				PartitionedWorkQueueProcessor.create(i -> {
+					if (i == 3) {
+						throw new IllegalArgumentException("boom");
+					}
+					return i;
+				}, 2);
+		AssertSubscriber<Integer>[] rails = rails(2);
+		processor.subscribe(rails);
+
+		Flux.range(1, 5).subscribe(processor);
+
+		for (AssertSubscriber<Integer> rail : rails) {
+			rail.await(Duration.ofSeconds(5))
+			    .assertErrorMessage("boom");
+		}
+	}
+
+	@Test
+	public void partitionIsStableAndInRange() {
+		for (int i = -1000; i < 1000; i++) {
+			int p = PartitionedWorkQueueProcessor.partition(i, 7);
+			assertThat(p).isBetween(0, 6)
+			             .isEqualTo(PartitionedWorkQueueProcessor.partition(i, 7));
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import reactor.test.subscriber.AssertSubscriber;
+import reactor.util.concurrent.WaitStrategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessorMetricsTest {
+
+	@Test
+	public void metricsInstanceIsShared() {
+		TopicProcessor<Integer> processor = TopicProcessor.create("metrics", 4);
+		try {
+			assertThat(processor.metrics()).isSameAs(processor.metrics());
+			assertThat(processor.metrics().capacity()).isEqualTo(4L);
+			assertThat(processor.metrics().name()).isEqualTo("metrics");
+		}
+		finally {
+			processor.forceShutdown();
+		}
+	}
+
+	@Test
+	public void topicProcessorReportsLagAndBlockedProducer() throws InterruptedException {
+		TopicProcessor<Integer> processor = TopicProcessor.create("metrics", 4);
+		ProcessorMetrics metrics = processor.metrics();
+		AssertSubscriber<Integer> subscriber = AssertSubscriber.create(0);
+		processor.subscribe(subscriber);
+
+		for (int i = 0; i < 4; i++) {
+			processor.onNext(i);
+		}
+		assertThat(metrics.occupancy()).isEqualTo(4L);
+		assertThat(metrics.subscriberLags()).containsEntry(subscriber, 4L);
+		assertThat(metrics.blockedClaimCount()).isZero();
+
+		Thread producer = new Thread(() -> processor.onNext(4));
+		producer.start();
+		Thread.sleep(100);
+		subscriber.request(5);
+		producer.join(5000);
+
+		subscriber.awaitAndAssertNextValues(0, 1, 2, 3, 4);
+		assertThat(metrics.claimCount()).isEqualTo(5L);
+		assertThat(metrics.blockedClaimCount()).isEqualTo(1L);
+		assertThat(metrics.producerBlockedNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+
+		processor.onComplete();
+		subscriber.await(Duration.ofSeconds(5))
+		          .assertComplete();
+		assertThat(metrics.consumerWaitCount()).isPositive();
+	}
+
+	@Test
+	public void cancelledSubscriberIsNoLongerTracked() throws InterruptedException {
+		TopicProcessor<Integer> processor = TopicProcessor.create("metrics", 4);
+		try {
+			AssertSubscriber<Integer> subscriber = AssertSubscriber.create();
+			processor.subscribe(subscriber);
+			processor.onNext(1);
+			subscriber.awaitAndAssertNextValues(1);
+			assertThat(processor.subscriberSequences).containsKey(subscriber);
+
+			subscriber.cancel();
+			processor.onNext(2);
+			for (int i = 0; i < 100 && processor.downstreamCount() != 0; i++) {
+				Thread.sleep(50);
+			}
+
+			assertThat(processor.downstreamCount()).isZero();
+			assertThat(processor.subscriberSequences).isEmpty();
+			assertThat(processor.metrics().subscriberLags()).isEmpty();
+		}
+		finally {
+			processor.forceShutdown();
+		}
+	}
+
+	@Test
+	public void adaptiveWaitStrategyDurationsAreReported() {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive();
+		WorkQueueProcessor<Integer> processor =
+				WorkQueueProcessor.create("metrics", 8, strategy);
+		ProcessorMetrics metrics = processor.metrics();
+		AssertSubscriber<Integer> subscriber = AssertSubscriber.create();
+		processor.subscribe(subscriber);
+
+		for (int i = 0; i < 20; i++) {
+			processor.onNext(i);
+		}
+		processor.onComplete();
+		subscriber.await(Duration.ofSeconds(5))
+		          .assertValueCount(20)
+		          .assertComplete();
+
+		assertThat(metrics.consumerWaitCount()).isPositive();
+		assertThat(metrics.consumerSpinNanos()).isEqualTo(strategy.spinNanos());
+		assertThat(metrics.consumerSpinNanos() + metrics.consumerYieldNanos() + metrics.consumerParkNanos())
+				.isPositive();
+	}
+
+	@Test
+	public void emitterProcessorReportsBufferedLag() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.create(8);
+		ProcessorMetrics metrics = processor.metrics();
+		processor.connect();
+		AssertSubscriber<Integer> fast = AssertSubscriber.create();
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(1);
+		processor.subscribe(fast);
+		processor.subscribe(slow);
+
+		for (int i = 0; i < 5; i++) {
+			processor.onNext(i);
+		}
+
+		fast.assertValueCount(5);
+		slow.assertValues(0);
+		assertThat(metrics.subscriberLags()).containsEntry(fast, 0L)
+		                                    .containsEntry(slow, 4L);
+		assertThat(metrics.claimCount()).isPositive();
+		assertThat(metrics.blockedClaimCount()).isZero();
+	}
+}
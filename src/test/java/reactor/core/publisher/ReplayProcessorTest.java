@@ -597,6 +597,67 @@ public class ReplayProcessorTest {
 		}
 	}
 
+	@Test
+	public void boundedReleasesWholeChunks() {
+		ReplayProcessor.ChunkedReplayBuffer<Integer> buffer =
+				new ReplayProcessor.ChunkedReplayBuffer<>(3);
+		ReplayProcessor<Integer> rp = new ReplayProcessor<>(buffer);
+
+		for (int i = 0; i < 10; i++) {
+			rp.onNext(i);
+		}
+
+		assertThat(buffer.size()).isEqualTo(3);
+		assertThat(buffer.head.base).isEqualTo(6L);
+		assertThat(buffer.head.next.base).isEqualTo(9L);
+
+		rp.onComplete();
+
+		StepVerifier.create(rp.hide())
+		            .expectNext(7, 8, 9)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void boundedSlowSubscriberKeepsEvictedChunks() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(4);
+
+		StepVerifier.create(rp, 0)
+		            .then(() -> {
+			            for (int i = 0; i < 100; i++) {
+				            rp.onNext(i);
+			            }
+			            rp.onComplete();
+		            })
+		            .thenRequest(100)
+		            .expectNextCount(100)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void timedEvictsAcrossChunks() throws Exception {
+		ReplayProcessor<Integer> rp =
+				ReplayProcessor.createSizeAndTimeout(3, Duration.ofSeconds(1));
+
+		for (int i = 0; i < 7; i++) {
+			rp.onNext(i);
+		}
+
+		VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(2));
+
+		rp.onNext(7);
+		assertThat(rp.getCapacity()).isEqualTo(3L);
+		assertThat(rp.buffer.size()).isEqualTo(1);
+
+		StepVerifier.create(rp)
+		            .expectFusion(Fuseable.ASYNC)
+		            .expectNext(7)
+		            .then(() -> rp.onNext(8))
+		            .expectNext(8)
+		            .then(rp::onComplete)
+		            .verifyComplete();
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void failNegativeBufferSizeBounded() {
 		ReplayProcessor.create(-1);
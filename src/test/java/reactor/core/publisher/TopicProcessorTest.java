@@ -15,17 +15,30 @@
  */
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 import reactor.test.subscriber.AssertSubscriber;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -258,4 +271,237 @@ public class TopicProcessorTest {
 	}
 
 
+
+	@Test(timeout = 10000)
+	public void batchAwareSubscriberUnbounded() throws InterruptedException {
+		TopicProcessor<Integer> processor = TopicProcessor.create("processor", 16);
+		BatchRecorder<Integer> subscriber = new BatchRecorder<>(Long.MAX_VALUE);
+		processor.subscribe(subscriber);
+
+		Flux.range(1, 1000).subscribe(processor);
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertEquals(1000, subscriber.values.size());
+		assertTrue(subscriber.batches.get() >= 1);
+		assertTrue(subscriber.batches.get() <= 1000);
+		assertTrue(subscriber.lastSignalWasEndOfBatch);
+	}
+
+	@Test(timeout = 10000)
+	public void batchAwareSubscriberBounded() throws InterruptedException {
+		TopicProcessor<Integer> processor = TopicProcessor.create("processor", 16);
+		BatchRecorder<Integer> subscriber = new BatchRecorder<>(3);
+		processor.subscribe(subscriber);
+
+		Flux.range(1, 100).subscribe(processor);
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertEquals(100, subscriber.values.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i + 1, (int) subscriber.values.get(i));
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void scheduledSubscribersShareWorkerThreads() throws InterruptedException {
+		Scheduler scheduler = Schedulers.newParallel("topic-drain", 2);
+		try {
+			List<TopicProcessor<Integer>> processors = new ArrayList<>();
+			List<BatchRecorder<Integer>> subscribers = new ArrayList<>();
+			Set<String> threads = new ConcurrentSkipListSet<>();
+			for (int i = 0; i < 20; i++) {
+				TopicProcessor<Integer> processor = TopicProcessor.create(scheduler, 16);
+				for (int j = 0; j < 4; j++) {
+					BatchRecorder<Integer> subscriber = new BatchRecorder<>(3);
+					processor.doOnNext(v -> threads.add(Thread.currentThread().getName()))
+					         .subscribe(subscriber);
+					subscribers.add(subscriber);
+				}
+				processors.add(processor);
+			}
+
+			for (TopicProcessor<Integer> processor : processors) {
+				Flux.range(1, 100).subscribe(processor);
+			}
+
+			for (BatchRecorder<Integer> subscriber : subscribers) {
+				assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+				assertEquals(100, subscriber.values.size());
+				for (int i = 0; i < 100; i++) {
+					assertEquals(i + 1, (int) subscriber.values.get(i));
+				}
+			}
+			assertTrue(threads.size() <= 2);
+			for (TopicProcessor<Integer> processor : processors) {
+				assertTrue(processor.awaitAndShutdown(5, TimeUnit.SECONDS));
+			}
+		}
+		finally {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void scheduledSubscriberBackpressureAndCancel() {
+		Scheduler scheduler = Schedulers.newSingle("topic-drain");
+		try {
+			TopicProcessor<Integer> processor = TopicProcessor.create(scheduler, 8);
+			AtomicInteger cancelled = new AtomicInteger();
+			Flux.range(1, 1000)
+			    .doOnCancel(cancelled::incrementAndGet)
+			    .subscribe(processor);
+
+			StepVerifier.create(processor, 0)
+			            .thenRequest(10)
+			            .expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+			            .thenRequest(20)
+			            .expectNextCount(20)
+			            .thenCancel()
+			            .verify();
+
+			assertEquals(1, cancelled.get());
+			assertTrue(processor.isTerminated());
+		}
+		finally {
+			scheduler.shutdown();
+		}
+	}
+
+	/**
+	 * Records values and end of batch signals, requesting {@code batchSize} values at
+	 * once and again every {@code batchSize} received values.
+	 */
+	static final class BatchRecorder<T> implements BatchAwareSubscriber<T> {
+
+		final long           batchSize;
+		final List<T>        values  = new CopyOnWriteArrayList<>();
+		final AtomicInteger  batches = new AtomicInteger();
+		final CountDownLatch done    = new CountDownLatch(1);
+
+		Subscription s;
+		long         received;
+
+		volatile boolean lastSignalWasEndOfBatch;
+
+		BatchRecorder(long batchSize) {
+			this.batchSize = batchSize;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			this.s = s;
+			s.request(batchSize);
+		}
+
+		@Override
+		public void onNext(T t) {
+			lastSignalWasEndOfBatch = false;
+			values.add(t);
+			if (batchSize != Long.MAX_VALUE && ++received % batchSize == 0) {
+				s.request(batchSize);
+			}
+		}
+
+		@Override
+		public void onEndOfBatch() {
+			lastSignalWasEndOfBatch = true;
+			batches.incrementAndGet();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			done.countDown();
+		}
+	}
+
+	@Test
+	public void onNextAllPublishesBatchesLargerThanTheBuffer() {
+		TopicProcessor<Integer> processor = TopicProcessor.create("batch", 4);
+		List<Integer> batch = new ArrayList<>();
+		for (int i = 5; i < 15; i++) {
+			batch.add(i);
+		}
+
+		StepVerifier.create(processor)
+		            .then(() -> {
+			            processor.onNextAll(new Integer[]{0, 1, 2, 3, 4});
+			            processor.onNextAll(batch);
+			            processor.onComplete();
+		            })
+		            .expectNext(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void onNextAllRejectsNullValuesBeforeClaiming() {
+		TopicProcessor<Integer> processor = TopicProcessor.create("batch", 4);
+		try {
+			processor.onNextAll(new Integer[]{0, null});
+		}
+		finally {
+			assertEquals(-1L, processor.ringBuffer.getCursor());
+			processor.forceShutdown();
+		}
+	}
+
+	static final class MutableQuote {
+
+		long   price;
+		long   size;
+	}
+
+	@Test
+	public void publishEventMutatesPreallocatedSlots() {
+		TopicProcessor<MutableQuote> processor =
+				TopicProcessor.create("quotes", 4, null, MutableQuote::new);
+		Set<MutableQuote> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Long> prices = new ArrayList<>();
+
+		StepVerifier.create(processor)
+		            .then(() -> {
+			            for (long i = 0; i < 10; i++) {
+				            processor.publishEvent((q, p) -> {
+					            q.price = p;
+					            q.size = p * 10;
+				            }, i);
+			            }
+			            processor.publishEvents(5, (q, i) -> {
+				            q.price = 10 + i;
+				            q.size = (10 + i) * 10;
+			            });
+			            processor.onComplete();
+		            })
+		            .thenConsumeWhile(q -> {
+			            assertEquals(q.price * 10, q.size);
+			            instances.add(q);
+			            prices.add(q.price);
+			            return true;
+		            })
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+
+		assertEquals(15, prices.size());
+		for (int i = 0; i < 15; i++) {
+			assertEquals(i, prices.get(i).longValue());
+		}
+		assertTrue(instances.size() <= 4);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void publishEventRequiresPreallocatedSlots() {
+		TopicProcessor<MutableQuote> processor = TopicProcessor.create("quotes", 4);
+		try {
+			processor.publishEvent(q -> q.price = 1L);
+		}
+		finally {
+			assertEquals(-1L, processor.ringBuffer.getCursor());
+			processor.forceShutdown();
+		}
+	}
 }
@@ -16,10 +16,15 @@
 package reactor.core.publisher;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
 import reactor.test.subscriber.AssertSubscriber;
+import reactor.util.concurrent.QueueSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class UnicastProcessorTest {
 
@@ -39,4 +44,32 @@ public class UnicastProcessorTest {
         .assertNotComplete();
         
     }
+
+    @Test
+    public void multiProducerQueueConcurrentOnNext() throws Exception {
+        UnicastProcessor<Integer> up =
+                UnicastProcessor.create(QueueSupplier.<Integer>mpscUnbounded().get());
+
+        AssertSubscriber<Integer> ts = AssertSubscriber.create();
+        up.subscribe(ts);
+
+        int producers = 4;
+        int count = 10_000;
+        CountDownLatch latch = new CountDownLatch(producers);
+        for (int i = 0; i < producers; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < count; j++) {
+                    up.onNext(j);
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        up.onComplete();
+
+        ts.assertValueCount(producers * count)
+          .assertNoError()
+          .assertComplete();
+    }
 }
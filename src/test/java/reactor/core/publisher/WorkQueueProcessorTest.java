@@ -16,14 +16,20 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 
@@ -34,9 +40,11 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.Disposable;
 import reactor.core.Exceptions;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 import reactor.core.scheduler.TimedScheduler;
 import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 import reactor.util.concurrent.WaitStrategy;
@@ -517,4 +525,180 @@ public class WorkQueueProcessorTest {
 	public void failNegativeBufferSize() {
 		WorkQueueProcessor.create("test", -1);
 	}
-}
\ No newline at end of file
+
+	@Test(timeout = 10000)
+	public void batchAwareSubscriber() throws InterruptedException {
+		WorkQueueProcessor<Integer> processor = WorkQueueProcessor.create("processor", 16);
+		TopicProcessorTest.BatchRecorder<Integer> subscriber =
+				new TopicProcessorTest.BatchRecorder<>(Long.MAX_VALUE);
+		processor.subscribe(subscriber);
+
+		Flux.range(1, 1000).subscribe(processor);
+
+		assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+		assertEquals(1000, subscriber.values.size());
+		assertTrue(subscriber.batches.get() >= 1);
+		assertTrue(subscriber.batches.get() <= 1000);
+	}
+
+	@Test(timeout = 10000)
+	public void scheduledSubscribersShareTheWork() throws InterruptedException {
+		Scheduler scheduler = Schedulers.newParallel("work-drain", 2);
+		try {
+			WorkQueueProcessor<Integer> processor = WorkQueueProcessor.create(scheduler, 16);
+			List<TopicProcessorTest.BatchRecorder<Integer>> subscribers = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				TopicProcessorTest.BatchRecorder<Integer> subscriber =
+						new TopicProcessorTest.BatchRecorder<>(i == 0 ? Long.MAX_VALUE : 3);
+				processor.subscribe(subscriber);
+				subscribers.add(subscriber);
+			}
+
+			Flux.range(1, 1000).subscribe(processor);
+
+			Set<Integer> received = new HashSet<>();
+			int count = 0;
+			for (TopicProcessorTest.BatchRecorder<Integer> subscriber : subscribers) {
+				assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+				received.addAll(subscriber.values);
+				count += subscriber.values.size();
+			}
+			assertEquals(1000, count);
+			assertEquals(1000, received.size());
+			assertTrue(processor.awaitAndShutdown(5, TimeUnit.SECONDS));
+		}
+		finally {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test(timeout = 30000)
+	public void scheduledSubscribersReceiveEachValueOnceFromConcurrentProducers()
+			throws InterruptedException {
+		Scheduler scheduler = Schedulers.newParallel("work-stress", 4);
+		try {
+			final int producers = 4;
+			final int perProducer = 50_000;
+			WorkQueueProcessor<Integer> processor = WorkQueueProcessor.share(scheduler, 4);
+			AtomicIntegerArray deliveries = new AtomicIntegerArray(producers * perProducer);
+			CountDownLatch done = new CountDownLatch(3);
+			for (int i = 0; i < 3; i++) {
+				processor.subscribe(new BaseSubscriber<Integer>() {
+					@Override
+					protected void hookOnSubscribe(Subscription subscription) {
+						subscription.request(Long.MAX_VALUE);
+					}
+
+					@Override
+					protected void hookOnNext(Integer value) {
+						deliveries.incrementAndGet(value);
+					}
+
+					@Override
+					protected void hookFinally(SignalType type) {
+						done.countDown();
+					}
+				});
+			}
+
+			CountDownLatch produced = new CountDownLatch(producers);
+			for (int p = 0; p < producers; p++) {
+				final int offset = p * perProducer;
+				new Thread(() -> {
+					for (int i = 0; i < perProducer; i++) {
+						processor.onNext(offset + i);
+					}
+					produced.countDown();
+				}, "work-stress-producer-" + p).start();
+			}
+
+			assertTrue(produced.await(20, TimeUnit.SECONDS));
+			processor.onComplete();
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+
+			for (int i = 0; i < deliveries.length(); i++) {
+				assertEquals("value " + i, 1, deliveries.get(i));
+			}
+		}
+		finally {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void elasticWorkersGrowWithBacklogAndShrinkWhenIdle() throws InterruptedException {
+		WorkQueueProcessor<Integer> processor = WorkQueueProcessor.create("elastic", 16);
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		CountDownLatch gate = new CountDownLatch(1);
+		CountDownLatch allReceived = new CountDownLatch(14);
+		Set<Integer> received = ConcurrentHashMap.newKeySet();
+		AtomicInteger duplicates = new AtomicInteger();
+
+		Disposable pool = processor.subscribeElastic(() -> new BaseSubscriber<Integer>() {
+			@Override
+			protected void hookOnSubscribe(Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			protected void hookOnNext(Integer value) {
+				try {
+					gate.await();
+				}
+				catch (InterruptedException e) {
+					throw Exceptions.propagate(e);
+				}
+				if (!received.add(value)) {
+					duplicates.incrementAndGet();
+				}
+				allReceived.countDown();
+			}
+		}, 1, 4, Duration.ofMillis(100), vts);
+		WorkQueueProcessor.ElasticPool<?> elastic = (WorkQueueProcessor.ElasticPool<?>) pool;
+
+		//workers hold their claim until the gate opens, keeping the backlog above half
+		//the buffer for every check
+		for (int i = 0; i < 14; i++) {
+			processor.onNext(i);
+		}
+		for (int i = 0; i < 4; i++) {
+			vts.advanceTimeBy(Duration.ofMillis(100));
+		}
+		assertEquals(4, elastic.size());
+		assertEquals(4L, processor.downstreamCount());
+
+		gate.countDown();
+		assertTrue(allReceived.await(5, TimeUnit.SECONDS));
+
+		//idle time is read from the virtual clock, only wait for the workers to park
+		while (!elastic.allIdle()) {
+			Thread.yield();
+		}
+		for (int i = 0; i < 4; i++) {
+			vts.advanceTimeBy(Duration.ofMillis(100));
+		}
+		assertEquals(1, elastic.size());
+		assertEquals(14, received.size());
+		assertEquals(0, duplicates.get());
+
+		pool.dispose();
+		assertTrue(pool.isDisposed());
+		assertEquals(0, elastic.size());
+		processor.shutdown();
+	}
+
+	@Test
+	public void publishEventsIntoPreallocatedWorkQueue() {
+		WorkQueueProcessor<long[]> processor =
+				WorkQueueProcessor.create("preallocated", 8, () -> new long[1]);
+
+		StepVerifier.create(processor.map(e -> e[0]))
+		            .then(() -> {
+			            processor.publishEvents(20, (e, i) -> e[0] = i);
+			            processor.onComplete();
+		            })
+		            .expectNextCount(20)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
+}
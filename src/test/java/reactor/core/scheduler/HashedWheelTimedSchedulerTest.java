@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.scheduler.TimedScheduler.TimedWorker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedWheelTimedSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected TimedScheduler scheduler() {
+		return Schedulers.newHashedWheelTimer("test-wheel");
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void unsupportedStart() throws Exception {
+		TimedScheduler s = scheduler();
+		try {
+			s.start();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeTickDuration() throws Exception {
+		Schedulers.newHashedWheelTimer("test-wheel", -1, TimeUnit.MILLISECONDS);
+	}
+
+	@Test(timeout = 10000)
+	public void delayedTaskIsNotRunEarly() throws Exception {
+		TimedScheduler s = Schedulers.newHashedWheelTimer("test-wheel",
+				1,
+				TimeUnit.MILLISECONDS);
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			long start = System.nanoTime();
+			long[] end = new long[1];
+
+			s.schedule(() -> {
+				end[0] = System.nanoTime();
+				latch.countDown();
+			}, 50, TimeUnit.MILLISECONDS);
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(TimeUnit.NANOSECONDS.toMillis(end[0] - start)).isGreaterThanOrEqualTo(50);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void delayLongerThanOneRevolution() throws Exception {
+		TimedScheduler s = Schedulers.newHashedWheelTimer(
+				new Schedulers.SchedulerThreadFactory("test-wheel", true, new AtomicLong()),
+				1,
+				TimeUnit.MILLISECONDS,
+				4);
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			long start = System.nanoTime();
+			long[] end = new long[1];
+
+			s.schedule(() -> {
+				end[0] = System.nanoTime();
+				latch.countDown();
+			}, 30, TimeUnit.MILLISECONDS);
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(TimeUnit.NANOSECONDS.toMillis(end[0] - start)).isGreaterThanOrEqualTo(30);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void periodicTaskRunsUntilCancelled() throws Exception {
+		TimedScheduler s = scheduler();
+		try {
+			AtomicInteger count = new AtomicInteger();
+			CountDownLatch latch = new CountDownLatch(5);
+
+			Disposable d = (Disposable) s.schedulePeriodically(() -> {
+				count.incrementAndGet();
+				latch.countDown();
+			}, 0, 10, TimeUnit.MILLISECONDS);
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			d.dispose();
+			assertThat(d.isDisposed()).isTrue();
+
+			int c = count.get();
+			Thread.sleep(100);
+			assertThat(count.get()).isBetween(c, c + 1);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void immediateTasksRunInSubmissionOrder() throws Exception {
+		TimedScheduler s = scheduler();
+		try {
+			TimedWorker w = s.createWorker();
+			List<Integer> list = new ArrayList<>();
+			CountDownLatch latch = new CountDownLatch(1);
+
+			for (int i = 0; i < 1000; i++) {
+				int v = i;
+				w.schedule(() -> list.add(v));
+			}
+			w.schedule(latch::countDown);
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(list).hasSize(1000);
+			for (int i = 0; i < 1000; i++) {
+				assertThat(list.get(i)).isEqualTo(i);
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void massCancelDoesNotRunTasks() throws Exception {
+		TimedScheduler s = scheduler();
+		try {
+			TimedWorker w = s.createWorker();
+			AtomicInteger count = new AtomicInteger();
+
+			for (int i = 0; i < 10_000; i++) {
+				w.schedule(count::incrementAndGet, 1, TimeUnit.SECONDS);
+			}
+			w.dispose();
+			assertThat(w.isDisposed()).isTrue();
+
+			Thread.sleep(1500);
+			assertThat(count.get()).isEqualTo(0);
+			assertThat(w.schedule(count::incrementAndGet)).isSameAs(Scheduler.REJECTED);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void independentWorkers() throws Exception {
+		TimedScheduler s = scheduler();
+		try {
+			TimedWorker w1 = s.createWorker();
+			TimedWorker w2 = s.createWorker();
+			CountDownLatch latch = new CountDownLatch(1);
+
+			w1.dispose();
+			assertThat(w1.schedule(() -> { })).isSameAs(Scheduler.REJECTED);
+
+			w2.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			w2.dispose();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void rejectsAfterDispose() throws Exception {
+		TimedScheduler s = scheduler();
+		s.dispose();
+		assertThat(s.isDisposed()).isTrue();
+		assertThat(s.schedule(() -> { }, 10, TimeUnit.MILLISECONDS)).isSameAs(Scheduler.REJECTED);
+		assertThat(s.schedulePeriodically(() -> { }, 10, 10, TimeUnit.MILLISECONDS)).isSameAs(Scheduler.REJECTED);
+	}
+}
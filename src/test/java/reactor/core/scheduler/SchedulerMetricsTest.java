@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Disposable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchedulerMetricsTest {
+
+	@Before
+	public void enable() {
+		Schedulers.enableMetrics();
+	}
+
+	@After
+	public void disable() {
+		Schedulers.disableMetrics();
+		Schedulers.resetFactory();
+	}
+
+	@Test
+	public void notInstrumentedWhenDisabled() {
+		Schedulers.disableMetrics();
+		Scheduler s = Schedulers.newParallel("test-metrics", 2);
+		try {
+			assertThat(Schedulers.metrics(s)).isNull();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void parallelTasks() throws Exception {
+		Scheduler s = Schedulers.newParallel("test-metrics", 2);
+		try {
+			SchedulerMetrics metrics = Schedulers.metrics(s);
+			assertThat(metrics).isNotNull();
+			assertThat(metrics.type()).isEqualTo(Schedulers.PARALLEL);
+			assertThat(metrics.activeExecutors()).isEqualTo(2);
+
+			CountDownLatch latch = new CountDownLatch(100);
+			Scheduler.Worker w = s.createWorker();
+			for (int i = 0; i < 100; i++) {
+				w.schedule(latch::countDown);
+			}
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			while (metrics.completedCount() != 100) {
+				Thread.sleep(10);
+			}
+			assertThat(metrics.submittedCount()).isEqualTo(100);
+			assertThat(metrics.pendingTasks()).isZero();
+			assertThat(metrics.activeTasks()).isZero();
+			assertThat(metrics.rejectedCount()).isZero();
+			assertThat(metrics.runNanos()).isGreaterThan(0);
+			assertThat(LongStream.of(metrics.runTimeHistogram()).sum()).isEqualTo(100);
+			assertThat(Schedulers.metrics()).contains(metrics);
+		}
+		finally {
+			s.dispose();
+		}
+		assertThat(Schedulers.metrics(s).activeExecutors()).isZero();
+	}
+
+	@Test(timeout = 10000)
+	public void rejectedAndPendingTasks() throws Exception {
+		Schedulers.setFactory(new Schedulers.Factory() {
+			@Override
+			public ExecutorService decorateExecutorService(String schedulerType,
+					Supplier<? extends ExecutorService> actual) {
+				return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+						new ArrayBlockingQueue<>(1));
+			}
+		});
+		Scheduler s = Schedulers.newSingle("test-metrics");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			SchedulerMetrics metrics = Schedulers.metrics(s);
+
+			s.schedule(() -> {
+				started.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			s.schedule(() -> {});
+
+			assertThat(s.schedule(() -> {})).isSameAs(Scheduler.REJECTED);
+			assertThat(metrics.rejectedCount()).isEqualTo(1);
+			assertThat(metrics.pendingTasks()).isEqualTo(1);
+			assertThat(metrics.activeTasks()).isEqualTo(1);
+
+			release.countDown();
+			while (metrics.completedCount() != 2) {
+				Thread.sleep(10);
+			}
+			assertThat(metrics.pendingTasks()).isZero();
+			assertThat(metrics.queueWaitNanos()).isGreaterThan(0);
+		}
+		finally {
+			release.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void shutdownNowClearsPendingTasks() throws Exception {
+		ExecutorService[] executors = {
+				Executors.newSingleThreadExecutor(),
+				Executors.newSingleThreadScheduledExecutor()
+		};
+		for (ExecutorService executor : executors) {
+			SchedulerMetrics metrics = new SchedulerMetrics("test-metrics");
+			ExecutorService instrumented = executor instanceof ScheduledExecutorService ?
+					new InstrumentedExecutorService.Scheduled((ScheduledExecutorService) executor, metrics) :
+					new InstrumentedExecutorService(executor, metrics);
+			CountDownLatch started = new CountDownLatch(1);
+
+			instrumented.execute(() -> {
+				started.countDown();
+				try {
+					new CountDownLatch(1).await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			instrumented.execute(() -> {});
+			instrumented.execute(() -> {});
+			assertThat(metrics.pendingTasks()).isEqualTo(2);
+
+			assertThat(instrumented.shutdownNow()).hasSize(2);
+			assertThat(instrumented.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(metrics.pendingTasks()).as("%s", executor).isZero();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void timerTasks() throws Exception {
+		TimedScheduler s = Schedulers.newTimer("test-metrics");
+		try {
+			SchedulerMetrics metrics = Schedulers.metrics(s);
+			assertThat(metrics.type()).isEqualTo(Schedulers.TIMER);
+
+			CountDownLatch latch = new CountDownLatch(3);
+			Disposable d = (Disposable) s.schedulePeriodically(latch::countDown,
+					10, 10, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			// a run is only recorded as completed once the task returned
+			while (metrics.completedCount() < 3) {
+				Thread.sleep(10);
+			}
+			d.dispose();
+
+			assertThat(metrics.submittedCount()).isEqualTo(1);
+			assertThat(metrics.pendingTasks()).isZero();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void hashedWheelTimerTasks() throws Exception {
+		TimedScheduler s = Schedulers.newHashedWheelTimer("test-metrics");
+		SchedulerMetrics metrics = Schedulers.metrics(s);
+		assertThat(metrics.type()).isEqualTo(Schedulers.TIMER);
+		try {
+			CountDownLatch latch = new CountDownLatch(2);
+			s.schedule(latch::countDown);
+			s.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			while (metrics.completedCount() != 2) {
+				Thread.sleep(10);
+			}
+			assertThat(metrics.submittedCount()).isEqualTo(2);
+			assertThat(metrics.activeExecutors()).isEqualTo(1);
+			assertThat(metrics.activeTasks()).isZero();
+		}
+		finally {
+			s.dispose();
+		}
+
+		assertThat(s.schedule(() -> {})).isSameAs(Scheduler.REJECTED);
+		assertThat(s.createWorker().schedule(() -> {})).isSameAs(Scheduler.REJECTED);
+		assertThat(metrics.rejectedCount()).isEqualTo(2);
+		while (metrics.activeExecutors() != 0) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void rejectedByDisposedWorker() {
+		Scheduler s = Schedulers.newParallel("test-metrics", 1);
+		try {
+			Scheduler.Worker w = s.createWorker();
+			w.dispose();
+
+			assertThat(w.schedule(() -> {})).isSameAs(Scheduler.REJECTED);
+			assertThat(Schedulers.metrics(s).rejectedCount()).isEqualTo(1);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void executorServiceSchedulerMetricsKeyedOnScheduler() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Scheduler s = Schedulers.fromExecutorService(executor);
+		SchedulerMetrics metrics = Schedulers.metrics(s);
+		assertThat(metrics).isNotNull();
+		assertThat(metrics.activeExecutors()).isEqualTo(1);
+
+		s.dispose();
+		assertThat(s.schedule(() -> {})).isSameAs(Scheduler.REJECTED);
+		assertThat(s.createWorker().schedule(() -> {})).isSameAs(Scheduler.REJECTED);
+		assertThat(metrics.rejectedCount()).isEqualTo(2);
+	}
+
+	@Test(timeout = 10000)
+	public void elasticCacheAndEviction() throws Exception {
+		Scheduler s = Schedulers.newElastic("test-metrics", 1);
+		try {
+			SchedulerMetrics metrics = Schedulers.metrics(s);
+			assertThat(metrics.type()).isEqualTo(Schedulers.ELASTIC);
+
+			Scheduler.Worker w = s.createWorker();
+			assertThat(metrics.activeExecutors()).isEqualTo(1);
+			assertThat(metrics.idleExecutors()).isZero();
+
+			w.dispose();
+			assertThat(metrics.idleExecutors()).isEqualTo(1);
+
+			while (metrics.evictedCount() == 0) {
+				Thread.sleep(100);
+			}
+			assertThat(metrics.idleExecutors()).isZero();
+			assertThat(metrics.activeExecutors()).isZero();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void histogramBuckets() {
+		assertThat(SchedulerMetrics.bucket(999)).isEqualTo(0);
+		assertThat(SchedulerMetrics.bucket(1_000)).isEqualTo(1);
+		assertThat(SchedulerMetrics.bucket(3_999)).isEqualTo(2);
+		assertThat(SchedulerMetrics.bucket(4_000)).isEqualTo(3);
+		assertThat(SchedulerMetrics.bucket(Long.MAX_VALUE))
+				.isEqualTo(SchedulerMetrics.HISTOGRAM_BUCKETS - 1);
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadSchedulerTest extends AbstractSchedulerTest {
+
+	/**
+	 * Use virtual threads when available, platform threads otherwise so that the
+	 * scheduler semantics are covered on every runtime.
+	 */
+	static ThreadFactory threadFactory() {
+		ThreadFactory f = VirtualThreadScheduler.virtualThreadFactory("test-virtual");
+		if (f == null) {
+			f = new Schedulers.SchedulerThreadFactory("test-virtual", true, new AtomicLong());
+		}
+		return f;
+	}
+
+	@Override
+	protected Scheduler scheduler() {
+		return new VirtualThreadScheduler(threadFactory());
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void unsupportedStart() {
+		scheduler().start();
+	}
+
+	@Test
+	public void fallbackToElastic() {
+		Scheduler s = Schedulers.newVirtualThread("test-virtual");
+		try {
+			if (VirtualThreadScheduler.virtualThreadFactory("test-virtual") == null) {
+				assertThat(s).isInstanceOf(ElasticScheduler.class);
+			}
+			else {
+				assertThat(s).isInstanceOf(VirtualThreadScheduler.class);
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void disposedWorkerReleasesItsThread() throws Exception {
+		VirtualThreadScheduler s = new VirtualThreadScheduler(threadFactory());
+		try {
+			Scheduler.Worker w = s.createWorker();
+			assertThat(s.all).hasSize(1);
+
+			CountDownLatch latch = new CountDownLatch(1);
+			w.schedule(latch::countDown);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			w.dispose();
+			assertThat(s.all).isEmpty();
+			assertThat(w.schedule(() -> { })).isSameAs(Scheduler.REJECTED);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void rejectsAfterDispose() throws Exception {
+		VirtualThreadScheduler s = new VirtualThreadScheduler(threadFactory());
+		s.createWorker();
+		s.dispose();
+
+		assertThat(s.isDisposed()).isTrue();
+		assertThat(s.all).isEmpty();
+		assertThat(s.schedule(() -> { })).isSameAs(Scheduler.REJECTED);
+		assertThat(s.createWorker()
+		            .schedule(() -> { })).isSameAs(Scheduler.REJECTED);
+	}
+
+	@Test(timeout = 10000)
+	public void blockingFanOut() throws Exception {
+		Scheduler s = Schedulers.newVirtualThread("test-virtual");
+		try {
+			StepVerifier.create(Flux.range(1, 200)
+			                        .flatMap(v -> Mono.fromCallable(() -> {
+				                        Thread.sleep(100);
+				                        return v;
+			                        })
+			                                          .subscribeOn(s), 200)
+			                        .count())
+			            .expectNext(200L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkStealingSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newWorkStealing("test-ws");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeParallelism() throws Exception {
+		Schedulers.newWorkStealing("test-ws", -1);
+	}
+
+	@Test(timeout = 10000)
+	public void threadsAreNamed() throws Exception {
+		Scheduler s = Schedulers.newWorkStealing("test-ws-name", 2);
+		try {
+			String[] name = new String[1];
+			CountDownLatch latch = new CountDownLatch(1);
+			s.schedule(() -> {
+				name[0] = Thread.currentThread().getName();
+				latch.countDown();
+			});
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(name[0]).startsWith("test-ws-name-");
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void workerTasksRunInOrder() throws Exception {
+		Scheduler s = Schedulers.newWorkStealing("test-ws", 4);
+		try {
+			int workers = 16;
+			int count = 10_000;
+			List<List<Integer>> results = new ArrayList<>();
+			CountDownLatch latch = new CountDownLatch(workers);
+
+			for (int i = 0; i < workers; i++) {
+				Scheduler.Worker w = s.createWorker();
+				List<Integer> list = new ArrayList<>();
+				results.add(list);
+				for (int j = 0; j < count; j++) {
+					int v = j;
+					w.schedule(() -> list.add(v));
+				}
+				w.schedule(latch::countDown);
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			for (List<Integer> list : results) {
+				assertThat(list).hasSize(count);
+				for (int j = 0; j < count; j++) {
+					assertThat(list.get(j)).isEqualTo(j);
+				}
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void blockedWorkerDoesNotStallOthers() throws Exception {
+		Scheduler s = Schedulers.newWorkStealing("test-ws", 2);
+		try {
+			CountDownLatch blocker = new CountDownLatch(1);
+			CountDownLatch done = new CountDownLatch(100);
+
+			Scheduler.Worker slow = s.createWorker();
+			slow.schedule(() -> {
+				try {
+					blocker.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+				}
+			});
+
+			for (int i = 0; i < 100; i++) {
+				s.createWorker()
+				 .schedule(done::countDown);
+			}
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			blocker.countDown();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void startAfterDispose() throws Exception {
+		Scheduler s = Schedulers.newWorkStealing("test-ws", 2);
+		try {
+			s.dispose();
+			assertThat(s.isDisposed()).isTrue();
+			assertThat(s.schedule(() -> { })).isSameAs(Scheduler.REJECTED);
+
+			s.start();
+			assertThat(s.isDisposed()).isFalse();
+
+			CountDownLatch latch = new CountDownLatch(1);
+			s.createWorker()
+			 .schedule(latch::countDown);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void parallelRunOn() throws Exception {
+		Scheduler s = Schedulers.newWorkStealing("test-ws", 4);
+		try {
+			StepVerifier.create(Flux.range(1, 100_000)
+			                        .parallel(8)
+			                        .runOn(s)
+			                        .map(v -> v % 1000 == 0 ? slow(v) : v)
+			                        .sequential()
+			                        .count())
+			            .expectNext(100_000L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	static int slow(int v) {
+		try {
+			Thread.sleep(1);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return v;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.TopicProcessor;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class WaitStrategyTest {
+
+	/**
+	 * @return a cursor publishing sequence 0 the given delay after it was first read
+	 */
+	static LongSupplier availableAfter(long nanos) {
+		long[] deadline = {0L};
+		return () -> {
+			if (deadline[0] == 0L) {
+				deadline[0] = System.nanoTime() + nanos;
+				return -1L;
+			}
+			return System.nanoTime() - deadline[0] >= 0 ? 0L : -1L;
+		};
+	}
+
+	@Test
+	public void adaptiveReturnsImmediatelyWhenAvailable() throws Exception {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive();
+
+		assertThat(strategy.waitFor(0L, () -> 3L, () -> {})).isEqualTo(3L);
+		assertThat(strategy.waitCount()).isZero();
+	}
+
+	@Test
+	public void adaptiveSpinsOnShortGapsAndParksOnLongGaps() throws Exception {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive(50, 100, 1, TimeUnit.MICROSECONDS);
+
+		strategy.waitFor(0L, availableAfter(5_000L), () -> {});
+		assertThat(strategy.spinNanos()).isPositive();
+
+		//a long idle gap moves the expected gap past the yield threshold
+		for (int i = 0; i < 4; i++) {
+			strategy.waitFor(0L, availableAfter(TimeUnit.MILLISECONDS.toNanos(5)), () -> {});
+		}
+		assertThat(strategy.expectedGapNanos()).isGreaterThan(TimeUnit.MICROSECONDS.toNanos(100));
+
+		long spinning = strategy.spinNanos();
+		long yielding = strategy.yieldNanos();
+		strategy.waitFor(0L, availableAfter(TimeUnit.MILLISECONDS.toNanos(2)), () -> {});
+		assertThat(strategy.spinNanos()).isEqualTo(spinning);
+		assertThat(strategy.yieldNanos()).isEqualTo(yielding);
+		assertThat(strategy.parkNanos()).isPositive();
+		assertThat(strategy.waitCount()).isEqualTo(6L);
+	}
+
+	@Test
+	public void adaptiveObservesSpinObserver() {
+		WaitStrategy.Adaptive strategy = WaitStrategy.adaptive();
+
+		assertThatExceptionOfType(WaitStrategy.AlertException.class)
+				.isThrownBy(() -> strategy.waitFor(0L, () -> -1L, WaitStrategy::alert));
+		assertThat(strategy.waitCount()).isEqualTo(1L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void adaptiveRejectsInconsistentThresholds() {
+		WaitStrategy.adaptive(10, 1, 1, TimeUnit.MILLISECONDS);
+	}
+
+	@Test(timeout = 10000)
+	public void adaptiveTopicProcessor() {
+		TopicProcessor<Integer> processor =
+				TopicProcessor.create("adaptive", 16, WaitStrategy.adaptive());
+
+		StepVerifier.create(processor)
+		            .then(() -> Flux.range(1, 1000).subscribe(processor))
+		            .expectNextCount(1000)
+		            .verifyComplete();
+	}
+}